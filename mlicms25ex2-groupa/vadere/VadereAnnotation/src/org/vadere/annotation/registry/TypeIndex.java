@@ -0,0 +1,29 @@
+package org.vadere.annotation.registry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a class with the name {@link #className()} in the package of the annotated type. The
+ * class contains the list <tt>TYPES</tt> of all public classes and interfaces (including public nested
+ * types) which are compiled together with the annotated type and whose package starts with one of
+ * {@link #packages()}. This replaces scanning the classpath (e.g. by org.reflections) at runtime.
+ *
+ * See {@link TypeIndexProcessor}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface TypeIndex {
+
+	/**
+	 * @return Name of the generated class. This is mandatory.
+	 */
+	String className();
+
+	/**
+	 * @return Package prefixes of the indexed types. This is mandatory.
+	 */
+	String[] packages();
+}
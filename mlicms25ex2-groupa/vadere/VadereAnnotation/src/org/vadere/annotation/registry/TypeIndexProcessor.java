@@ -0,0 +1,145 @@
+package org.vadere.annotation.registry;
+
+import com.google.auto.service.AutoService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates the type index classes defined by {@link TypeIndex}. The indexed types are the root
+ * elements of the compilation round in which the annotated type is compiled, i.e. the types of the
+ * module.
+ *
+ * An incremental compilation (e.g. of an IDE) passes only the changed types as root elements. Therefore,
+ * the types of the previously generated index are kept if they still exist (as source or class file).
+ */
+@SupportedAnnotationTypes({"org.vadere.annotation.registry.TypeIndex"})
+@SupportedSourceVersion(SourceVersion.RELEASE_17)
+@AutoService(Processor.class)
+public class TypeIndexProcessor extends AbstractProcessor {
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(TypeIndex.class)) {
+			TypeIndex typeIndex = element.getAnnotation(TypeIndex.class);
+			String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+
+			List<TypeElement> roots = new ArrayList<>();
+			for (Element root : roundEnv.getRootElements()) {
+				if (root instanceof TypeElement && isInPackages((TypeElement) root, typeIndex.packages())) {
+					collectPublicTypes((TypeElement) root, roots);
+				}
+			}
+
+			Map<String, TypeElement> types = new TreeMap<>();
+			for (String name : readPreviousIndex(packageName, typeIndex.className())) {
+				TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+				if (type != null && type.getModifiers().contains(Modifier.PUBLIC) && isInPackages(type, typeIndex.packages())) {
+					types.put(name, type);
+				}
+			}
+			for (TypeElement type : roots) {
+				types.put(type.getQualifiedName().toString(), type);
+			}
+
+			try {
+				writeTypeIndex(packageName, typeIndex, new ArrayList<>(types.values()));
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+						"could not write " + typeIndex.className() + ": " + e.getMessage(), element);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the qualified names of the types listed by the index generated by a previous compilation,
+	 * i.e. an empty list if there is none.
+	 */
+	private List<String> readPreviousIndex(final String packageName, final String className) {
+		List<String> names = new ArrayList<>();
+		try {
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.SOURCE_OUTPUT, packageName, className + ".java");
+			try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					int end = line.lastIndexOf(".class");
+					if (end > 0 && (line.endsWith(".class") || line.endsWith(".class,"))) {
+						names.add(line.substring(0, end));
+					}
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// no previous index
+		}
+		return names;
+	}
+
+	private boolean isInPackages(final TypeElement type, final String[] packages) {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = packageElement.getQualifiedName().toString();
+		return Arrays.stream(packages).anyMatch(prefix -> packageName.equals(prefix) || packageName.startsWith(prefix + "."));
+	}
+
+	private void collectPublicTypes(final TypeElement type, final List<TypeElement> types) {
+		if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+			return;
+		}
+		types.add(type);
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (enclosed instanceof TypeElement) {
+				collectPublicTypes((TypeElement) enclosed, types);
+			}
+		}
+	}
+
+	private void writeTypeIndex(final String packageName, final TypeIndex typeIndex, final List<TypeElement> types) throws IOException {
+		String className = typeIndex.className();
+		JavaFileObject jFile = processingEnv.getFiler().createSourceFile(packageName + "." + className);
+
+		try (PrintWriter out = new PrintWriter(jFile.openWriter())) {
+			out.append("package ").append(packageName).append(";").println();
+			out.println();
+			out.println("import java.util.List;");
+			out.println();
+			out.println("/**");
+			out.append(" * All public types of the packages ").append(String.join(", ", typeIndex.packages()))
+					.append(" (generated by TypeIndexProcessor).").println();
+			out.println(" */");
+			out.append("public final class ").append(className).append(" {").println();
+			out.println();
+			out.println("	public static final List<Class<?>> TYPES = List.of(");
+			for (int i = 0; i < types.size(); i++) {
+				out.append("			").append(types.get(i).getQualifiedName()).append(".class");
+				out.println(i < types.size() - 1 ? "," : "");
+			}
+			out.println("	);");
+			out.println();
+			out.append("	private ").append(className).append("() {}").println();
+			out.println("}");
+		}
+	}
+}
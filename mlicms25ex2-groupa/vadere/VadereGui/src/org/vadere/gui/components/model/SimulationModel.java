@@ -100,11 +100,11 @@ public T getConfig() {
     public abstract boolean isAlive(int pedId);
 
 	public Color getGroupColor(@NotNull final  Pedestrian ped) {
-		if (ped.getGroupIds().isEmpty() || (!ped.getGroupSizes().isEmpty() && ped.getGroupSizes().getFirst() == 1)) {
+		if (ped.getGroupIds().length == 0 || (ped.getGroupSizes().length > 0 && ped.getGroupSizes()[0] == 1)) {
 			return config.getPedestrianDefaultColor();
 		}
 
-		int groupId = ped.getGroupIds().getFirst();
+		int groupId = ped.getGroupIds()[0];
 
 		// SIR group coloring
 		return switch (groupId) {
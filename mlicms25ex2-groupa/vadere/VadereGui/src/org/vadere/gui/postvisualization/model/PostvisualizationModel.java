@@ -259,11 +259,11 @@ private Pedestrian toAgent(final Row row) {
 		}
 
 		if(trajectories.groupIdCol != -1) {
-			pedestrian.getGroupIds().addLast(row.getInt(trajectories.groupIdCol));
+			pedestrian.setGroupIds(new int[] { row.getInt(trajectories.groupIdCol) });
 		}
 
 		if(trajectories.groupSizeCol != -1) {
-			pedestrian.getGroupSizes().addLast(row.getInt(trajectories.groupSizeCol));
+			pedestrian.setGroupSizes(new int[] { row.getInt(trajectories.groupSizeCol) });
 		}
 
 		if(trajectories.mostImportantStimulusCol != -1) {
@@ -139,12 +139,12 @@ protected Agent toAgent(@NotNull final Row row, @NotNull final AttributesAgent a
 
 		if(groupIdCol != ColumnNames.NOT_SET_COLUMN_INDEX_IDENTIFIER) {
 			int groupId = row.getInt(groupIdCol);
-			pedestrian.getGroupIds().add(groupId);
+			pedestrian.setGroupIds(new int[] { groupId });
 		}
 
 		if(groupSizeCol != ColumnNames.NOT_SET_COLUMN_INDEX_IDENTIFIER) {
 			int groupSize = row.getInt(groupSizeCol);
-			pedestrian.getGroupSizes().add(groupSize);
+			pedestrian.setGroupSizes(new int[] { groupSize });
 		}
 
 		if(mostImportantStimulusCol != ColumnNames.NOT_SET_COLUMN_INDEX_IDENTIFIER) {
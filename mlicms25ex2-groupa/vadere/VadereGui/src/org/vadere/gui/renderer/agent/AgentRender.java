@@ -85,12 +85,12 @@ public VShape getShape(Pedestrian ped) {
 			shape = shape.translate(pos.subtract(ped.getPosition()));
 		}
 
-		if (ped.getGroupIds().isEmpty() || (!ped.getGroupSizes().isEmpty() && ped.getGroupSizes().getFirst() == 1)) {
+		if (ped.getGroupIds().length == 0 || (ped.getGroupSizes().length > 0 && ped.getGroupSizes()[0] == 1)) {
 			return shape;
-		} else if (ped.getGroupIds().getFirst() == 1) {
+		} else if (ped.getGroupIds()[0] == 1) {
 			return shape;
 		} else {
-			return FormHelper.getShape(ped.getGroupIds().getFirst(), pos, ped.getRadius());
+			return FormHelper.getShape(ped.getGroupIds()[0], pos, ped.getRadius());
 		}
 	}
 }
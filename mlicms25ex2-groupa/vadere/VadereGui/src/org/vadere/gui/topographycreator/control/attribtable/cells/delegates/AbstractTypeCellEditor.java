@@ -1,7 +1,6 @@
 package org.vadere.gui.topographycreator.control.attribtable.cells.delegates;
 
 import org.jetbrains.annotations.NotNull;
-import org.reflections.Reflections;
 import org.vadere.gui.topographycreator.control.attribtable.tree.AbstrNode;
 import org.vadere.gui.topographycreator.control.attribtable.tree.AttributeTreeModel;
 import org.vadere.gui.topographycreator.control.attribtable.ui.AttributeTableView;
@@ -3,16 +3,23 @@
 import org.reflections.Reflections;
 import org.vadere.simulator.context.VadereContext;
 import org.vadere.state.attributes.AttributesScenarioElement;
+import org.vadere.state.attributes.StateTypes;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Simple Cache to store Reflection calls to save time.
+ * Simple Cache to store Reflection calls to save time. The subtypes of types of the state module
+ * are looked up in the compile time index {@link StateTypes}, only for other types the classpath
+ * is scanned (once).
  */
 public class TreeModelCache {
 
+    private static final String STATE_PACKAGE = "org.vadere.state";
+
     private final HashMap<String, Set<Class<?>>> classCache = new HashMap<>();
+    private Reflections reflections;
 
     public static TreeModelCache buildTreeModelCache(){
         System.out.println("build tree model cache ...");
@@ -26,8 +33,25 @@ public static TreeModelCache buildTreeModelCache(){
 
     public Set<Class<?>> getSubTypeOff(Class clazz){
         if (!classCache.containsKey(clazz.getCanonicalName())){
-            classCache.put(clazz.getCanonicalName(), new Reflections("org.vadere").getSubTypesOf(clazz));
+            classCache.put(clazz.getCanonicalName(), findSubTypes(clazz));
         }
         return classCache.get(clazz.getCanonicalName());
     }
+
+    private Set<Class<?>> findSubTypes(Class<?> clazz) {
+        if (clazz.getName().startsWith(STATE_PACKAGE + ".")) {
+            Set<Class<?>> subTypes = new HashSet<>();
+            for (Class<?> type : StateTypes.TYPES) {
+                if (type != clazz && clazz.isAssignableFrom(type)) {
+                    subTypes.add(type);
+                }
+            }
+            return subTypes;
+        }
+
+        if (reflections == null) {
+            reflections = new Reflections("org.vadere");
+        }
+        return (Set<Class<?>>) reflections.getSubTypesOf(clazz);
+    }
 }
@@ -50,6 +50,8 @@ public class RemoteManager implements RunnableFinishedListener {
 	private Path defaultOutputdir;    // defined by command line parameter. May be overwritten by simCfg
 	private boolean guiSupport;
 	private SimulationCfg simCfg;    // received from traci client.
+	private String scenarioString;    // last loaded scenario, see reloadScenario
+	private Map<String, ByteArrayInputStream> cacheData;
 
 	private List<Subscription> subscriptions;
 
@@ -63,6 +65,8 @@ public RemoteManager(Path defaultOutputdir, boolean guiSupport) {
 	}
 
 	public void loadScenario(String scenarioString, Map<String, ByteArrayInputStream> cacheData) {
+		this.scenarioString = scenarioString;
+		this.cacheData = cacheData;
 
 		Scenario scenario;
 		ScenarioCache scenarioCache;
@@ -95,6 +99,35 @@ public void loadScenario(String scenarioString, Map<String, ByteArrayInputStream
 		currentSimulationRun = new RemoteScenarioRun(scenario, outputDir, this, scenarioPath, scenarioCache);
 	}
 
+	/**
+	 * Stops the current simulation (if it is still running) and loads the last scenario again, e.g. to continue
+	 * it from a checkpoint. The new run has to be started by {@link #startSimulation()}.
+	 */
+	public void reloadScenario() {
+		if (scenarioString == null)
+			throw new TraCIException("No scenario loaded.");
+
+		if (currentSimulationThread != null && currentSimulationThread.isAlive()) {
+			if (getCurrentSimThreadState().equals(SimThreadState.MAIN_LOOP)) {
+				currentSimulationRun.setIsRunSimulation(false);
+				currentSimulationRun.notifySimulationThread();
+				currentSimulationRun.waitForSimulationEnd();
+			}
+			currentSimulationThread.interrupt();
+			try {
+				currentSimulationThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TraCIExceptionInternal("Interrupted while waiting for the simulation thread to finish.");
+			}
+		}
+
+		if (cacheData != null) {
+			cacheData.values().forEach(ByteArrayInputStream::reset);
+		}
+		loadScenario(scenarioString, cacheData);
+	}
+
 	public SimThreadState getCurrentSimThreadState(){
 		return currentSimulationRun.getCurrentSimThreadState();
 	}
@@ -13,9 +13,13 @@
 import org.vadere.manager.traci.commands.control.*;
 import org.vadere.manager.traci.response.*;
 import org.vadere.simulator.control.simulation.SimThreadState;
+import org.vadere.state.traci.TraCIException;
 import org.vadere.util.logging.Logger;
 
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
 
 /**
  * Handel {@link org.vadere.manager.traci.commands.TraCICommand}s for the Control API
@@ -48,8 +52,52 @@ protected void init_HandlerMult(Method m) {
 		}
 	}
 
+	/**
+	 * Restarts the loaded scenario. The options are the checkpoint options of the scenario-run command of the
+	 * console: <tt>--restore-checkpoint file</tt> continues the new run from a checkpoint and
+	 * <tt>--checkpoint-time t --checkpoint-file file</tt> writes a checkpoint.
+	 */
 	public TraCICommand process_load(TraCICommand rawCmd, RemoteManager remoteManager) {
-		return null;
+
+		TraCILoadCommand cmd = (TraCILoadCommand) rawCmd;
+
+		Path restoreCheckpointFile = null;
+		Path checkpointFile = null;
+		double checkpointTime = -1;
+		Iterator<String> options = cmd.getOptionList().iterator();
+		while (options.hasNext()) {
+			String option = options.next();
+			if (!options.hasNext())
+				throw new TraCIException("Missing value of load option " + option);
+			String value = options.next();
+			switch (option) {
+				case "--restore-checkpoint":
+					restoreCheckpointFile = Paths.get(value);
+					break;
+				case "--checkpoint-file":
+					checkpointFile = Paths.get(value);
+					break;
+				case "--checkpoint-time":
+					try {
+						checkpointTime = Double.parseDouble(value);
+					} catch (NumberFormatException e) {
+						throw new TraCIException("Invalid checkpoint time " + value);
+					}
+					break;
+				default:
+					throw new TraCIException("Unknown load option " + option);
+			}
+		}
+
+		remoteManager.reloadScenario();
+		remoteManager.getRemoteSimulationRun().setCheckpoint(checkpointTime, checkpointFile);
+		remoteManager.getRemoteSimulationRun().setRestoreCheckpoint(restoreCheckpointFile);
+		remoteManager.startSimulation();
+
+		if (restoreCheckpointFile != null)
+			cmd.getResponse().getStatusResponse().setDescription("Restore checkpoint " + restoreCheckpointFile);
+
+		return cmd;
 	}
 
 	public TraCICommand process_close(TraCICommand rawCmd, RemoteManager remoteManager) {
@@ -3,25 +3,55 @@
 import org.vadere.manager.traci.TraCICmd;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.reader.TraCICommandBuffer;
+import org.vadere.manager.traci.response.StatusResponse;
+import org.vadere.manager.traci.response.TraCIResponse;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
 import org.vadere.manager.traci.writer.TraCIPacket;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+/**
+ * Restarts the loaded scenario with the given command line like options, e.g. <tt>--restore-checkpoint file</tt>
+ * to continue the simulation from a checkpoint or <tt>--checkpoint-time t --checkpoint-file file</tt> to write a
+ * checkpoint.
+ */
 public class TraCILoadCommand extends TraCICommand {
 
 	private List<String> optionList;
+	private TraCIResponse response;
 
 	public TraCILoadCommand(TraCICommandBuffer cmdBuffer) {
 		super(TraCICmd.LOAD);
 		this.optionList = cmdBuffer.readStringList();
+		this.response = new TraCIResponse(
+				new StatusResponse(TraCICmd.LOAD, TraCIStatusResponse.OK, ""),
+				TraCICmd.LOAD);
 	}
 
 	public static TraCIPacket build(List<String> optionList) {
-		return TraCIPacket.create();
+		int strLen = optionList.stream().mapToInt(option -> option.getBytes(StandardCharsets.US_ASCII).length + 4).sum();
+		TraCIPacket packet = TraCIPacket.create();
+		packet.writeCommandLength(1 + 1 + 4 + strLen) // [cmdIdentifier, strList]
+				.writeUnsignedByte(TraCICmd.LOAD.id)
+				.writeStringList(optionList);
+
+		return packet;
+	}
+
+	public List<String> getOptionList() {
+		return optionList;
+	}
+
+	public TraCIResponse getResponse() {
+		return response;
 	}
 
 	@Override
 	public TraCIPacket buildResponsePacket() {
-		return null;
+		if (NOK_response != null)
+			return NOK_response;
+		else
+			return TraCIPacket.create().addStatusResponse(response.getStatusResponse());
 	}
 }
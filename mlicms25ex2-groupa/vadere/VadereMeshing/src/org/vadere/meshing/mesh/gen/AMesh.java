@@ -399,7 +399,7 @@ private DoubleArrayList getDoubleArrayEdge(@NotNull final String name) {
 		return halfEdgesDoubleData.get(name);
 	}
 
-	private DoubleArrayList getDoubleArrayVertex(@NotNull final String name) {
+	DoubleArrayList getDoubleArrayVertex(@NotNull final String name) {
 		if(!verticesDoubleData.containsKey(name)) {
 			DoubleArrayList dataArray = new DoubleArrayList(vertices.size());
 			dataArray.size(vertices.size());
@@ -1323,6 +1323,52 @@ private void spatialSort() {
 
 
 
+	// raw access to the element arrays, used by the AMeshBinaryReadWriter
+	List<AVertex> getVertexArray() {
+		return vertices;
+	}
+
+	List<AHalfEdge> getEdgeArray() {
+		return edges;
+	}
+
+	List<AFace> getFaceArray() {
+		return faces;
+	}
+
+	List<AFace> getHoleArray() {
+		return holes;
+	}
+
+	/**
+	 * Replaces all elements of this mesh by the given elements which have to be consistent, i.e.
+	 * the indices of each element have to be its position in the array. The element data is cleared.
+	 *
+	 * @param vertices      all vertices including the destroyed ones
+	 * @param edges         all half-edges including the destroyed ones
+	 * @param faces         all faces including the holes and the destroyed ones
+	 * @param holes         the holes which are contained in <tt>faces</tt>
+	 * @param boundaryEdge  the array-index of an half-edge of the border
+	 */
+	void setElements(
+			@NotNull final List<AVertex> vertices,
+			@NotNull final List<AHalfEdge> edges,
+			@NotNull final List<AFace> faces,
+			@NotNull final List<AFace> holes,
+			final int boundaryEdge) {
+		clear();
+		this.vertices = vertices;
+		this.edges = edges;
+		this.faces = faces;
+		this.holes = holes;
+		this.boundary.setEdge(boundaryEdge);
+		this.numberOfVertices = (int)vertices.stream().filter(v -> !v.isDestroyed()).count();
+		this.numberOfEdges = (int)edges.stream().filter(e -> !e.isDestroyed()).count();
+		this.numberOfFaces = (int)faces.stream().filter(f -> !f.isDestroyed() && !f.isBorder()).count();
+		this.numberOfHoles = (int)holes.stream().filter(f -> !f.isDestroyed()).count();
+		this.elementRemoved = numberOfVertices < vertices.size() || numberOfEdges < edges.size() || numberOfFaces + numberOfHoles < faces.size();
+	}
+
 	/**
 	 * <p>Removes all destroyed object from this mesh and re-arranges all indices.</p>
      *
@@ -0,0 +1,317 @@
+package org.vadere.meshing.mesh.gen;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.io.FastBufferedOutputStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Reads and writes an {@link AMesh} in a binary format which contains the arrays of the mesh, i.e. the coordinates
+ * and indices of all vertices, half-edges and faces, and a selection of named double vertex data, e.g. the potential
+ * of a floor field. In contrast to the ascii-poly format (see {@link org.vadere.meshing.utils.io.poly.MeshPolyReader})
+ * nothing has to be parsed or triangulated. Files are memory-mapped and the vertex data is copied in bulk into the
+ * {@link DoubleArrayList}s of the mesh. {@link #readVertexData(AMesh, Map, File)} reads the vertex data into an existing
+ * mesh without creating any mesh element, it only checks that the stored mesh is equal to the given one.</p>
+ *
+ * <p>Format (big-endian):</p>
+ * <pre>
+ * int magic, int version, int #vertices, int #half-edges, int #faces, int #holes, int border half-edge
+ * per vertex:      double x, double y, int half-edge, byte destroyed
+ * per half-edge:   int end, int next, int previous, int twin, int face, byte destroyed
+ * per face:        int half-edge, byte border, byte destroyed
+ * per hole:        int face
+ * int #data, per data: int #bytes, bytes of the UTF-8 name, double[#vertices]
+ * </pre>
+ */
+public class AMeshBinaryReadWriter {
+
+	private static final int MAGIC = 0x414D5348; // AMSH
+	private static final int VERSION = 1;
+	private static final int VERTEX_BYTES = 2 * Double.BYTES + Integer.BYTES + 1;
+	private static final int EDGE_BYTES = 5 * Integer.BYTES + 1;
+	private static final int FACE_BYTES = Integer.BYTES + 2;
+
+	private AMeshBinaryReadWriter() {}
+
+	/**
+	 * Writes the mesh and the selected double vertex data into a file.
+	 *
+	 * @param mesh          the mesh
+	 * @param vertexData    name in the file to name of the vertex data in the mesh
+	 * @param file          the file
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(@NotNull final AMesh mesh, @NotNull final Map<String, String> vertexData, @NotNull final File file) throws IOException {
+		file.getAbsoluteFile().getParentFile().mkdirs();
+		try (OutputStream outputStream = new FastBufferedOutputStream(new FileOutputStream(file))) {
+			write(mesh, vertexData, outputStream);
+		}
+	}
+
+	/**
+	 * Writes the mesh and the selected double vertex data into an output stream.
+	 *
+	 * @param mesh          the mesh
+	 * @param vertexData    name in the file to name of the vertex data in the mesh
+	 * @param outputStream  the output stream, which will not be closed
+	 *
+	 * @throws IOException if the stream can not be written
+	 */
+	public static void write(@NotNull final AMesh mesh, @NotNull final Map<String, String> vertexData, @NotNull final OutputStream outputStream) throws IOException {
+		DataOutputStream stream = new DataOutputStream(outputStream);
+		List<AVertex> vertices = mesh.getVertexArray();
+		List<AHalfEdge> edges = mesh.getEdgeArray();
+		List<AFace> faces = mesh.getFaceArray();
+		List<AFace> holes = mesh.getHoleArray();
+
+		stream.writeInt(MAGIC);
+		stream.writeInt(VERSION);
+		stream.writeInt(vertices.size());
+		stream.writeInt(edges.size());
+		stream.writeInt(faces.size());
+		stream.writeInt(holes.size());
+		stream.writeInt(mesh.getBorder().getEdge());
+
+		for(AVertex vertex : vertices) {
+			stream.writeDouble(vertex.getX());
+			stream.writeDouble(vertex.getY());
+			stream.writeInt(vertex.getEdge());
+			stream.writeBoolean(vertex.isDestroyed());
+		}
+
+		for(AHalfEdge edge : edges) {
+			stream.writeInt(edge.getEnd());
+			stream.writeInt(edge.getNext());
+			stream.writeInt(edge.getPrevious());
+			stream.writeInt(edge.getTwin());
+			stream.writeInt(edge.getFace());
+			stream.writeBoolean(edge.isDestroyed());
+		}
+
+		for(AFace face : faces) {
+			stream.writeInt(face.getEdge());
+			stream.writeBoolean(face.isBorder());
+			stream.writeBoolean(face.isDestroyed());
+		}
+
+		for(AFace hole : holes) {
+			stream.writeInt(hole.getId());
+		}
+
+		stream.writeInt(vertexData.size());
+		for(Map.Entry<String, String> entry : vertexData.entrySet()) {
+			byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			stream.writeInt(name.length);
+			stream.write(name);
+
+			DoubleArrayList data = mesh.getDoubleArrayVertex(entry.getValue());
+			for(int i = 0; i < vertices.size(); i++) {
+				stream.writeDouble(data.getDouble(i));
+			}
+		}
+		stream.flush();
+	}
+
+	/**
+	 * Reads a mesh and all its vertex data (using the names of the file) from a memory-mapped file.
+	 *
+	 * @param file the file
+	 *
+	 * @return the mesh
+	 *
+	 * @throws IOException if the file can not be read or is not a valid mesh file
+	 */
+	public static AMesh readMesh(@NotNull final File file) throws IOException {
+		return readMesh(map(file));
+	}
+
+	/**
+	 * Reads the selected vertex data from a memory-mapped file into an existing mesh which has to be equal
+	 * (same arrays, coordinates and connectivity) to the mesh of the file.
+	 *
+	 * @param mesh          the mesh
+	 * @param vertexData    name in the file to name of the vertex data in the mesh
+	 * @param file          the file
+	 *
+	 * @throws IOException if the file can not be read, is not a valid mesh file or does not match the mesh
+	 */
+	public static void readVertexData(@NotNull final AMesh mesh, @NotNull final Map<String, String> vertexData, @NotNull final File file) throws IOException {
+		readVertexData(mesh, vertexData, map(file));
+	}
+
+	/**
+	 * Reads the selected vertex data from an input stream into an existing mesh which has to be equal
+	 * (same arrays, coordinates and connectivity) to the mesh of the stream.
+	 *
+	 * @param mesh          the mesh
+	 * @param vertexData    name in the file to name of the vertex data in the mesh
+	 * @param inputStream   the input stream, which will not be closed
+	 *
+	 * @throws IOException if the stream can not be read, is not a valid mesh file or does not match the mesh
+	 */
+	public static void readVertexData(@NotNull final AMesh mesh, @NotNull final Map<String, String> vertexData, @NotNull final InputStream inputStream) throws IOException {
+		readVertexData(mesh, vertexData, ByteBuffer.wrap(inputStream.readAllBytes()));
+	}
+
+	private static ByteBuffer map(@NotNull final File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("mesh file " + file + " is too large to be mapped.");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	private static AMesh readMesh(@NotNull final ByteBuffer buffer) throws IOException {
+		int[] header = readHeader(buffer);
+		int nVertices = header[0];
+		int nEdges = header[1];
+		int nFaces = header[2];
+		int nHoles = header[3];
+
+		List<AVertex> vertices = new ArrayList<>(nVertices);
+		for(int i = 0; i < nVertices; i++) {
+			AVertex vertex = new AVertex(i, new VPoint(buffer.getDouble(), buffer.getDouble()));
+			vertex.setEdge(buffer.getInt());
+			if(buffer.get() != 0) {
+				vertex.destroy();
+			}
+			vertices.add(vertex);
+		}
+
+		List<AHalfEdge> edges = new ArrayList<>(nEdges);
+		for(int i = 0; i < nEdges; i++) {
+			AHalfEdge edge = new AHalfEdge(i, buffer.getInt());
+			edge.setNext(buffer.getInt());
+			edge.setPrevious(buffer.getInt());
+			edge.setTwin(buffer.getInt());
+			edge.setFace(buffer.getInt());
+			if(buffer.get() != 0) {
+				edge.destroy();
+			}
+			edges.add(edge);
+		}
+
+		List<AFace> faces = new ArrayList<>(nFaces);
+		for(int i = 0; i < nFaces; i++) {
+			AFace face = new AFace(i, buffer.getInt(), buffer.get() != 0);
+			if(buffer.get() != 0) {
+				face.destroy();
+			}
+			faces.add(face);
+		}
+
+		List<AFace> holes = new ArrayList<>(nHoles);
+		for(int i = 0; i < nHoles; i++) {
+			holes.add(faces.get(buffer.getInt()));
+		}
+
+		AMesh mesh = new AMesh();
+		mesh.setElements(vertices, edges, faces, holes, header[4]);
+
+		int nData = buffer.getInt();
+		for(int i = 0; i < nData; i++) {
+			String name = readName(buffer);
+			readDoubles(buffer, mesh.getDoubleArrayVertex(name), nVertices);
+		}
+		return mesh;
+	}
+
+	private static void readVertexData(@NotNull final AMesh mesh, @NotNull final Map<String, String> vertexData, @NotNull final ByteBuffer buffer) throws IOException {
+		int[] header = readHeader(buffer);
+		List<AVertex> vertices = mesh.getVertexArray();
+		List<AHalfEdge> edges = mesh.getEdgeArray();
+
+		if(header[0] != vertices.size() || header[1] != edges.size() || header[2] != mesh.getFaceArray().size() || header[3] != mesh.getHoleArray().size()) {
+			throw new IOException("the stored mesh does not match the mesh (different number of elements).");
+		}
+
+		for(AVertex vertex : vertices) {
+			if(buffer.getDouble() != vertex.getX() || buffer.getDouble() != vertex.getY() || buffer.getInt() != vertex.getEdge()) {
+				throw new IOException("the stored mesh does not match the mesh (vertex " + vertex.getId() + ").");
+			}
+			buffer.get();
+		}
+
+		for(AHalfEdge edge : edges) {
+			if(buffer.getInt() != edge.getEnd() || buffer.getInt() != edge.getNext() || buffer.getInt() != edge.getPrevious()
+					|| buffer.getInt() != edge.getTwin() || buffer.getInt() != edge.getFace()) {
+				throw new IOException("the stored mesh does not match the mesh (half-edge " + edge.getId() + ").");
+			}
+			buffer.get();
+		}
+
+		// faces are determined by their half-edges
+		buffer.position(buffer.position() + header[2] * FACE_BYTES + header[3] * Integer.BYTES);
+
+		Map<String, String> remaining = new HashMap<>(vertexData);
+		int nData = buffer.getInt();
+		for(int i = 0; i < nData; i++) {
+			String name = readName(buffer);
+			if(remaining.containsKey(name)) {
+				readDoubles(buffer, mesh.getDoubleArrayVertex(remaining.remove(name)), vertices.size());
+			}
+			else {
+				buffer.position(buffer.position() + vertices.size() * Double.BYTES);
+			}
+		}
+
+		if(!remaining.isEmpty()) {
+			throw new IOException("the stored mesh does not contain the vertex data " + remaining.keySet() + ".");
+		}
+	}
+
+	private static int[] readHeader(@NotNull final ByteBuffer buffer) throws IOException {
+		if(buffer.remaining() < 7 * Integer.BYTES || buffer.getInt() != MAGIC) {
+			throw new IOException("not a binary mesh file.");
+		}
+
+		int version = buffer.getInt();
+		if(version != VERSION) {
+			throw new IOException("unsupported binary mesh version " + version + " (expected " + VERSION + ").");
+		}
+
+		int[] header = new int[5];
+		for(int i = 0; i < header.length; i++) {
+			header[i] = buffer.getInt();
+		}
+
+		long minSize = (long)header[0] * VERTEX_BYTES + (long)header[1] * EDGE_BYTES + (long)header[2] * FACE_BYTES + (long)header[3] * Integer.BYTES;
+		if(buffer.remaining() < minSize + Integer.BYTES) {
+			throw new IOException("the binary mesh file is truncated.");
+		}
+		return header;
+	}
+
+	private static String readName(@NotNull final ByteBuffer buffer) {
+		byte[] name = new byte[buffer.getInt()];
+		buffer.get(name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	private static void readDoubles(@NotNull final ByteBuffer buffer, @NotNull final DoubleArrayList data, final int n) throws IOException {
+		if(buffer.remaining() < n * Double.BYTES) {
+			throw new IOException("the binary mesh file is truncated.");
+		}
+		data.size(n);
+		buffer.slice().asDoubleBuffer().get(data.elements(), 0, n);
+		buffer.position(buffer.position() + n * Double.BYTES);
+	}
+}
@@ -12,16 +12,33 @@
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * A point locator which remembers the last face found for each caller and starts the next search
+ * by a straight walk from this face. Callers are either identified by an object (hashed) or by a
+ * non-negative integer slot, e.g. the id of an agent. The hints of the slots are stored in a direct mapped
+ * table (slot modulo the table size) which grows if two slots in use collide. Slots which are no longer used
+ * (e.g. of agents which left the simulation) have to be released by {@link #removeHint(int)}, then the size of
+ * the table depends on the range of the slots in use (e.g. the ids of the agents in the topography) and not on
+ * the largest slot, even if sources keep spawning agents with increasing ids.
+ *
+ * A hint might get lost (by a collision, while the table grows or if two threads write the same entry) or
+ * belong to another slot, which is harmless since it is only the start of the next walk.
+ */
 public class CachedPointLocator<V extends IVertex, E extends IHalfEdge, F extends IFace> implements IPointLocator<V, E, F> {
 
+	private static final int INITIAL_SLOTS = 64;
+	private static final int MAX_SLOTS = 1 << 20;
+
 	private final IPointLocator<V, E, F> pointLocator;
 	private final ITriConnectivity<V, E, F> triConnectivity;
 	private final Map<Object, F> cache;
+	private volatile Hints hints;
 
 	public CachedPointLocator(@NotNull final IPointLocator<V, E, F> pointLocator, @NotNull final ITriConnectivity<V, E, F> triConnectivity) {
 		this.pointLocator = pointLocator;
 		this.triConnectivity = triConnectivity;
 		this.cache = new ConcurrentHashMap<>();
+		this.hints = new Hints(INITIAL_SLOTS);
 	}
 
 	@Override
@@ -95,6 +112,116 @@ public Optional<F> locate(double x, double y, Object caller) {
 		return optFace;
 	}
 
+	@Override
+	public Optional<F> locate(final double x, final double y, final int slot) {
+		if(slot < 0) {
+			return pointLocator.locate(x, y);
+		}
+
+		F hint = getHint(slot);
+		Optional<F> optFace;
+		if(hint != null) {
+			optFace = triConnectivity.locateMarch(x, y, hint);
+		} else {
+			optFace = pointLocator.locate(x, y);
+		}
+
+		if(optFace.isPresent() && optFace.get() != hint && !triConnectivity.getMesh().isBoundary(optFace.get())) {
+			setHint(slot, optFace.get());
+		}
+
+		return optFace;
+	}
+
+	/**
+	 * Locates the points by straight walks, the first one starts at the hint of the slot, each other one
+	 * at the last (non-boundary) face found. The last face found becomes the new hint.
+	 */
+	@Override
+	public void locate(final double[] xs, final double[] ys, final int n, final int slot, final F[] faces) {
+		if(slot < 0) {
+			IPointLocator.super.locate(xs, ys, n, slot, faces);
+			return;
+		}
+
+		F hint = getHint(slot);
+		F start = hint;
+		for(int i = 0; i < n; i++) {
+			Optional<F> optFace = start != null ? triConnectivity.locateMarch(xs[i], ys[i], start) : pointLocator.locate(xs[i], ys[i]);
+			F face = optFace.orElse(null);
+			faces[i] = face;
+			if(face != null && !triConnectivity.getMesh().isBoundary(face)) {
+				start = face;
+			}
+		}
+
+		if(start != null && start != hint) {
+			setHint(slot, start);
+		}
+	}
+
+	@Override
+	public void removeHint(final int slot) {
+		if(slot < 0) {
+			return;
+		}
+
+		Hints h = hints;
+		int index = slot & h.mask;
+		if(h.slots[index] == slot) {
+			h.faces[index] = null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private F getHint(final int slot) {
+		Hints h = hints;
+		int index = slot & h.mask;
+		F face = h.slots[index] == slot ? (F) h.faces[index] : null;
+		return face == null || triConnectivity.getMesh().isDestroyed(face) ? null : face;
+	}
+
+	private void setHint(final int slot, @NotNull final F face) {
+		Hints h = hints;
+		int index = slot & h.mask;
+		Object other = h.faces[index];
+		if(other != null && h.slots[index] != slot && h.faces.length < MAX_SLOTS) {
+			h = grow(h);
+			index = slot & h.mask;
+		}
+		h.slots[index] = slot;
+		h.faces[index] = face;
+	}
+
+	/**
+	 * Doubles the size of the table, the hints are dropped.
+	 */
+	private synchronized Hints grow(final Hints old) {
+		if(hints == old) {
+			hints = new Hints(2 * old.faces.length);
+		}
+		return hints;
+	}
+
+	/**
+	 * @return the number of entries of the hint table
+	 */
+	int getNumberOfHintSlots() {
+		return hints.faces.length;
+	}
+
+	private static class Hints {
+		private final int mask;
+		private final int[] slots;
+		private final Object[] faces;
+
+		private Hints(final int size) {
+			this.mask = size - 1;
+			this.slots = new int[size];
+			this.faces = new Object[size];
+		}
+	}
+
 	@Override
 	public Type getType() {
 		return pointLocator.getType();
@@ -844,6 +844,21 @@ public Optional<F> locateFace(@NotNull final double x, final double y, final Obj
 		return pointLocator.locate(x, y, caller);
 	}
 
+	@Override
+	public Optional<F> locateFace(final double x, final double y, final int slot) {
+		return pointLocator.locate(x, y, slot);
+	}
+
+	@Override
+	public void locateFaces(@NotNull final double[] xs, @NotNull final double[] ys, final int n, final int slot, @NotNull final F[] faces) {
+		pointLocator.locate(xs, ys, n, slot, faces);
+	}
+
+	@Override
+	public void removeFaceHint(final int slot) {
+		pointLocator.removeHint(slot);
+	}
+
 	@Override
 	public Optional<F> locateFace(@NotNull final double x, final double y) {
 		return pointLocator.locate(x, y);
@@ -62,6 +62,45 @@ default Optional<F> locate(final double x, final double y, final Object caller)
 		return locate(x, y);
 	}
 
+	/**
+	 * Starts the point (x,y) location of the point and returns the face which is found. The caller is identified
+	 * by a non-negative slot, e.g. the id of an agent. A cached point locator remembers the last face found for
+	 * each slot and starts the search at this face.
+	 *
+	 * @param x     x-coordinate of the point
+	 * @param y     y-coordinate of the point
+	 * @param slot  the slot of the caller
+	 * @return the face containing the point
+	 */
+	default Optional<F> locate(final double x, final double y, final int slot) {
+		return locate(x, y);
+	}
+
+	/**
+	 * Locates the first n points (xs[i], ys[i]) and writes the faces (or <tt>null</tt> if there is none)
+	 * into faces. The points should be close to each other, e.g. the candidate positions of one agent,
+	 * such that the search of a point can start at the face of the previous point.
+	 *
+	 * @param xs    x-coordinates of the points
+	 * @param ys    y-coordinates of the points
+	 * @param n     the number of points
+	 * @param slot  the slot of the caller, see {@link #locate(double, double, int)}
+	 * @param faces output: the faces containing the points
+	 */
+	default void locate(final double[] xs, final double[] ys, final int n, final int slot, final F[] faces) {
+		for(int i = 0; i < n; i++) {
+			faces[i] = locate(xs[i], ys[i], slot).orElse(null);
+		}
+	}
+
+	/**
+	 * Forgets the face remembered for the slot, e.g. if the agent of the slot left the simulation,
+	 * see {@link #locate(double, double, int)}.
+	 *
+	 * @param slot  the slot of the caller
+	 */
+	default void removeHint(final int slot) {}
+
 	/**
 	 * Returns its type.
 	 *
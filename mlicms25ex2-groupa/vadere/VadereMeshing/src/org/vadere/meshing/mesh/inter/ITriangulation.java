@@ -48,4 +48,19 @@ default Stream<VTriangle> streamTriangles() {
 	Optional<F> locateFace(@NotNull final IPoint point, final Object caller);
 
 	Optional<F> locateFace(@NotNull final double x, final double y, final Object caller);
+
+	/**
+	 * Returns the face containing (x,y), see {@link IPointLocator#locate(double, double, int)}.
+	 */
+	Optional<F> locateFace(final double x, final double y, final int slot);
+
+	/**
+	 * Locates the first n points (xs[i], ys[i]), see {@link IPointLocator#locate(double[], double[], int, int, IFace[])}.
+	 */
+	void locateFaces(@NotNull final double[] xs, @NotNull final double[] ys, final int n, final int slot, @NotNull final F[] faces);
+
+	/**
+	 * Forgets the face hint of the slot, see {@link IPointLocator#removeHint(int)}.
+	 */
+	void removeFaceHint(final int slot);
 }
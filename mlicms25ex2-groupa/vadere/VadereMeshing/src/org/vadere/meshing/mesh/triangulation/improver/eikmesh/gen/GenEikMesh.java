@@ -38,6 +38,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -131,6 +132,10 @@
 	private static final String propVelocityX = "velocityX";
 	private static final String propVelocityY = "velocityY";
 	private static final String propAbsVelocity = "absVelocity";
+	private static final String propColor = "color";
+
+	// vertices of the same color are processed in parallel, see colorVertices()
+	private static final int MAX_COLORS = 64;
 
 	private final IVertexContainerBoolean<V, E, F> fixpointC;
 	private final IEdgeContainerBoolean<V, E, F> constraintC;
@@ -713,7 +718,75 @@ private void computeForcesBossan(final E edge) {
 	 * if the forces acting on an boundary vertex are to strong.
 	 */
 	private void updateVertices() {
-		streamVertices().forEach(v -> updateVertex(v));
+		if(runParallel) {
+			updateVerticesParallel();
+		}
+		else {
+			streamVertices().forEach(v -> updateVertex(v));
+		}
+	}
+
+	/**
+	 * The parallel version of {@link #updateVertices()}. Breaking vertices change the connectivity of the mesh
+	 * and are therefore collapsed sequentially. Afterwards the remaining vertices are displaced color by color,
+	 * see {@link #colorVertices()}. Vertices of the same color are not adjacent and the displacement of a
+	 * vertex (legality test and back projection) only reads its 1-ring, therefore no vertex is read while
+	 * it is moved.
+	 */
+	private void updateVerticesParallel() {
+		for(V vertex : getMesh().getVertices()) {
+			if(!getMesh().isDestroyed(vertex) && canBreak(vertex) && isBreaking(vertex)) {
+				getTriangulation().collapse3DVertex(vertex, true);
+				resetVelocity(vertex);
+			}
+		}
+
+		List<List<V>> independentSets = colorVertices();
+		for(int color = 0; color < independentSets.size(); color++) {
+			List<V> independentSet = independentSets.get(color);
+			if(color < MAX_COLORS) {
+				independentSet.parallelStream().forEach(v -> displaceVertex(v));
+			}
+			else {
+				independentSet.forEach(v -> displaceVertex(v));
+			}
+		}
+	}
+
+	/**
+	 * Greedy coloring of the vertices: each vertex gets the smallest color which is not used by any of its
+	 * already colored neighbours. Returns the vertices grouped by their color. Vertices of high degree
+	 * for which all {@link #MAX_COLORS} colors are used by neighbours are collected in an additional last
+	 * group which has to be processed sequentially.
+	 *
+	 * @return the vertices grouped by their color
+	 */
+	private List<List<V>> colorVertices() {
+		IVertexContainerDouble<V, E, F> colorC = getMesh().getDoubleVertexContainer(propColor);
+		List<V> vertices = getMesh().getVertices();
+		for(V vertex : vertices) {
+			colorC.setValue(vertex, -1);
+		}
+
+		List<List<V>> independentSets = new ArrayList<>();
+		for(V vertex : vertices) {
+			long usedColors = 0;
+			for(V neighbour : getMesh().getAdjacentVertexIt(vertex)) {
+				int color = (int) colorC.getValue(neighbour);
+				if(color >= 0 && color < MAX_COLORS) {
+					usedColors |= 1L << color;
+				}
+			}
+
+			// MAX_COLORS if all colors are used
+			int color = Long.numberOfTrailingZeros(~usedColors);
+			colorC.setValue(vertex, color);
+			while(independentSets.size() <= color) {
+				independentSets.add(new ArrayList<>());
+			}
+			independentSets.get(color).add(vertex);
+		}
+		return independentSets;
 	}
 
 	/**
@@ -729,10 +802,23 @@ private void updateVertex(final V vertex) {
 		 * (2) otherwise displace the vertex
 		 */
 		if(canBreak(vertex) && isBreaking(vertex)) {
-			// TODO: if the algorithm runs in parallel this might lead to unexpected results! synchronized required!
+			// the parallel version collapses vertices sequentially, see updateVerticesParallel()
 			getTriangulation().collapse3DVertex(vertex, true);
+			resetVelocity(vertex);
+		}
+		else {
+			displaceVertex(vertex);
 		}
-		else if(!isFixPoint(vertex)) {
+	}
+
+	/**
+	 * Displaces a vertex which is not a fix point according to its force and resets its force.
+	 * The vertex might get back projected if it is outside.
+	 *
+	 * @param vertex the vertex
+	 */
+	private void displaceVertex(final V vertex) {
+		if(!isFixPoint(vertex)) {
 			/*
 			 * (2.1) if it is a sliding point which slides on the boundary, then let the point only move on its sliding line.
 			 */
@@ -753,6 +839,10 @@ else if(!isFixPoint(vertex)) {
 				}
 			}
 		}
+		resetVelocity(vertex);
+	}
+
+	private void resetVelocity(final V vertex) {
 		setVelocityX(vertex, 0);
 		setVelocityY(vertex, 0);
 		setAbsVelocity(vertex, 0);
@@ -770,13 +860,24 @@ private boolean move(@NotNull final V vertex, double newX, double newY) {
 			double distance = GeometryUtils.length(vertex.getX() - newX, vertex.getY() - newY);
 			getMesh().setCoords(vertex, newX, newY);
 			if(maxMovement < distance) {
-				maxMovement = distance;
+				if(runParallel) {
+					increaseMaxMovement(distance);
+				}
+				else {
+					maxMovement = distance;
+				}
 			}
 			return true;
 		}
 		return false;
 	}
 
+	private synchronized void increaseMaxMovement(final double distance) {
+		if(maxMovement < distance) {
+			maxMovement = distance;
+		}
+	}
+
 	/**
 	 * Returns true if and only if the vertex is a sliding point which means it can only slide on a so called sliding line.
 	 *
@@ -1314,10 +1415,38 @@ private Set<IPoint> generateFixPoints() {
 	 */
 	private boolean flipEdges() {
 		if(runParallel) {
-			streamEdges()
+			List<E> illegalEdges = streamEdges()
 					.filter(e -> getTriangulation().isIllegal(e))
 					.filter(e -> !isConstrained(e))
-					.forEach(e -> getTriangulation().flipSync(e));
+					.collect(Collectors.toList());
+
+			/*
+			 * A flip only changes the two faces of the edge, therefore edges which do not share a face can be
+			 * flipped concurrently. Edges which share a face with an edge of the current batch are deferred
+			 * to the next batch and tested again since their faces might have changed.
+			 */
+			Set<F> batchFaces = new HashSet<>();
+			while (!illegalEdges.isEmpty()) {
+				List<E> batch = new ArrayList<>();
+				List<E> deferred = new ArrayList<>();
+				batchFaces.clear();
+				for(E edge : illegalEdges) {
+					if(getTriangulation().isIllegal(edge)) {
+						F face = getMesh().getFace(edge);
+						F twinFace = getMesh().getTwinFace(edge);
+						if(!batchFaces.contains(face) && !batchFaces.contains(twinFace)) {
+							batchFaces.add(face);
+							batchFaces.add(twinFace);
+							batch.add(edge);
+						}
+						else {
+							deferred.add(edge);
+						}
+					}
+				}
+				batch.parallelStream().forEach(e -> getTriangulation().flip(e));
+				illegalEdges = deferred;
+			}
 		}
 		else {
 			streamEdges()
@@ -1345,6 +1474,20 @@ private double computeEdgeScalingFactor(@NotNull final IEdgeLengthFunction edgeL
 	}
 
 
+	/**
+	 * Returns the average quality of all faces, computed in parallel if the algorithm runs in parallel.
+	 *
+	 * @return the average quality of all faces
+	 */
+	@Override
+	public double getQuality() {
+		if(runParallel) {
+			Collection<F> faces = getMesh().getFaces();
+			return faces.parallelStream().mapToDouble(face -> faceToQuality(face)).sum() / faces.size();
+		}
+		return IMeshImprover.super.getQuality();
+	}
+
 	// helper methods
 	private Stream<E> streamEdges() {
 		return runParallel ? getMesh().streamEdgesParallel() : getMesh().streamEdges();
@@ -1662,6 +1805,19 @@ private double getAbsVelocity(V vertex) {
 		return absVelocityC.getValue(vertex);
 	}
 
+	/**
+	 * If true, the forces and displacements of the vertices, the edge flips and the quality are computed in
+	 * parallel. Connectivity changes other than flips (splits and collapses) remain sequential. The distance
+	 * and edge length functions have to be thread-safe and the mesh should be array-based, i.e. an
+	 * {@link org.vadere.meshing.mesh.gen.AMesh}. Since the vertices are displaced in a different order,
+	 * the resulting mesh differs from the sequential one but has a comparable quality.
+	 *
+	 * @param runParallel true if the algorithm should run in parallel
+	 */
+	public void setRunParallel(final boolean runParallel) {
+		this.runParallel = runParallel;
+	}
+
 	public void setAllowEdgeSplits(final boolean allowEdgeSplits) {
 		this.allowEdgeSplits = allowEdgeSplits;
 	}
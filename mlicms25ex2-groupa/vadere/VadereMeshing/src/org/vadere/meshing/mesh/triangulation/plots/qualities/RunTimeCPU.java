@@ -238,9 +238,52 @@ private static void stepAdaptiveRingDistMesh(double startLen, double endLen, dou
 		System.out.println("min-qualities: [" + minQualities.stream().map(n -> n+"").reduce("", (s1,s2) -> s1 + "," + s2).substring(1) + "]");
 	}
 
+	/**
+	 * Compares the sequential and the parallel EikMesh (see {@link GenEikMesh#setRunParallel(boolean)}) for the
+	 * adaptive ring with respect to the runtime and the quality of the resulting meshes.
+	 */
+	private static void compareParallelEikMesh(double initialEdgeLength) {
+		IMeshSupplier<AVertex, AHalfEdge, AFace> supplier = () -> new AMesh();
+		IDistanceFunction distanceFunc = p -> Math.abs(0.7 - Math.sqrt(p.getX() * p.getX() + p.getY() * p.getY())) - 0.3;
+		IEdgeLengthFunction adaptiveEdgeLength =  p -> initialEdgeLength + Math.max(-distanceFunc.apply(p), 0) * 0.4;
+		List<VShape> obstacles = new ArrayList<>();
+
+		for(boolean runParallel : new boolean[]{false, true}) {
+			GenEikMesh<AVertex, AHalfEdge, AFace> meshGenerator = new GenEikMesh<>(
+					distanceFunc,
+					adaptiveEdgeLength,
+					initialEdgeLength,
+					bbox, obstacles,
+					supplier);
+			meshGenerator.setRunParallel(runParallel);
+
+			while (!meshGenerator.isInitialized()) {
+				meshGenerator.initialize();
+			}
+
+			StopWatch overAllTime = new StopWatch();
+			int steps = 0;
+			overAllTime.start();
+			do {
+				meshGenerator.improve();
+				steps++;
+			} while (!meshGenerator.isFinished());
+			overAllTime.stop();
+
+			log.info("parallel: " + runParallel);
+			log.info("#vertices: " + meshGenerator.getMesh().getVertices().size());
+			log.info("quality: " + meshGenerator.getQuality());
+			log.info("min-quality: " + meshGenerator.getMinQuality());
+			log.info("#step: " + steps);
+			log.info("overall time: " + overAllTime.getTime() + "[ms]");
+			log.info("step avg time: " + overAllTime.getTime() / steps + "[ms]\n");
+		}
+	}
+
     public static void main(String[] args) {
 		//stepAdaptiveRingDistMesh(0.2, 0.001, 0.001);
 	    stepAdaptiveRingEikMesh(0.2, 0.02, 0.001);
+	    //compareParallelEikMesh(0.005);
 	    //stepAdaptiveRingEikMesh(0.005, 0.005, 0.01);
     }
 }
@@ -0,0 +1,93 @@
+package org.vadere.meshing.mesh.gen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCachedPointLocator {
+
+	private IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation;
+	private CachedPointLocator<AVertex, AHalfEdge, AFace> locator;
+	private Random random;
+
+	@BeforeEach
+	public void setUp() {
+		random = new Random(1);
+		List<VPoint> points = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			points.add(new VPoint(random.nextDouble() * 10, random.nextDouble() * 10));
+		}
+		triangulation = IIncrementalTriangulation.createATriangulation(IPointLocator.Type.BASE, points);
+		locator = new CachedPointLocator<>(new BasePointLocator<>(triangulation), triangulation);
+	}
+
+	@Test
+	public void testSlotsFindTheSameFacesAsTheUncachedLocator() {
+		for (int i = 0; i < 2000; i++) {
+			double x = 1 + random.nextDouble() * 8;
+			double y = 1 + random.nextDouble() * 8;
+			int slot = random.nextInt(50);
+			Optional<AFace> expected = triangulation.locateFace(x, y);
+			assertEquals(expected, locator.locate(x, y, slot));
+		}
+	}
+
+	@Test
+	public void testBatchFindsTheSameFacesAsTheUncachedLocator() {
+		int n = 16;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		AFace[] faces = new AFace[n];
+		for (int slot = 0; slot < 200; slot++) {
+			double cx = 2 + random.nextDouble() * 6;
+			double cy = 2 + random.nextDouble() * 6;
+			for (int i = 0; i < n; i++) {
+				xs[i] = cx + Math.cos(2 * Math.PI * i / n);
+				ys[i] = cy + Math.sin(2 * Math.PI * i / n);
+			}
+			locator.locate(xs, ys, n, slot % 7, faces);
+			for (int i = 0; i < n; i++) {
+				assertEquals(triangulation.locateFace(xs[i], ys[i]).orElse(null), faces[i]);
+			}
+		}
+	}
+
+	/**
+	 * Sources spawn agents with increasing ids while agents leave the simulation. If the slots of removed agents
+	 * are released, the size of the hint table only depends on the number of agents in the simulation.
+	 */
+	@Test
+	public void testTableDoesNotGrowWithIncreasingSlotsIfSlotsAreRemoved() {
+		int agentsInSimulation = 100;
+		Deque<Integer> agents = new ArrayDeque<>();
+		for (int id = 1; id < 200_000; id++) {
+			agents.addLast(id);
+			locator.locate(1 + random.nextDouble() * 8, 1 + random.nextDouble() * 8, id);
+			if (agents.size() > agentsInSimulation) {
+				locator.removeHint(agents.removeFirst());
+			}
+		}
+		assertTrue(locator.getNumberOfHintSlots() <= 2 * Integer.highestOneBit(2 * agentsInSimulation),
+				"hint table has " + locator.getNumberOfHintSlots() + " slots");
+	}
+
+	@Test
+	public void testRemovedHintIsNotUsed() {
+		locator.locate(5, 5, 3);
+		locator.removeHint(3);
+		locator.removeHint(-1);
+		assertEquals(triangulation.locateFace(2, 2), locator.locate(2, 2, 3));
+	}
+}
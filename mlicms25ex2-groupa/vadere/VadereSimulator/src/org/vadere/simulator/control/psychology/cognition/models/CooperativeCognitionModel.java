@@ -28,12 +28,22 @@ public void initialize(Topography topography, Random random) {
     @Override
     public void update(Collection<Pedestrian> pedestrians) {
         for (Pedestrian pedestrian : pedestrians) {
-            if (pedestrianCannotMove(pedestrian)) {
-                pedestrian.setSelfCategory(SelfCategory.COOPERATIVE);
-            } else {
-                // Maybe, check if area directed to target is free for a step (only then change to "TARGET_ORIENTED").
-                pedestrian.setSelfCategory(SelfCategory.TARGET_ORIENTED);
-            }
+            update(pedestrian);
+        }
+    }
+
+    @Override
+    public boolean isAgentLocal() {
+        return true;
+    }
+
+    @Override
+    public void update(Pedestrian pedestrian) {
+        if (pedestrianCannotMove(pedestrian)) {
+            pedestrian.setSelfCategory(SelfCategory.COOPERATIVE);
+        } else {
+            // Maybe, check if area directed to target is free for a step (only then change to "TARGET_ORIENTED").
+            pedestrian.setSelfCategory(SelfCategory.TARGET_ORIENTED);
         }
     }
 
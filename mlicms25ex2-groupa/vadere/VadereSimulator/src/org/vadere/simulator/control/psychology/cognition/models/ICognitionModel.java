@@ -57,6 +57,29 @@ public interface ICognitionModel {
 	 */
 	void update(Collection<Pedestrian> pedestrians);
 
+	/**
+	 * Returns true if the model processes each pedestrian on its own, i.e. {@link #update(Pedestrian)}
+	 * only changes the state of the given pedestrian and only reads state of other pedestrians which is not
+	 * changed by this model. Then the pedestrians can be updated in parallel with the same result as
+	 * {@link #update(Collection)}. Models which read the self category of neighbors set in the same update
+	 * (e.g. {@link CounterflowCognitionModel}) or draw random numbers are not agent local since their result
+	 * depends on the order of the pedestrians.
+	 */
+	default boolean isAgentLocal() {
+		return false;
+	}
+
+	/**
+	 * Updates a single pedestrian. This method may only be called if {@link #isAgentLocal()} returns true,
+	 * the default implementation (used by models which are not agent local) throws an exception.
+	 *
+	 * @param pedestrian the pedestrian to update
+	 * @throws UnsupportedOperationException if the model is not agent local
+	 */
+	default void update(Pedestrian pedestrian) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " can not update single pedestrians.");
+	}
+
 	void setAttributes(AttributesCognitionModel attributes);
 
 	AttributesCognitionModel getAttributes();
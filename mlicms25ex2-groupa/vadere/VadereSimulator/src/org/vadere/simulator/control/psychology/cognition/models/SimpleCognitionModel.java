@@ -28,26 +28,35 @@ public void initialize(Topography topography, Random random) {
     @Override
     public void update(Collection<Pedestrian> pedestrians) {
         for (Pedestrian pedestrian : pedestrians) {
+            update(pedestrian);
+        }
+    }
+
+    @Override
+    public boolean isAgentLocal() {
+        return true;
+    }
+
+    @Override
+    public void update(Pedestrian pedestrian) {
+        Stimulus stimulus = pedestrian.getMostImportantStimulus();
+        SelfCategory nextSelfCategory;
 
-            Stimulus stimulus = pedestrian.getMostImportantStimulus();
-            SelfCategory nextSelfCategory;
-
-            if (stimulus instanceof ChangeTarget) {
-                nextSelfCategory = SelfCategory.CHANGE_TARGET;
-            } else if (stimulus instanceof Threat) {
-                nextSelfCategory = SelfCategory.THREATENED;
-            } else if (stimulus instanceof Wait || stimulus instanceof WaitInArea) {
-                nextSelfCategory = SelfCategory.WAIT;
-            } else if (stimulus instanceof ElapsedTime) {
-                nextSelfCategory = SelfCategory.TARGET_ORIENTED;
-            } else {
-                throw new IllegalArgumentException(String.format("Stimulus \"%s\" not supported by \"%s\"",
-                        stimulus.getClass().getSimpleName(),
-                        this.getClass().getSimpleName()));
-            }
-
-            pedestrian.setSelfCategory(nextSelfCategory);
+        if (stimulus instanceof ChangeTarget) {
+            nextSelfCategory = SelfCategory.CHANGE_TARGET;
+        } else if (stimulus instanceof Threat) {
+            nextSelfCategory = SelfCategory.THREATENED;
+        } else if (stimulus instanceof Wait || stimulus instanceof WaitInArea) {
+            nextSelfCategory = SelfCategory.WAIT;
+        } else if (stimulus instanceof ElapsedTime) {
+            nextSelfCategory = SelfCategory.TARGET_ORIENTED;
+        } else {
+            throw new IllegalArgumentException(String.format("Stimulus \"%s\" not supported by \"%s\"",
+                    stimulus.getClass().getSimpleName(),
+                    this.getClass().getSimpleName()));
         }
+
+        pedestrian.setSelfCategory(nextSelfCategory);
     }
 
     @Override
@@ -73,20 +73,10 @@ public List<Stimulus> getStimuliFiltered(double simulationTime, VPoint position,
 
         setCheckStimuli();
 
-        List<Stimulus> stimuli = new ArrayList<>();
-
-        // Always, create an "ElapsedTime".
-        stimuli.add(new ElapsedTime(simulationTime));
-
-        List<Stimulus> activeOneTimeStimuli = getOneTimeStimuliForSimulationTime(simulationTime, position, pedId);
-        List<Stimulus> activeRecurringStimuli = getRecurringStimuliForSimulationTime(simulationTime, position, pedId);
+        List<Stimulus> stimuli = collectStimuli(simulationTime, position, pedId);
 
         // Set timestamp for each active stimulus.
-        activeOneTimeStimuli.stream().forEach(stimulus -> stimulus.setTime(simulationTime));
-        activeRecurringStimuli.stream().forEach((stimulus -> stimulus.setTime(simulationTime)));
-
-        stimuli.addAll(activeOneTimeStimuli);
-        stimuli.addAll(activeRecurringStimuli);
+        setTime(stimuli, simulationTime);
 
         return stimuli;
     }
@@ -101,6 +91,53 @@ public HashMap<Pedestrian, List<Stimulus>> getStimuli(double simulationTime, Col
         return pedSpecificStimuliForTime;
     }
 
+    /**
+     * Same result as {@link #getStimuli(double, Collection)} but the stimuli of the pedestrians are collected
+     * in parallel. The stimuli (which are shared by all pedestrians) are only read in parallel, their
+     * timestamps are set afterwards.
+     */
+    public HashMap<Pedestrian, List<Stimulus>> getStimuliParallel(double simulationTime, Collection<Pedestrian> peds) {
+
+        setCheckStimuli();
+
+        List<Pedestrian> pedList = new ArrayList<>(peds);
+        List<List<Stimulus>> stimuliPerPed = pedList.parallelStream()
+                .map(ped -> collectStimuli(simulationTime, ped.getPosition(), ped.getId()))
+                .collect(Collectors.toList());
+
+        HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuliForTime = new HashMap<>();
+        for (int i = 0; i < pedList.size(); i++) {
+            List<Stimulus> stimuli = stimuliPerPed.get(i);
+            setTime(stimuli, simulationTime);
+            pedSpecificStimuliForTime.put(pedList.get(i), stimuli);
+        }
+
+        return pedSpecificStimuliForTime;
+    }
+
+    /**
+     * Returns an {@link ElapsedTime} followed by the active one-time and recurring stimuli, without
+     * changing any state.
+     */
+    private List<Stimulus> collectStimuli(double simulationTime, VPoint position, Integer pedId) {
+        List<Stimulus> stimuli = new ArrayList<>();
+
+        // Always, create an "ElapsedTime".
+        stimuli.add(new ElapsedTime(simulationTime));
+
+        stimuli.addAll(getOneTimeStimuliForSimulationTime(simulationTime, position, pedId));
+        stimuli.addAll(getRecurringStimuliForSimulationTime(simulationTime, position, pedId));
+
+        return stimuli;
+    }
+
+    private void setTime(List<Stimulus> stimuli, double simulationTime) {
+        // the ElapsedTime is created with the simulation time
+        for (int i = 1; i < stimuli.size(); i++) {
+            stimuli.get(i).setTime(simulationTime);
+        }
+    }
+
     private void setCheckStimuli() {
         oneTimeStimuli = filterOneTimeStimuli(scenarioStore.getStimulusInfoStore().getStimulusInfos());
         recurringStimuli = filterRecurringStimuli(scenarioStore.getStimulusInfoStore().getStimulusInfos());
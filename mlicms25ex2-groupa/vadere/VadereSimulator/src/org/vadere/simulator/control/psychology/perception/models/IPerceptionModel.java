@@ -51,6 +51,23 @@ public interface IPerceptionModel {
 	 *  */
 	void update(HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli);
 
+	/**
+	 * Returns true if the model processes each pedestrian on its own, i.e. {@link #update(Pedestrian, List)}
+	 * only changes the state of the given pedestrian and does not depend on the order in which the pedestrians
+	 * are processed. Then the pedestrians can be updated in parallel with the same result as
+	 * {@link #update(HashMap)}.
+	 */
+	default boolean isAgentLocal() {
+		return false;
+	}
+
+	/**
+	 * Updates a single pedestrian, only supported by models which are {@link #isAgentLocal() agent local}.
+	 */
+	default void update(Pedestrian pedestrian, List<Stimulus> stimuli) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " can not update single pedestrians.");
+	}
+
 	void setAttributes(AttributesPerceptionModel attributes);
 
 	AttributesPerceptionModel getAttributes();
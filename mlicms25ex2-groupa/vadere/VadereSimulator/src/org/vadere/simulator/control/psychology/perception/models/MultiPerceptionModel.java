@@ -37,14 +37,21 @@ public void initialize(Topography topography, final double simTimeStepLengh) {
     public void update(HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli) {
 
         for (Map.Entry<Pedestrian, List<Stimulus>> pedStimuli : pedSpecificStimuli.entrySet()) {
-
-            LinkedList<Stimulus> stimuli = pedStimuli.getValue().stream().collect(Collectors.toCollection(LinkedList::new));
-            Pedestrian ped = pedStimuli.getKey();
-            ped.setNextPerceivedStimuli(stimuli);
+            update(pedStimuli.getKey(), pedStimuli.getValue());
         }
 
     }
 
+    @Override
+    public boolean isAgentLocal() {
+        return true;
+    }
+
+    @Override
+    public void update(Pedestrian pedestrian, List<Stimulus> stimuli) {
+        pedestrian.setNextPerceivedStimuli(stimuli.stream().collect(Collectors.toCollection(LinkedList::new)));
+    }
+
     @Override
     public void setAttributes(AttributesPerceptionModel attributes) {
         this.attributes = (AttributesMultiPerceptionModel) attributes;
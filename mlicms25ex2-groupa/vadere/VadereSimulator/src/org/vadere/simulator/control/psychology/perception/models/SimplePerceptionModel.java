@@ -36,11 +36,21 @@ public void initialize(Topography topography, final double simTimeStepLengh) {
     @Override
     public void update(HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli) {
         for (Pedestrian pedestrian : pedSpecificStimuli.keySet()) {
-            Stimulus mostImportantStimulus = rankChangeTargetAndThreatHigherThanWait(pedSpecificStimuli.get(pedestrian), pedestrian);
-            pedestrian.setMostImportantStimulus(mostImportantStimulus);
+            update(pedestrian, pedSpecificStimuli.get(pedestrian));
         }
     }
 
+    @Override
+    public boolean isAgentLocal() {
+        return true;
+    }
+
+    @Override
+    public void update(Pedestrian pedestrian, List<Stimulus> stimuli) {
+        Stimulus mostImportantStimulus = rankChangeTargetAndThreatHigherThanWait(stimuli, pedestrian);
+        pedestrian.setMostImportantStimulus(mostImportantStimulus);
+    }
+
     @Override
     public void setAttributes(AttributesPerceptionModel attributes) {
         this.attributes = (AttributesSimplePerceptionModel) attributes;
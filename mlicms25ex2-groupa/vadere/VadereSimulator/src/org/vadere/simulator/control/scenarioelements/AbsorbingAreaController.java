@@ -1,5 +1,7 @@
 package org.vadere.simulator.control.scenarioelements;
 
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.jetbrains.annotations.Nullable;
 import org.vadere.state.scenario.*;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
@@ -33,6 +35,19 @@ public AbsorbingAreaController(Topography topography, AbsorbingArea absorbingAre
 
     // Other Methods
     public void update(double simTimeInSec) {
+        update(simTimeInSec, null);
+    }
+
+    /**
+     * @param reachDetector the detection of the agents which are within reach of the area in this step or null
+     *                      if the agents have to be tested by this controller
+     */
+    public void update(double simTimeInSec, @Nullable final AreaReachDetector reachDetector) {
+        final IntSet agentsWithinReach = reachDetector == null ? null : reachDetector.getAgentsWithinReach(absorbingArea);
+        if (agentsWithinReach != null && agentsWithinReach.isEmpty()) {
+            return;
+        }
+
         for (DynamicElement element : getDynamicElementsNearAbsorbingArea()) {
 
             final Agent agent;
@@ -43,7 +58,8 @@ public void update(double simTimeInSec) {
                 continue;
             }
 
-            if (hasAgentReachedAbsorbingArea(agent)) {
+            final boolean agentHasReachedArea = agentsWithinReach == null ? hasAgentReachedAbsorbingArea(agent) : agentsWithinReach.contains(agent.getId());
+            if (agentHasReachedArea) {
                 notifyListenersAbsorbingAreaReached(agent);
                 topography.removeElement(agent);
             }
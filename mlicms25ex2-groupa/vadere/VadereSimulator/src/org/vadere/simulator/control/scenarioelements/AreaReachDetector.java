@@ -0,0 +1,249 @@
+package org.vadere.simulator.control.scenarioelements;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.state.scenario.AbsorbingArea;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.ScenarioElement;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.TargetChanger;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Detects which pedestrians are within reach of the targets, target changers and absorbing areas of the
+ * topography, i.e. inside the shape of the area or closer than its reach (deletion) distance. Instead of
+ * one spatial query and one shape test per pedestrian for each area, the areas are binned into a uniform
+ * grid and each pedestrian is only tested against the areas of its grid cell. The pedestrians are tested
+ * in parallel.
+ *
+ * The detection is done after the sources spawned their agents and before the controllers of the areas are
+ * updated. Since the controllers do not move agents, the detection is valid for all of them. The controllers
+ * still process the agents in the order of their spatial query, hence the result does not depend on the
+ * detection, but a controller whose area is not reached by any agent has nothing to do.
+ */
+public class AreaReachDetector {
+
+	/**
+	 * the maximal number of grid cells per area.
+	 */
+	private static final int CELLS_PER_AREA = 4;
+
+	private final Map<ScenarioElement, Integer> areaIndices;
+	private final List<VShape> shapes;
+	private final List<Rectangle2D> reachBounds;
+	private double[] reachDistances;
+	private IntSet[] agentsWithinReach;
+
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+	private double cellSize;
+	private int cellsX;
+	private int cellsY;
+
+	/**
+	 * the areas of the c-th cell are cellAreas[cellStart[c]] ... cellAreas[cellStart[c+1]-1].
+	 */
+	private int[] cellStart;
+	private int[] cellAreas;
+
+	public AreaReachDetector() {
+		this.areaIndices = new IdentityHashMap<>();
+		this.shapes = new ArrayList<>();
+		this.reachBounds = new ArrayList<>();
+		this.reachDistances = new double[0];
+		this.agentsWithinReach = new IntSet[0];
+	}
+
+	/**
+	 * Detects the pedestrians which are within reach of each area of the topography.
+	 *
+	 * @param topography the topography containing the areas and pedestrians
+	 */
+	public void detect(@NotNull final Topography topography) {
+		collectAreas(topography);
+		buildGrid();
+		if (shapes.isEmpty()) {
+			return;
+		}
+
+		List<Pedestrian> pedestrians = new ArrayList<>(topography.getElements(Pedestrian.class));
+		int[][] reachedAreas = new int[pedestrians.size()][];
+		IntStream.range(0, pedestrians.size()).parallel().forEach(i -> reachedAreas[i] = reachedAreas(pedestrians.get(i).getPosition()));
+
+		for (int i = 0; i < pedestrians.size(); i++) {
+			if (reachedAreas[i] != null) {
+				for (int area : reachedAreas[i]) {
+					agentsWithinReach[area].add(pedestrians.get(i).getId());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the ids of the agents which were within reach of the area at the last detection.
+	 *
+	 * @param area a target, target changer or absorbing area
+	 * @return the ids of the agents or null if the area was not part of the last detection (e.g. it was added
+	 *         afterwards or it is a pedestrian target)
+	 */
+	@Nullable
+	public IntSet getAgentsWithinReach(@NotNull final ScenarioElement area) {
+		Integer index = areaIndices.get(area);
+		return index == null ? null : agentsWithinReach[index];
+	}
+
+	private void collectAreas(@NotNull final Topography topography) {
+		areaIndices.clear();
+		shapes.clear();
+		reachBounds.clear();
+		List<Double> distances = new ArrayList<>();
+
+		for (Target target : topography.getTargets()) {
+			if (!target.isTargetPedestrian()) {
+				addArea(target, target.getAttributes().getAbsorberAttributes().getDeletionDistance(), distances);
+			}
+		}
+		for (TargetChanger targetChanger : topography.getTargetChangers()) {
+			addArea(targetChanger, targetChanger.getAttributes().getReachDistance(), distances);
+		}
+		for (AbsorbingArea absorbingArea : topography.getAbsorbingAreas()) {
+			addArea(absorbingArea, absorbingArea.getAttributes().getDeletionDistance(), distances);
+		}
+
+		reachDistances = distances.stream().mapToDouble(Double::doubleValue).toArray();
+		agentsWithinReach = new IntSet[shapes.size()];
+		for (int i = 0; i < agentsWithinReach.length; i++) {
+			agentsWithinReach[i] = new IntOpenHashSet();
+		}
+	}
+
+	private void addArea(@NotNull final ScenarioElement area, final double reachDistance, @NotNull final List<Double> distances) {
+		VShape shape = area.getShape();
+		Rectangle2D bounds = shape.getBounds2D();
+		double reach = Math.max(0, reachDistance);
+		areaIndices.put(area, shapes.size());
+		shapes.add(shape);
+		reachBounds.add(new Rectangle2D.Double(bounds.getMinX() - reach, bounds.getMinY() - reach,
+				bounds.getWidth() + 2 * reach, bounds.getHeight() + 2 * reach));
+		distances.add(reachDistance);
+	}
+
+	/**
+	 * Bins the (by their reach distance enlarged) bounds of the areas into a grid of at most
+	 * {@link #CELLS_PER_AREA} cells per area.
+	 */
+	private void buildGrid() {
+		int n = shapes.size();
+		minX = Double.POSITIVE_INFINITY;
+		minY = Double.POSITIVE_INFINITY;
+		maxX = Double.NEGATIVE_INFINITY;
+		maxY = Double.NEGATIVE_INFINITY;
+		for (Rectangle2D bound : reachBounds) {
+			minX = Math.min(minX, bound.getMinX());
+			minY = Math.min(minY, bound.getMinY());
+			maxX = Math.max(maxX, bound.getMaxX());
+			maxY = Math.max(maxY, bound.getMaxY());
+		}
+
+		if (n == 0) {
+			cellsX = 0;
+			cellsY = 0;
+			cellStart = new int[1];
+			cellAreas = new int[0];
+			return;
+		}
+
+		double width = Math.max(maxX - minX, Double.MIN_NORMAL);
+		double height = Math.max(maxY - minY, Double.MIN_NORMAL);
+		cellSize = Math.max(Math.sqrt(width * height / (CELLS_PER_AREA * n)), Math.max(width, height) / (CELLS_PER_AREA * n));
+		cellsX = Math.min((int) (width / cellSize) + 1, CELLS_PER_AREA * n);
+		cellsY = Math.min((int) (height / cellSize) + 1, CELLS_PER_AREA * n);
+
+		// count the areas of each cell, then fill them in
+		cellStart = new int[cellsX * cellsY + 1];
+		for (Rectangle2D bound : reachBounds) {
+			forEachCell(bound, cell -> cellStart[cell + 1]++);
+		}
+		for (int c = 0; c < cellsX * cellsY; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		cellAreas = new int[cellStart[cellsX * cellsY]];
+		int[] fill = Arrays.copyOf(cellStart, cellsX * cellsY);
+		for (int area = 0; area < n; area++) {
+			int a = area;
+			forEachCell(reachBounds.get(area), cell -> cellAreas[fill[cell]++] = a);
+		}
+	}
+
+	private void forEachCell(@NotNull final Rectangle2D bound, @NotNull final IntConsumer action) {
+		int fromX = cellX(bound.getMinX());
+		int toX = cellX(bound.getMaxX());
+		int fromY = cellY(bound.getMinY());
+		int toY = cellY(bound.getMaxY());
+		for (int y = fromY; y <= toY; y++) {
+			for (int x = fromX; x <= toX; x++) {
+				action.accept(y * cellsX + x);
+			}
+		}
+	}
+
+	/**
+	 * @return the indices of the areas within reach of the position or null if there is none
+	 */
+	@Nullable
+	private int[] reachedAreas(@NotNull final VPoint position) {
+		if (cellsX == 0 || !contains(minX, minY, maxX, maxY, position)) {
+			return null;
+		}
+
+		int[] reached = null;
+		int count = 0;
+		int cell = cellY(position.y) * cellsX + cellX(position.x);
+		for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+			int area = cellAreas[k];
+			Rectangle2D bound = reachBounds.get(area);
+			if (contains(bound.getMinX(), bound.getMinY(), bound.getMaxX(), bound.getMaxY(), position) && isWithinReach(area, position)) {
+				if (reached == null) {
+					reached = new int[cellStart[cell + 1] - k];
+				}
+				reached[count++] = area;
+			}
+		}
+		return reached == null ? null : Arrays.copyOf(reached, count);
+	}
+
+	/**
+	 * In contrast to {@link Rectangle2D#contains(double, double)} the boundary is part of the rectangle.
+	 */
+	private static boolean contains(final double minX, final double minY, final double maxX, final double maxY, @NotNull final VPoint position) {
+		return position.x >= minX && position.x <= maxX && position.y >= minY && position.y <= maxY;
+	}
+
+	private boolean isWithinReach(final int area, @NotNull final VPoint position) {
+		VShape shape = shapes.get(area);
+		return shape.contains(position) || shape.distance(position) < reachDistances[area];
+	}
+
+	private int cellX(final double x) {
+		return Math.max(0, Math.min(cellsX - 1, (int) ((x - minX) / cellSize)));
+	}
+
+	private int cellY(final double y) {
+		return Math.max(0, Math.min(cellsY - 1, (int) ((y - minY) / cellSize)));
+	}
+}
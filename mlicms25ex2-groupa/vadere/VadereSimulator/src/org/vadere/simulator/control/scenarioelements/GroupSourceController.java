@@ -5,6 +5,8 @@
 import org.vadere.simulator.models.DynamicElementFactory;
 import org.vadere.simulator.models.groups.GroupModel;
 import org.vadere.simulator.models.groups.GroupSizeDeterminator;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
 import org.vadere.state.attributes.scenario.AttributesDynamicElement;
 import org.vadere.state.scenario.Source;
 import org.vadere.state.scenario.Topography;
@@ -15,6 +17,7 @@
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -226,6 +229,19 @@ private void getNewGroupSizeFromModel() {
 	}
 
 
+	/**
+	 * The groups to spawn and the group model are not written, i.e. checkpoints of group sources are not supported.
+	 */
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		throw new UnsupportedOperationException("checkpoints of group sources are not supported.");
+	}
+
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		throw new UnsupportedOperationException("checkpoints of group sources are not supported.");
+	}
+
 	@Override
 	protected boolean isQueueEmpty() {
 		return false;
@@ -3,6 +3,8 @@
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.control.util.SingleSpawnArray;
 import org.vadere.simulator.models.DynamicElementFactory;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
 import org.vadere.state.attributes.scenario.AttributesDynamicElement;
 import org.vadere.state.scenario.Source;
 import org.vadere.state.scenario.Topography;
@@ -13,6 +15,7 @@
 import org.vadere.util.logging.Logger;
 
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -127,20 +130,7 @@ private List<VPoint> getRandomArrayPositions(final int numberToSpawn, @NotNull f
 	}
 
 	private List<VPoint> getRealPositions(final int numberToSpawn, @NotNull final List<VShape> blockPedestrianShapes) {
-		List<VPoint> positions = new LinkedList<>();
-
-		for (int i = 0; i < numberToSpawn; i++) {
-			Optional<VPoint> optPosition = spawnArray.getNextPosition(blockPedestrianShapes);
-
-			if (optPosition.isPresent()) {
-				VPoint position = optPosition.get();
-				blockPedestrianShapes.add(dynamicElementFactory.getDynamicElementRequiredPlace(position));
-				positions.add(position);
-			}
-
-
-		}
-		return positions;
+		return spawnArray.getNextPositions(numberToSpawn, blockPedestrianShapes);
 	}
 
 	/**
@@ -214,6 +204,20 @@ private Optional<VPoint> getNextRandomPosition(@NotNull final Random random, @No
 		return Optional.empty();
 	}
 
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		super.writeCheckpoint(writer);
+		writer.writeInt(numberToSpawn);
+		writer.writeInts(spawnArray.getSpawnOrder());
+	}
+
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		super.readCheckpoint(reader);
+		numberToSpawn = reader.readInt();
+		spawnArray.setSpawnOrder(reader.readInts());
+	}
+
 	@Override
 	protected boolean isQueueEmpty() {
 		return numberToSpawn == 0;
@@ -1,27 +1,34 @@
 package org.vadere.simulator.control.scenarioelements;
 
+import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.control.scenarioelements.listener.ControllerEventListener;
 import org.vadere.simulator.control.scenarioelements.listener.ControllerEventProvider;
 import org.vadere.simulator.models.DynamicElementFactory;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.attributes.scenario.AttributesDynamicElement;
 import org.vadere.state.attributes.scenario.AttributesSource;
 import org.vadere.state.attributes.spawner.AttributesSpawner;
 import org.vadere.state.scenario.*;
 import org.vadere.state.scenario.distribution.impl.MixedDistribution;
+import org.vadere.state.scenario.distribution.impl.TimeSeriesDistribution;
 import org.vadere.state.scenario.spawner.VSpawner;
+import org.vadere.state.scenario.spawner.impl.RegularSpawner;
 import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 
-public abstract class SourceController extends ScenarioElementController implements ControllerEventProvider<Agent, SourceController> {
+public abstract class SourceController extends ScenarioElementController implements ControllerEventProvider<Agent, SourceController>, Checkpointable {
 
     protected final double BUFFER_CA = 0.01; // amount of overlap between spawned agents that is allowed in order to allow touching agents in CA
     protected final double NO_EVENT = Double.MAX_VALUE;
@@ -201,4 +208,39 @@ public int getSourceId() {
     public boolean isSourceFinished(double simTimeInSec) {
         return spawner.isFinished(simTimeInSec, () -> isQueueEmpty());
     }
+
+    /**
+     * Writes the next event and the state of the spawner. Only {@link RegularSpawner}s with a distribution
+     * which has no state except its random generator are supported.
+     */
+    @Override
+    public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+        checkCheckpointSupported();
+        writer.writeBoolean(timeOfNextEvent != null);
+        if (timeOfNextEvent != null) {
+            writer.writeDouble(timeOfNextEvent);
+        }
+        writer.writeInt(spawner.getDynamicElementsCreatedTotal());
+        writer.writeInt(spawner.getRemainingSpawnAgents());
+        writer.writeRandom(spawner.getRandomGenerator());
+    }
+
+    @Override
+    public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+        checkCheckpointSupported();
+        timeOfNextEvent = reader.readBoolean() ? reader.readDouble() : null;
+        spawner.setDynamicElementsCreatedTotal(reader.readInt());
+        spawner.setRemainingSpawnAgents(reader.readInt());
+        reader.readRandom(spawner.getRandomGenerator());
+    }
+
+    private void checkCheckpointSupported() {
+        if (!(spawner instanceof RegularSpawner)
+                || spawner.getDistribution() instanceof MixedDistribution
+                || spawner.getDistribution() instanceof TimeSeriesDistribution) {
+            throw new UnsupportedOperationException("checkpoints of source " + source.getId() + " with spawner "
+                    + spawner.getClass().getSimpleName() + " and distribution "
+                    + spawner.getDistribution().getClass().getSimpleName() + " are not supported.");
+        }
+    }
 }
@@ -1,6 +1,12 @@
 package org.vadere.simulator.control.scenarioelements;
 
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.vadere.simulator.control.scenarioelements.targetchanger.TargetChangerAlgorithm;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.DynamicElement;
 import org.vadere.state.scenario.Pedestrian;
@@ -10,14 +16,17 @@
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
+import org.vadere.util.random.CheckpointableRandom;
 
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 /**
  * Change target id of an agent which enters the corresponding {@link TargetChanger} area.
@@ -34,7 +43,7 @@
  *     </li>
  * </ul>
  */
-public class TargetChangerController  extends ScenarioElementController  {
+public class TargetChangerController  extends ScenarioElementController implements Checkpointable {
 
     // Static Variables
     private static final Logger log = Logger.getLogger(TargetChangerController.class);
@@ -69,6 +78,19 @@ public Map<Integer, Agent> getProcessedAgents() {
 
     // Public Methods
     public void update(double simTimeInSec) {
+        update(simTimeInSec, null);
+    }
+
+    /**
+     * @param reachDetector the detection of the agents which are within reach of the area in this step or null
+     *                      if the agents have to be tested by this controller
+     */
+    public void update(double simTimeInSec, @Nullable final AreaReachDetector reachDetector) {
+        final IntSet agentsWithinReach = reachDetector == null ? null : reachDetector.getAgentsWithinReach(targetChanger);
+        if (agentsWithinReach != null && agentsWithinReach.isEmpty()) {
+            return;
+        }
+
         for (DynamicElement element : getDynamicElementsNearTargetChangerArea()) {
 
             final Agent agent;
@@ -79,7 +101,8 @@ public void update(double simTimeInSec) {
                 continue;
             }
 
-            if (hasAgentReachedTargetChangerArea(agent) && processedAgents.containsKey(agent.getId()) == false) {
+            final boolean agentHasReachedArea = agentsWithinReach == null ? hasAgentReachedTargetChangerArea(agent) : agentsWithinReach.contains(agent.getId());
+            if (agentHasReachedArea && processedAgents.containsKey(agent.getId()) == false) {
                 logEnteringTimeOfAgent(agent, simTimeInSec);
                 changerAlgorithm.setAgentTargetList(agent);
                 notifyListenersTargetChangerAreaReached(agent);
@@ -143,4 +166,40 @@ public TargetChangerAlgorithm getChangerAlgorithm() {
     public void setChangerAlgorithm(TargetChangerAlgorithm changerAlgorithm) {
         this.changerAlgorithm = changerAlgorithm;
     }
+
+    /**
+     * Writes the processed agents which are still part of the topography (the ids of removed agents are never
+     * reused) and the state of the random generators of the algorithm.
+     */
+    @Override
+    public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+        writer.writeIntegers(processedAgents.keySet().stream()
+                .filter(id -> topography.getPedestrianDynamicElements().idExists(id))
+                .sorted()
+                .collect(Collectors.toList()));
+
+        List<CheckpointableRandom> randomGenerators = changerAlgorithm.getRandomGenerators();
+        writer.writeInt(randomGenerators.size());
+        for (CheckpointableRandom randomGenerator : randomGenerators) {
+            writer.writeRandom(randomGenerator);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+        processedAgents.clear();
+        for (int id : reader.readIntegers()) {
+            processedAgents.put(id, topography.getPedestrianDynamicElements().getElement(id));
+        }
+
+        List<CheckpointableRandom> randomGenerators = changerAlgorithm.getRandomGenerators();
+        int size = reader.readInt();
+        if (size != randomGenerators.size()) {
+            throw new IOException("the checkpoint contains " + size + " random generators for target changer "
+                    + targetChanger.getId() + " but its algorithm has " + randomGenerators.size() + ".");
+        }
+        for (CheckpointableRandom randomGenerator : randomGenerators) {
+            reader.readRandom(randomGenerator);
+        }
+    }
 }
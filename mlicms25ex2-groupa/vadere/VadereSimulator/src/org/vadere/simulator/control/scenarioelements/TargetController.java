@@ -1,6 +1,8 @@
 package org.vadere.simulator.control.scenarioelements;
 
+import it.unimi.dsi.fastutil.ints.IntSet;
 import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.jetbrains.annotations.Nullable;
 import org.vadere.state.attributes.scenario.AttributesTarget;
 import org.vadere.state.scenario.*;
 import org.vadere.state.scenario.distribution.DistributionFactory;
@@ -44,10 +46,23 @@ public TargetController(Topography topography, Target target,Random random) {
 	}
 
 	public void update(double simTimeInSec) {
+		update(simTimeInSec, null);
+	}
+
+	/**
+	 * @param reachDetector the detection of the agents which are within reach of the target in this step or null
+	 *                      if the agents have to be tested by this controller
+	 */
+	public void update(double simTimeInSec, @Nullable final AreaReachDetector reachDetector) {
 		if (target.isTargetPedestrian()) {
 			return;
 		}
 
+		final IntSet agentsWithinReach = reachDetector == null ? null : reachDetector.getAgentsWithinReach(target);
+		if (agentsWithinReach != null && agentsWithinReach.isEmpty()) {
+			return;
+		}
+
 		for (DynamicElement element : getNearbyPedestrians()) {
 			final Agent agent = castCheckAgent(element);
 			final int agentID = agent.getId();
@@ -55,7 +70,7 @@ public void update(double simTimeInSec) {
 
 			final boolean agentHasReachedThisTarget =
 					isNextTargetForAgent(agent)
-							&& hasAgentReachedThisTarget(agent);
+							&& (agentsWithinReach == null ? hasAgentReachedThisTarget(agent) : agentsWithinReach.contains(agentID));
 			if (agentHasReachedThisTarget) {
 				notifyListenersTargetReached(agent);
 				handleArrivingAgent(agent, simTimeInSec, target.getLeavingTimes());
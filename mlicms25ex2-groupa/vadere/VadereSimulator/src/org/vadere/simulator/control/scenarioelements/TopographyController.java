@@ -36,6 +36,14 @@ public Topography getTopography() {
 	}
 
 	public void preLoop(double simTimeInSec, List<Attributes> attributesList) {
+		preLoop(simTimeInSec, attributesList, true);
+	}
+
+	/**
+	 * @param createInitialPedestrians false if the agents are restored from a checkpoint instead of being created
+	 *                                 from the initial pedestrians of the topography
+	 */
+	public void preLoop(double simTimeInSec, List<Attributes> attributesList, boolean createInitialPedestrians) {
 		// If there is no background mesh these attributes are used to constrcut a distance function by using a cellgrid of size defined by AttributesFloorField.
 		AttributesFloorField attributesFloorField;
 		try {
@@ -46,7 +54,9 @@ public void preLoop(double simTimeInSec, List<Attributes> attributesList) {
 			attributesFloorField = new AttributesFloorField();
 		}
 		prepareTopography(attributesFloorField);
-		createAgentWrapperPedestrians(simTimeInSec);
+		if (createInitialPedestrians) {
+			createAgentWrapperPedestrians(simTimeInSec);
+		}
 	}
 
 	private void createAgentWrapperPedestrians(double simTimeInSec) {
@@ -2,6 +2,12 @@
 
 import org.vadere.state.scenario.TargetChanger;
 import org.vadere.state.scenario.Topography;
+import org.vadere.util.random.CheckpointableRandom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 /**
  * Abstract TargetChangerAlgorithm holding the corresponding {@link TargetChanger}
@@ -12,6 +18,7 @@ public abstract class BaseTargetChangerAlgorithm implements TargetChangerAlgorit
 
 	protected TargetChanger targetChanger;
 	protected Topography topography;
+	private final List<CheckpointableRandom> randomGenerators = new ArrayList<>();
 
 	public BaseTargetChangerAlgorithm(TargetChanger targetChanger, Topography topography) {
 		this.targetChanger = targetChanger;
@@ -27,6 +34,20 @@ protected void checkProbabilityIsNormalized(){
 		}
 	}
 
+	/**
+	 * Creates a random generator seeded by the given random generator, see {@link #getRandomGenerators()}.
+	 */
+	protected CheckpointableRandom createRandomGenerator(Random rnd) {
+		CheckpointableRandom randomGenerator = new CheckpointableRandom(rnd.nextInt());
+		randomGenerators.add(randomGenerator);
+		return randomGenerator;
+	}
+
+	@Override
+	public List<CheckpointableRandom> getRandomGenerators() {
+		return Collections.unmodifiableList(randomGenerators);
+	}
+
 	@Override
 	public TargetChanger getTargetChanger() {
 		return targetChanger;
@@ -2,7 +2,6 @@
 
 
 import org.apache.commons.math3.distribution.BinomialDistribution;
-import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
@@ -41,7 +40,7 @@ public void throwExceptionOnInvalidInput(TargetChanger targetChanger) {
 
 	@Override
 	public void init(Random rnd){
-		binomialDistribution = createBinomialDistribution(rnd);
+		binomialDistribution = createBinomialDistribution(createRandomGenerator(rnd));
 	}
 
 	@Override
@@ -1,7 +1,6 @@
 package org.vadere.simulator.control.scenarioelements.targetchanger;
 
 import org.apache.commons.math3.distribution.EnumeratedIntegerDistribution;
-import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.TargetChanger;
 import org.vadere.state.scenario.TargetChangerAlgorithmType;
@@ -61,9 +60,7 @@ public void init(Random rnd) {
 				probability[i] = val/norm;
 			}
 		}
-		JDKRandomGenerator randomGenerator = new JDKRandomGenerator();
-		randomGenerator.setSeed(rnd.nextInt());
-		dist = new EnumeratedIntegerDistribution(randomGenerator, entity, probability);
+		dist = new EnumeratedIntegerDistribution(createRandomGenerator(rnd), entity, probability);
 	}
 
 	@Override
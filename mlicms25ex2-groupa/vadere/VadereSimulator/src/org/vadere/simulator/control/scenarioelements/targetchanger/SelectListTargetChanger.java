@@ -32,7 +32,7 @@ public void throwExceptionOnInvalidInput(TargetChanger targetChanger) {
 
 	@Override
 	public void init(Random rnd) {
-		binomialDistribution = createBinomialDistribution(rnd);
+		binomialDistribution = createBinomialDistribution(createRandomGenerator(rnd));
 	}
 
 	@Override
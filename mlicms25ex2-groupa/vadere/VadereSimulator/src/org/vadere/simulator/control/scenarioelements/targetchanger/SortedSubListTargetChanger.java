@@ -1,7 +1,6 @@
 package org.vadere.simulator.control.scenarioelements.targetchanger;
 
 import org.apache.commons.math3.distribution.BinomialDistribution;
-import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.TargetChanger;
 import org.vadere.state.scenario.TargetChangerAlgorithmType;
@@ -39,10 +38,7 @@ public void throwExceptionOnInvalidInput(TargetChanger targetChanger) {
 	public void init(Random rnd) {
 
 		for (Double probability : targetChanger.getAttributes().getProbabilitiesToChangeTarget()) {
-			JDKRandomGenerator randomGenerator = new JDKRandomGenerator();
-			randomGenerator.setSeed(rnd.nextInt());
-
-			binomialDistributions.add(new BinomialDistribution(randomGenerator, BINOMIAL_DISTRIBUTION_SUCCESS_VALUE, probability));
+			binomialDistributions.add(new BinomialDistribution(createRandomGenerator(rnd), BINOMIAL_DISTRIBUTION_SUCCESS_VALUE, probability));
 		}
 	}
 
@@ -1,13 +1,15 @@
 package org.vadere.simulator.control.scenarioelements.targetchanger;
 
 import org.apache.commons.math3.distribution.BinomialDistribution;
-import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
 import org.vadere.simulator.control.scenarioelements.TargetChangerController;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.TargetChanger;
 import org.vadere.state.scenario.TargetChangerAlgorithmType;
 import org.vadere.state.scenario.Topography;
+import org.vadere.util.random.CheckpointableRandom;
 
+import java.util.List;
 import java.util.Random;
 
 public interface TargetChangerAlgorithm {
@@ -44,9 +46,12 @@ static TargetChangerAlgorithm create(TargetChanger targetChanger, Topography top
 
 	TargetChanger getTargetChanger();
 
-	default BinomialDistribution createBinomialDistribution(Random rnd){
-		JDKRandomGenerator randomGenerator = new JDKRandomGenerator();
-		randomGenerator.setSeed(rnd.nextInt());
+	/**
+	 * @return the random generators created by {@link #init(Random)}, their state is part of a checkpoint
+	 */
+	List<CheckpointableRandom> getRandomGenerators();
+
+	default BinomialDistribution createBinomialDistribution(RandomGenerator randomGenerator){
 		double probability = getTargetChanger().getAttributes().getProbabilitiesToChangeTarget().getFirst();
 		return new BinomialDistribution(randomGenerator, BINOMIAL_DISTRIBUTION_SUCCESS_VALUE, probability);
 	}
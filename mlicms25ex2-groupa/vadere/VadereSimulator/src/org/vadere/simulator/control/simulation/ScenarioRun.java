@@ -7,6 +7,7 @@
 import org.vadere.meshing.mesh.gen.AFace;
 import org.vadere.meshing.mesh.gen.AHalfEdge;
 import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinaryReadWriter;
 import org.vadere.meshing.mesh.gen.AVertex;
 import org.vadere.meshing.utils.io.poly.MeshPolyReader;
 import org.vadere.meshing.utils.io.poly.MeshPolyWriter;
@@ -17,6 +18,9 @@
 import org.vadere.simulator.control.psychology.perception.helpers.PerceptionModelBuilder;
 import org.vadere.simulator.control.psychology.perception.StimulusController;
 import org.vadere.simulator.control.scenarioelements.TargetChangerController;
+import org.vadere.simulator.control.simulation.profiling.ProfileSummaryWriter;
+import org.vadere.simulator.control.simulation.profiling.StepMetricsListener;
+import org.vadere.simulator.control.simulation.profiling.StepProfiler;
 import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.models.MainModelBuilder;
 import org.vadere.simulator.models.infection.AirTransmissionModel;
@@ -30,6 +34,7 @@
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.psychology.perception.json.StimulusInfo;
+import org.vadere.util.config.VadereConfig;
 import org.vadere.util.io.IOUtils;
 import org.vadere.util.logging.Logger;
 
@@ -46,6 +51,7 @@
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 
@@ -69,6 +75,8 @@ public class ScenarioRun implements Runnable {
 
 	protected final List<RemoteRunListener> remoteRunListeners = new ArrayList<>();
 
+	protected final List<StepMetricsListener> stepMetricsListeners = new ArrayList<>();
+
 	protected final DataProcessingJsonManager dataProcessingJsonManager;
 
 	protected Simulation simulation;
@@ -86,6 +94,11 @@ public class ScenarioRun implements Runnable {
 
 	protected SimulationResult simulationResult;
 
+	// see Simulation#setCheckpoint and Simulation#setRestoreCheckpoint
+	protected double checkpointTimeInSec = -1;
+	protected @Nullable Path checkpointFile;
+	protected @Nullable Path restoreCheckpointFile;
+
 	public ScenarioRun(final Scenario scenario, RunnableFinishedListener scenarioFinishedListener, Path scenarioFilePath, boolean singleStepMode, ScenarioCache scenarioCache) {
 		this(scenario, IOUtils.OUTPUT_DIR, scenarioFinishedListener, scenarioFilePath, scenarioCache);
 		this.singleStepMode = singleStepMode;
@@ -194,6 +207,9 @@ public void run() {
 						processorManager, simulationResult,
 						remoteRunListeners, singleStepMode,
 						scenarioCache);
+				simulation.setStepProfiler(createStepProfiler(simulation));
+				simulation.setCheckpoint(checkpointTimeInSec, checkpointFile);
+				simulation.setRestoreCheckpoint(restoreCheckpointFile);
 			}
 
 			simulation.run();
@@ -211,6 +227,24 @@ public void run() {
 		}
 	}
 
+	/**
+	 * The simulation loop is only profiled if it is enabled in the config (Simulation.profiling.enabled)
+	 * or if someone listens to the metrics. The summary is written next to the other output files.
+	 */
+	private @Nullable StepProfiler createStepProfiler(@NotNull final Simulation simulation) {
+		boolean enabled = VadereConfig.getConfig().getBoolean("Simulation.profiling.enabled", false);
+		if (!enabled && stepMetricsListeners.isEmpty()) {
+			return null;
+		}
+
+		StepProfiler profiler = new StepProfiler(simulation.getModels());
+		if (enabled && processorManager != null && !processorManager.isEmpty()) {
+			profiler.addListener(new ProfileSummaryWriter(outputPath));
+		}
+		stepMetricsListeners.forEach(profiler::addListener);
+		return profiler;
+	}
+
 	private Optional<AMesh> loadFloorFieldMesh() {
 		return loadMesh(scenario.getName()+".poly");
 	}
@@ -220,10 +254,33 @@ private Optional<AMesh> loadBackgrounddMesh() {
 	}
 
 	private Optional<AMesh> loadMesh(@NotNull final String fileName) {
+		Path path = scenarioFilePath.getParent().resolve(IOUtils.MESH_DIR + "/" + fileName);
+		if (!Files.isRegularFile(path)) {
+			logger.info("no mesh " + fileName + " was found.");
+			return Optional.empty();
+		}
+
+		Optional<Path> binaryPath = Optional.empty();
+		try {
+			binaryPath = scenarioCache.getMeshCachePath(path);
+		} catch (IOException e) {
+			logger.warn("cannot hash the mesh " + path + ", the binary mesh is not used.");
+		}
+
+		// the binary copy of the mesh is read without parsing, its name contains the hash of the poly file.
+		if (binaryPath.isPresent() && Files.isRegularFile(binaryPath.get())) {
+			try {
+				AMesh mesh = AMeshBinaryReadWriter.readMesh(binaryPath.get().toFile());
+				logger.info("read mesh " + fileName + " from " + binaryPath.get() + ".");
+				return Optional.of(mesh);
+			} catch (IOException e) {
+				logger.warn("cannot read the binary mesh " + binaryPath.get() + ", read " + fileName + " instead.");
+			}
+		}
+
 		AMesh mesh = null;
 		try {
 			var meshReader = new MeshPolyReader<>(() -> new AMesh());
-			Path path = scenarioFilePath.getParent().resolve(IOUtils.MESH_DIR + "/" + fileName);
 			mesh = (AMesh) meshReader.readMesh(new FastBufferedInputStream(new FileInputStream(path.toFile())));
 		} catch (FileNotFoundException e) {
 			logger.info("no mesh " + fileName + " was found.");
@@ -231,6 +288,15 @@ private Optional<AMesh> loadMesh(@NotNull final String fileName) {
 			e.printStackTrace();
 		}
 
+		// an existing binary copy has the same content hash, i.e. it is not stale and is not replaced if it could not be read
+		if (mesh != null && binaryPath.isPresent() && !Files.exists(binaryPath.get())) {
+			try {
+				AMeshBinaryReadWriter.write(mesh, Map.of(), binaryPath.get().toFile());
+			} catch (IOException e) {
+				logger.warn("cannot write the binary mesh " + binaryPath.get() + ".");
+			}
+		}
+
 		return Optional.ofNullable(mesh);
 	}
 
@@ -348,10 +414,34 @@ public void addRemoteManagerListener(final RemoteRunListener listener){
 		remoteRunListeners.add(listener);
 	}
 
+	/**
+	 * Registers a listener for the per step metrics of the simulation loop. Has to be called before the run starts.
+	 */
+	public void addStepMetricsListener(final StepMetricsListener listener) {
+		stepMetricsListeners.add(listener);
+	}
+
 	public boolean isSingleStepMode() {
 		return singleStepMode;
 	}
 
+	/**
+	 * Writes a checkpoint of the simulation at the given time from which a later run of the same scenario can
+	 * continue, see {@link #setRestoreCheckpoint(Path)}. Has to be called before the run starts.
+	 */
+	public void setCheckpoint(final double timeInSec, @Nullable final Path file) {
+		this.checkpointTimeInSec = timeInSec;
+		this.checkpointFile = file;
+	}
+
+	/**
+	 * Continues the simulation from a checkpoint instead of starting at time 0. Has to be called before the run
+	 * starts.
+	 */
+	public void setRestoreCheckpoint(@Nullable final Path file) {
+		this.restoreCheckpointFile = file;
+	}
+
 	public void setOutputPaths(final Path outputPath, boolean overwriteTimestampSetting){
 		if (overwriteTimestampSetting){
 			this.outputPath = outputPath;
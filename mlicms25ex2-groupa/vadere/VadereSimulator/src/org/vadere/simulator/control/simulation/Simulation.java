@@ -1,10 +1,13 @@
 package org.vadere.simulator.control.simulation;
 
+import org.jetbrains.annotations.Nullable;
 import org.vadere.simulator.control.factory.SourceControllerFactory;
 import org.vadere.simulator.control.psychology.cognition.models.ICognitionModel;
 import org.vadere.simulator.control.psychology.perception.StimulusController;
 import org.vadere.simulator.control.psychology.perception.models.IPerceptionModel;
 import org.vadere.simulator.control.scenarioelements.*;
+import org.vadere.simulator.control.simulation.profiling.SimulationPhase;
+import org.vadere.simulator.control.simulation.profiling.StepProfiler;
 import org.vadere.simulator.models.DynamicElementFactory;
 import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.models.Model;
@@ -17,6 +20,7 @@
 import org.vadere.simulator.projects.ScenarioStore;
 import org.vadere.simulator.projects.SimulationResult;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
 import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.attributes.AttributesSimulation;
 import org.vadere.state.attributes.scenario.AttributesAgent;
@@ -24,9 +28,13 @@
 import org.vadere.state.psychology.perception.types.ElapsedTime;
 import org.vadere.state.psychology.perception.types.Stimulus;
 import org.vadere.state.scenario.*;
+import org.vadere.util.config.VadereConfig;
 import org.vadere.util.logging.Logger;
 
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,6 +49,7 @@ public class Simulation implements ControllerProvider{
 	private final Collection<TargetController> targetControllers;
 	private final Collection<TargetChangerController> targetChangerControllers;
 	private final Collection<AbsorbingAreaController> absorbingAreaControllers;
+	private final AreaReachDetector areaReachDetector;
 	private final Random random;
 	private TeleporterController teleporterController;
 	private TopographyController topographyController;
@@ -86,6 +95,16 @@ public class Simulation implements ControllerProvider{
 	private SimulationResult simulationResult;
 	private final StimulusController stimulusController;
 	private final ScenarioCache scenarioCache;
+	/** measures the phases of each step, null if profiling is disabled */
+	private @Nullable StepProfiler profiler;
+	/** update agent local perception and cognition models in parallel, see {@link IPerceptionModel#isAgentLocal()} */
+	private final boolean parallelPsychologyLayer;
+	/** time (seconds) after which a checkpoint is written to {@link #checkpointFile}, see {@link SimulationCheckpoint} */
+	private double checkpointTimeInSec = -1;
+	private @Nullable Path checkpointFile;
+	/** checkpoint from which the simulation continues instead of starting at its start time */
+	private @Nullable Path restoreCheckpointFile;
+	private @Nullable SimulationCheckpoint checkpoint;
 
 
 	public Simulation(MainModel mainModel, IPerceptionModel perceptionModel,
@@ -110,12 +129,14 @@ public Simulation(MainModel mainModel, IPerceptionModel perceptionModel,
 		this.targetControllers = new LinkedList<>();
 		this.targetChangerControllers = new LinkedList<>();
 		this.absorbingAreaControllers = new LinkedList<>();
+		this.areaReachDetector = new AreaReachDetector();
 		this.topography = scenarioStore.getTopography();
 		this.runTimeInSec = attributesSimulation.getFinishTime();
 		this.startTimeInSec = startTimeInSec;
 		this.simTimeInSec = startTimeInSec;
 		this.simulationResult = simulationResult;
 		this.scenarioCache = scenarioCache;
+		this.parallelPsychologyLayer = VadereConfig.getConfig().getBoolean("Simulation.psychology.parallel", false);
 
 		this.models = mainModel.getSubmodels();
 		this.sourceControllerFactory = mainModel.getSourceControllerFactory();
@@ -208,7 +229,8 @@ private void preLoop() {
 		}
 
 		simulationState = initialSimulationState();
-		topographyController.preLoop(simTimeInSec, scenarioStore.getAttributesList());
+		mainModel.setRecordingFootSteps(isRecordingFootStepsRequired());
+		topographyController.preLoop(simTimeInSec, scenarioStore.getAttributesList(), restoreCheckpointFile == null);
 		isRunSimulation = true;
 		simTimeInSec = startTimeInSec;
 
@@ -216,10 +238,18 @@ private void preLoop() {
 			m.preLoop(simTimeInSec);
 		}
 
+		if (restoreCheckpointFile != null) {
+			restoreCheckpoint(restoreCheckpointFile);
+		}
+
 		for (PassiveCallback c : passiveCallbacks) {
 			c.preLoop(simTimeInSec);
 		}
 
+		if (profiler != null) {
+			profiler.preLoop();
+		}
+
 		if (attributesSimulation.isWriteSimulationData()) {
 			processorManager.preLoop(this.simulationState);
 		}
@@ -236,6 +266,10 @@ private void postLoop() {
 			c.postLoop(simTimeInSec);
 		}
 
+		if (profiler != null) {
+			profiler.postLoop();
+		}
+
 		if (attributesSimulation.isWriteSimulationData()) {
 			processorManager.postLoop(this.simulationState);
 		}
@@ -261,6 +295,16 @@ private void postLoop() {
 		logger.info("Post-loop: finished.");
 	}
 
+	/**
+	 * The foot steps of the agents are read by the output processors, by callbacks like the online visualization
+	 * and possibly by a remote client (single step mode). If none of them is present, the main model may skip
+	 * recording them.
+	 */
+	private boolean isRecordingFootStepsRequired() {
+		return !passiveCallbacks.isEmpty() || singleStepMode
+				|| (attributesSimulation.isWriteSimulationData() && processorManager != null && processorManager.requiresFootSteps());
+	}
+
 	/**
 	 * Starts simulation and runs main loop until stopSimulation flag is set.
 	 */
@@ -273,6 +317,14 @@ public void run() {
 				processorManager.initOutputFiles();
 			}
 			threadState = SimThreadState.PRE_LOOP;
+			if (checkpointFile != null || restoreCheckpointFile != null) {
+				// created before the agents are added since the checkpoint has to hash the initial scenario
+				// processors only run if simulation data is written
+				List<DataProcessor<?, ?>> statefulProcessors = attributesSimulation.isWriteSimulationData() && processorManager != null
+						? processorManager.getProcessorsWithStateAcrossSteps() : List.of();
+				checkpoint = new SimulationCheckpoint(scenarioStore, mainModel, models, topography,
+						sourceControllers, targetChangerControllers, statefulProcessors, random);
+			}
 			preLoop();
 			logger.info("preLoop finished.");
 
@@ -294,9 +346,14 @@ public void run() {
 					sleepTillStartOfNextFrame();
 				}
 
+				if (profiler != null) {
+					profiler.beginStep();
+				}
+
 				for (PassiveCallback c : passiveCallbacks) {
 					c.preUpdate(simTimeInSec);
 				}
+				lap(SimulationPhase.CALLBACKS);
 
 				assert assertAllPedestrianInBounds(): "Pedestrians are outside of topography bound.";
 				updateCallbacks(simTimeInSec);
@@ -307,11 +364,17 @@ public void run() {
 				if (attributesSimulation.isWriteSimulationData()) {
 					processorManager.update(this.simulationState);
 				}
+				lap(SimulationPhase.PROCESSORS);
 
 				for (PassiveCallback c : passiveCallbacks) {
 					c.postUpdate(simTimeInSec);
 				}
 
+				if (profiler != null) {
+					profiler.lap(SimulationPhase.CALLBACKS);
+					profiler.endStep(step, simTimeInSec, topography.getPedestrianDynamicElements().getElements().size());
+				}
+
 				double stopTime = runTimeInSec;
 				if (this.simulationState.isSimStop()) {
 					// get stopTime if the simulation should finish before finish time. New finish time = stop time
@@ -347,6 +410,11 @@ public void run() {
 					simTimeInSec += Math.min(attributesSimulation.getSimTimeStepLength(), runTimeInSec + startTimeInSec - simTimeInSec);
 				}
 
+				if (checkpointFile != null && isRunSimulation && simTimeInSec >= checkpointTimeInSec - 1e-7) {
+					writeCheckpoint(checkpointFile);
+					checkpointFile = null;
+				}
+
 
 				//remove comment to fasten simulation for evacuation simulations
 				//if (topography.getElements(Pedestrian.class).size() == 0){
@@ -368,6 +436,42 @@ public void run() {
 		}
 	}
 
+	/**
+	 * Writes a checkpoint after the first step which reaches the given time, i.e. the checkpoint contains the
+	 * state before the step at the following time step.
+	 */
+	public void setCheckpoint(final double timeInSec, @Nullable final Path file) {
+		this.checkpointTimeInSec = timeInSec;
+		this.checkpointFile = file;
+	}
+
+	/**
+	 * Continues the simulation from a checkpoint written by a simulation of the same scenario, see
+	 * {@link #setCheckpoint(double, Path)}.
+	 */
+	public void setRestoreCheckpoint(@Nullable final Path file) {
+		this.restoreCheckpointFile = file;
+	}
+
+	private void writeCheckpoint(final Path file) {
+		try {
+			checkpoint.write(file, simTimeInSec, step);
+		} catch (IOException e) {
+			throw new UncheckedIOException("could not write the checkpoint " + file, e);
+		}
+	}
+
+	private void restoreCheckpoint(final Path file) {
+		try {
+			checkpoint.read(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("could not restore the checkpoint " + file, e);
+		}
+		simTimeInSec = checkpoint.getSimTimeInSec();
+		step = checkpoint.getStep();
+		simulationState = new SimulationState(name, topography, scenarioStore, simTimeInSec, step, mainModel, this);
+	}
+
 	private void waitForTraci()  {
 
 
@@ -414,11 +518,19 @@ private void updateCallbacks(double simTimeInSec) {
 		updateScenarioElements(simTimeInSec);
 
 		updatePsychologyLayer(simTimeInSec);
+		lap(SimulationPhase.PSYCHOLOGY);
 
 		updateLocomotionLayer(simTimeInSec);
 
 		if (topographyController.getTopography().hasTeleporter()) {
 			teleporterController.update(simTimeInSec);
+			lap(SimulationPhase.TELEPORTER);
+		}
+	}
+
+	private void lap(SimulationPhase phase) {
+		if (profiler != null) {
+			profiler.lap(phase);
 		}
 	}
 
@@ -436,19 +548,25 @@ private void updateScenarioElements(double simTimeInSec) {
 			sourceController.update(simTimeInSec);
 		}
 
+		// find the agents within reach of the targets, target changers and absorbing areas in one (parallel) pass,
+		// the controllers only handle these agents
+		areaReachDetector.detect(this.topographyController.getTopography());
+
 		for (TargetController targetController : this.targetControllers) {
-			targetController.update(simTimeInSec);
+			targetController.update(simTimeInSec, areaReachDetector);
 		}
 
 		for (TargetChangerController targetChangerController : this.targetChangerControllers) {
-			targetChangerController.update(simTimeInSec);
+			targetChangerController.update(simTimeInSec, areaReachDetector);
 		}
 
 		for (AbsorbingAreaController absorbingAreaController : this.absorbingAreaControllers) {
-			absorbingAreaController.update(simTimeInSec);
+			absorbingAreaController.update(simTimeInSec, areaReachDetector);
 		}
+		lap(SimulationPhase.SCENARIO_ELEMENTS);
 
 		topographyController.update(simTimeInSec); //rebuild CellGrid
+		lap(SimulationPhase.TOPOGRAPHY);
 	}
 
 
@@ -458,11 +576,14 @@ private void updatePsychologyLayer(double simTimeInSec) {
 		if (scenarioStore.getAttributesPsychology().isUsePsychologyLayer()) {
 
 
-			HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli = stimulusController.getStimuli(simTimeInSec, pedestrians);
-
+			if (parallelPsychologyLayer) {
+				updatePsychologyLayerParallel(simTimeInSec, pedestrians);
+			} else {
+				HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli = stimulusController.getStimuli(simTimeInSec, pedestrians);
 
-			perceptionModel.update(pedSpecificStimuli);
-			cognitionModel.update(pedestrians);
+				perceptionModel.update(pedSpecificStimuli);
+				cognitionModel.update(pedestrians);
+			}
 		} else {
 			ElapsedTime elapsedTime = new ElapsedTime(simTimeInSec);
 			pedestrians.stream().forEach(pedestrian -> pedestrian.setMostImportantStimulus(elapsedTime));
@@ -471,8 +592,30 @@ private void updatePsychologyLayer(double simTimeInSec) {
 
 
 
+	/**
+	 * Stimuli are collected in parallel. Agent local models update the pedestrians in parallel, which gives
+	 * the same result as the sequential update since each pedestrian is only changed by its own update.
+	 * All other models are updated sequentially.
+	 */
+	private void updatePsychologyLayerParallel(double simTimeInSec, Collection<Pedestrian> pedestrians) {
+		HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli = stimulusController.getStimuliParallel(simTimeInSec, pedestrians);
+
+		if (perceptionModel.isAgentLocal()) {
+			pedSpecificStimuli.entrySet().parallelStream().forEach(e -> perceptionModel.update(e.getKey(), e.getValue()));
+		} else {
+			perceptionModel.update(pedSpecificStimuli);
+		}
+
+		if (cognitionModel.isAgentLocal()) {
+			pedestrians.parallelStream().forEach(cognitionModel::update);
+		} else {
+			cognitionModel.update(pedestrians);
+		}
+	}
+
 	private void updateLocomotionLayer(double simTimeInSec) {
-		for (Model m : models) {
+		for (int i = 0; i < models.size(); i++) {
+			Model m = models.get(i);
 			List<SourceController> stillSpawningSource = this.sourceControllers.stream().filter(s -> !s.isSourceFinished(simTimeInSec)).collect(Collectors.toList());
 			int pedestriansInSimulation = this.simulationState.getTopography().getPedestrianDynamicElements().getElements().size();
 			int aerosolCloudsInSimulation = this.simulationState.getTopography().getAerosolClouds().size();
@@ -480,10 +623,14 @@ private void updateLocomotionLayer(double simTimeInSec) {
 			// Only update until there are pedestrians in the scenario or pedestrian to spawn or aerosol clouds persist
 			if (!stillSpawningSource.isEmpty() || pedestriansInSimulation > 0 || aerosolCloudsInSimulation > 0) {
 				m.update(simTimeInSec);
+				if (profiler != null) {
+					profiler.lapModel(i);
+				}
 
 				if (topography.isRecomputeCells()) {
 					// rebuild CellGrid if model does not manage the CellGrid state while updating
 					topographyController.update(simTimeInSec); //rebuild CellGrid
+					lap(SimulationPhase.TOPOGRAPHY);
 				}
 			}
 		}
@@ -632,4 +779,16 @@ public void setIsRunSimulation(boolean running){
 		isRunSimulation = running;
 	}
 
+	/**
+	 * Enables the per step profiling of the simulation loop, null disables it. The profiler has to be
+	 * created for the models of this simulation, see {@link #getModels()}.
+	 */
+	public void setStepProfiler(@Nullable StepProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	public List<Model> getModels() {
+		return models;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+package org.vadere.simulator.control.simulation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.scenarioelements.SourceController;
+import org.vadere.simulator.control.scenarioelements.TargetChangerController;
+import org.vadere.simulator.models.MainModel;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.projects.ScenarioStore;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.psychology.cognition.GroupMembership;
+import org.vadere.state.psychology.cognition.SelfCategory;
+import org.vadere.state.scenario.AbsorbingArea;
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.DynamicElementContainer;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Source;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.TargetChanger;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.state.util.StateJsonConverter;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.random.CheckpointableRandom;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * A binary snapshot of a {@link Simulation} between two time steps from which the simulation can be continued,
+ * see {@link Simulation#setCheckpoint(double, Path)} and {@link Simulation#setRestoreCheckpoint(Path)}. The
+ * continued simulation computes the same steps as the simulation which wrote the checkpoint, provided that the
+ * main model updates the agents deterministically (which the parallel update schemes do not).
+ *
+ * <p>A checkpoint contains the time and step, the agents (including the state of the model specific agents,
+ * e.g. the time of the next step which orders the event queue of the event driven update schemes), the state of
+ * the scenario elements, sources, target changers, models and output processors which keep state across steps,
+ * and the state of the random generator of the simulation. The topography itself is taken from the scenario,
+ * which has to be the same as the one of the simulation which wrote the checkpoint. Static floor fields are
+ * recomputed and the output processors write the steps after the checkpoint.</p>
+ *
+ * <p>Configurations with state which is not part of a checkpoint are rejected by an
+ * {@link UnsupportedOperationException}: models and output processors which keep state across steps (see
+ * {@link DataProcessor#keepsStateAcrossSteps()}) which are not {@link Checkpointable}, the psychology layer, target
+ * pedestrians, aerosol clouds and agents with a health or infection status.</p>
+ */
+class SimulationCheckpoint {
+
+	private static final Logger logger = Logger.getLogger(SimulationCheckpoint.class);
+
+	private static final String MAGIC = "vadere-checkpoint";
+	private static final int VERSION = 2;
+
+	private final ScenarioStore scenarioStore;
+	private final MainModel mainModel;
+	private final List<Model> models;
+	private final Topography topography;
+	private final Collection<SourceController> sourceControllers;
+	private final Collection<TargetChangerController> targetChangerControllers;
+	private final List<DataProcessor<?, ?>> statefulProcessors;
+	private final Random random;
+	private final String scenarioHash;
+
+	private double simTimeInSec;
+	private int step;
+
+	SimulationCheckpoint(@NotNull final ScenarioStore scenarioStore,
+	                     @NotNull final MainModel mainModel,
+	                     @NotNull final List<Model> models,
+	                     @NotNull final Topography topography,
+	                     @NotNull final Collection<SourceController> sourceControllers,
+	                     @NotNull final Collection<TargetChangerController> targetChangerControllers,
+	                     @NotNull final List<DataProcessor<?, ?>> statefulProcessors,
+	                     @NotNull final Random random) {
+		this.scenarioStore = scenarioStore;
+		this.mainModel = mainModel;
+		this.models = models;
+		this.topography = topography;
+		this.sourceControllers = sourceControllers;
+		this.targetChangerControllers = targetChangerControllers;
+		this.statefulProcessors = statefulProcessors;
+		this.random = random;
+
+		checkSupported();
+		// the hash has to be computed before the simulation adds agents to the topography
+		try {
+			this.scenarioHash = scenarioStore.hashOfJsonRepresentation();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("the scenario can not be hashed.", e);
+		}
+	}
+
+	/**
+	 * @return the simulation time of the last checkpoint which was read
+	 */
+	double getSimTimeInSec() {
+		return simTimeInSec;
+	}
+
+	/**
+	 * @return the step of the last checkpoint which was read
+	 */
+	int getStep() {
+		return step;
+	}
+
+	void write(@NotNull final Path file, final double simTimeInSec, final int step) throws IOException {
+		checkSupported();
+		checkAgentsSupported();
+
+		try (CheckpointWriter writer = new CheckpointWriter(Files.newOutputStream(file))) {
+			writer.writeString(MAGIC);
+			writer.writeInt(VERSION);
+			writer.writeString(scenarioHash);
+			writer.writeDouble(simTimeInSec);
+			writer.writeInt(step);
+
+			writer.writeSection("pedestrians");
+			writePedestrians(writer);
+
+			writer.writeSection("areas");
+			for (Target target : topography.getTargets()) {
+				writer.writeInt(target.getId());
+				writer.writeIntDoubleMap(target.getEnteringTimes());
+				writer.writeIntDoubleMap(target.getLeavingTimes());
+			}
+			for (TargetChanger targetChanger : topography.getTargetChangers()) {
+				writer.writeInt(targetChanger.getId());
+				writer.writeIntDoubleMap(targetChanger.getEnteringTimes());
+			}
+			for (AbsorbingArea absorbingArea : topography.getAbsorbingAreas()) {
+				writer.writeInt(absorbingArea.getId());
+				writer.writeIntDoubleMap(absorbingArea.getEnteringTimes());
+			}
+
+			writer.writeSection("sources");
+			writer.writeInt(sourceControllers.size());
+			for (SourceController sourceController : sourceControllers) {
+				writer.writeInt(sourceController.getSourceId());
+				sourceController.writeCheckpoint(writer);
+			}
+
+			writer.writeSection("targetChangers");
+			writer.writeInt(targetChangerControllers.size());
+			for (TargetChangerController targetChangerController : targetChangerControllers) {
+				writer.writeInt(targetChangerController.targetChanger.getId());
+				targetChangerController.writeCheckpoint(writer);
+			}
+
+			for (Model model : models) {
+				writer.writeSection(model.getClass().getName());
+				((Checkpointable) model).writeCheckpoint(writer);
+			}
+
+			writer.writeSection("processors");
+			writer.writeInt(statefulProcessors.size());
+			for (DataProcessor<?, ?> processor : statefulProcessors) {
+				writer.writeInt(processor.getId());
+				((Checkpointable) processor).writeCheckpoint(writer);
+			}
+
+			// the random generator is written last since restoring the other parts draws random numbers
+			writer.writeSection("random");
+			writer.writeRandom((CheckpointableRandom) random);
+		}
+		logger.info(String.format("wrote checkpoint of step %d (t = %.4f s) to %s", step, simTimeInSec, file));
+	}
+
+	/**
+	 * Restores the state written to the checkpoint. The topography has to be prepared (the main model and the
+	 * models have been initialized), but it must not contain agents.
+	 */
+	void read(@NotNull final Path file) throws IOException {
+		checkSupported();
+
+		try (CheckpointReader reader = new CheckpointReader(Files.newInputStream(file))) {
+			if (!MAGIC.equals(reader.readString())) {
+				throw new IOException(file + " is not a checkpoint.");
+			}
+			int version = reader.readInt();
+			if (version != VERSION) {
+				throw new IOException("the checkpoint has version " + version + " but version " + VERSION + " is supported.");
+			}
+			String hash = reader.readString();
+			if (!scenarioHash.equals(hash)) {
+				throw new IOException("the checkpoint was written by a simulation of a different scenario.");
+			}
+			simTimeInSec = reader.readDouble();
+			step = reader.readInt();
+
+			reader.readSection("pedestrians");
+			readPedestrians(reader);
+
+			reader.readSection("areas");
+			for (Target target : topography.getTargets()) {
+				checkId("target", target.getId(), reader.readInt());
+				reader.readIntDoubleMap(target.getEnteringTimes());
+				reader.readIntDoubleMap(target.getLeavingTimes());
+			}
+			for (TargetChanger targetChanger : topography.getTargetChangers()) {
+				checkId("target changer", targetChanger.getId(), reader.readInt());
+				reader.readIntDoubleMap(targetChanger.getEnteringTimes());
+			}
+			for (AbsorbingArea absorbingArea : topography.getAbsorbingAreas()) {
+				checkId("absorbing area", absorbingArea.getId(), reader.readInt());
+				reader.readIntDoubleMap(absorbingArea.getEnteringTimes());
+			}
+
+			reader.readSection("sources");
+			checkSize("sources", sourceControllers.size(), reader.readInt());
+			for (SourceController sourceController : sourceControllers) {
+				checkId("source", sourceController.getSourceId(), reader.readInt());
+				sourceController.readCheckpoint(reader);
+			}
+
+			reader.readSection("targetChangers");
+			checkSize("target changers", targetChangerControllers.size(), reader.readInt());
+			for (TargetChangerController targetChangerController : targetChangerControllers) {
+				checkId("target changer", targetChangerController.targetChanger.getId(), reader.readInt());
+				targetChangerController.readCheckpoint(reader);
+			}
+
+			for (Model model : models) {
+				reader.readSection(model.getClass().getName());
+				((Checkpointable) model).readCheckpoint(reader);
+			}
+
+			reader.readSection("processors");
+			checkSize("stateful processors", statefulProcessors.size(), reader.readInt());
+			for (DataProcessor<?, ?> processor : statefulProcessors) {
+				checkId("processor", processor.getId(), reader.readInt());
+				((Checkpointable) processor).readCheckpoint(reader);
+			}
+
+			reader.readSection("random");
+			reader.readRandom((CheckpointableRandom) random);
+		}
+		logger.info(String.format("restored checkpoint of step %d (t = %.4f s) from %s", step, simTimeInSec, file));
+	}
+
+	/**
+	 * Writes the agents in the iteration order of the topography followed by the order of the linked cells grid,
+	 * both orders determine the order in which the agents are updated.
+	 */
+	private void writePedestrians(@NotNull final CheckpointWriter writer) throws IOException {
+		DynamicElementContainer<Pedestrian> container = topography.getPedestrianDynamicElements();
+		List<Pedestrian> pedestrians = new ArrayList<>(container.getElements());
+
+		// agents share few different attributes, which only differ by their id
+		List<String> templates = new ArrayList<>();
+		Map<String, Integer> templateIndices = new HashMap<>();
+		int[] pedestrianTemplates = new int[pedestrians.size()];
+		for (int i = 0; i < pedestrians.size(); i++) {
+			ObjectNode node = (ObjectNode) StateJsonConverter.toJsonNode(pedestrians.get(i).getAttributes());
+			node.remove("id");
+			String template = StateJsonConverter.serializeJsonNode(node);
+			Integer index = templateIndices.get(template);
+			if (index == null) {
+				index = templates.size();
+				templates.add(template);
+				templateIndices.put(template, index);
+			}
+			pedestrianTemplates[i] = index;
+		}
+		writer.writeInt(templates.size());
+		for (String template : templates) {
+			writer.writeString(template);
+		}
+
+		writer.writeInt(topography.getDynamicElementIdCounter());
+		writer.writeInt(container.getPeakSize());
+		writer.writeInt(pedestrians.size());
+		Map<Integer, Integer> indices = new HashMap<>();
+		for (int i = 0; i < pedestrians.size(); i++) {
+			Pedestrian pedestrian = pedestrians.get(i);
+			indices.put(pedestrian.getId(), i);
+
+			writer.writeInt(pedestrianTemplates[i]);
+			writer.writeInt(pedestrian.getId());
+			writer.writePoint(pedestrian.getPosition());
+			writer.writeBoolean(pedestrian.hasSource());
+			if (pedestrian.hasSource()) {
+				writer.writeInt(pedestrian.getSource().getId());
+			}
+			writer.writeIntegers(pedestrian.getTargets());
+			writer.writeInt(pedestrian.getNextTargetListIndex());
+			writer.writeBoolean(pedestrian.isCurrentTargetAnAgent());
+			writer.writePoint(pedestrian.getVelocity());
+			writer.writeDouble(pedestrian.getFreeFlowSpeed());
+			writer.writeIntegers(pedestrian.getFollowers().stream().map(Agent::getId).collect(Collectors.toList()));
+
+			writer.writeInt(pedestrian.getIdAsTarget());
+			writer.writeBoolean(pedestrian.isChild());
+			writer.writeBoolean(pedestrian.isLikelyInjured());
+			writer.writeString(pedestrian.getSelfCategory().name());
+			writer.writeString(pedestrian.getGroupMembership().name());
+			writer.writeInts(pedestrian.getGroupIds());
+			writer.writeInts(pedestrian.getGroupSizes());
+			writer.writeIntegers(pedestrian.getPedGroupMembers().stream().map(Agent::getId).collect(Collectors.toList()));
+			writer.writeFootSteps(pedestrian.getFootstepHistory().getFootSteps());
+			writer.writeFootSteps(pedestrian.getTrajectory().getFootSteps());
+
+			writer.writeBoolean(pedestrian instanceof Checkpointable);
+			if (pedestrian instanceof Checkpointable) {
+				((Checkpointable) pedestrian).writeCheckpoint(writer);
+			}
+		}
+
+		List<Pedestrian> cellsOrder = container.getCellsElements().getElements();
+		writer.writeInt(cellsOrder.size());
+		for (Pedestrian pedestrian : cellsOrder) {
+			writer.writeInt(indices.get(pedestrian.getId()));
+		}
+	}
+
+	private void readPedestrians(@NotNull final CheckpointReader reader) throws IOException {
+		DynamicElementContainer<Pedestrian> container = topography.getPedestrianDynamicElements();
+		if (!container.getElements().isEmpty()) {
+			throw new IllegalStateException("a checkpoint can only be restored into a topography without agents.");
+		}
+
+		List<JsonNode> templates = new ArrayList<>();
+		int numberOfTemplates = reader.readInt();
+		for (int i = 0; i < numberOfTemplates; i++) {
+			templates.add(StateJsonConverter.readTree(reader.readString()));
+		}
+
+		int dynamicElementIdCounter = reader.readInt();
+		int peakSize = reader.readInt();
+		int size = reader.readInt();
+		List<Pedestrian> pedestrians = new ArrayList<>(size);
+		Map<Integer, Pedestrian> pedestriansById = new HashMap<>();
+		List<List<Integer>> followerIds = new ArrayList<>(size);
+		List<List<Integer>> groupMemberIds = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			ObjectNode node = ((ObjectNode) templates.get(reader.readInt())).deepCopy();
+			int id = reader.readInt();
+			node.put("id", id);
+			AttributesAgent attributes = StateJsonConverter.convertValue(node, AttributesAgent.class);
+			VPoint position = reader.readPoint();
+
+			Pedestrian pedestrian = (Pedestrian) mainModel.createElement(position, id, attributes, Pedestrian.class);
+			pedestrian.setAttributes(attributes);
+			pedestrian.setSource(reader.readBoolean() ? findSource(reader.readInt()) : null);
+			pedestrian.setTargets(reader.readIntegers());
+			pedestrian.setNextTargetListIndex(reader.readInt());
+			pedestrian.setIsCurrentTargetAnAgent(reader.readBoolean());
+			VPoint velocity = reader.readPoint();
+			pedestrian.setVelocity(new Vector2D(velocity.x, velocity.y));
+			pedestrian.setFreeFlowSpeed(reader.readDouble());
+			followerIds.add(reader.readIntegers());
+
+			pedestrian.setIdAsTarget(reader.readInt());
+			pedestrian.setChild(reader.readBoolean());
+			pedestrian.setLikelyInjured(reader.readBoolean());
+			pedestrian.setSelfCategory(SelfCategory.valueOf(reader.readString()));
+			pedestrian.setGroupMembership(GroupMembership.valueOf(reader.readString()));
+			pedestrian.setGroupIds(reader.readInts());
+			pedestrian.setGroupSizes(reader.readInts());
+			groupMemberIds.add(reader.readIntegers());
+			pedestrian.getFootstepHistory().getFootSteps().clear();
+			for (FootStep footStep : reader.readFootSteps()) {
+				pedestrian.getFootstepHistory().add(footStep);
+			}
+			pedestrian.getTrajectory().clear();
+			for (FootStep footStep : reader.readFootSteps()) {
+				pedestrian.addFootStepToTrajectory(footStep);
+			}
+
+			boolean checkpointable = reader.readBoolean();
+			if (checkpointable != pedestrian instanceof Checkpointable) {
+				throw new IOException("the checkpoint was written by a simulation with a different main model.");
+			}
+			if (checkpointable) {
+				((Checkpointable) pedestrian).readCheckpoint(reader);
+			}
+
+			pedestrians.add(pedestrian);
+			pedestriansById.put(id, pedestrian);
+		}
+
+		for (int i = 0; i < size; i++) {
+			LinkedList<Agent> followers = new LinkedList<>();
+			for (int id : followerIds.get(i)) {
+				followers.add(findPedestrian(pedestriansById, id));
+			}
+			pedestrians.get(i).setFollowers(followers);
+
+			LinkedList<Pedestrian> groupMembers = new LinkedList<>();
+			for (int id : groupMemberIds.get(i)) {
+				groupMembers.add(findPedestrian(pedestriansById, id));
+			}
+			pedestrians.get(i).setAgentsInGroup(groupMembers);
+		}
+
+		int[] cellsOrder = new int[reader.readInt()];
+		for (int i = 0; i < cellsOrder.length; i++) {
+			cellsOrder[i] = reader.readInt();
+		}
+
+		container.restoreElements(pedestrians, cellsOrder, peakSize);
+		topography.setDynamicElementIdCounter(dynamicElementIdCounter);
+	}
+
+	private Source findSource(final int id) throws IOException {
+		for (Source source : topography.getSources()) {
+			if (source.getId() == id) {
+				return source;
+			}
+		}
+		throw new IOException("the source " + id + " of an agent is not part of the topography.");
+	}
+
+	private static Pedestrian findPedestrian(@NotNull final Map<Integer, Pedestrian> pedestriansById, final int id) throws IOException {
+		Pedestrian pedestrian = pedestriansById.get(id);
+		if (pedestrian == null) {
+			throw new IOException("the agent " + id + " is not part of the checkpoint.");
+		}
+		return pedestrian;
+	}
+
+	private static void checkId(@NotNull final String element, final int expected, final int actual) throws IOException {
+		if (expected != actual) {
+			throw new IOException("expected " + element + " " + expected + " but the checkpoint contains " + element + " " + actual + ".");
+		}
+	}
+
+	private static void checkSize(@NotNull final String elements, final int expected, final int actual) throws IOException {
+		if (expected != actual) {
+			throw new IOException("the simulation has " + expected + " " + elements + " but the checkpoint contains " + actual + ".");
+		}
+	}
+
+	private void checkSupported() {
+		if (!(random instanceof CheckpointableRandom)) {
+			throw new UnsupportedOperationException("checkpoints require a " + CheckpointableRandom.class.getSimpleName() + ".");
+		}
+		if (scenarioStore.getAttributesPsychology().isUsePsychologyLayer()) {
+			throw new UnsupportedOperationException("checkpoints of simulations with the psychology layer are not supported.");
+		}
+		for (Model model : models) {
+			if (!(model instanceof Checkpointable)) {
+				throw new UnsupportedOperationException("checkpoints of simulations with the model "
+						+ model.getClass().getSimpleName() + " are not supported.");
+			}
+		}
+		for (DataProcessor<?, ?> processor : statefulProcessors) {
+			if (!(processor instanceof Checkpointable)) {
+				throw new UnsupportedOperationException("checkpoints of simulations with the processor "
+						+ processor.getSimpleProcessorTypeName() + " are not supported.");
+			}
+		}
+	}
+
+	private void checkAgentsSupported() {
+		if (!topography.getAerosolClouds().isEmpty()) {
+			throw new UnsupportedOperationException("checkpoints of simulations with aerosol clouds are not supported.");
+		}
+		for (Pedestrian pedestrian : topography.getPedestrianDynamicElements().getElements()) {
+			if (pedestrian.isTarget()) {
+				throw new UnsupportedOperationException("checkpoints of simulations with target pedestrians are not supported.");
+			}
+			if (pedestrian.getHealthStatus() != null || pedestrian.getInfectionStatus() != null) {
+				throw new UnsupportedOperationException("checkpoints of agents with a health status are not supported.");
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+/**
+ * A histogram of durations in nanoseconds with logarithmic (base 2) buckets, i.e. bucket b counts the
+ * durations d with 2^b <= d < 2^(b+1). Recording a value is allocation free and takes constant time.
+ */
+public class NanoHistogram {
+
+	private static final int BUCKETS = 64;
+
+	private final long[] buckets = new long[BUCKETS];
+	private long count;
+	private long total;
+	private long min = Long.MAX_VALUE;
+	private long max = 0;
+
+	public void record(final long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets[bucket(value)]++;
+		count++;
+		total += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * Returns an upper bound of the p-quantile, i.e. the upper bound of the bucket containing the quantile
+	 * (but at most the maximum).
+	 *
+	 * @param p the quantile in [0, 1]
+	 */
+	public long getQuantile(final double p) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(p * count);
+		long seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += buckets[b];
+			if (seen >= rank && buckets[b] > 0) {
+				return b >= 62 ? max : Math.min((1L << (b + 1)) - 1, max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the number of durations d with 2^bucket <= d < 2^(bucket+1).
+	 */
+	public long getBucketCount(final int bucket) {
+		return buckets[bucket];
+	}
+
+	public int getNumberOfBuckets() {
+		return BUCKETS;
+	}
+
+	private static int bucket(final long value) {
+		return value == 0 ? 0 : 63 - Long.numberOfLeadingZeros(value);
+	}
+}
@@ -0,0 +1,171 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.vadere.state.util.StateJsonConverter;
+import org.vadere.util.io.IOUtils;
+import org.vadere.util.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the measurements of the {@link StepProfiler} into the output directory of a simulation run:
+ * <ul>
+ *     <li>{@value #STEPS_FILE}: one line per step with the time of each phase and model (ns), the number of
+ *     agents and the allocated bytes, written while the simulation runs.</li>
+ *     <li>{@value #SUMMARY_FILE}: the startup time, the histograms of the step, phase and model times and
+ *     the throughput, written after the simulation loop.</li>
+ * </ul>
+ */
+public class ProfileSummaryWriter implements StepMetricsListener {
+
+	public static final String STEPS_FILE = "profile_steps.csv";
+	public static final String SUMMARY_FILE = "profile.json";
+
+	private static Logger logger = Logger.getLogger(ProfileSummaryWriter.class);
+
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+	private final Path outputDir;
+	private BufferedWriter stepsWriter;
+	private StringBuilder line;
+
+	public ProfileSummaryWriter(final Path outputDir) {
+		this.outputDir = outputDir;
+	}
+
+	@Override
+	public void preLoop(final StepProfiler profiler) {
+		try {
+			stepsWriter = Files.newBufferedWriter(outputDir.resolve(STEPS_FILE), StandardCharsets.UTF_8);
+			line = new StringBuilder();
+			line.append("timeStep simTime agents stepNs");
+			for (SimulationPhase phase : SimulationPhase.values()) {
+				line.append(' ').append(toName(phase)).append("Ns");
+			}
+			for (String modelName : profiler.getModelNames()) {
+				line.append(' ').append(modelName).append("Ns");
+			}
+			line.append(" allocatedBytes");
+			writeLine();
+		} catch (IOException e) {
+			logger.error("could not write " + STEPS_FILE + ": " + e.getMessage());
+			stepsWriter = null;
+		}
+	}
+
+	@Override
+	public void postStep(final StepMetrics metrics) {
+		if (stepsWriter == null) {
+			return;
+		}
+
+		line.append(metrics.getStep())
+				.append(' ').append(metrics.getSimTimeInSec())
+				.append(' ').append(metrics.getAgentCount())
+				.append(' ').append(metrics.getStepNanos());
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			line.append(' ').append(metrics.getPhaseNanos(phase));
+		}
+		for (int i = 0; i < metrics.getNumberOfModels(); i++) {
+			line.append(' ').append(metrics.getModelNanos(i));
+		}
+		line.append(' ').append(metrics.getAllocatedBytes());
+
+		try {
+			writeLine();
+		} catch (IOException e) {
+			logger.error("could not write " + STEPS_FILE + ": " + e.getMessage());
+			closeStepsWriter();
+		}
+	}
+
+	@Override
+	public void postLoop(final StepProfiler profiler) {
+		closeStepsWriter();
+
+		ObjectNode summary = StateJsonConverter.createObjectNode();
+		summary.put("startupMs", profiler.getStartupMillis());
+		summary.put("steps", profiler.getStepHistogram().getCount());
+		summary.put("agentsPerSecond", profiler.getAgentsPerSecond());
+		summary.put("allocatedBytes", profiler.getTotalAllocatedBytes());
+		summary.set("step", toJson(profiler.getStepHistogram()));
+
+		ObjectNode phases = summary.putObject("phases");
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			phases.set(toName(phase), toJson(profiler.getPhaseHistogram(phase)));
+		}
+
+		ObjectNode models = summary.putObject("models");
+		String[] modelNames = profiler.getModelNames();
+		for (int i = 0; i < modelNames.length; i++) {
+			// the same model class may be used more than once
+			String key = models.has(modelNames[i]) ? modelNames[i] + "_" + i : modelNames[i];
+			models.set(key, toJson(profiler.getModelHistogram(i)));
+		}
+
+		try {
+			IOUtils.writeTextFile(outputDir.resolve(SUMMARY_FILE).toString(),
+					StateJsonConverter.getPrettyWriter().writeValueAsString(summary));
+			logger.info("write profile to " + outputDir.resolve(SUMMARY_FILE) + ".");
+		} catch (IOException e) {
+			logger.error("could not write " + SUMMARY_FILE + ": " + e.getMessage());
+		}
+	}
+
+	private ObjectNode toJson(final NanoHistogram histogram) {
+		ObjectNode node = StateJsonConverter.createObjectNode();
+		node.put("count", histogram.getCount());
+		node.put("totalNs", histogram.getTotal());
+		node.put("meanNs", histogram.getMean());
+		node.put("minNs", histogram.getMin());
+		node.put("maxNs", histogram.getMax());
+		for (double q : QUANTILES) {
+			node.put("p" + Math.round(q * 100) + "Ns", histogram.getQuantile(q));
+		}
+
+		// log2 buckets, only non-empty ones: lower bound (ns) -> count
+		ArrayNode buckets = node.putArray("buckets");
+		for (int b = 0; b < histogram.getNumberOfBuckets(); b++) {
+			if (histogram.getBucketCount(b) > 0) {
+				ObjectNode bucket = buckets.addObject();
+				bucket.put("fromNs", b == 0 ? 0 : 1L << b);
+				bucket.put("count", histogram.getBucketCount(b));
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * SCENARIO_ELEMENTS to scenarioElements
+	 */
+	private static String toName(final SimulationPhase phase) {
+		StringBuilder name = new StringBuilder();
+		for (String part : phase.name().toLowerCase().split("_")) {
+			name.append(name.length() == 0 ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+		}
+		return name.toString();
+	}
+
+	private void writeLine() throws IOException {
+		stepsWriter.write(line.toString());
+		stepsWriter.newLine();
+		line.setLength(0);
+	}
+
+	private void closeStepsWriter() {
+		if (stepsWriter != null) {
+			try {
+				stepsWriter.close();
+			} catch (IOException e) {
+				logger.error("could not close " + STEPS_FILE + ": " + e.getMessage());
+			}
+			stepsWriter = null;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+/**
+ * The phases of one step of the simulation loop which are measured by the {@link StepProfiler}.
+ */
+public enum SimulationPhase {
+	/** preUpdate and postUpdate of the passive callbacks */
+	CALLBACKS,
+	/** sources, targets, target changers and absorbing areas */
+	SCENARIO_ELEMENTS,
+	/** updates of the topography controller, i.e. rebuilding the cell grids */
+	TOPOGRAPHY,
+	/** stimuli, perception and cognition */
+	PSYCHOLOGY,
+	/** the update of all models, see {@link StepMetrics#getModelNanos(int)} */
+	LOCOMOTION,
+	TELEPORTER,
+	/** the creation of the simulation state and the update of the data processors */
+	PROCESSORS
+}
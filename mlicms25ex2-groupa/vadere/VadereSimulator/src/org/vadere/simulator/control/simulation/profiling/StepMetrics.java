@@ -0,0 +1,95 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+import java.util.Arrays;
+
+/**
+ * The measurements of one simulation step. The {@link StepProfiler} reuses the same instance for all steps,
+ * therefore a {@link StepMetricsListener} has to copy the values it wants to keep.
+ */
+public class StepMetrics {
+
+	private int step;
+	private double simTimeInSec;
+	private int agentCount;
+	private long stepNanos;
+	private long allocatedBytes;
+	private final long[] phaseNanos;
+	private final long[] modelNanos;
+
+	StepMetrics(final int numberOfModels) {
+		this.phaseNanos = new long[SimulationPhase.values().length];
+		this.modelNanos = new long[numberOfModels];
+	}
+
+	void reset() {
+		Arrays.fill(phaseNanos, 0);
+		Arrays.fill(modelNanos, 0);
+		stepNanos = 0;
+		allocatedBytes = -1;
+	}
+
+	void addPhaseNanos(final SimulationPhase phase, final long nanos) {
+		phaseNanos[phase.ordinal()] += nanos;
+	}
+
+	void addModelNanos(final int model, final long nanos) {
+		modelNanos[model] += nanos;
+	}
+
+	void finish(final int step, final double simTimeInSec, final int agentCount, final long stepNanos, final long allocatedBytes) {
+		this.step = step;
+		this.simTimeInSec = simTimeInSec;
+		this.agentCount = agentCount;
+		this.stepNanos = stepNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public int getStep() {
+		return step;
+	}
+
+	public double getSimTimeInSec() {
+		return simTimeInSec;
+	}
+
+	/**
+	 * Returns the number of pedestrians in the topography at the end of the step.
+	 */
+	public int getAgentCount() {
+		return agentCount;
+	}
+
+	public long getStepNanos() {
+		return stepNanos;
+	}
+
+	public long getPhaseNanos(final SimulationPhase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the time spent in the update of the i-th model, see {@link StepProfiler#getModelNames()}.
+	 */
+	public long getModelNanos(final int model) {
+		return modelNanos[model];
+	}
+
+	public int getNumberOfModels() {
+		return modelNanos.length;
+	}
+
+	/**
+	 * Returns the bytes allocated by the simulation thread during the step or -1 if the JVM does not support
+	 * measuring allocations. Allocations of worker threads (e.g. of a parallel update scheme) are not included.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * Returns the number of agents updated per second of wall-clock time.
+	 */
+	public double getAgentsPerSecond() {
+		return stepNanos == 0 ? 0 : agentCount * 1e9 / stepNanos;
+	}
+}
@@ -0,0 +1,20 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+/**
+ * Callbacks of the {@link StepProfiler}. Like {@link org.vadere.simulator.control.simulation.PassiveCallback}
+ * the implementations must not change the state of the simulation.
+ */
+public interface StepMetricsListener {
+
+	default void preLoop(StepProfiler profiler) {}
+
+	/**
+	 * Called after each simulation step. The metrics object is reused by the next step.
+	 */
+	void postStep(StepMetrics metrics);
+
+	/**
+	 * Called after the simulation loop, the profiler contains the histograms of all steps.
+	 */
+	default void postLoop(StepProfiler profiler) {}
+}
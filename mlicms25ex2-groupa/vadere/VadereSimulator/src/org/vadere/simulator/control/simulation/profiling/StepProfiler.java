@@ -0,0 +1,178 @@
+package org.vadere.simulator.control.simulation.profiling;
+
+import org.vadere.simulator.models.Model;
+import org.vadere.util.logging.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures where the time of the simulation loop goes. The simulation calls {@link #beginStep()} at the
+ * beginning of a step, {@link #lap(SimulationPhase)} or {@link #lapModel(int)} at the end of each phase
+ * and {@link #endStep(int, double, int)} at the end of the step. A lap attributes the time since the
+ * previous lap to the given phase, i.e. the phases of one step do not overlap and add up to the step time.
+ *
+ * For each phase and each model a {@link NanoHistogram} of the time per step is recorded. After each step
+ * the {@link StepMetricsListener}s are notified. If profiling is disabled, the simulation holds no profiler
+ * and no time is measured at all.
+ */
+public class StepProfiler {
+
+	private static Logger logger = Logger.getLogger(StepProfiler.class);
+
+	private final String[] modelNames;
+	private final NanoHistogram stepHistogram;
+	private final NanoHistogram[] phaseHistograms;
+	private final NanoHistogram[] modelHistograms;
+	private final List<StepMetricsListener> listeners;
+	private final StepMetrics metrics;
+	private final com.sun.management.ThreadMXBean allocationBean;
+
+	private long stepStart;
+	private long lapStart;
+	private long allocatedAtStepStart;
+	private long totalAgentSteps;
+	private long totalAllocatedBytes;
+	private long startupMillis;
+
+	public StepProfiler(final List<? extends Model> models) {
+		this.modelNames = new String[models.size()];
+		for (int i = 0; i < modelNames.length; i++) {
+			modelNames[i] = models.get(i).getClass().getSimpleName();
+		}
+		this.stepHistogram = new NanoHistogram();
+		this.phaseHistograms = new NanoHistogram[SimulationPhase.values().length];
+		for (int i = 0; i < phaseHistograms.length; i++) {
+			phaseHistograms[i] = new NanoHistogram();
+		}
+		this.modelHistograms = new NanoHistogram[modelNames.length];
+		for (int i = 0; i < modelHistograms.length; i++) {
+			modelHistograms[i] = new NanoHistogram();
+		}
+		this.listeners = new ArrayList<>();
+		this.metrics = new StepMetrics(modelNames.length);
+		this.allocationBean = createAllocationBean();
+	}
+
+	public void addListener(final StepMetricsListener listener) {
+		listeners.add(listener);
+	}
+
+	public void preLoop() {
+		startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+		for (StepMetricsListener listener : listeners) {
+			listener.preLoop(this);
+		}
+	}
+
+	public void postLoop() {
+		for (StepMetricsListener listener : listeners) {
+			listener.postLoop(this);
+		}
+	}
+
+	public void beginStep() {
+		metrics.reset();
+		allocatedAtStepStart = allocatedBytes();
+		stepStart = System.nanoTime();
+		lapStart = stepStart;
+	}
+
+	/**
+	 * Attributes the time since the last lap to the phase.
+	 */
+	public void lap(final SimulationPhase phase) {
+		long now = System.nanoTime();
+		metrics.addPhaseNanos(phase, now - lapStart);
+		lapStart = now;
+	}
+
+	/**
+	 * Attributes the time since the last lap to the i-th model and to {@link SimulationPhase#LOCOMOTION}.
+	 */
+	public void lapModel(final int model) {
+		long now = System.nanoTime();
+		metrics.addModelNanos(model, now - lapStart);
+		metrics.addPhaseNanos(SimulationPhase.LOCOMOTION, now - lapStart);
+		lapStart = now;
+	}
+
+	public void endStep(final int step, final double simTimeInSec, final int agentCount) {
+		long stepNanos = System.nanoTime() - stepStart;
+		long allocated = allocatedAtStepStart < 0 ? -1 : allocatedBytes() - allocatedAtStepStart;
+		metrics.finish(step, simTimeInSec, agentCount, stepNanos, allocated);
+
+		stepHistogram.record(stepNanos);
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			phaseHistograms[phase.ordinal()].record(metrics.getPhaseNanos(phase));
+		}
+		for (int i = 0; i < modelHistograms.length; i++) {
+			modelHistograms[i].record(metrics.getModelNanos(i));
+		}
+		totalAgentSteps += agentCount;
+		if (allocated >= 0) {
+			totalAllocatedBytes += allocated;
+		}
+
+		for (StepMetricsListener listener : listeners) {
+			listener.postStep(metrics);
+		}
+	}
+
+	public NanoHistogram getStepHistogram() {
+		return stepHistogram;
+	}
+
+	public NanoHistogram getPhaseHistogram(final SimulationPhase phase) {
+		return phaseHistograms[phase.ordinal()];
+	}
+
+	public NanoHistogram getModelHistogram(final int model) {
+		return modelHistograms[model];
+	}
+
+	public String[] getModelNames() {
+		return modelNames;
+	}
+
+	/**
+	 * Returns the number of agents updated per second of step time over all steps.
+	 */
+	public double getAgentsPerSecond() {
+		long total = stepHistogram.getTotal();
+		return total == 0 ? 0 : totalAgentSteps * 1e9 / total;
+	}
+
+	/**
+	 * Returns the uptime of the JVM at the beginning of the simulation loop, i.e. the startup time of a
+	 * simulation run including the start of the JVM, reading the scenario and initializing the models.
+	 */
+	public long getStartupMillis() {
+		return startupMillis;
+	}
+
+	/**
+	 * Returns the bytes allocated by the simulation thread over all steps or -1 if not supported.
+	 */
+	public long getTotalAllocatedBytes() {
+		return allocationBean == null ? -1 : totalAllocatedBytes;
+	}
+
+	private long allocatedBytes() {
+		return allocationBean == null ? -1 : allocationBean.getCurrentThreadAllocatedBytes();
+	}
+
+	private static com.sun.management.ThreadMXBean createAllocationBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean;
+			}
+		}
+		logger.info("measuring thread allocations is not supported by this JVM.");
+		return null;
+	}
+}
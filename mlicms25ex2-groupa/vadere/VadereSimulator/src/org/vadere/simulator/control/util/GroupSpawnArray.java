@@ -139,24 +139,22 @@ private LinkedList<VPoint> nextFreeGroupPos(
 					+ "to big for source. Max Groupsize of source is " + allowedSpawnPoints.size());
 
 		LinkedList<VPoint> points = new LinkedList<>();
+		beginPlacement(blockPedestrianShapes);
 
 		ListIterator<Integer> iter = groupNumbers.listIterator();
 		while (iter.hasNext()) {
 			Integer next = iter.next();
-			for (int i = 0; i < groupSize; i++) {
-				int index = validSpawnPointMapInBoundShape.get(pHelper.getOverlappingIndex(next, i));
-				VPoint candidatePoint = allowedSpawnPoints.get(index).clone();
-				VShape candidateShape = shapeProducer.apply(candidatePoint);
-				boolean isFreeSpace = testFreeSpace.checkFreeSpace(candidateShape, blockPedestrianShapes);
-				if (isFreeSpace) {
-					points.add(candidatePoint);
-				} else {
-					points = new LinkedList<>();
-					break;
-				}
+			boolean isFreeSpace = true;
+			for (int i = 0; i < groupSize && isFreeSpace; i++) {
+				int index = allowedIndexOfGridPoint[pHelper.getOverlappingIndex(next, i)];
+				visit(index);
+				isFreeSpace = isFree(index);
 			}
 
-			if (points.size() == groupSize) {
+			if (isFreeSpace) {
+				for (int i = 0; i < groupSize; i++) {
+					points.add(allowedSpawnPoints.get(allowedIndexOfGridPoint[pHelper.getOverlappingIndex(next, i)]).clone());
+				}
 				// remember next position for groupSize for next spawn event. this is the last position
 				// wrap around and use first element of groupNumbers ArrayList
 				nextGroupPos.put(groupSize, iter.hasNext() ? iter.next() : groupNumbers.get(0));
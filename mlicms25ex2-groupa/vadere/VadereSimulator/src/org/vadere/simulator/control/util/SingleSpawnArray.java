@@ -6,9 +6,8 @@
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.Random;
 import java.util.function.Function;
 
@@ -16,6 +15,9 @@ public class SingleSpawnArray extends SpawnArray {
 
 	private final boolean shuffled;
 
+	// the order in which the allowed spawn points are used
+	private final int[] spawnOrder;
+
 	public SingleSpawnArray(VShape boundShape,
 							VRectangle spawnElementBound,
 							Function<VPoint, VShape> shapeProducer,
@@ -23,21 +25,74 @@ public SingleSpawnArray(VShape boundShape,
 							AttributesSpawner spawnerAttributes) {
 		super(boundShape, spawnElementBound, shapeProducer, testFreeSpace, spawnerAttributes);
 		this.shuffled = false;
+		this.spawnOrder = new int[allowedSpawnPoints.size()];
+		for (int i = 0; i < spawnOrder.length; i++) {
+			spawnOrder[i] = i;
+		}
 	}
 
 	public void shuffleSpawnPoints(final Random random){
 		if(!shuffled) {
-			Collections.shuffle(allowedSpawnPoints, random); // shuffle list
+			// same permutation as Collections.shuffle(list, random)
+			for (int i = spawnOrder.length; i > 1; i--) {
+				int j = random.nextInt(i);
+				int tmp = spawnOrder[i - 1];
+				spawnOrder[i - 1] = spawnOrder[j];
+				spawnOrder[j] = tmp;
+			}
+		}
+	}
+
+	/**
+	 * @return a copy of the current order in which the allowed spawn points are used
+	 */
+	public int[] getSpawnOrder() {
+		return spawnOrder.clone();
+	}
+
+	/**
+	 * Replaces the order in which the allowed spawn points are used, e.g. by an order returned by
+	 * {@link #getSpawnOrder()} of a spawn array of the same source.
+	 */
+	public void setSpawnOrder(@NotNull final int[] spawnOrder) {
+		if (spawnOrder.length != this.spawnOrder.length) {
+			throw new IllegalArgumentException("the spawn order has " + spawnOrder.length + " instead of " + this.spawnOrder.length + " spawn points.");
 		}
+		System.arraycopy(spawnOrder, 0, this.spawnOrder, 0, spawnOrder.length);
 	}
 
-	public Optional<VPoint> getNextPosition(@NotNull final List<VShape> blockPedestrianShapes) {
-		for (VPoint spawnPoint : allowedSpawnPoints) {
-			VShape freeSpaceRequired = shapeProducer.apply(spawnPoint);
-			if (testFreeSpace.checkFreeSpace(freeSpaceRequired, blockPedestrianShapes)) {
-				return Optional.of(spawnPoint);
+	/**
+	 * Returns the first <tt>numberToSpawn</tt> free spawn points (in the spawn order) such that no two of
+	 * them overlap. Since the occupied spawn points only grow during the placement, the search for the next
+	 * free point continues behind the last placed one. The shape producer is called for the same spawn points
+	 * in the same order as a search from the first spawn point for each element, see {@link SpawnArray}.
+	 *
+	 * @param numberToSpawn         the number of required spawn points
+	 * @param blockPedestrianShapes the shapes the spawned elements must not overlap with
+	 * @return numberToSpawn or less free spawn points
+	 */
+	public List<VPoint> getNextPositions(final int numberToSpawn, @NotNull final List<VShape> blockPedestrianShapes) {
+		beginPlacement(blockPedestrianShapes);
+		List<VPoint> positions = new ArrayList<>(numberToSpawn);
+
+		// all spawn points before next are occupied
+		int next = 0;
+		for (int i = 0; i < numberToSpawn; i++) {
+			while (next < spawnOrder.length && !isFree(spawnOrder[next])) {
+				next++;
+			}
+			int visited = Math.min(next + 1, spawnOrder.length);
+			for (int j = 0; j < visited; j++) {
+				visit(spawnOrder[j]);
+			}
+
+			if (next < spawnOrder.length) {
+				int index = spawnOrder[next];
+				positions.add(allowedSpawnPoints.get(index));
+				occupy(visit(index));
+				next++;
 			}
 		}
-		return Optional.empty();
+		return positions;
 	}
 }
@@ -1,17 +1,36 @@
 package org.vadere.simulator.control.util;
 
+import org.jetbrains.annotations.NotNull;
 import org.vadere.state.attributes.spawner.AttributesSpawner;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.function.Function;
 
-
+/**
+ * The spawn points of a source on a regular grid within the source shape.
+ *
+ * The spawn points which are occupied during a placement are stored in a bit set: all points whose shape
+ * overlaps a blocking shape are marked once at the beginning of the placement ({@link #beginPlacement(List)})
+ * and the shape of each placed element marks its neighbouring points ({@link #occupy(VShape)}). Since a shape
+ * only overlaps the points of the grid cells it covers, a placement of n elements with m blocking shapes costs
+ * O(n + m) overlap checks instead of O((n + m) * number of spawn points). The overlap check has to be the
+ * conjunction of a check against each blocking shape and a check which does not depend on them (e.g. obstacles),
+ * like {@link org.vadere.simulator.control.scenarioelements.SourceController#testFreeSpace(VShape, List)}.
+ *
+ * The shape producer may draw from the random generator of the simulation (e.g. the OSM creates a pedestrian).
+ * Therefore, a placement still calls it for each spawn point it visits ({@link #visit(int)}), exactly as the
+ * overlap check with a freshly produced shape did before, such that seeded simulations stay reproducible.
+ */
 public class SpawnArray {
 	private static final Logger logger = Logger.getLogger(SpawnArray.class);
 	private static double SPAWN_BUFFER = 0.001;
@@ -29,11 +48,20 @@ public class SpawnArray {
 	// map valid boundGrid coordinates to #allowedSpawnPoints ArrayList index.
 	protected HashMap<Integer, Integer> validSpawnPointMapInBoundShape;
 	protected final ArrayList<VPoint> allowedSpawnPoints;
+	// the required space of each allowed spawn point
+	protected final ArrayList<VShape> allowedSpawnShapes;
+	// map boundGrid coordinates to #allowedSpawnPoints index, -1 if the grid point is not valid.
+	protected final int[] allowedIndexOfGridPoint;
 	protected Function<VPoint, VShape> shapeProducer;
 	protected SpawnOverlapCheck testFreeSpace;
 
 	protected int nextSpawnPoint;
 
+	// allowed spawn points which are not free in the current placement
+	private final BitSet occupied;
+	// allowed spawn points which are known not to overlap anything but the blocking shapes in the current placement
+	private final BitSet checked;
+
 
 	public SpawnArray(final VShape boundShape,
 					  final VRectangle spawnElementBound,
@@ -86,6 +114,9 @@ public SpawnArray(final VShape boundShape,
 
 		firstSpawnPoint = new VPoint(bound.x + eX + offset_x_low, bound.y + eY + offset_y_low);
 		validSpawnPointMapInBoundShape = new HashMap<>();
+		allowedSpawnShapes = new ArrayList<>(xDim * yDim);
+		allowedIndexOfGridPoint = new int[xDim * yDim];
+		Arrays.fill(allowedIndexOfGridPoint, -1);
 		int validIndex = 0;
 
 		for (int i = 0; i < (xDim * yDim); i++) {
@@ -93,14 +124,99 @@ public SpawnArray(final VShape boundShape,
 			VShape candidateShape = shapeProducer.apply(candidatePoint);
 			if (boundShape.containsShape(candidateShape)) {
 				validSpawnPointMapInBoundShape.put(i, validIndex);
+				allowedIndexOfGridPoint[i] = validIndex;
 				allowedSpawnPoints.add(candidatePoint);
+				allowedSpawnShapes.add(candidateShape);
 				validIndex++;
 			}
 		}
 
 		allowedSpawnPoints.trimToSize();
+		allowedSpawnShapes.trimToSize();
 
 		nextSpawnPoint = 0;
+		occupied = new BitSet(allowedSpawnPoints.size());
+		checked = new BitSet(allowedSpawnPoints.size());
+	}
+
+	/**
+	 * Starts a new placement: marks all spawn points which overlap one of the blocking shapes as occupied.
+	 *
+	 * @param blockPedestrianShapes the shapes the placed elements must not overlap with
+	 */
+	protected void beginPlacement(@NotNull final List<VShape> blockPedestrianShapes) {
+		occupied.clear();
+		checked.clear();
+		for (VShape blockShape : blockPedestrianShapes) {
+			occupy(blockShape);
+		}
+	}
+
+	/**
+	 * Marks all spawn points which overlap the shape as occupied. Only the spawn points of the grid cells
+	 * covered by the bounds of the shape (enlarged by the bounds of a spawn element) are checked.
+	 *
+	 * @param blockShape the shape of a blocking or a placed element
+	 */
+	protected void occupy(@NotNull final VShape blockShape) {
+		Rectangle2D blockBound = blockShape.getBounds2D();
+		int minX = gridIndex(blockBound.getMinX() - spawnElementBound.width / 2, firstSpawnPoint.x, eX, xDim, -1);
+		int maxX = gridIndex(blockBound.getMaxX() + spawnElementBound.width / 2, firstSpawnPoint.x, eX, xDim, 1);
+		int minY = gridIndex(blockBound.getMinY() - spawnElementBound.height / 2, firstSpawnPoint.y, eY, yDim, -1);
+		int maxY = gridIndex(blockBound.getMaxY() + spawnElementBound.height / 2, firstSpawnPoint.y, eY, yDim, 1);
+		List<VShape> blockShapes = Collections.singletonList(blockShape);
+
+		for (int y = minY; y <= maxY; y++) {
+			for (int x = minX; x <= maxX; x++) {
+				int index = allowedIndexOfGridPoint[y * xDim + x];
+				if (index >= 0 && !occupied.get(index) && !testFreeSpace.checkFreeSpace(allowedSpawnShapes.get(index), blockShapes)) {
+					occupied.set(index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the spawn point is not occupied in the current placement, i.e. if it neither overlaps a
+	 * blocking shape nor anything else (e.g. an obstacle).
+	 *
+	 * @param index the index of the allowed spawn point
+	 */
+	protected boolean isFree(final int index) {
+		if (occupied.get(index)) {
+			return false;
+		}
+		if (!checked.get(index)) {
+			if (!testFreeSpace.checkFreeSpace(allowedSpawnShapes.get(index), Collections.emptyList())) {
+				occupied.set(index);
+				return false;
+			}
+			checked.set(index);
+		}
+		return true;
+	}
+
+	/**
+	 * Produces the required space of an element at the spawn point, see the class comment. The overlap checks
+	 * use the shapes computed in the constructor instead.
+	 *
+	 * @param index the index of the allowed spawn point
+	 * @return the required space of an element at the spawn point
+	 */
+	protected VShape visit(final int index) {
+		return shapeProducer.apply(allowedSpawnPoints.get(index));
+	}
+
+	/**
+	 * Returns the index of the grid cell containing the coordinate, moved by one cell in the given direction
+	 * to be on the safe side, and clamped to the grid.
+	 */
+	private static int gridIndex(final double coordinate, final double first, final double e, final int dim, final int direction) {
+		if (dim == 1) {
+			return 0;
+		}
+		int index = (int) Math.floor((coordinate - first) / (2 * e)) + (direction > 0 ? 1 : -1);
+		return Math.max(0, Math.min(dim - 1, index));
 	}
 
 	public List<VPoint> getAllowedSpawnPoints() {
@@ -116,6 +116,21 @@ private static void addSubCommandsToParser(ArgumentParser parser) {
 				.choices(ScenarioChecker.CHECKER_OFF, ScenarioChecker.CHECKER_OFF)
 				.setDefault(ScenarioChecker.CHECKER_ON)
 				.help("Turn Scenario Checker on or off.");
+		scenarioRunOpt.addArgument("--checkpoint-time")
+				.required(false)
+				.type(Double.class)
+				.dest("checkpoint-time")
+				.help("Write a checkpoint of the simulation at this simulation time (requires --checkpoint-file).");
+		scenarioRunOpt.addArgument("--checkpoint-file")
+				.required(false)
+				.type(String.class)
+				.dest("checkpoint-file")
+				.help("File the checkpoint is written to.");
+		scenarioRunOpt.addArgument("--restore-checkpoint")
+				.required(false)
+				.type(String.class)
+				.dest("restore-checkpoint")
+				.help("Continue the simulation from a checkpoint written by a run of the same scenario.");
 
 		// Run SUQ
 		Subparser suqRun = subparsers
@@ -44,6 +44,13 @@ public void run(Namespace ns, ArgumentParser parser) {
 		Path outputDir = Paths.get(ns.getString("output-dir"));
 		boolean overrideTimeStepSetting = ns.getBoolean("override-timestep-setting");
 		String scenarioCheckerSwitch = ns.getString("scenario-checker");
+		Double checkpointTime = ns.getDouble("checkpoint-time");
+		String checkpointFile = ns.getString("checkpoint-file");
+		String restoreCheckpoint = ns.getString("restore-checkpoint");
+		if ((checkpointTime == null) != (checkpointFile == null)) {
+			logger.error("--checkpoint-time and --checkpoint-file have to be used together.");
+			System.exit(-1);
+		}
 		if (!outputDir.toFile().exists()){
 			if ( ! outputDir.toFile().mkdirs() ) {
 				logger.error("Could not create all necessary directories: " + outputDir.toFile().toString());
@@ -66,7 +73,14 @@ public void run(Namespace ns, ArgumentParser parser) {
 			Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
 			if (checkScenario(scenario, scenarioCheckerSwitch)){
 				ScenarioCache cache = ScenarioCache.load(scenario, scenarioFile.toAbsolutePath().getParent());
-				new ScenarioRun(scenario, outputDir.toFile().toString() , overrideTimeStepSetting, null, scenarioFile, cache).run();
+				ScenarioRun scenarioRun = new ScenarioRun(scenario, outputDir.toFile().toString() , overrideTimeStepSetting, null, scenarioFile, cache);
+				if (checkpointFile != null) {
+					scenarioRun.setCheckpoint(checkpointTime, Paths.get(checkpointFile));
+				}
+				if (restoreCheckpoint != null) {
+					scenarioRun.setRestoreCheckpoint(Paths.get(restoreCheckpoint));
+				}
+				scenarioRun.run();
 			} else {
 				System.exit(-1);
 			}
@@ -19,6 +19,14 @@ default SourceControllerFactory getSourceControllerFactory() {
 		return new SingleSourceControllerFactory();
 	}
 
+	/**
+	 * Tells the model whether the foot steps of the agents ({@link org.vadere.state.scenario.Pedestrian#getTrajectory()})
+	 * are read by an output processor or a callback. If not, the model may skip recording them.
+	 *
+	 * @param recordingFootSteps true if the foot steps are read, otherwise false
+	 */
+	default void setRecordingFootSteps(final boolean recordingFootSteps) {}
+
 	@Override
 	default int registerDynamicElementId(final Topography topography, int id) {
 		int pedId;
@@ -7,6 +7,7 @@
 import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.projects.ScenarioStore;
 import org.vadere.state.attributes.AttributesSimulation;
+import org.vadere.util.random.CheckpointableRandom;
 import org.vadere.util.reflection.DynamicClassInstantiator;
 
 import java.util.Random;
@@ -36,11 +37,11 @@ public void createModelAndRandom()
 		if (attributesSimulation.isUseFixedSeed()) {
 			long seed = attributesSimulation.getFixedSeed();
 			attributesSimulation.setSimulationSeed(seed);
-			random = new Random(seed);
+			random = new CheckpointableRandom(seed);
 		} else {
 			long seed = new Random().nextLong();
 			attributesSimulation.setSimulationSeed(seed);
-			random = new Random(seed);
+			random = new CheckpointableRandom(seed);
 		}
 
 		model = instantiateMainModel(random);
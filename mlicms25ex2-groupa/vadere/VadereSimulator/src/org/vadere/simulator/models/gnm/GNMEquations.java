@@ -9,15 +9,9 @@
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
-import org.vadere.util.parallel.AParallelWorker;
-import org.vadere.util.parallel.AParallelWorker.Work;
-import org.vadere.util.parallel.CountableParallelWorker;
 import org.vadere.util.parallel.IAsyncComputable;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 /**
  * The equations of the Gradient Navigation Model.
@@ -28,6 +22,18 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 
 	private static Logger logger = Logger.getLogger(GNMEquations.class);
 
+	/**
+	 * The arrays used by {@link #computeSinglePerson}, one instance per thread.
+	 */
+	private static class Scratch {
+		final double[] position = new double[2];
+		final double[] speed = new double[2];
+		final double[] gradField = new double[2];
+		final double[] viewingDirection = new double[2];
+	}
+
+	private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
 	/**
 	 * Three dimensions: 2 for dx/dt, 1 for dv/dt
 	 */
@@ -42,72 +48,36 @@ public void computeDerivatives(final double t, final double[] y,
 
 		// update the pedestrian positions in the topography to the ones computed in the integrator
 		ODEModel.updateElementPositions(Pedestrian.class, t, topography, this, y);
+		updateNeighbourList();
 
-		// create workers for each pedestrian
-		List<AParallelWorker<Double[]>> workers = new ArrayList<AParallelWorker<Double[]>>();
-
-		// loop over all persons and compute the next step
-		int personCounter = 0; // used for arrays, not identical to personID!
-		for (final Pedestrian pedestrian : elements) {
-			AParallelWorker<Double[]> w = new CountableParallelWorker<Double[]>(
-					personCounter, new Work<Double[]>() {
-						private int ID;
-
-						@Override
-						public Double[] call() throws Exception {
-							computeSinglePerson(pedestrian, getWorkerID(), t,
-									y, yDot);
-							return null;
-						}
-
-						@Override
-						public void setID(int ID) {
-							this.ID = ID;
-						}
-
-						@Override
-						public int getWorkerID() {
-							return this.ID;
-						}
-					});
-			personCounter++;
-			workers.add(w);
-			w.start();
-		}
-
-		// finish the work
-		for (AParallelWorker<Double[]> worker : workers) {
-			try {
-				worker.finish();
-			} catch (ExecutionException e) {
-				logger.error(e);
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				// Necessary in order to tell Simulation the thread has been
-				// interrupted.
-				// TODO [priority=low] [task=refactoring] Hack, other solution?
-				Thread.currentThread().interrupt();
-				break;
+		// compute the derivatives of contiguous ranges of pedestrians in parallel
+		forEachElementRange((from, to) -> {
+			Scratch buffers = scratch.get();
+			for (int personCounter = from; personCounter < to; personCounter++) { // used for arrays, not identical to personID!
+				computeSinglePerson(elements.get(personCounter), personCounter, t, y, yDot, buffers);
 			}
-		}
+		});
 	}
 
 	/**
 	 * Computes yDot for a single person given by personID. This is computed
-	 * asynchronously by an {@link AParallelWorker}.
+	 * asynchronously by a {@link org.vadere.util.parallel.ChunkedParallelWorker}.
 	 * 
 	 * @param currentPed
 	 * @param personCounter
 	 * @param t
 	 * @param y
 	 * @param yDot
+	 * @param buffers the scratch buffers of the current thread
 	 */
 	private void computeSinglePerson(Pedestrian currentPed, int personCounter,
-			double t, double[] y, double[] yDot) {
-		double[] position = new double[2];
-		double[] speed = new double[2];
-		double[] grad_field = new double[2];
-		double[] viewing_direction = new double[2];
+			double t, double[] y, double[] yDot, Scratch buffers) {
+		double[] position = buffers.position;
+		double[] speed = buffers.speed;
+		double[] grad_field = buffers.gradField;
+		double[] viewing_direction = buffers.viewingDirection;
+		grad_field[0] = 0;
+		grad_field[1] = 0;
 
 		// ///////////////////////////////////////
 		// extract data
@@ -2,6 +2,8 @@
 
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.ode.NeighbourListSupport;
+import org.vadere.simulator.models.ode.VerletNeighbourList;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.Attributes;
@@ -16,14 +18,16 @@
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.math.MathUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 
 @ModelClass
-public class PotentialFieldPedestrianGNM implements PotentialFieldAgent {
+public class PotentialFieldPedestrianGNM implements PotentialFieldAgent, NeighbourListSupport<Pedestrian> {
 
 	private AttributesPotentialGNM attributes;
+	private VerletNeighbourList<Pedestrian> neighbourList;
 
 	public PotentialFieldPedestrianGNM() {}
 
@@ -107,10 +111,27 @@ public double getAgentPotential(IPoint pos, Agent pedestrian,
 	@Override
 	public Collection<Pedestrian> getRelevantAgents(VCircle relevantArea,
 			Agent pedestrian, Topography scenario) {
+		if (neighbourList != null) {
+			List<Pedestrian> closePedestrians = new ArrayList<>();
+			if (neighbourList.collectNeighbours(pedestrian, relevantArea.getCenter(), getNeighbourRadius(), closePedestrians)) {
+				return closePedestrians;
+			}
+		}
+
 		List<Pedestrian> closePedestrians = scenario.getSpatialMap(Pedestrian.class)
 				.getObjects(relevantArea.getCenter(),
 						attributes.getPedestrianRecognitionDistance());
 
 		return closePedestrians;
 	}
+
+	@Override
+	public double getNeighbourRadius() {
+		return attributes.getPedestrianRecognitionDistance();
+	}
+
+	@Override
+	public void setNeighbourList(VerletNeighbourList<Pedestrian> neighbourList) {
+		this.neighbourList = neighbourList;
+	}
 }
@@ -1,6 +1,9 @@
 package org.vadere.simulator.models.groups.cgm;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -17,6 +20,13 @@
 import org.vadere.util.geometry.shapes.VLine;
 import org.vadere.util.geometry.shapes.VPoint;
 
+/**
+ * A group of the {@link CentroidGroupModel}. The geometry of the group, i.e. the potentials of the members at
+ * their positions, the pacemakers, the distances of the member pairs and whether they are separated by an
+ * obstacle, is computed on demand and cached. The cache is valid as long as no member moved, joined or left and
+ * is invalidated by the model at the beginning of each step ({@link #invalidateGeometry()}), since the
+ * potential field may change. Hence, all step candidates of a member share the same values.
+ */
 public class CentroidGroup implements Group {
 
 	public final static int POTENTIAL_DISTANCE_THRESHOLD = 1000;
@@ -30,11 +40,28 @@ public class CentroidGroup implements Group {
 	private double groupVelocity;
 
 	private final LinkedList<Pedestrian> lostMembers;
-	private Map<Pedestrian, Map<Pedestrian, VPoint>> lastVision;
+	/**
+	 * the last seen position of a member (right) by a member (left), see {@link #visionKey(Pedestrian, Pedestrian)}.
+	 */
+	private final Long2ObjectOpenHashMap<VPoint> lastVision;
 	private final Map<Pedestrian, Integer> noVisionOfLeaderCount;
 	private  IPotentialFieldTarget potentialFieldTarget;
 	private final CentroidGroupModel model;
 
+	private static final int NOT_COMPUTED = -2;
+	private static final int NO_PACEMAKER = -1;
+
+	// the cached geometry, the arrays are indexed by the index of the member in members
+	private boolean geometryValid;
+	private double[] memberX;
+	private double[] memberY;
+	private double[] memberPotentials;
+	private boolean[] memberPotentialComputed;
+	private int[] pacemakerIndices;
+	private double[] pairDistances;
+	private boolean[] pairIntersectsObstacle;
+	private ArrayList<PedestrianPair> memberPairs;
+
 	public CentroidGroup(int id, int size,
 				 CentroidGroupModel model) {
 		this.id = id;
@@ -43,7 +70,7 @@ public CentroidGroup(int id, int size,
 		this.potentialFieldTarget = model.getPotentialFieldTarget();
 		members = new ArrayList<>();
 
-		this.lastVision = new HashMap<>();
+		this.lastVision = new Long2ObjectOpenHashMap<>();
 		this.lostMembers = new LinkedList<>();
 		this.noVisionOfLeaderCount = new HashMap<>();
 	}
@@ -170,18 +197,22 @@ public void addMember(Pedestrian ped) {
 			throw new IllegalArgumentException("Group is full.");
 		}
 
-		lastVision.put(ped, new HashMap<>());
+		removeLastVisions(ped);
 		noVisionOfLeaderCount.put(ped, 0);
 
 		members.add(ped);
+		memberPairs = null;
+		invalidateGeometry();
 		initGroupVelocity(); // ensure same speed for all members.
 
 	}
 
 	@Override
 	public boolean removeMember(Pedestrian ped){
+		removeLastVisions(ped);
 		members.remove(ped);
-		lastVision.remove(ped);
+		memberPairs = null;
+		invalidateGeometry();
 		lostMembers.remove(ped);
 		noVisionOfLeaderCount.remove(ped);
 		return (members.size() == 0);
@@ -201,24 +232,37 @@ private int getPairCount(){
 		return (members.size() * members.size() - members.size()) / 2;
 	}
 
-	public  ArrayList<PedestrianPair> getMemberPairs(){
-		ArrayList<PedestrianPair> ret = new ArrayList<>(getPairCount());
-		for (int i = 0; i < members.size(); i++) {
-			for (int j = i+1; j < members.size(); j++) {
-				Pedestrian m1 = members.get(i);
-				Pedestrian m2 = members.get(j);
-				ret.add(PedestrianPair.of(m1, m2));
+	/**
+	 * @return the pairs (i, j) of members with i < j in the order of the members, the list must not be modified
+	 */
+	public synchronized ArrayList<PedestrianPair> getMemberPairs(){
+		if (memberPairs == null) {
+			memberPairs = new ArrayList<>(getPairCount());
+			for (int i = 0; i < members.size(); i++) {
+				for (int j = i+1; j < members.size(); j++) {
+					Pedestrian m1 = members.get(i);
+					Pedestrian m2 = members.get(j);
+					memberPairs.add(PedestrianPair.of(m1, m2));
+				}
 			}
 		}
-		return ret;
+		return memberPairs;
 	}
 
-	public ArrayList<Pair<PedestrianPair, Double>> getEuclidDist(){
-		ArrayList<Pair<PedestrianPair, Double>> ret = new ArrayList<>(getPairCount());
+	public synchronized ArrayList<Pair<PedestrianPair, Double>> getEuclidDist(){
+		validateGeometry();
+		ArrayList<PedestrianPair> pairs = getMemberPairs();
+		if (pairDistances == null) {
+			pairDistances = new double[pairs.size()];
+			for (int k = 0; k < pairs.size(); k++) {
+				PedestrianPair p = pairs.get(k);
+				pairDistances[k] = p.getLeft().getPosition().distance(p.getRight().getPosition());
+			}
+		}
 
-		for (PedestrianPair p : getMemberPairs()) {
-			double dist = p.getLeft().getPosition().distance(p.getRight().getPosition());
-			ret.add(Pair.of(p, dist));
+		ArrayList<Pair<PedestrianPair, Double>> ret = new ArrayList<>(pairs.size());
+		for (int k = 0; k < pairs.size(); k++) {
+			ret.add(Pair.of(pairs.get(k), pairDistances[k]));
 		}
 		return ret;
 	}
@@ -231,29 +275,38 @@ public boolean isCentroidWithinObstacle(){
 	}
 
 
-	public ArrayList<Pair<PedestrianPair, Boolean>> getPairIntersectObstacle(){
-		ArrayList<Pair<PedestrianPair, Boolean>> ret = new ArrayList<>(getPairCount());
+	public synchronized ArrayList<Pair<PedestrianPair, Boolean>> getPairIntersectObstacle(){
+		validateGeometry();
+		ArrayList<PedestrianPair> pairs = getMemberPairs();
+		if (pairIntersectsObstacle == null) {
+			pairIntersectsObstacle = new boolean[pairs.size()];
+			for (int k = 0; k < pairs.size(); k++) {
+				PedestrianPair p = pairs.get(k);
+				VLine pedLine = new VLine(p.getLeft().getPosition(), p.getRight().getPosition());
+				pairIntersectsObstacle[k] = model.getTopography().getObstacles()
+						.stream()
+						.map(Obstacle::getShape)
+						.anyMatch(s -> s.intersects(pedLine));
+			}
+		}
 
-		for (PedestrianPair p : getMemberPairs()) {
-			VLine pedLine = new VLine(p.getLeft().getPosition(), p.getRight().getPosition());
-			boolean intersectsObs = model.getTopography().getObstacles()
-					.stream()
-					.map(Obstacle::getShape)
-					.anyMatch(s -> s.intersects(pedLine));
-			ret.add(Pair.of(p, intersectsObs));
+		ArrayList<Pair<PedestrianPair, Boolean>> ret = new ArrayList<>(pairs.size());
+		for (int k = 0; k < pairs.size(); k++) {
+			ret.add(Pair.of(pairs.get(k), pairIntersectsObstacle[k]));
 		}
 		return ret;
 	}
 
-	public ArrayList<Pair<PedestrianPair, Double>> getPotentialDist(){
-		ArrayList<Pair<PedestrianPair, Double>> ret = new ArrayList<>(getPairCount());
-
-		for (PedestrianPair p : getMemberPairs()) {
-			double potential1 = potentialFieldTarget.getPotential(p.getLeftPosition(), p.getLeft());
-			double potential2 = potentialFieldTarget.getPotential(p.getRightPosition(), p.getRight());
-			double potentialDiff = Math.abs(potential1 - potential2);
-			ret.add(Pair.of(p, potentialDiff));
+	public synchronized ArrayList<Pair<PedestrianPair, Double>> getPotentialDist(){
+		validateGeometry();
+		ArrayList<PedestrianPair> pairs = getMemberPairs();
+		ArrayList<Pair<PedestrianPair, Double>> ret = new ArrayList<>(pairs.size());
 
+		for (int i = 0, k = 0; i < members.size(); i++) {
+			for (int j = i+1; j < members.size(); j++, k++) {
+				double potentialDiff = Math.abs(getMemberPotential(i) - getMemberPotential(j));
+				ret.add(Pair.of(pairs.get(k), potentialDiff));
+			}
 		}
 		return ret;
 	}
@@ -285,11 +338,22 @@ public Pair<Pedestrian, Double> getMaxDistPedIdInGroup(Pedestrian ped){
 
 
 	void setLastVision(Pedestrian ped, Pedestrian p) {
-		lastVision.get(ped).put(p, p.getPosition());
+		lastVision.put(visionKey(ped, p), p.getPosition());
 	}
 
 	VPoint getLastVision(Pedestrian ped, Pedestrian leader) {
-		return lastVision.get(ped).get(leader);
+		return lastVision.get(visionKey(ped, leader));
+	}
+
+	private static long visionKey(Pedestrian ped, Pedestrian p) {
+		return ((long) ped.getId() << 32) | (p.getId() & 0xffffffffL);
+	}
+
+	private void removeLastVisions(Pedestrian ped) {
+		lastVision.remove(visionKey(ped, ped));
+		for (Pedestrian p : members) {
+			lastVision.remove(visionKey(ped, p));
+		}
 	}
 
 	boolean isLostMember(Pedestrian p) {
@@ -324,20 +388,22 @@ void incrementNoVisionOfLeaderCount(Pedestrian ped) {
 	 * @param ped Pedestrian
 	 * @return Distance to group centroid
 	 */
-	public double getRelativeDistanceCentroid(Pedestrian ped) {
+	public synchronized double getRelativeDistanceCentroid(Pedestrian ped) {
 		double result = 0.0;
-		VPoint pedLocation = ped.getPosition();
+		validateGeometry();
 
 		double potentialSum = 0.0;
 		int size = 0;
-		for (Pedestrian p : members) {
+		for (int i = 0; i < members.size(); i++) {
+			Pedestrian p = members.get(i);
 			if (!ped.equals(p) && !isLostMember(p)) {
-				potentialSum += potentialFieldTarget.getPotential(p.getPosition(), p);
+				potentialSum += getMemberPotential(i);
 				size++;
 			}
 		}
 
-		double pedDistance = potentialFieldTarget.getPotential(pedLocation, ped);
+		int index = members.indexOf(ped);
+		double pedDistance = index >= 0 ? getMemberPotential(index) : potentialFieldTarget.getPotential(ped.getPosition(), ped);
 
 		if (size != 0) {
 
@@ -351,29 +417,95 @@ public double getRelativeDistanceCentroid(Pedestrian ped) {
 		return result;
 	}
 
-	public Pedestrian getPacemaker(Pedestrian ped) {
-		Pedestrian pacemaker = members.get(0);
+	public synchronized Pedestrian getPacemaker(Pedestrian ped) {
+		validateGeometry();
+		int index = members.indexOf(ped);
+		int pacemakerIndex = index >= 0 ? pacemakerIndices[index] : NOT_COMPUTED;
 
-		double smallestDistance = potentialFieldTarget.getPotential(pacemaker.getPosition(), ped);
+		if (pacemakerIndex == NOT_COMPUTED) {
+			pacemakerIndex = 0;
+			double smallestDistance = index == 0 ? getMemberPotential(0) : potentialFieldTarget.getPotential(members.get(0).getPosition(), ped);
 
-		for (Pedestrian p : members) {
-			double pedDistance = potentialFieldTarget.getPotential(p.getPosition(), p);
-			if (pedDistance < smallestDistance) {
-				pacemaker = p;
-				smallestDistance = pedDistance;
+			for (int i = 0; i < members.size(); i++) {
+				double pedDistance = getMemberPotential(i);
+				if (pedDistance < smallestDistance) {
+					pacemakerIndex = i;
+					smallestDistance = pedDistance;
+				}
+			}
+
+			if (ped.getId() == members.get(pacemakerIndex).getId()) {
+				pacemakerIndex = NO_PACEMAKER;
 			}
+			if (index >= 0) {
+				pacemakerIndices[index] = pacemakerIndex;
+			}
+		}
+
+		if (pacemakerIndex == NO_PACEMAKER || isLostMember(ped)) {
+			return null;
+		}
+		return members.get(pacemakerIndex);
+	}
+
+	/**
+	 * Returns the target potential of a member at its current position (cached).
+	 */
+	public synchronized double getMemberPotential(Pedestrian ped) {
+		validateGeometry();
+		int index = members.indexOf(ped);
+		return index >= 0 ? getMemberPotential(index) : potentialFieldTarget.getPotential(ped.getPosition(), ped);
+	}
+
+	private double getMemberPotential(int index) {
+		if (!memberPotentialComputed[index]) {
+			Pedestrian p = members.get(index);
+			memberPotentials[index] = potentialFieldTarget.getPotential(p.getPosition(), p);
+			memberPotentialComputed[index] = true;
 		}
+		return memberPotentials[index];
+	}
 
-		if (ped.getId() == pacemaker.getId() || isLostMember(ped)) {
-			pacemaker = null;
+	/**
+	 * Discards the cached geometry of the group.
+	 */
+	public synchronized void invalidateGeometry() {
+		geometryValid = false;
+	}
+
+	/**
+	 * Discards the cached geometry if the members or their positions changed since it was computed.
+	 */
+	private void validateGeometry() {
+		int n = members.size();
+		boolean valid = geometryValid && memberX.length == n;
+		for (int i = 0; valid && i < n; i++) {
+			VPoint position = members.get(i).getPosition();
+			valid = position.x == memberX[i] && position.y == memberY[i];
 		}
 
-		return pacemaker;
+		if (!valid) {
+			memberX = new double[n];
+			memberY = new double[n];
+			for (int i = 0; i < n; i++) {
+				VPoint position = members.get(i).getPosition();
+				memberX[i] = position.x;
+				memberY[i] = position.y;
+			}
+			memberPotentials = new double[n];
+			memberPotentialComputed = new boolean[n];
+			pacemakerIndices = new int[n];
+			Arrays.fill(pacemakerIndices, NOT_COMPUTED);
+			pairDistances = null;
+			pairIntersectsObstacle = null;
+			geometryValid = true;
+		}
 	}
 
 	@Override
-	public void setPotentialFieldTarget(IPotentialFieldTarget potentialFieldTarget) {
+	public synchronized void setPotentialFieldTarget(IPotentialFieldTarget potentialFieldTarget) {
 		this.potentialFieldTarget = potentialFieldTarget;
+		invalidateGeometry();
 	}
 
 	@Override
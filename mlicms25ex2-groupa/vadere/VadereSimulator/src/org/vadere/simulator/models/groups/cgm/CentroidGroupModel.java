@@ -110,14 +110,14 @@ public int nextGroupForSource(int sourceId) {
 
 	@Override
 	public CentroidGroup getGroup(final Pedestrian pedestrian) {
-		CentroidGroup group = groupsById.get(pedestrian.getGroupIds().getFirst());
+		CentroidGroup group = groupsById.get(pedestrian.getGroupIds()[0]);
 		assert group != null : "No group found for pedestrian";
 		return group;
 	}
 
 	@Override
 	protected void registerMember(final Pedestrian ped, final CentroidGroup group) {
-		groupsById.putIfAbsent(ped.getGroupIds().getFirst(), group);
+		groupsById.putIfAbsent(ped.getGroupIds()[0], group);
 	}
 
 	@Override
@@ -144,11 +144,10 @@ private void initializeGroupsOfInitialPedestrians() {
 
 			// aggregate group data
 			c.getElements().forEach(p -> {
-				for (Integer id : p.getGroupIds()) {
+				for (int id : p.getGroupIds()) {
 					List<Pedestrian> peds = groups.computeIfAbsent(id, k -> new ArrayList<>());
 					// empty group id and size values, will be set later on
-					p.setGroupIds(new LinkedList<>());
-					p.setGroupSizes(new LinkedList<>());
+					p.clearGroupIds();
 					peds.add(p);
 				}
 			});
@@ -160,8 +159,7 @@ private void initializeGroupsOfInitialPedestrians() {
 				CentroidGroup group = getNewGroup(id, peds.size());
 				peds.forEach(p -> {
 					// update group id / size info on ped
-					p.getGroupIds().add(id);
-					p.getGroupSizes().add(peds.size());
+					p.addGroupId(id, peds.size());
 					group.addMember(p);
 					registerMember(p, group);
 				});
@@ -207,7 +205,7 @@ public void elementAdded(Pedestrian pedestrian) {
 
 	@Override
 	public void elementRemoved(Pedestrian pedestrian) {
-		Group group = groupsById.get(pedestrian.getGroupIds().getFirst());
+		Group group = groupsById.get(pedestrian.getGroupIds()[0]);
 		if (group.removeMember(pedestrian)) { // if true pedestrian was last member.
 			groupsById.remove(group.getID());
 		}
@@ -228,6 +226,10 @@ public void postLoop(final double simTimeInSec) {
 
 	@Override
 	public void update(final double simTimeInSec) {
+		// the potential field may change in this step
+		for (CentroidGroup group : groupsById.values()) {
+			group.invalidateGeometry();
+		}
 	}
 
 
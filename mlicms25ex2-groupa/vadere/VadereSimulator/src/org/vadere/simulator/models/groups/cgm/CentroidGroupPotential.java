@@ -12,7 +12,6 @@
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
-import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 
@@ -68,13 +67,16 @@ private double getPedestrianGroupPotential(Pedestrian ped, IPoint pos) {
 		}
 
 		if (leader != null) {
-			VPoint leaderPoint = leader.getPosition();
-			double leaderPotential = potentialFieldTarget.getPotential(leaderPoint, leader);
-			double pedPotential = potentialFieldTarget.getPotential(ped.getPosition(), ped);
-
-			final double[] distanceToCentroid = {
-					pos.getX() - leaderPoint.getX(),
-					pos.getY() - leaderPoint.getY()};
+			// the potentials do not depend on the step candidate pos, the group caches them for all candidates
+			double leaderPotential;
+			double pedPotential;
+			if (group.getPotentialFieldTarget() == potentialFieldTarget) {
+				leaderPotential = group.getMemberPotential(leader);
+				pedPotential = group.getMemberPotential(ped);
+			} else {
+				leaderPotential = potentialFieldTarget.getPotential(leader.getPosition(), leader);
+				pedPotential = potentialFieldTarget.getPotential(ped.getPosition(), ped);
+			}
 
 			result = attributesCGM.getLeaderAttractionFactor()
 					* Math.pow(
@@ -111,12 +113,14 @@ public Vector2D getAgentPotentialGradient(IPoint pos,
 	public double getAgentPotential(IPoint pos, Agent pedestrian,
 									Agent otherPedestrian) {
 		//System.out.printf("Ped1: %s, Ped1: %s %n", pedestrian.getId(), otherPedestrian.getId());
-		CentroidGroup group = groupCollection.getGroup((Pedestrian)pedestrian);
-		CentroidGroup groupOther = groupCollection.getGroup((Pedestrian)otherPedestrian);
 		double potential = potentialFieldPedestrian.getAgentPotential(pos,
 				pedestrian, otherPedestrian);
 
-		if (group != null && group.equals(groupOther)) {
+		// members of the same group share the group id, only look up the group in this case
+		int[] groupIds = ((Pedestrian)pedestrian).getGroupIds();
+		int[] otherGroupIds = ((Pedestrian)otherPedestrian).getGroupIds();
+		if (groupIds.length > 0 && otherGroupIds.length > 0 && groupIds[0] == otherGroupIds[0]
+				&& groupCollection.getGroup((Pedestrian)pedestrian) != null) {
 			potential *= attributesCGM.getGroupMemberRepulsionFactor();
 		}
 
@@ -10,6 +10,9 @@
 import org.vadere.simulator.models.groups.cgm.CentroidGroup;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.simulator.models.groups.sir.SIRGroup;
 import org.vadere.state.attributes.models.AttributesSIRG;
@@ -21,14 +24,17 @@
 import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
 import java.util.*;
 
 /**
  * Implementation of groups for a susceptible / infected / removed (SIR) model.
  */
 @ModelClass
-public class SIRGroupModel extends AbstractGroupModel<SIRGroup> {
+public class SIRGroupModel extends AbstractGroupModel<SIRGroup> implements Checkpointable {
 
 	protected Random random;
 	private LinkedHashMap<Integer, SIRGroup> groupsById;
@@ -105,14 +111,14 @@ public int nextGroupForSource(int sourceId) {
 
 	@Override
 	public SIRGroup getGroup(final Pedestrian pedestrian) {
-		SIRGroup group = groupsById.get(pedestrian.getGroupIds().getFirst());
+		SIRGroup group = groupsById.get(pedestrian.getGroupIds()[0]);
 		assert group != null : "No group found for pedestrian";
 		return group;
 	}
 
 	@Override
 	protected void registerMember(final Pedestrian ped, final SIRGroup group) {
-		groupsById.putIfAbsent(ped.getGroupIds().getFirst(), group);
+		groupsById.putIfAbsent(ped.getGroupIds()[0], group);
 	}
 
 	@Override
@@ -150,8 +156,7 @@ private void initializeGroupsOfInitialPedestrians() {
 	protected void assignToGroup(Pedestrian ped, int groupId) {
 		SIRGroup currentGroup = getNewGroup(groupId, Integer.MAX_VALUE/2);
 		currentGroup.addMember(ped);
-		ped.getGroupIds().clear();
-		ped.getGroupSizes().clear();
+		ped.clearGroupIds();
 		ped.addGroupId(currentGroup.getID(), currentGroup.getSize());
 		registerMember(ped, currentGroup);
 	}
@@ -171,7 +176,7 @@ public void elementAdded(Pedestrian pedestrian) {
 
 	@Override
 	public void elementRemoved(Pedestrian pedestrian) {
-		Group group = groupsById.get(pedestrian.getGroupIds().getFirst());
+		Group group = groupsById.get(pedestrian.getGroupIds()[0]);
 		if (group.removeMember(pedestrian)) { // if true pedestrian was last member.
 			groupsById.remove(group.getID());
 		}
@@ -190,6 +195,49 @@ public void preLoop(final double simTimeInSec) {
 	public void postLoop(final double simTimeInSec) {
 	}
 
+	/**
+	 * Writes the groups in their order with the ids of their members in the order they joined the group.
+	 */
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		writer.writeInt(totalInfected);
+		writer.writeDouble(lastSimTime);
+		writer.writeInt(groupsById.size());
+		for (SIRGroup group : groupsById.values()) {
+			writer.writeInt(group.getID());
+			writer.writeInt(group.getMembers().size());
+			for (Pedestrian member : group.getMembers()) {
+				writer.writeInt(member.getId());
+			}
+		}
+	}
+
+	/**
+	 * Replaces the groups which were assigned to the restored pedestrians when they were added to the topography.
+	 */
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		totalInfected = reader.readInt();
+		lastSimTime = reader.readDouble();
+		groupsById.clear();
+		int numberOfGroups = reader.readInt();
+		for (int i = 0; i < numberOfGroups; i++) {
+			SIRGroup group = getNewGroup(reader.readInt(), Integer.MAX_VALUE/2);
+			int numberOfMembers = reader.readInt();
+			for (int j = 0; j < numberOfMembers; j++) {
+				int id = reader.readInt();
+				Pedestrian ped = topography.getPedestrianDynamicElements().getElement(id);
+				if (ped == null) {
+					throw new IOException("member " + id + " of group " + group.getID() + " is not part of the topography.");
+				}
+				group.addMember(ped);
+				ped.clearGroupIds();
+				ped.addGroupId(group.getID(), group.getSize());
+			}
+			groupsById.put(group.getID(), group);
+		}
+	}
+
 	@Override
 	public void update(final double simTimeInSec) {
 		/* Performs one step of the simulation by checking all neighbors of each pedestrian, and
@@ -59,6 +59,14 @@ public class AirTransmissionModel extends AbstractExposureModel {
 	private Map<Integer, VPoint> lastPedestrianPositions;
 	private Map<Integer, Vector2D> viewingDirections;
 	private Map<Integer, Double> nextDropletsExhalationTime;
+
+	/*
+	 * Spatial indices of the aerosol clouds and droplets and the dose per dispersion, such that the exposure is
+	 * computed in one pass over the pedestrians.
+	 */
+	private ParticleDispersionGrid aerosolCloudGrid;
+	private ParticleDispersionGrid dropletsGrid;
+	private double[] dosesPerDispersion;
 	protected static final double MIN_PED_STEP_LENGTH = 0.1;
 
 	/**
@@ -91,6 +99,9 @@ public void initialize(List<Attributes> attributesList, Domain domain, Attribute
 		this.viewingDirections = new HashMap<>();
 		this.lastPedestrianPositions = new HashMap<>();
 		this.nextDropletsExhalationTime = new HashMap<>();
+		this.aerosolCloudGrid = new ParticleDispersionGrid();
+		this.dropletsGrid = new ParticleDispersionGrid();
+		this.dosesPerDispersion = new double[0];
 	}
 
 	@Override
@@ -268,23 +279,11 @@ public void deleteExpiredAerosolClouds() {
 		double initialPathogenConcentration = attrAirTransmissionModel.getAerosolCloudInitialPathogenLoad() / initialCloudVolume;
 		double minimumConcentration = minimumPercentage * initialPathogenConcentration;
 
-		Collection<AerosolCloud> aerosolCloudsToBeDeleted = topography.getAerosolClouds()
-				.stream()
-				.filter(a -> a.getPathogenConcentration() < minimumConcentration)
-				.collect(Collectors.toSet());
-		for (AerosolCloud aerosolCloud : aerosolCloudsToBeDeleted) {
-			topography.getAerosolClouds().remove(aerosolCloud);
-		}
+		topography.getAerosolClouds().removeIf(a -> a.getPathogenConcentration() < minimumConcentration);
 	}
 
 	public void deleteExpiredDroplets(double simTimeInSec) {
-		Collection<Droplets> dropletsToBeDeleted = topography.getDroplets()
-				.stream()
-				.filter(d -> attrAirTransmissionModel.getDropletsLifeTime() + d.getCreationTime() < simTimeInSec)
-				.collect(Collectors.toSet());
-		for (Droplets droplets : dropletsToBeDeleted) {
-			topography.getDroplets().remove(droplets);
-		}
+		topography.getDroplets().removeIf(d -> attrAirTransmissionModel.getDropletsLifeTime() + d.getCreationTime() < simTimeInSec);
 	}
 
 	protected void updatePedestriansHealthStatus(double simTimeInSec) {
@@ -296,38 +295,23 @@ protected void updatePedestriansHealthStatus(double simTimeInSec) {
 	}
 
 	protected void updatePedestriansExposureToAerosolClouds() {
-		Collection<Pedestrian> breathingInPeds = topography.getPedestrianDynamicElements()
-				.getElements()
-				.stream()
-				.filter(p -> p.<AirTransmissionModelHealthStatus>getHealthStatus().isBreathingIn())
-				.collect(Collectors.toSet());
-
 		// Agents absorb pathogen continuously but simulation is discrete. Therefore, the absorption during inhalation
 		// must be divided into absorption for each sim step:
 		double inhalationPeriodLength = attrAirTransmissionModel.getPedestrianRespiratoryCyclePeriod() / 2.0;
 		double aerosolAbsorptionRatePerSimStep = attrAirTransmissionModel.getAerosolCloudAbsorptionRate() * (simTimeStepLength / inhalationPeriodLength);
 
-		Collection<AerosolCloud> allAerosolClouds = topography.getAerosolClouds();
+		List<AerosolCloud> allAerosolClouds = topography.getAerosolClouds();
+		double[] doses = getDosesPerDispersion(allAerosolClouds.size());
+		int i = 0;
 		for (AerosolCloud aerosolCloud : allAerosolClouds) {
-			Collection<Pedestrian> breathingInPedsInAerosolCloud = breathingInPeds
-					.stream()
-					.filter(p -> aerosolCloud.getShape().contains(p.getPosition()))
-					.collect(Collectors.toSet());
-
-			for (Pedestrian ped : breathingInPedsInAerosolCloud) {
-				double deltaDegreeOfExposure = aerosolCloud.getPathogenConcentration() * aerosolAbsorptionRatePerSimStep;
-				updatePedestrianDegreeOfExposure(ped, deltaDegreeOfExposure);
-			}
+			doses[i++] = aerosolCloud.getPathogenConcentration() * aerosolAbsorptionRatePerSimStep;
 		}
+		aerosolCloudGrid.build(allAerosolClouds);
+
+		updatePedestriansExposure(aerosolCloudGrid, doses);
 	}
 
 	protected void updatePedestriansExposureToDroplets() {
-		Collection<Pedestrian> breathingInPeds = topography.getPedestrianDynamicElements()
-				.getElements()
-				.stream()
-				.filter(p -> p.<AirTransmissionModelHealthStatus>getHealthStatus().isBreathingIn())
-				.collect(Collectors.toSet());
-
 		/*
 		 * Agents absorb pathogen continuously but simulation is discrete. Therefore, the absorption during inhalation
 		 * must be divided into absorption for each sim step:
@@ -340,20 +324,40 @@ protected void updatePedestriansExposureToDroplets() {
 		 * to. In contrast to intake of pathogen from aerosol clouds, we do not consider concentrations (for simplicity
 		 * or to avoid further assumptions on pathogen distribution within droplets).
 		 */
-		Collection<Droplets> allDroplets = topography.getDroplets();
-		for (Droplets droplets : allDroplets) {
-			Collection<Pedestrian> breathingInPedsInDroplets = breathingInPeds
-					.stream()
-					.filter(p -> droplets.getShape().contains(p.getPosition()))
-					.collect(Collectors.toSet());
-
-			for (Pedestrian ped : breathingInPedsInDroplets) {
-				double deltaDegreeOfExposure = attrAirTransmissionModel.getDropletsPathogenLoad() * dropletsAbsorptionRatePerSimStep;
-				updatePedestrianDegreeOfExposure(ped, deltaDegreeOfExposure);
+		List<Droplets> allDroplets = topography.getDroplets();
+		double[] doses = getDosesPerDispersion(allDroplets.size());
+		Arrays.fill(doses, 0, allDroplets.size(), attrAirTransmissionModel.getDropletsPathogenLoad() * dropletsAbsorptionRatePerSimStep);
+		dropletsGrid.build(allDroplets);
+
+		updatePedestriansExposure(dropletsGrid, doses);
+	}
+
+	/**
+	 * Each inhaling pedestrian absorbs the sum of the doses of all dispersions (aerosol clouds or droplets) it is
+	 * located in.
+	 */
+	private void updatePedestriansExposure(ParticleDispersionGrid dispersionGrid, double[] dosesPerDispersion) {
+		if (dispersionGrid.size() == 0) {
+			return;
+		}
+
+		for (Pedestrian pedestrian : topography.getPedestrianDynamicElements().getElements()) {
+			if (pedestrian.<AirTransmissionModelHealthStatus>getHealthStatus().isBreathingIn()) {
+				double deltaDegreeOfExposure = dispersionGrid.sumContaining(pedestrian.getPosition(), dosesPerDispersion);
+				if (deltaDegreeOfExposure > 0) {
+					updatePedestrianDegreeOfExposure(pedestrian, deltaDegreeOfExposure);
+				}
 			}
 		}
 	}
 
+	private double[] getDosesPerDispersion(int size) {
+		if (dosesPerDispersion.length < size) {
+			dosesPerDispersion = new double[Math.max(size, 2 * dosesPerDispersion.length)];
+		}
+		return dosesPerDispersion;
+	}
+
 	public Collection<Pedestrian> getInfectiousPedestrians(Topography topography) {
 		return topography.getPedestrianDynamicElements()
 				.getElements()
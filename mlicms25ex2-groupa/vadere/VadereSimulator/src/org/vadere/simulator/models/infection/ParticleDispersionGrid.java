@@ -0,0 +1,198 @@
+package org.vadere.simulator.models.infection;
+
+import org.vadere.state.scenario.AerosolCloud;
+import org.vadere.state.scenario.Droplets;
+import org.vadere.state.scenario.ScenarioElement;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid over the bounding boxes of particle dispersions ({@link AerosolCloud aerosol clouds} or
+ * {@link Droplets}) which answers the question which dispersions contain a certain position without
+ * testing all of them. The grid is rebuilt by {@link #build(List)} whenever the dispersions have changed,
+ * i.e. after clouds have grown or expired. All buffers are reused between the builds.
+ *
+ * The indices returned by a query refer to the position of the dispersion in the list passed to
+ * {@link #build(List)} and are visited in ascending order, i.e. in the same order as iterating over the list.
+ */
+public class ParticleDispersionGrid {
+
+	/**
+	 * The number of cells is limited to this factor times the number of dispersions.
+	 */
+	private static final int MAX_CELLS_PER_ELEMENT = 4;
+	private static final double MIN_CELL_SIZE = 0.5;
+	/**
+	 * The bounding boxes are enlarged by this tolerance such that positions on the boundary of a shape are
+	 * never rejected due to round-off.
+	 */
+	private static final double BOUNDS_TOLERANCE = 1e-9;
+
+	private VShape[] shapes = new VShape[0];
+	private double[] minX = new double[0];
+	private double[] minY = new double[0];
+	private double[] maxX = new double[0];
+	private double[] maxY = new double[0];
+	private int size;
+
+	private double originX;
+	private double originY;
+	private double cellSize;
+	private int cols;
+	private int rows;
+
+	// compressed cell lists: the indices of cell c are items[cellStart[c]] ... items[cellStart[c+1]-1]
+	private int[] cellStart = new int[1];
+	private int[] items = new int[0];
+	// fill positions of the cells while building
+	private int[] next = new int[0];
+
+	/**
+	 * Rebuilds the grid for the shapes of the given dispersions.
+	 *
+	 * @param dispersions aerosol clouds or droplets
+	 */
+	public void build(final List<? extends ScenarioElement> dispersions) {
+		size = dispersions.size();
+		ensureElementCapacity(size);
+
+		double totalExtent = 0;
+		double boundMinX = Double.MAX_VALUE;
+		double boundMinY = Double.MAX_VALUE;
+		double boundMaxX = -Double.MAX_VALUE;
+		double boundMaxY = -Double.MAX_VALUE;
+
+		int i = 0;
+		for (ScenarioElement dispersion : dispersions) {
+			VShape shape = dispersion.getShape();
+			Rectangle2D bounds = shape.getBounds2D();
+			shapes[i] = shape;
+			minX[i] = bounds.getMinX() - BOUNDS_TOLERANCE;
+			minY[i] = bounds.getMinY() - BOUNDS_TOLERANCE;
+			maxX[i] = bounds.getMaxX() + BOUNDS_TOLERANCE;
+			maxY[i] = bounds.getMaxY() + BOUNDS_TOLERANCE;
+			totalExtent += Math.max(bounds.getWidth(), bounds.getHeight());
+			boundMinX = Math.min(boundMinX, minX[i]);
+			boundMinY = Math.min(boundMinY, minY[i]);
+			boundMaxX = Math.max(boundMaxX, maxX[i]);
+			boundMaxY = Math.max(boundMaxY, maxY[i]);
+			i++;
+		}
+
+		if (size == 0) {
+			cols = 0;
+			rows = 0;
+			cellStart[0] = 0;
+			return;
+		}
+
+		// cells of the size of an average dispersion, coarsened if the grid would get too large
+		double width = boundMaxX - boundMinX;
+		double height = boundMaxY - boundMinY;
+		cellSize = Math.max(totalExtent / size, MIN_CELL_SIZE);
+		long maxCells = (long) MAX_CELLS_PER_ELEMENT * size + 1;
+		while (((long) (width / cellSize) + 1) * ((long) (height / cellSize) + 1) > maxCells) {
+			cellSize *= 2;
+		}
+		originX = boundMinX;
+		originY = boundMinY;
+		cols = (int) (width / cellSize) + 1;
+		rows = (int) (height / cellSize) + 1;
+
+		int cellCount = cols * rows;
+		if (cellStart.length < cellCount + 1) {
+			cellStart = new int[cellCount + 1];
+		} else {
+			Arrays.fill(cellStart, 0, cellCount + 1, 0);
+		}
+
+		// count, prefix sum, fill (in ascending element order)
+		int total = 0;
+		for (int e = 0; e < size; e++) {
+			for (int r = row(minY[e]); r <= row(maxY[e]); r++) {
+				for (int c = col(minX[e]); c <= col(maxX[e]); c++) {
+					cellStart[r * cols + c + 1]++;
+					total++;
+				}
+			}
+		}
+		for (int c = 0; c < cellCount; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		if (items.length < total) {
+			items = new int[total];
+		}
+		if (next.length < cellCount) {
+			next = new int[cellStart.length];
+		}
+		System.arraycopy(cellStart, 0, next, 0, cellCount);
+		for (int e = 0; e < size; e++) {
+			for (int r = row(minY[e]); r <= row(maxY[e]); r++) {
+				for (int c = col(minX[e]); c <= col(maxX[e]); c++) {
+					items[next[r * cols + c]++] = e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sums up the values of all dispersions whose shape contains the position. The values are added in
+	 * ascending index order.
+	 *
+	 * @param position the position, e.g. of a pedestrian
+	 * @param values   one value per dispersion, indexed like the list passed to {@link #build(List)}
+	 * @return the sum of the values or 0 if no dispersion contains the position
+	 */
+	public double sumContaining(final IPoint position, final double[] values) {
+		double x = position.getX();
+		double y = position.getY();
+		if (size == 0 || x < originX || y < originY) {
+			return 0;
+		}
+		int c = (int) ((x - originX) / cellSize);
+		int r = (int) ((y - originY) / cellSize);
+		if (c >= cols || r >= rows) {
+			return 0;
+		}
+
+		double sum = 0;
+		int cell = r * cols + c;
+		for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+			int e = items[k];
+			if (x >= minX[e] && x <= maxX[e] && y >= minY[e] && y <= maxY[e] && shapes[e].contains(position)) {
+				sum += values[e];
+			}
+		}
+		return sum;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private int col(final double x) {
+		return Math.min((int) ((x - originX) / cellSize), cols - 1);
+	}
+
+	private int row(final double y) {
+		return Math.min((int) ((y - originY) / cellSize), rows - 1);
+	}
+
+	private void ensureElementCapacity(final int n) {
+		if (shapes.length < n) {
+			int capacity = Math.max(n, 2 * shapes.length);
+			shapes = new VShape[capacity];
+			minX = new double[capacity];
+			minY = new double[capacity];
+			maxX = new double[capacity];
+			maxY = new double[capacity];
+		} else {
+			// release references to shapes of expired dispersions
+			Arrays.fill(shapes, n, shapes.length, null);
+		}
+	}
+}
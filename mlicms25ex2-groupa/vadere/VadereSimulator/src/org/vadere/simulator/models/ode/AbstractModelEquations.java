@@ -1,10 +1,11 @@
 package org.vadere.simulator.models.ode;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
@@ -12,6 +13,8 @@
 import org.vadere.state.scenario.DynamicElement;
 import org.vadere.state.scenario.Topography;
 import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.parallel.ChunkedParallelWorker;
 
 /**
  * Abstract model equations for an ODE based model of pedestrian motion.
@@ -21,6 +24,8 @@
  */
 public abstract class AbstractModelEquations<T extends DynamicElement> implements
 		FirstOrderDifferentialEquations {
+	private static Logger logger = Logger.getLogger(AbstractModelEquations.class);
+
 	protected GradientProvider staticGradientProvider;
 	protected PotentialFieldObstacle obstacleGradientProvider;
 	protected PotentialFieldAgent pedestrianGradientProvider;
@@ -28,6 +33,8 @@
 	protected List<T> elements;
 	protected Map<Integer, Integer> IDmapping;
 	protected Topography topography;
+	protected ChunkedParallelWorker worker;
+	protected VerletNeighbourList<T> neighbourList;
 
 	/**
 	 * The dimensions for each person, i.e. position (x,y), speed / velocity...
@@ -45,7 +52,7 @@ public void setGradients(GradientProvider staticGradientProvider,
 	}
 
 	public void setElements(Collection<T> elements) {
-		this.elements = new LinkedList<>(elements);
+		this.elements = new ArrayList<>(elements);
 		this.Npersons = elements.size();
 		this.IDmapping = new HashMap<Integer, Integer>();
 
@@ -56,6 +63,55 @@ public void setElements(Collection<T> elements) {
 		}
 	}
 
+	/**
+	 * Sets the worker which evaluates the equations of the elements in parallel. Without a worker the
+	 * equations are evaluated sequentially.
+	 */
+	public void setWorker(ChunkedParallelWorker worker) {
+		this.worker = worker;
+	}
+
+	/**
+	 * Sets the neighbour list which is updated by {@link #updateNeighbourList()}.
+	 */
+	public void setNeighbourList(VerletNeighbourList<T> neighbourList) {
+		this.neighbourList = neighbourList;
+	}
+
+	/**
+	 * Updates the neighbour list (if there is one) to the current positions of the elements. This has to
+	 * be called before the equations of the elements are evaluated in parallel.
+	 */
+	protected void updateNeighbourList() {
+		if (neighbourList != null) {
+			neighbourList.update(elements);
+		}
+	}
+
+	/**
+	 * Computes the work for all element indices [0, number of persons), split into contiguous ranges which
+	 * are computed in parallel if a worker is set.
+	 *
+	 * @throws RuntimeException wrapping the exception of the work, since the derivatives would be incomplete
+	 */
+	protected void forEachElementRange(ChunkedParallelWorker.RangeWork work) {
+		try {
+			if (worker == null) {
+				work.compute(0, Npersons);
+			} else {
+				worker.forEachRange(Npersons, work);
+			}
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} catch (InterruptedException e) {
+			// Necessary in order to tell Simulation the thread has been
+			// interrupted.
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @Return (number of persons) * (dimension per person)
 	 */
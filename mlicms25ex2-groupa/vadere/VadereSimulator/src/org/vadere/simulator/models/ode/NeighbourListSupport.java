@@ -0,0 +1,20 @@
+package org.vadere.simulator.models.ode;
+
+import org.vadere.state.scenario.DynamicElement;
+
+/**
+ * A pedestrian potential of an {@link ODEModel} which can query its relevant agents from a
+ * {@link VerletNeighbourList} maintained by the model instead of the spatial map of the topography.
+ */
+public interface NeighbourListSupport<T extends DynamicElement> {
+
+	/**
+	 * @return the maximal radius of the relevant agents, i.e. the cutoff of the neighbour list
+	 */
+	double getNeighbourRadius();
+
+	/**
+	 * @param neighbourList the neighbour list or null if the spatial map has to be used
+	 */
+	void setNeighbourList(VerletNeighbourList<T> neighbourList);
+}
@@ -3,6 +3,7 @@
 import org.apache.commons.math3.exception.MathIllegalNumberException;
 import org.apache.commons.math3.ode.FirstOrderIntegrator;
 import org.vadere.simulator.models.MainModel;
+import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.scenario.AttributesDynamicElement;
 import org.vadere.state.scenario.DynamicElement;
@@ -13,6 +14,7 @@
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
+import org.vadere.util.parallel.ChunkedParallelWorker;
 
 import java.util.Collection;
 import java.util.List;
@@ -34,6 +36,8 @@
 
 	private Logger logger = Logger.getLogger(ODEModel.class);
 	private Class<T> type;
+	private ChunkedParallelWorker worker;
+	private NeighbourListSupport<T> neighbourListSupport;
 
 	@Deprecated
 	public ODEModel(Class<T> type, Domain domain, FirstOrderIntegrator integrator,
@@ -65,8 +69,48 @@ public void preLoop(final double simTimeInSec) {
 		lastSimTimeInSec = simTimeInSec;
 	}
 
+	/**
+	 * Creates the worker which evaluates the equations in parallel, it is closed in {@link #postLoop(double)}.
+	 *
+	 * @param parallelism the number of threads, values smaller than 1 use the number of available processors
+	 */
+	protected void setupWorker(final int parallelism) {
+		if (worker == null) {
+			worker = new ChunkedParallelWorker(parallelism);
+			equations.setWorker(worker);
+		}
+	}
+
+	/**
+	 * Creates a {@link VerletNeighbourList} shared by the equations and the pedestrian potential if the
+	 * potential supports it. It is removed in {@link #postLoop(double)}.
+	 *
+	 * @param skin                the skin of the neighbour list, values smaller or equal to 0 disable the list
+	 * @param potentialFieldAgent the pedestrian potential
+	 */
+	@SuppressWarnings("unchecked")
+	protected void setupNeighbourList(final double skin, final PotentialFieldAgent potentialFieldAgent) {
+		if (skin > 0 && potentialFieldAgent instanceof NeighbourListSupport) {
+			neighbourListSupport = (NeighbourListSupport<T>) potentialFieldAgent;
+			VerletNeighbourList<T> neighbourList = new VerletNeighbourList<>(neighbourListSupport.getNeighbourRadius(), skin);
+			neighbourListSupport.setNeighbourList(neighbourList);
+			equations.setNeighbourList(neighbourList);
+		}
+	}
+
 	@Override
-	public void postLoop(final double state) {}
+	public void postLoop(final double state) {
+		if (worker != null) {
+			equations.setWorker(null);
+			worker.close();
+			worker = null;
+		}
+		if (neighbourListSupport != null) {
+			equations.setNeighbourList(null);
+			neighbourListSupport.setNeighbourList(null);
+			neighbourListSupport = null;
+		}
+	}
 
 	@Override
 	public void update(final double simTimeInSec){
@@ -151,10 +195,11 @@ public static <T extends DynamicElement> void updateElementPositions(Class<T> ty
 
 		// copy the solution back to the pedestrians
 		int counter = 0;
+		double[] newPosition = new double[2];
+		double[] newVelocity = new double[2];
 		for (DynamicElement element : dynamicElements) {
 
 			// extract position and speed
-			double[] newPosition = new double[2];
 			counter = equations.ID2Counter(element.getId());
 			equations.getPosition(counter, y, newPosition);
 
@@ -177,7 +222,6 @@ public static <T extends DynamicElement> void updateElementPositions(Class<T> ty
 
 			VPoint newPos = new VPoint(newPosition[0], newPosition[1]);
 
-			double[] newVelocity = new double[2];
 			equations.getVelocity(counter, y, newVelocity);
 
 			// set data to ped
@@ -0,0 +1,229 @@
+package org.vadere.simulator.models.ode;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.DynamicElement;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Verlet neighbour list of the elements of an {@link ODEModel}. For each element the list stores all
+ * elements (including the element itself) which were closer than <tt>cutoff + skin</tt> when the list was
+ * built. As long as no element moved more than <tt>skin / 2</tt> since then, these candidates contain all
+ * elements which are currently closer than <tt>cutoff</tt>. Hence, the list is only rebuilt if an element
+ * moved too far or the set of elements changed, and not for every evaluation of the equations, i.e. not for
+ * every stage of the integrator, in which the elements move only millimetres.
+ *
+ * {@link #update(List)} is called before the equations are evaluated, queries ({@link #collectNeighbours})
+ * may be done in parallel afterwards since they do not modify the list.
+ */
+public class VerletNeighbourList<T extends DynamicElement> {
+
+	private final double cutoff;
+	private final double skin;
+
+	private List<T> elements;
+	private final Map<DynamicElement, Integer> indices;
+
+	/**
+	 * the positions of the elements when the list was built.
+	 */
+	private double[] buildX;
+	private double[] buildY;
+
+	/**
+	 * the candidates of the i-th element are neighbours[neighbourStart[i]] ... neighbours[neighbourStart[i+1]-1].
+	 */
+	private int[] neighbourStart;
+	private int[] neighbours;
+
+	private int builds;
+
+	/**
+	 * @param cutoff the maximal radius of a query
+	 * @param skin   the additional radius of the candidates
+	 */
+	public VerletNeighbourList(final double cutoff, final double skin) {
+		this.cutoff = cutoff;
+		this.skin = skin;
+		this.elements = List.of();
+		this.indices = new IdentityHashMap<>();
+		this.buildX = new double[0];
+		this.buildY = new double[0];
+		this.neighbourStart = new int[1];
+		this.neighbours = new int[0];
+	}
+
+	public double getCutoff() {
+		return cutoff;
+	}
+
+	/**
+	 * @return how often the list was built
+	 */
+	public int getBuilds() {
+		return builds;
+	}
+
+	/**
+	 * Rebuilds the list if the elements are not the elements of the last build or if any element moved more
+	 * than half of the skin since the last build.
+	 *
+	 * @param elements the current elements
+	 */
+	public void update(@NotNull final List<T> elements) {
+		if (!isSameElements(elements) || maxDisplacement() > 0.5 * skin) {
+			build(elements);
+		}
+	}
+
+	/**
+	 * Adds all elements which are closer than <tt>radius</tt> to <tt>position</tt> to the result, like
+	 * {@link org.vadere.util.geometry.LinkedCellsGrid#getObjects(VPoint, double)}.
+	 *
+	 * @param element   the element whose candidates are searched
+	 * @param position  the center of the query which has to be close to the element
+	 * @param radius    the radius of the query which is at most the cutoff
+	 * @param result    the collection the neighbours are added to
+	 *
+	 * @return false if the list can not answer the query (the element is not part of the list, the position is
+	 *         too far away from the position of the element at the last build or the radius is larger than the
+	 *         cutoff), the result is not changed in this case.
+	 */
+	public boolean collectNeighbours(@NotNull final DynamicElement element, @NotNull final IPoint position, final double radius,
+	                                 @NotNull final Collection<? super T> result) {
+		Integer index = indices.get(element);
+		if (index == null || radius > cutoff) {
+			return false;
+		}
+
+		double dx = position.getX() - buildX[index];
+		double dy = position.getY() - buildY[index];
+		if (dx * dx + dy * dy > 0.25 * skin * skin) {
+			return false;
+		}
+
+		VPoint center = new VPoint(position.getX(), position.getY());
+		for (int k = neighbourStart[index]; k < neighbourStart[index + 1]; k++) {
+			T neighbour = elements.get(neighbours[k]);
+			if (neighbour.getPosition().distance(center) < radius) {
+				result.add(neighbour);
+			}
+		}
+		return true;
+	}
+
+	private boolean isSameElements(@NotNull final List<T> elements) {
+		if (elements.size() != this.elements.size()) {
+			return false;
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			if (elements.get(i) != this.elements.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private double maxDisplacement() {
+		double max = 0;
+		for (int i = 0; i < elements.size(); i++) {
+			VPoint position = elements.get(i).getPosition();
+			double dx = position.x - buildX[i];
+			double dy = position.y - buildY[i];
+			max = Math.max(max, dx * dx + dy * dy);
+		}
+		return Math.sqrt(max);
+	}
+
+	private void build(@NotNull final List<T> elements) {
+		int n = elements.size();
+		this.elements = List.copyOf(elements);
+		indices.clear();
+		buildX = new double[n];
+		buildY = new double[n];
+
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			VPoint position = elements.get(i).getPosition();
+			buildX[i] = position.x;
+			buildY[i] = position.y;
+			indices.put(elements.get(i), i);
+			minX = Math.min(minX, position.x);
+			minY = Math.min(minY, position.y);
+			maxX = Math.max(maxX, position.x);
+			maxY = Math.max(maxY, position.y);
+		}
+
+		// bin the elements into cells which are at least as large as the radius of the candidates
+		double radius = cutoff + skin;
+		double cellSize = Math.max(radius, Double.MIN_NORMAL);
+		int cellsX = n == 0 ? 1 : (int) ((maxX - minX) / cellSize) + 1;
+		int cellsY = n == 0 ? 1 : (int) ((maxY - minY) / cellSize) + 1;
+		while ((long) cellsX * cellsY > Math.max(1024, 16L * n)) {
+			// sparse elements, use less cells
+			cellSize *= 2;
+			cellsX = (int) ((maxX - minX) / cellSize) + 1;
+			cellsY = (int) ((maxY - minY) / cellSize) + 1;
+		}
+
+		int[] cellOf = new int[n];
+		int[] cellStart = new int[cellsX * cellsY + 1];
+		for (int i = 0; i < n; i++) {
+			cellOf[i] = cellY(buildY[i], minY, cellSize) * cellsX + cellX(buildX[i], minX, cellSize);
+			cellStart[cellOf[i] + 1]++;
+		}
+		for (int c = 0; c < cellsX * cellsY; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		int[] cellElements = new int[n];
+		int[] fill = Arrays.copyOf(cellStart, cellsX * cellsY);
+		for (int i = 0; i < n; i++) {
+			cellElements[fill[cellOf[i]]++] = i;
+		}
+
+		double radius2 = radius * radius;
+		neighbourStart = new int[n + 1];
+		int size = 0;
+		int[] candidates = new int[Math.max(16, n)];
+		for (int i = 0; i < n; i++) {
+			int cx = cellOf[i] % cellsX;
+			int cy = cellOf[i] / cellsX;
+			for (int y = Math.max(0, cy - 1); y <= Math.min(cellsY - 1, cy + 1); y++) {
+				for (int x = Math.max(0, cx - 1); x <= Math.min(cellsX - 1, cx + 1); x++) {
+					int cell = y * cellsX + x;
+					for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+						int j = cellElements[k];
+						double dx = buildX[i] - buildX[j];
+						double dy = buildY[i] - buildY[j];
+						if (dx * dx + dy * dy <= radius2) {
+							if (size == candidates.length) {
+								candidates = Arrays.copyOf(candidates, 2 * size);
+							}
+							candidates[size++] = j;
+						}
+					}
+				}
+			}
+			neighbourStart[i + 1] = size;
+		}
+		neighbours = Arrays.copyOf(candidates, size);
+		builds++;
+	}
+
+	private static int cellX(final double x, final double minX, final double cellSize) {
+		return (int) ((x - minX) / cellSize);
+	}
+
+	private static int cellY(final double y, final double minY, final double cellSize) {
+		return (int) ((y - minY) / cellSize);
+	}
+}
@@ -90,11 +90,13 @@ public void makeStep(@NotNull final PedestrianOSM pedestrian, @NotNull final Top
             pedestrian.setVelocity(pedVelocity);
         }
 
-        // strides and foot steps have no influence on the simulation itself, i.e. they are saved to analyse trajectories
-        pedestrian.getStrides().add(Pair.of(currentPosition.distance(nextPosition), stepStartTime));
-
         FootStep currentFootstep = new FootStep(currentPosition, nextPosition, stepStartTime, stepEndTime);
-        pedestrian.getTrajectory().add(currentFootstep);
+
+        // strides and foot steps have no influence on the simulation itself, i.e. they are saved to analyse trajectories
+        if (pedestrian.isRecordingFootSteps()) {
+            pedestrian.getStrides().add(Pair.of(currentPosition.distance(nextPosition), stepStartTime));
+            pedestrian.getTrajectory().add(currentFootstep);
+        }
         pedestrian.getFootstepHistory().add(currentFootstep);
     }
 
@@ -105,8 +107,11 @@ public void makeStep(@NotNull final PedestrianOSM pedestrian, @NotNull final Top
 	 * @param topography the topography
 	 */
 	public void undoStep(@NotNull final PedestrianOSM pedestrian, @NotNull final Topography topography) {
-	    FootStep footStep = pedestrian.getTrajectory().removeLast();
+	    FootStep footStep = pedestrian.getFootstepHistory().getYoungestFootStep();
 	    pedestrian.getFootstepHistory().removeLast();
+	    if (pedestrian.isRecordingFootSteps()) {
+		    pedestrian.getTrajectory().removeLast();
+	    }
 
 	    pedestrian.setPosition(footStep.getStart());
 	    synchronized (topography) {
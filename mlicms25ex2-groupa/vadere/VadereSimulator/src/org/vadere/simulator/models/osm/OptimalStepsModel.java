@@ -17,6 +17,9 @@
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.models.AttributesOSM;
 import org.vadere.state.attributes.scenario.AttributesAgent;
@@ -28,12 +31,13 @@
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @ModelClass(isMainModel = true)
-public class OptimalStepsModel implements MainModel, PotentialFieldModel {
+public class OptimalStepsModel implements MainModel, PotentialFieldModel, Checkpointable {
 
 	private final static Logger logger = Logger.getLogger(OptimalStepsModel.class);
 
@@ -51,6 +55,7 @@ public class OptimalStepsModel implements MainModel, PotentialFieldModel {
 	private double lastSimTimeInSec;
 	private ExecutorService executorService;
 	private List<Model> models = new LinkedList<>();
+	private boolean recordingFootSteps = true;
 
 	public OptimalStepsModel() {
 		this.speedAdjusters = new LinkedList<>();
@@ -232,6 +237,20 @@ public void update(final double simTimeInSec) {
 		lastSimTimeInSec = simTimeInSec;
 	}
 
+	/**
+	 * The update schemes keep no state between two steps except the event queue of the event driven schemes,
+	 * which is rebuilt from the time of the next step of the restored agents.
+	 */
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		writer.writeDouble(lastSimTimeInSec);
+	}
+
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		lastSimTimeInSec = reader.readDouble();
+	}
+
 	/**
 	 * At the moment, all pedestrians inherit position from "this.attributesPedestian"!
 	 */
@@ -266,9 +285,20 @@ private PedestrianOSM createElement(VPoint position, @NotNull final AttributesAg
 				potentialFieldObstacle.copy(), potentialFieldPedestrian,
 				speedAdjusters, stepCircleOptimizer.clone());
 		pedestrian.setPosition(position);
+		pedestrian.setRecordingFootSteps(recordingFootSteps);
 		return pedestrian;
 	}
 
+	/**
+	 * The strides and the trajectories of the agents have no influence on the simulation. If nothing reads them,
+	 * the agents only keep their {@link org.vadere.state.simulation.FootstepHistory} which is required to compute
+	 * their speed. This only affects agents which are created afterwards.
+	 */
+	@Override
+	public void setRecordingFootSteps(final boolean recordingFootSteps) {
+		this.recordingFootSteps = recordingFootSteps;
+	}
+
 	@Override
 	public List<Model> getSubmodels() {
 		return models;
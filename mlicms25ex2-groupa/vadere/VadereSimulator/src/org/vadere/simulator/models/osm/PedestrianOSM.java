@@ -15,6 +15,9 @@
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.simulator.models.potential.fields.PotentialFieldTargetRingExperiment;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.models.AttributesOSM;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
@@ -23,18 +26,19 @@
 import org.vadere.state.scenario.Topography;
 ;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class PedestrianOSM extends Pedestrian {
+public class PedestrianOSM extends Pedestrian implements Checkpointable {
 
 	private final Random random;
 
 	private final AttributesOSM attributesOSM;
 	private final transient StepCircleOptimizer stepCircleOptimizer;
 	private final transient Topography topography;
-	private final double stepLength;
-	private final double stepDeviation;
+	private double stepLength;
+	private double stepDeviation;
 	private final double minStepLength;
 
 	private transient IPotentialFieldTarget potentialFieldTarget;
@@ -62,6 +66,8 @@ public PotentialFieldAgent getPotentialFieldPedestrian() {
 	private double speedByAbsoluteDistance;
 
 	private LinkedList<Pair<Double, Double>> strides; // left = length, right = time
+	/** false if nothing reads the strides and the trajectory, see {@link OptimalStepsModel#setRecordingFootSteps(boolean)} */
+	private transient boolean recordingFootSteps = true;
 	private StairStepOptimizer stairStepOptimizer;
 
 	@SuppressWarnings("unchecked")
@@ -128,6 +134,7 @@ private PedestrianOSM(@NotNull final PedestrianOSM other) {
 		this.lastPosition = other.lastPosition;
 		this.nextPosition = other.nextPosition;
 		this.strides = new LinkedList<>(other.strides);
+		this.recordingFootSteps = other.recordingFootSteps;
 		this.random = other.random;
 	}
 
@@ -301,6 +308,14 @@ public double getPotential(IPoint newPos) {
 		return combinedPotentialStrategy.getValue(newPos, this, relevantPedestrians);
 	}
 
+	/**
+	 * Batched version of {@link #getPotential(IPoint)}: evaluates the combined potential at the
+	 * first n positions (xs[i], ys[i]) and writes the result into out.
+	 */
+	public void getPotentials(final double[] xs, final double[] ys, final int n, final double[] out) {
+		combinedPotentialStrategy.getValues(xs, ys, n, this, relevantPedestrians, out);
+	}
+
 	public void clearStrides() {
 		strides.clear();
 	}
@@ -410,6 +425,14 @@ public LinkedList<Pair<Double, Double>> getStrides() {
 		return strides;
 	}
 
+	public boolean isRecordingFootSteps() {
+		return recordingFootSteps;
+	}
+
+	public void setRecordingFootSteps(final boolean recordingFootSteps) {
+		this.recordingFootSteps = recordingFootSteps;
+	}
+
 	public Topography getTopography() {
 		return topography;
 	}
@@ -425,6 +448,39 @@ public ArrayList<OptimizationMetric> getOptimizationMetricElements(){
 		return values;
 	}
 
+	/**
+	 * Writes the state of the agent which is not part of {@link Pedestrian}, i.e. the (random) step length and
+	 * the state of the current step.
+	 */
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		writer.writeDouble(stepDeviation);
+		writer.writeDouble(stepLength);
+		writer.writeDouble(timeOfNextStep);
+		writer.writeNullablePoint(lastPosition);
+		writer.writeNullablePoint(nextPosition);
+		writer.writeInt(strides.size());
+		for (Pair<Double, Double> stride : strides) {
+			writer.writeDouble(stride.getLeft());
+			writer.writeDouble(stride.getRight());
+		}
+	}
+
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		stepDeviation = reader.readDouble();
+		stepLength = reader.readDouble();
+		timeOfNextStep = reader.readDouble();
+		lastPosition = reader.readNullablePoint();
+		nextPosition = reader.readNullablePoint();
+		strides.clear();
+		int size = reader.readInt();
+		for (int i = 0; i < size; i++) {
+			double length = reader.readDouble();
+			strides.add(Pair.of(length, reader.readDouble()));
+		}
+	}
+
 	@Override
 	public PedestrianOSM clone() {
 		return new PedestrianOSM(this);
@@ -440,9 +496,9 @@ public LinkedList<Pedestrian> getPedGroupMembers(){
 		LinkedList<Pedestrian> peds = new LinkedList<>();
 		
 		if (this.getGroupIds() != null) {
-			if (this.getGroupIds().size() == 1) {
+			if (this.getGroupIds().length == 1) {
 				for (int i : getGroupIds()) {
-					Collection<Pedestrian> pp = getTopography().getPedestrianDynamicElements().getElements().stream().filter(p -> p.getGroupIds().getFirst() == i && p.getId() != getId()).collect(Collectors.toList());
+					Collection<Pedestrian> pp = getTopography().getPedestrianDynamicElements().getElements().stream().filter(p -> p.getGroupIds().length > 0 && p.getGroupIds()[0] == i && p.getId() != getId()).collect(Collectors.toList());
 
 					for (Pedestrian ped : pp) {
 						peds.add(ped);
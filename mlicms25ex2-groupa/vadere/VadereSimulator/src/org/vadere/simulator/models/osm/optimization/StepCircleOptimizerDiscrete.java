@@ -3,17 +3,25 @@
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.osm.PedestrianOSM;
 import org.vadere.state.attributes.models.AttributesOSM;
-import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Obstacle;
 import org.vadere.state.types.MovementType;
 import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VLine;
 import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VPolygon;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 
 import java.awt.*;
+import java.awt.geom.Line2D;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -26,10 +34,19 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 	private final double movementThreshold;  // the next position must improve at least by this amount
 	private final Random random;
 	private final static Logger log = Logger.getLogger(StepCircleOptimizerDiscrete.class);
+	private final static ThreadLocal<Candidates> threadCandidates = ThreadLocal.withInitial(Candidates::new);
+	// shared with the clones, i.e. with all pedestrians of the model
+	private final PolygonPoints polygonPoints;
 
 	public StepCircleOptimizerDiscrete(final double movementThreshold, final Random random) {
+		this(movementThreshold, random, new PolygonPoints());
+	}
+
+	private StepCircleOptimizerDiscrete(final double movementThreshold, final Random random,
+	                                    @NotNull final PolygonPoints polygonPoints) {
 		this.movementThreshold = movementThreshold;
 		this.random = random;
+		this.polygonPoints = polygonPoints;
 	}
 
 	@Override
@@ -37,36 +54,41 @@ public VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, @NotNull
 		assert reachableArea instanceof VCircle;
 
 		double stepSize = ((VCircle) reachableArea).getRadius();
-		List<VPoint> positions = getReachablePositions(pedestrian, (VCircle) reachableArea, random);
+		Candidates candidates = threadCandidates.get();
+		fillReachablePositions(pedestrian, (VCircle) reachableArea, random, candidates);
 
-		return getNextPosition(pedestrian, positions, stepSize);
+		return getNextPosition(pedestrian, candidates, stepSize);
 	}
 
 	public VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, final List<VPoint> positions,
 								  final double stepSize){
+		Candidates candidates = threadCandidates.get();
+		candidates.clear();
+		for (VPoint position : positions) {
+			candidates.add(position.x, position.y);
+		}
 
-		PotentialEvaluationFunction potentialEvaluationFunction = new PotentialEvaluationFunction(pedestrian);
-		potentialEvaluationFunction.setStepSize(stepSize);
+		return getNextPosition(pedestrian, candidates, stepSize);
+	}
+
+	private VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, @NotNull final Candidates candidates,
+	                               final double stepSize) {
+		evaluate(pedestrian, candidates, stepSize);
 
 		VPoint curPos = pedestrian.getPosition();
-		VPoint nextPos = curPos.clone();
 		double curPosPotential = pedestrian.getPotential(curPos);
 		double potential = curPosPotential;
-		double currentPotential;
-
-		for (VPoint currentPosition : positions) {
-			try {
-				currentPotential = potentialEvaluationFunction.getPotential(currentPosition);
+		int nextIndex = -1;
 
-				if(currentPotential < potential) {
-					potential = currentPotential;
-					nextPos = currentPosition;
-				}
-			} catch (Exception e) {
-				Logger.getLogger(StepCircleOptimizerDiscrete.class).error("Potential evaluation threw an error: " + e.getMessage());
+		for (int i = 0; i < candidates.size; i++) {
+			if(candidates.potentials[i] < potential) {
+				potential = candidates.potentials[i];
+				nextIndex = i;
 			}
 		}
 
+		VPoint nextPos = nextIndex < 0 ? curPos.clone() : new VPoint(candidates.xs[nextIndex], candidates.ys[nextIndex]);
+
 		// pedestrian.getTargetPotential(nextPos) > 0 => agent is not jet on his target otherwise the agent would wait forever
 		if (curPosPotential - potential <= movementThreshold && pedestrian.getTargetPotential(nextPos) > 0) {
 			nextPos = curPos;
@@ -75,6 +97,96 @@ public VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, final Lis
 		return nextPos;
 	}
 
+	/**
+	 * Evaluates the potential of all candidates at once, see {@link PedestrianOSM#getPotentials}.
+	 * Afterwards the constraints of {@link PotentialEvaluationFunction#value(double[])} are applied,
+	 * i.e. the results are the same as evaluating each candidate by the {@link PotentialEvaluationFunction}.
+	 */
+	private void evaluate(@NotNull final PedestrianOSM pedestrian, @NotNull final Candidates candidates,
+	                             final double stepSize) {
+		final int n = candidates.size;
+		final double[] xs = candidates.xs;
+		final double[] ys = candidates.ys;
+		final double[] potentials = candidates.potentials;
+
+		try {
+			pedestrian.getPotentials(xs, ys, n, potentials);
+		} catch (Exception e) {
+			// evaluate point by point such that only the erroneous candidates are ignored
+			PotentialEvaluationFunction potentialEvaluationFunction = new PotentialEvaluationFunction(pedestrian);
+			potentialEvaluationFunction.setStepSize(stepSize);
+			for (int i = 0; i < n; i++) {
+				try {
+					potentials[i] = potentialEvaluationFunction.getPotential(new VPoint(xs[i], ys[i]));
+				} catch (Exception ex) {
+					log.error("Potential evaluation threw an error: " + ex.getMessage());
+					potentials[i] = Double.POSITIVE_INFINITY;
+				}
+			}
+			return;
+		}
+
+		final VPoint pedPos = pedestrian.getPosition();
+		final double sqss = stepSize * stepSize;
+		final double tolInsideCircle = 0.00001;
+		final boolean seeSmallWalls = pedestrian.getAttributesOSM().isSeeSmallWalls();
+
+		for (int i = 0; i < n; i++) {
+			final double sqx = (xs[i] - pedPos.x) * (xs[i] - pedPos.x);
+			final double sqy = (ys[i] - pedPos.y) * (ys[i] - pedPos.y);
+
+			// large value, do not consider point when minimizing (see PotentialEvaluationFunction)
+			if (sqx + sqy > sqss + tolInsideCircle || (seeSmallWalls && intersectsObstacle(pedestrian, pedPos, xs[i], ys[i]))) {
+				potentials[i] = 100000;
+			}
+		}
+	}
+
+	/**
+	 * Same as <tt>obstacle.getShape().intersects(new VLine(pedPos, new VPoint(x, y)))</tt> for any obstacle, but
+	 * rectangles, circles and polygons are tested without creating a line (and the edges of the polygon).
+	 */
+	private boolean intersectsObstacle(@NotNull final PedestrianOSM pedestrian, @NotNull final VPoint pedPos,
+	                                   final double x, final double y) {
+		for (Obstacle obstacle : pedestrian.getTopography().getObstacles()) {
+			VShape shape = obstacle.getShape();
+			boolean intersects;
+			if (shape instanceof VRectangle) {
+				// see Line2D#intersects(Rectangle2D)
+				intersects = ((VRectangle) shape).intersectsLine(pedPos.x, pedPos.y, x, y);
+			} else if (shape instanceof VCircle) {
+				VCircle circle = (VCircle) shape;
+				intersects = Line2D.ptSegDist(pedPos.x, pedPos.y, x, y, circle.getCenter().x, circle.getCenter().y) <= circle.getRadius();
+			} else if (shape instanceof VPolygon) {
+				intersects = intersectsPolygon(polygonPoints.get((VPolygon) shape, pedestrian.getTopography().getObstacles()), pedPos.x, pedPos.y, x, y);
+			} else {
+				intersects = shape.intersects(new VLine(pedPos, new VPoint(x, y)));
+			}
+
+			if (intersects) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * See {@link VPolygon#intersects(VLine)}.
+	 *
+	 * @param points the points of the polygon (x0, y0, x1, y1, ...), see {@link VPolygon#getPoints()}
+	 */
+	private static boolean intersectsPolygon(@NotNull final double[] points, final double x1, final double y1,
+	                                         final double x2, final double y2) {
+		int n = points.length / 2;
+		for (int i = 0; i < n; i++) {
+			int j = i < n - 1 ? i + 1 : 0;
+			if (Line2D.linesIntersect(points[2 * i], points[2 * i + 1], points[2 * j], points[2 * j + 1], x1, y1, x2, y2)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public SolutionPair computeBruteForceSolution(final PedestrianOSM pedestrian){
 		// SolutionPair is defined in super class
 
@@ -98,11 +210,30 @@ public SolutionPair computeBruteForceSolution(final PedestrianOSM pedestrian){
 	}
 
 	public StepCircleOptimizer clone() {
-		return new StepCircleOptimizerDiscrete(movementThreshold, random);
+		return new StepCircleOptimizerDiscrete(movementThreshold, random, polygonPoints);
 	}
 
 	public static List<VPoint> getReachablePositions(@NotNull final PedestrianOSM pedestrian,
 													 @NotNull VCircle reachableArea, @NotNull final Random random) {
+		Candidates candidates = new Candidates();
+		fillReachablePositions(pedestrian, reachableArea, random, candidates);
+
+		List<VPoint> reachablePositions = new ArrayList<>(candidates.size);
+		for (int i = 0; i < candidates.size; i++) {
+			reachablePositions.add(new VPoint(candidates.xs[i], candidates.ys[i]));
+		}
+		return reachablePositions;
+	}
+
+	/**
+	 * Writes the reachable positions into the (reusable) candidates. The positions are identical to
+	 * {@link GeometryUtils#getDiscDiscretizationPoints(Random, boolean, VCircle, int, int, double, double)}
+	 * but no point objects are created and the directions of undisturbed full circles are taken from
+	 * the per-thread templates.
+	 */
+	private static void fillReachablePositions(@NotNull final PedestrianOSM pedestrian,
+	                                           @NotNull VCircle reachableArea, @NotNull final Random random,
+	                                           @NotNull final Candidates candidates) {
 
 		final AttributesOSM attributesOSM = pedestrian.getAttributesOSM();
 		int numberOfCircles = attributesOSM.getNumberOfCircles();
@@ -140,15 +271,46 @@ public static List<VPoint> getReachablePositions(@NotNull final PedestrianOSM pe
 			anchorAngle = 0;
 		}
 
-		return GeometryUtils.getDiscDiscretizationPoints(
-				random,
-				attributesOSM.isVaryStepDirection(),
-				reachableArea,
-				numberOfCircles,
-				attributesOSM.getStepCircleResolution(),
-				anchorAngle,
-				angle);
+		final boolean varyDirection = attributesOSM.isVaryStepDirection();
+		final int numberOfPointsOfLargestCircle = attributesOSM.getStepCircleResolution();
+		final double radius = reachableArea.getRadius();
+		final double centerX = reachableArea.getCenter().getX();
+		final double centerY = reachableArea.getCenter().getY();
+		final boolean useTemplate = !varyDirection && anchorAngle == 0 && angle == 2.0 * Math.PI;
+
+		assert random != null || !varyDirection;
+		double randOffset = varyDirection ? random.nextDouble() : 0;
+
+		candidates.clear();
 
+		// iterate through all circles
+		for (int j = 1; j <= numberOfCircles; j++) {
+
+			double circleOfGrid = radius * j / numberOfCircles;
+
+			int numberOfGridPoints = (int) Math.ceil(circleOfGrid / radius * numberOfPointsOfLargestCircle);
+
+			// reduce number of grid points proportional to the constraint of direction
+			if (angle < 2.0 * Math.PI) {
+				numberOfGridPoints = (int) Math.ceil(numberOfGridPoints * angle / (2.0 * Math.PI));
+			}
+
+			double angleDelta = angle / numberOfGridPoints;
+
+			if (useTemplate) {
+				double[] cos = candidates.getCosTemplate(numberOfGridPoints);
+				double[] sin = candidates.getSinTemplate(numberOfGridPoints);
+				for (int i = 0; i < numberOfGridPoints; i++) {
+					candidates.add(circleOfGrid * cos[i] + centerX, circleOfGrid * sin[i] + centerY);
+				}
+			} else {
+				for (int i = 0; i < numberOfGridPoints; i++) {
+					double x = circleOfGrid * Math.cos(anchorAngle + angleDelta * (randOffset + i)) + centerX;
+					double y = circleOfGrid * Math.sin(anchorAngle + angleDelta * (randOffset + i)) + centerY;
+					candidates.add(x, y);
+				}
+			}
+		}
 	}
 
 	private static List<VPoint> getBruteForcePointsCircles(VCircle reachableArea){
@@ -194,6 +356,107 @@ private static List<VPoint> getBruteForcePointsLines(VCircle reachableArea) {
 		return returnList;
 	}
 
+	/**
+	 * Reusable primitive buffers of the step candidates (positions and their potentials) of one agent.
+	 * Each thread owns one instance such that the OSM inner loop does not create point objects. Since
+	 * the directions of an undisturbed circle with k points do not depend on the agent, they are
+	 * computed once and reused as templates.
+	 */
+	private static class Candidates {
+		private double[] xs = new double[0];
+		private double[] ys = new double[0];
+		private double[] potentials = new double[0];
+		private int size = 0;
+
+		private double[][] cosTemplates = new double[0][];
+		private double[][] sinTemplates = new double[0][];
+
+		private void clear() {
+			size = 0;
+		}
+
+		private void add(final double x, final double y) {
+			if (size == xs.length) {
+				int capacity = Math.max(16, 2 * xs.length);
+				xs = Arrays.copyOf(xs, capacity);
+				ys = Arrays.copyOf(ys, capacity);
+				potentials = new double[capacity];
+			}
+			xs[size] = x;
+			ys[size] = y;
+			size++;
+		}
+
+		private double[] getCosTemplate(final int numberOfPoints) {
+			computeTemplate(numberOfPoints);
+			return cosTemplates[numberOfPoints];
+		}
+
+		private double[] getSinTemplate(final int numberOfPoints) {
+			computeTemplate(numberOfPoints);
+			return sinTemplates[numberOfPoints];
+		}
+
+		private void computeTemplate(final int numberOfPoints) {
+			if (numberOfPoints >= cosTemplates.length) {
+				cosTemplates = Arrays.copyOf(cosTemplates, numberOfPoints + 1);
+				sinTemplates = Arrays.copyOf(sinTemplates, numberOfPoints + 1);
+			}
+
+			if (cosTemplates[numberOfPoints] == null) {
+				double angleDelta = 2.0 * Math.PI / numberOfPoints;
+				double[] cos = new double[numberOfPoints];
+				double[] sin = new double[numberOfPoints];
+				for (int i = 0; i < numberOfPoints; i++) {
+					cos[i] = Math.cos(angleDelta * i);
+					sin[i] = Math.sin(angleDelta * i);
+				}
+				cosTemplates[numberOfPoints] = cos;
+				sinTemplates[numberOfPoints] = sin;
+			}
+		}
+	}
+
+	/**
+	 * The points of the polygonal obstacles as coordinate arrays, see {@link #intersectsPolygon}. The map is only
+	 * replaced (copy on write) if a polygon is missing, i.e. it is read without locking by the threads of the
+	 * parallel update schemes. A replaced map only keeps the polygons which are still obstacles of the topography
+	 * such that removed obstacles are released.
+	 */
+	private static class PolygonPoints {
+		private volatile Map<VPolygon, double[]> points = new IdentityHashMap<>();
+
+		private double[] get(@NotNull final VPolygon polygon, @NotNull final List<Obstacle> obstacles) {
+			double[] coordinates = points.get(polygon);
+			return coordinates != null ? coordinates : add(polygon, obstacles);
+		}
+
+		private synchronized double[] add(@NotNull final VPolygon polygon, @NotNull final List<Obstacle> obstacles) {
+			double[] coordinates = points.get(polygon);
+			if (coordinates != null) {
+				return coordinates;
+			}
+
+			Map<VPolygon, double[]> copy = new IdentityHashMap<>();
+			for (Obstacle obstacle : obstacles) {
+				double[] old = points.get(obstacle.getShape());
+				if (old != null) {
+					copy.put((VPolygon) obstacle.getShape(), old);
+				}
+			}
+
+			List<VPoint> polygonPoints = polygon.getPoints();
+			coordinates = new double[2 * polygonPoints.size()];
+			for (int i = 0; i < polygonPoints.size(); i++) {
+				coordinates[2 * i] = polygonPoints.get(i).x;
+				coordinates[2 * i + 1] = polygonPoints.get(i).y;
+			}
+			copy.put(polygon, coordinates);
+			points = copy;
+			return coordinates;
+		}
+	}
+
 	/**
 	 * The maximum deviation from the last movement direction given the current speed.
      * See seitz-2016 PhD-thesis equation 4.6
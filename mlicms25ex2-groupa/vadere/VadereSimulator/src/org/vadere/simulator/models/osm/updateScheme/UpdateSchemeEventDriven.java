@@ -74,11 +74,15 @@ protected void update(@NotNull final PedestrianOSM pedestrian, final double time
 		} else if (selfCategory == SelfCategory.WAIT) {
 			osmBehaviorController.wait(pedestrian, topography, timeStepInSec);
 			// needed for postvis to correctly reproduce state.
-			pedestrian.getTrajectory().add(new FootStep(pedestrian.getPosition(), pedestrian.getPosition(), currentTimeInSec, pedestrian.getTimeOfNextStep()));
+			if (pedestrian.isRecordingFootSteps()) {
+				pedestrian.getTrajectory().add(new FootStep(pedestrian.getPosition(), pedestrian.getPosition(), currentTimeInSec, pedestrian.getTimeOfNextStep()));
+			}
 		} else if (selfCategory == SelfCategory.CHANGE_TARGET) {
 			osmBehaviorController.changeTarget(pedestrian, topography);
 			// needed for postvis to correctly reproduce state.
-			pedestrian.getTrajectory().add(new FootStep(pedestrian.getPosition(), pedestrian.getPosition(), currentTimeInSec, pedestrian.getTimeOfNextStep()));
+			if (pedestrian.isRecordingFootSteps()) {
+				pedestrian.getTrajectory().add(new FootStep(pedestrian.getPosition(), pedestrian.getPosition(), currentTimeInSec, pedestrian.getTimeOfNextStep()));
+			}
 		} else if (selfCategory == SelfCategory.SOCIAL_DISTANCING){
 			osmBehaviorController.changeRepulsion(pedestrian);
 			osmBehaviorController.makeStepToTarget(pedestrian, topography);
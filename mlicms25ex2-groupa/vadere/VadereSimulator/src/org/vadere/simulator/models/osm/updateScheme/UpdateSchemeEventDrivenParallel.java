@@ -21,6 +21,7 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -64,13 +65,16 @@ public void update(final double timeStepInSec, final double currentTimeInSec) {
 		double sideLength = (2.0 * stepSize + pedestrianPotentialWidth);
 		//logger.debug("initial grid with a grid edge length equal to " + sideLength);
 
-		int nCells = 0;
+		// the regions (cells) only depend on the side length, hence they are the same for all rounds of this step
+		linkedCellsGrid = new LinkedCellsGrid<>(new VRectangle(topography.getBounds()), sideLength);
+		locked = new boolean[linkedCellsGrid.getGridWidth()][linkedCellsGrid.getGridHeight()];
+		int nCells = linkedCellsGrid.getGridWidth() * linkedCellsGrid.getGridHeight();
 		int counter = 1;
 		// event driven update ignores time credits
 		do {
-			linkedCellsGrid = new LinkedCellsGrid<>(new VRectangle(topography.getBounds()), sideLength);
-			locked = new boolean[linkedCellsGrid.getGridWidth()][linkedCellsGrid.getGridHeight()];
-			nCells = linkedCellsGrid.getGridWidth() * linkedCellsGrid.getGridHeight();
+			for (boolean[] column : locked) {
+				Arrays.fill(column, false);
+			}
 			List<PedestrianOSM> updateAbleAgents = new LinkedList<>();
 			List<PedestrianOSM> notUpdateAbleAgents = new LinkedList<>();
 
@@ -1,5 +1,6 @@
 package org.vadere.simulator.models.osm.updateScheme;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -9,6 +10,7 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.osm.OSMBehaviorController;
@@ -66,6 +68,7 @@ public void update(double timeStepInSec, double currentTimeInSec) {
 			undoPedestrians.clear();
 			CallMethod[] callMethods = {CallMethod.SEEK, CallMethod.MOVE, CallMethod.CONFLICTS, CallMethod.STEPS};
 			List<Future<?>> futures;
+			List<PedestrianOSM> activePedestrians = getActivePedestrians(currentTimeInSec);
 
 			for (CallMethod callMethod : callMethods) {
 				long ms = 0;
@@ -74,7 +77,7 @@ public void update(double timeStepInSec, double currentTimeInSec) {
 				}
 
 				futures = new LinkedList<>();
-				for (final PedestrianOSM pedestrian : CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class)) {
+				for (final PedestrianOSM pedestrian : activePedestrians) {
 					Runnable worker = () -> update(pedestrian, timeStepInSec, currentTimeInSec, callMethod);
 					futures.add(executorService.submit(worker));
 				}
@@ -83,12 +86,34 @@ public void update(double timeStepInSec, double currentTimeInSec) {
 				if(callMethod == CallMethod.SEEK) {
 					ms = System.currentTimeMillis() - ms;
 					logger.debug("runtime for next step computation = " + ms + " [ms]");
+
+					// only the agents which seeked a step take part in the remaining call methods
+					activePedestrians = activePedestrians.stream().filter(movePedestrians::contains).collect(Collectors.toList());
 				}
 
 			}
 		} while (!movePedestrians.isEmpty());
 	}
 
+	/**
+	 * Returns the agents which have to be updated in this round, i.e. agents whose next step starts before
+	 * <tt>currentTimeInSec</tt> and new agents whose time of the next step is not yet initialized. All other
+	 * agents are idle in this time step (e.g. they wait for their next event) and would leave every call
+	 * method without any change, therefore no task is submitted for them.
+	 *
+	 * @param currentTimeInSec the end of the time step
+	 * @return the agents to be updated in the order of the topography
+	 */
+	private List<PedestrianOSM> getActivePedestrians(final double currentTimeInSec) {
+		List<PedestrianOSM> activePedestrians = new ArrayList<>();
+		for (final PedestrianOSM pedestrian : CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class)) {
+			if (pedestrian.getTimeOfNextStep() == Pedestrian.INVALID_NEXT_EVENT_TIME || pedestrian.getTimeOfNextStep() < currentTimeInSec) {
+				activePedestrians.add(pedestrian);
+			}
+		}
+		return activePedestrians;
+	}
+
 	protected void collectFutures(final List<Future<?>> futures) {
 		try {
 			for (Future<?> future : futures) {
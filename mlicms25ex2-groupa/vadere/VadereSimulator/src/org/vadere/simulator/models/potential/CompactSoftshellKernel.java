@@ -0,0 +1,146 @@
+package org.vadere.simulator.models.potential;
+
+import org.vadere.util.logging.Logger;
+
+/**
+ * The compact kernel exp(c / (s^power - 1)) of the soft shell potentials (sivers-2016b) where s is
+ * the distance normalized by the range of the potential, i.e. s in [0, 1). Since the kernel does not
+ * depend on the width of the potential, it can be tabulated once per (c, power) and used for all
+ * widths and radii.
+ *
+ * If the kernel is created with a table size of 0 it is evaluated analytically, exactly as the
+ * potentials did before. Otherwise it is looked up in a table of equidistant samples and linearly
+ * interpolated which avoids the expensive {@link Math#exp(double)} and {@link Math#pow(double, double)}
+ * calls. The maximal interpolation error (compared to the analytic form) is computed at construction,
+ * see {@link #getMaxError()}. If it exceeds {@link #MAX_RELATIVE_ERROR} of the maximal kernel value, the table
+ * is refined until the error is within this bound.
+ *
+ * @see PotentialFieldPedestrianCompactSoftshell
+ * @see PotentialFieldObstacleCompactSoftshell
+ */
+public class CompactSoftshellKernel {
+
+	private static Logger logger = Logger.getLogger(CompactSoftshellKernel.class);
+
+	/** the tolerated interpolation error relative to the maximal kernel value exp(-c) */
+	public static final double MAX_RELATIVE_ERROR = 1e-6;
+	private static final int MAX_TABLE_SIZE = 1 << 22;
+
+	private final double c;
+	private final int power;
+	private int tableSize;
+	private double[] table;
+	private double maxError;
+
+	/**
+	 * @param c         the numerator of the exponent
+	 * @param power     the exponent of the normalized distance
+	 * @param tableSize the (minimal) number of intervals of the lookup table, 0 means the kernel is evaluated
+	 *                  analytically
+	 */
+	public CompactSoftshellKernel(final double c, final int power, final int tableSize) {
+		if (tableSize < 0) {
+			throw new IllegalArgumentException("table size is negative (" + tableSize + ")");
+		}
+
+		this.c = c;
+		this.power = power;
+		this.tableSize = tableSize;
+
+		if (tableSize > 0) {
+			double tolerance = MAX_RELATIVE_ERROR * analytic(0);
+			buildTable();
+			while (maxError > tolerance && this.tableSize < MAX_TABLE_SIZE) {
+				this.tableSize = Math.min(2 * this.tableSize, MAX_TABLE_SIZE);
+				buildTable();
+			}
+			if (maxError > tolerance) {
+				throw new IllegalStateException("the kernel table (c = " + c + ", power = " + power + ") does not reach the error bound "
+						+ tolerance + " (max error = " + maxError + ")");
+			}
+			if (this.tableSize != tableSize) {
+				logger.info("kernel table (c = " + c + ", power = " + power + ") refined from size " + tableSize + " to "
+						+ this.tableSize + " to meet the error bound " + tolerance);
+			}
+			logger.debug("kernel table (c = " + c + ", power = " + power + ", size = " + this.tableSize + ") max error = " + maxError);
+		} else {
+			this.table = null;
+			this.maxError = 0.0;
+		}
+	}
+
+	/**
+	 * Returns exp(c / (s^power - 1)) for the normalized distance s in [0, 1).
+	 *
+	 * @param s the distance normalized by the range of the potential
+	 * @return the (possibly interpolated) kernel value
+	 */
+	public double value(final double s) {
+		// negative distances (e.g. inside an obstacle) are outside the table
+		if (table == null || s < 0) {
+			return analytic(s);
+		}
+
+		double x = s * tableSize;
+		int i = (int) x;
+		if (i >= tableSize) {
+			return 0.0;
+		}
+		double t = x - i;
+		return table[i] + t * (table[i + 1] - table[i]);
+	}
+
+	/**
+	 * Returns the analytic value exp(c / (s^power - 1)).
+	 */
+	public double analytic(final double s) {
+		return Math.exp(c / (Math.pow(s, power) - 1));
+	}
+
+	/**
+	 * Returns the maximal absolute difference between the interpolated and the analytic kernel,
+	 * 0 if the kernel is evaluated analytically.
+	 */
+	public double getMaxError() {
+		return maxError;
+	}
+
+	public boolean isTabulated() {
+		return table != null;
+	}
+
+	private void buildTable() {
+		table = new double[tableSize + 2];
+		for (int i = 0; i < tableSize; i++) {
+			table[i] = analytic((double) i / tableSize);
+		}
+		// the kernel vanishes at s = 1, the additional 0 avoids a bounds check for s close to 1.
+		table[tableSize] = 0.0;
+		table[tableSize + 1] = 0.0;
+		maxError = computeMaxError();
+	}
+
+	/**
+	 * Returns the number of intervals of the table, which may be larger than the requested size if the table was
+	 * refined, 0 if the kernel is evaluated analytically.
+	 */
+	public int getTableSize() {
+		return tableSize;
+	}
+
+	/**
+	 * The error of the linear interpolation is maximal in the interior of the intervals,
+	 * therefore each interval is sampled at a few interior points.
+	 */
+	private double computeMaxError() {
+		final int samplesPerInterval = 4;
+		double error = 0.0;
+		for (int i = 0; i < tableSize; i++) {
+			for (int j = 1; j < samplesPerInterval; j++) {
+				double s = (i + (double) j / samplesPerInterval) / tableSize;
+				error = Math.max(error, Math.abs(value(s) - analytic(s)));
+			}
+		}
+		return error;
+	}
+}
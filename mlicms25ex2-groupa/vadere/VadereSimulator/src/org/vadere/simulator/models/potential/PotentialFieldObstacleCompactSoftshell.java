@@ -30,6 +30,8 @@ public class PotentialFieldObstacleCompactSoftshell implements PotentialFieldObs
 	private double height;
 	private Collection<Obstacle> obstacles;
 	private Domain domain;
+	private CompactSoftshellKernel wallKernel;
+	private CompactSoftshellKernel bodyKernel;
 
 	public PotentialFieldObstacleCompactSoftshell() {}
 
@@ -46,6 +48,8 @@ private void init(AttributesPotentialCompactSoftshell attributes, Domain domain,
 		this.random = random;
 		this.obstacles = new ArrayList<>(domain.getTopography().getObstacles());
 		this.domain = domain;
+		this.wallKernel = new CompactSoftshellKernel(2, 2, attributes.getKernelTableSize());
+		this.bodyKernel = new CompactSoftshellKernel(1, 2, attributes.getKernelTableSize());
 	}
 
 
@@ -66,10 +70,10 @@ public double getObstaclePotential(IPoint pos, Agent pedestrian) {
 			double currentPotential = 0;
 
 			if (distance < this.width) {
-				currentPotential = this.height * Math.exp(2 / (Math.pow(distance / (this.width), 2) - 1));
+				currentPotential = this.height * wallKernel.value(distance / (this.width));
 			}
 			if (distance < radius) {
-				currentPotential += 100000 * Math.exp(1 / (Math.pow(distance / radius, 2) - 1));
+				currentPotential += 100000 * bodyKernel.value(distance / radius);
 			}
 
 			if (potential < currentPotential)
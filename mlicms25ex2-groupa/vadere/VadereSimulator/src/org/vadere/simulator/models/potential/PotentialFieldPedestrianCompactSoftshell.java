@@ -12,8 +12,10 @@
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
@@ -37,6 +39,10 @@ public AttributesPotentialCompactSoftshell getAttributes() {
 
 	private double height; // intensity of repulsion \mu_p
 
+	private CompactSoftshellKernel personalKernel;
+	private CompactSoftshellKernel intimateKernel;
+	private CompactSoftshellKernel bodyKernel;
+
 	public PotentialFieldPedestrianCompactSoftshell() {}
 
 	@Override
@@ -47,6 +53,11 @@ public void initialize(List<Attributes> attributesList, Domain domain,
 		this.intimateWidth = attributes.getPedPotentialIntimateSpaceWidth();
 		this.personalWidth = attributes.getPedPotentialPersonalSpaceWidth();
 		this.height = attributes.getPedPotentialHeight();
+
+		int tableSize = attributes.getKernelTableSize();
+		this.personalKernel = new CompactSoftshellKernel(4, 2 * attributes.getPersonalSpacePower(), tableSize);
+		this.intimateKernel = new CompactSoftshellKernel(4, 2 * attributes.getIntimateSpacePower(), tableSize);
+		this.bodyKernel = new CompactSoftshellKernel(1, 4, tableSize);
 	}
 
 	@Override
@@ -90,22 +101,21 @@ public double getAgentPotential(IPoint pos, Agent pedestrian,
 		if (distanceSq < maxDistanceSq) {
 			double distance = otherPedestrian.getPosition().distance(pos); // Euclidean distance d_j(x) between agent j and position x
 
-			int intPower = this.attributes.getIntimateSpacePower(); // b_p
-			int perPower = this.attributes.getPersonalSpacePower(); // not defined in sivers-2016b (perPower = 1)
+			// the exponents b_p (intimateSpacePower) and perPower (not defined in sivers-2016b, perPower = 1) are part of the kernels
 			double factor = this.attributes.getIntimateSpaceFactor(); // a_p
 
 			if (distance < width + radii) {
 				// implementation differs from sivers-2016b here:  \delta_{per} + r_p  (note: radii = 2*r_p)
-				potential += height * Math.exp(4 / (Math.pow(distance / (width + radii), (2 * perPower)) - 1));
+				potential += height * personalKernel.value(distance / (width + radii));
 			}
 			if (distance < this.intimateWidth + radii) {
 				// implementation differs from sivers-2016b here:  \delta_{int} + r_p  (note: radii = 2*r_p)
 				potential += height / factor
-						* Math.exp(4 / (Math.pow(distance / (this.intimateWidth + radii), (2 * intPower)) - 1));
+						* intimateKernel.value(distance / (this.intimateWidth + radii));
 			}
 			if (distance < radii) {
 				// implementations differs from sivers-2016b here : Math.power(distance / (radii),2)
-				potential += 1000 * Math.exp(1 / (Math.pow(distance / radii, 4) - 1));
+				potential += 1000 * bodyKernel.value(distance / radii);
 			}
 		}
 		return potential;
@@ -159,6 +169,52 @@ public double getAgentPotential(IPoint pos, Agent pedestrian,
 		return potential;
 	}
 
+	/**
+	 * Evaluates all positions neighbour by neighbour such that the neighbour state is read only once.
+	 * The potentials are accumulated in the same order as in
+	 * {@link #getAgentPotential(IPoint, Agent, Collection)}, i.e. the results are identical.
+	 */
+	@Override
+	public void getAgentPotentials(double[] xs, double[] ys, int n, Agent pedestrian,
+	                               Collection<? extends Agent> otherPedestrians, double[] out) {
+		Arrays.fill(out, 0, n, 0.0);
+
+		double width = getPersonalWidth();
+		double height = getHeight();
+		double factor = this.attributes.getIntimateSpaceFactor();
+
+		for (Agent neighbor : otherPedestrians) {
+			if (neighbor.getId() == pedestrian.getId()) {
+				continue;
+			}
+
+			VPoint otherPosition = neighbor.getPosition();
+			double radii = pedestrian.getRadius() + neighbor.getRadius();
+			double maxDistanceSq = (Math.max(width, intimateWidth)  + radii) * (Math.max(width, intimateWidth)  + radii);
+
+			for (int i = 0; i < n; i++) {
+				double distanceSq = otherPosition.distanceSq(xs[i], ys[i]);
+				if (distanceSq < maxDistanceSq) {
+					double distance = otherPosition.distance(xs[i], ys[i]);
+					double potential = 0;
+
+					// see getAgentPotential(IPoint, Agent, Agent, double, double)
+					if (distance < width + radii) {
+						potential += height * personalKernel.value(distance / (width + radii));
+					}
+					if (distance < this.intimateWidth + radii) {
+						potential += height / factor
+								* intimateKernel.value(distance / (this.intimateWidth + radii));
+					}
+					if (distance < radii) {
+						potential += 1000 * bodyKernel.value(distance / radii);
+					}
+					out[i] += potential;
+				}
+			}
+		}
+	}
+
 	@Override
 	public Vector2D getAgentPotentialGradient(IPoint pos,
 			Vector2D velocity, Agent pedestrian,
@@ -2,6 +2,7 @@
 
  import org.vadere.state.scenario.Agent;
  import org.vadere.util.geometry.shapes.IPoint;
+ import org.vadere.util.geometry.shapes.VPoint;
 
  import java.util.Collection;
 
@@ -31,4 +32,18 @@ public interface ICombinedPotentialStrategy {
      */
     public double getValue(IPoint newPos, Agent thisAgent, Collection<? extends Agent> otherAgents);
 
+    /**
+     * Get the combined potential at the first n positions (xs[i], ys[i]) and write it into out.
+     * Implementations should override this method to evaluate the underlying potential fields
+     * for all positions at once instead of point by point.
+     */
+    default void getValues(double[] xs, double[] ys, int n, Agent thisAgent, Collection<? extends Agent> otherAgents, double[] out) {
+        VPoint pos = new VPoint();
+        for (int i = 0; i < n; i++) {
+            pos.x = xs[i];
+            pos.y = ys[i];
+            out[i] = getValue(pos, thisAgent, otherAgents);
+        }
+    }
+
 }
@@ -4,6 +4,7 @@
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.state.scenario.Agent;
+import org.vadere.util.data.ThreadLocalDoubleArray;
 import org.vadere.util.geometry.shapes.IPoint;
 
 import java.util.Collection;
@@ -12,6 +13,8 @@
  * Combine potential so that agents are attracted by targets.
  */
 public class TargetAttractionStrategy implements ICombinedPotentialStrategy {
+    private static final ThreadLocalDoubleArray tmpPotentials = new ThreadLocalDoubleArray();
+
     private IPotentialFieldTarget potentialFieldTarget;
     private PotentialFieldObstacle potentialFieldObstacle;
     private PotentialFieldAgent potentialFieldAgent;
@@ -30,4 +33,21 @@ public double getValue(IPoint newPos, Agent thisAgent, Collection<? extends Agen
 
         return targetPotential + agentPotential + obstaclePotential;
     }
+
+    @Override
+    public void getValues(double[] xs, double[] ys, int n, Agent thisAgent, Collection<? extends Agent> otherAgents, double[] out) {
+        double[] tmp = tmpPotentials.get(n);
+        potentialFieldTarget.getPotentials(xs, ys, n, thisAgent, out);
+        potentialFieldAgent.getAgentPotentials(xs, ys, n, thisAgent, otherAgents, tmp);
+
+        for (int i = 0; i < n; i++) {
+            out[i] += tmp[i];
+        }
+
+        potentialFieldObstacle.getObstaclePotentials(xs, ys, n, thisAgent, tmp);
+
+        for (int i = 0; i < n; i++) {
+            out[i] += tmp[i];
+        }
+    }
 }
@@ -17,6 +17,7 @@
 import org.vadere.util.math.InterpolationUtil;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * A potential field for some agents: ((x,y), agent) -> potential.
@@ -63,6 +64,25 @@ static EikonalSolver create(
         return provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
     }
 
+	/**
+	 * Factory method to construct the EikonalSolvers of several targets, which might be solved together,
+	 * see {@link EikonalSolverProvider#provideAll}.
+	 *
+	 * @param domain                the spatial domain
+	 * @param targetShapes          the area where T = 0 of each target (targetId)
+	 * @param attributesPedestrian  pedestrian configuration
+	 * @param attributesPotential   potential field configuration
+	 * @return the EikonalSolvers of the targets (targetId)
+	 */
+	static Map<Integer, EikonalSolver> createAll(
+			final Domain domain,
+			final Map<Integer, List<VShape>> targetShapes,
+			final AttributesAgent attributesPedestrian,
+			final AttributesFloorField attributesPotential) {
+		EikonalSolverProvider provider = VadereContext.getCtx(domain.getTopography()).getEikonalSolverProvider();
+		return provider.provideAll(domain, targetShapes, attributesPedestrian, attributesPotential);
+	}
+
 	static EikonalSolver create(final Domain domain,
 	                            final Topography topography,
 	                            final int targetId,
@@ -46,4 +46,25 @@ public interface IPotentialFieldTarget extends IPotentialField, Model {
 	Function<Agent, IMesh<?, ?, ?>> getDiscretization();
 
 	double getPotential(@NotNull final IPoint pos, final int targetId);
+
+	/**
+	 * Evaluates the target potential of the agent at the first n positions (xs[i], ys[i])
+	 * and writes the result into out. This is the batched version of
+	 * {@link #getPotential(IPoint, Agent)} used to evaluate all step candidates of an agent at once.
+	 *
+	 * @param xs    x-coordinates of the positions
+	 * @param ys    y-coordinates of the positions
+	 * @param n     the number of positions
+	 * @param agent the agent for which the potential will be evaluated
+	 * @param out   output: the target potentials of the positions
+	 */
+	default void getPotentials(@NotNull final double[] xs, @NotNull final double[] ys, final int n,
+	                           @NotNull final Agent agent, @NotNull final double[] out) {
+		VPoint pos = new VPoint();
+		for (int i = 0; i < n; i++) {
+			pos.x = xs[i];
+			pos.y = ys[i];
+			out[i] = getPotential(pos, agent);
+		}
+	}
 }
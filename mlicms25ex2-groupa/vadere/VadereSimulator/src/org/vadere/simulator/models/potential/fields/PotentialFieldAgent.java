@@ -9,6 +9,7 @@
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.reflection.DynamicClassInstantiator;
@@ -57,6 +58,22 @@ Collection<? extends Agent> getRelevantAgents(VCircle relevantArea,
 	double getAgentPotential(IPoint pos, Agent pedestrian,
 			Collection<? extends Agent> otherAgents);
 
+	/**
+	 * Evaluates the agent potential at the first n positions (xs[i], ys[i]) and writes the
+	 * result into out. This is the batched version of
+	 * {@link #getAgentPotential(IPoint, Agent, Collection)} used to evaluate all step candidates
+	 * of an agent at once.
+	 */
+	default void getAgentPotentials(double[] xs, double[] ys, int n, Agent pedestrian,
+	                                Collection<? extends Agent> otherAgents, double[] out) {
+		VPoint pos = new VPoint();
+		for (int i = 0; i < n; i++) {
+			pos.x = xs[i];
+			pos.y = ys[i];
+			out[i] = getAgentPotential(pos, pedestrian, otherAgents);
+		}
+	}
+
 	Vector2D getAgentPotentialGradient(IPoint pos,
 			Vector2D velocity, Agent pedestrian,
 			Collection<? extends Agent> otherAgents);
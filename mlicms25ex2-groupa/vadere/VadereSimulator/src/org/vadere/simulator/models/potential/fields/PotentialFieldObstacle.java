@@ -27,6 +27,19 @@ default void update(double simTimeInSec) {}
 
 	double getObstaclePotential(IPoint pos, Agent pedestrian);
 
+	/**
+	 * Evaluates the obstacle potential at the first n positions (xs[i], ys[i]) and writes the
+	 * result into out. This is the batched version of {@link #getObstaclePotential(IPoint, Agent)}.
+	 */
+	default void getObstaclePotentials(double[] xs, double[] ys, int n, Agent pedestrian, double[] out) {
+		VPoint pos = new VPoint();
+		for (int i = 0; i < n; i++) {
+			pos.x = xs[i];
+			pos.y = ys[i];
+			out[i] = getObstaclePotential(pos, pedestrian);
+		}
+	}
+
 	Vector2D getObstaclePotentialGradient(VPoint pos, Agent pedestrian);
 
 	PotentialFieldObstacle copy();
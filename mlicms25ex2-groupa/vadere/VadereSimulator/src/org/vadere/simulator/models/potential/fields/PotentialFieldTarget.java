@@ -5,10 +5,16 @@
 import org.vadere.meshing.mesh.inter.IMesh;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.DynamicElementAddListener;
+import org.vadere.state.scenario.DynamicElementRemoveListener;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.ScenarioElement;
 import org.vadere.state.scenario.Target;
 import org.vadere.state.scenario.TargetPedestrian;
@@ -20,17 +26,27 @@
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Benedikt Zoennchen
  */
-public class PotentialFieldTarget implements IPotentialFieldTarget {
+public class PotentialFieldTarget implements IPotentialFieldTarget, Checkpointable {
 
 	private static Logger logger = Logger.getLogger(PotentialFieldTargetGrid.class);
 
@@ -47,7 +63,7 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 	/**
 	 * false if and only if there exits no dynamic potential field.
 	 */
-	private boolean potentialFieldsNeedUpdate;
+	private volatile boolean potentialFieldsNeedUpdate;
 
 	/**
 	 * configuration of the potential fields.
@@ -61,18 +77,59 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 
 	/**
 	 * Stores all potential fields which represent to a target (targetId).
-	 * This Map has to be filled by classes extending this class.
+	 * This Map has to be filled by classes extending this class. If the floor fields
+	 * are computed lazily, it is filled while agents are updated in parallel.
 	 */
 	protected final Map<Integer, EikonalSolver> eikonalSolvers;
 
+	/**
+	 * Floor fields which are computed at the moment (lazy floor fields only), see {@link AttributesFloorField#isLazyFloorFields()}.
+	 */
+	private final Map<Integer, CompletableFuture<EikonalSolver>> pendingSolvers;
+
+	/**
+	 * The step in which a floor field was used the last time (lazy floor fields only), used to remove
+	 * the least recently used floor fields.
+	 */
+	private final Map<Integer, Long> lastAccess;
+
+	/**
+	 * The number of the current simulation step (lazy floor fields only).
+	 */
+	private volatile long accessClock;
+
+	/**
+	 * The background threads which compute floor fields of targets before they are requested (lazy floor fields only).
+	 */
+	private ExecutorService prefetchExecutor;
+
+	/**
+	 * Releases the face hints of agents which left the simulation (mesh based floor fields only), see
+	 * {@link EikonalSolver#removeCaller(Object)}.
+	 */
+	private DynamicElementRemoveListener<Pedestrian> removeCallerListener;
+
+	/**
+	 * Prefetches the floor field of the target of spawned agents (lazy floor fields only).
+	 */
+	private DynamicElementAddListener<Pedestrian> prefetchListener;
+
 
 	public PotentialFieldTarget(@NotNull final Domain domain,
 	                            @NotNull final AttributesAgent attributesPedestrian,
 	                            @NotNull final AttributesFloorField attributesPotential) {
+		// mesh based floor fields share the mesh of the domain which is not thread-safe, i.e. they can not be
+		// created while agents read other floor fields in parallel
+		if (attributesPotential.isLazyFloorFields() && !attributesPotential.getCreateMethod().isUsingCellGrid()) {
+			throw new UnsupportedOperationException("lazyFloorFields is not supported by the mesh based eikonal solver "
+					+ attributesPotential.getCreateMethod() + ".");
+		}
 		this.domain = domain;
 		this.attributesPedestrian = attributesPedestrian;
 		this.attributes = attributesPotential;
-		this.eikonalSolvers = new HashMap<>();
+		this.eikonalSolvers = new ConcurrentHashMap<>();
+		this.pendingSolvers = new ConcurrentHashMap<>();
+		this.lastAccess = new ConcurrentHashMap<>();
 	}
 
 	@Override
@@ -86,7 +143,14 @@ public IPotentialField getSolution() {
 			clone.put(targetId, eikonalSolver.getPotentialField());
 		}
 
-		return (pos, agent) -> clone.get(agent.getNextTargetId()).apply(pos);
+		return (pos, agent) -> {
+			Function<IPoint, Double> potentialField = clone.get(agent.getNextTargetId());
+			if (potentialField == null && isLazy()) {
+				// the floor field was not computed when the solution was copied
+				return getSolver(agent.getNextTargetId()).map(solver -> solver.getPotential(pos)).orElse(0.0);
+			}
+			return potentialField.apply(pos);
+		};
 	}
 
 	@Override
@@ -99,7 +163,13 @@ public IPotentialField getSolution() {
 			clone.put(targetId, eikonalSolver.getDiscretization());
 		}
 
-		return agent -> clone.get(agent.getNextTargetId());
+		return agent -> {
+			IMesh<?, ?, ?> mesh = clone.get(agent.getNextTargetId());
+			if (mesh == null && isLazy()) {
+				return getSolver(agent.getNextTargetId()).map(solver -> solver.getDiscretization()).orElse(null);
+			}
+			return mesh;
+		};
 	}
 
 	@Override
@@ -183,6 +253,42 @@ public double getPotential(@NotNull final IPoint pos, final int targetId) {
 		return getPotential(pos, targetId, null);
 	}
 
+	/**
+	 * Batched version of {@link #getPotential(IPoint, Agent)}. The floor field is interpolated
+	 * for all positions in one pass, afterwards positions inside the target or inside obstacles
+	 * are corrected as in the single point version.
+	 */
+	@Override
+	public void getPotentials(@NotNull final double[] xs, @NotNull final double[] ys, final int n,
+	                          @NotNull final Agent agent, @NotNull final double[] out) {
+		if (!agent.hasNextTarget()) {
+			Arrays.fill(out, 0, n, 0.0);
+			return;
+		}
+
+		int targetId = agent.getNextTargetId();
+		Optional<EikonalSolver> optEikonalSolver = getSolver(targetId);
+
+		if (optEikonalSolver.isPresent()) {
+			optEikonalSolver.get().getPotentials(xs, ys, n, agent, out);
+		}
+
+		VShape targetShape = domain.getTopography().getTarget(targetId).getShape();
+		VPoint pos = new VPoint();
+		for (int i = 0; i < n; i++) {
+			pos.x = xs[i];
+			pos.y = ys[i];
+			if (targetShape.contains(pos)) {
+				out[i] = 0.0;
+			} else if (domain.getTopography().distanceToObstacle(pos, agent) <= 0) {
+				out[i] = Double.MAX_VALUE;
+			} else if (!optEikonalSolver.isPresent()) {
+				logger.error("no target potential field for target = " + targetId + ", was found!");
+				out[i] = 0.0;
+			}
+		}
+	}
+
 	/**
 	 * Updates a specific potential field (defined by (targetId, targetShapes)) if it is:
 	 * - dynamic
@@ -205,7 +311,7 @@ protected void updatePotentialField(final double simTimeInSec, final Target targ
 
 		if (eikonalSolvers.containsKey(target.getId())) {
 			eikonalSolvers.get(target.getId()).update();
-		} else {
+		} else if (!isLazy()) {
 			logger.warn("potential field for target " + target.getId() + " is not contained in " + this);
 		}
 	}
@@ -219,19 +325,27 @@ protected void updatePotentialField(final double simTimeInSec, final Target targ
 	 * @param shapes    the target area
 	 */
 	protected void addEikonalSolver(final int targetId, final List<VShape> shapes) {
-		EikonalSolver eikonalSolver = IPotentialField.create(domain, targetId, shapes, attributesPedestrian, attributes);
-		potentialFieldsNeedUpdate = potentialFieldsNeedUpdate || eikonalSolver.needsUpdate();
+		putEikonalSolver(targetId, IPotentialField.create(domain, targetId, shapes, attributesPedestrian, attributes));
+	}
+
+	private void putEikonalSolver(final int targetId, final EikonalSolver eikonalSolver) {
+		if (eikonalSolver.needsUpdate()) {
+			potentialFieldsNeedUpdate = true;
+		}
 		eikonalSolvers.put(targetId, eikonalSolver);
 	}
 
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain topography, AttributesAgent attributesPedestrian, Random random) {}
 
+	/**
+	 * Adds the EikonalSolvers of all targets which have none, they are created together
+	 * (see {@link IPotentialField#createAll}).
+	 */
 	private void addMissingEikonalSolvers() {
-		Map<Integer, List<VShape>> mergeMap = domain.getTopography().getTargetShapes();
-		domain.getTopography().getTargets().stream()
-				.filter(t -> !getSolver(t.getId()).isPresent())
-				.forEach(t -> addEikonalSolver(t.getId(), mergeMap.get(t.getId())));
+		Map<Integer, List<VShape>> missing = new LinkedHashMap<>(domain.getTopography().getTargetShapes());
+		missing.keySet().removeIf(targetId -> getSolver(targetId).isPresent());
+		IPotentialField.createAll(domain, missing, attributesPedestrian, attributes).forEach(this::putEikonalSolver);
 	}
 
 	/**
@@ -252,10 +366,125 @@ protected boolean isNeedsUpdate(final double simTimeInSec) {
 	 * @return an Optional of EikonalSover which solves the eikonal equation for a specific target
 	 */
 	protected Optional<EikonalSolver> getSolver(int targetId) {
-		if(eikonalSolvers.containsKey(targetId)) {
-			return Optional.of(eikonalSolvers.get(targetId));
-		} else {
-			return Optional.empty();
+		EikonalSolver eikonalSolver = eikonalSolvers.get(targetId);
+		if (isLazy()) {
+			if (eikonalSolver == null && isStaticTarget(targetId)) {
+				eikonalSolver = materialize(targetId);
+			}
+			if (eikonalSolver != null && attributes.getMaxResidentFloorFields() > 0) {
+				Long lastStep = lastAccess.get(targetId);
+				if (lastStep == null || lastStep != accessClock) {
+					lastAccess.put(targetId, accessClock);
+				}
+			}
+		}
+		return Optional.ofNullable(eikonalSolver);
+	}
+
+	/**
+	 * Returns true if the floor fields are computed on demand, see {@link AttributesFloorField#isLazyFloorFields()}.
+	 */
+	protected boolean isLazy() {
+		return attributes.isLazyFloorFields();
+	}
+
+	/**
+	 * Returns true if the target is a target of the topography (not an agent).
+	 */
+	private boolean isStaticTarget(final int targetId) {
+		Target target = domain.getTopography().getTarget(targetId);
+		return target != null && !target.isTargetPedestrian();
+	}
+
+	/**
+	 * Computes the floor field of a target on demand. If the floor field is already computed by another
+	 * thread (e.g. a prefetch in the background) this method waits for its result.
+	 *
+	 * @param targetId the targetId which defines the target
+	 * @return the EikonalSolver of the target
+	 */
+	private EikonalSolver materialize(final int targetId) {
+		CompletableFuture<EikonalSolver> created = new CompletableFuture<>();
+		CompletableFuture<EikonalSolver> future = pendingSolvers.putIfAbsent(targetId, created);
+		if (future == null) {
+			future = created;
+			if (isPrefetchable()) {
+				computeSolver(targetId, created);
+			} else {
+				// dynamic floor fields are created one after the other
+				synchronized (pendingSolvers) {
+					computeSolver(targetId, created);
+				}
+			}
+		}
+
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * Starts the computation of the floor field of a target in the background if it is not computed yet.
+	 * Only static floor fields are computed in the background. Dynamic floor fields depend on the agents,
+	 * therefore they are computed on demand by {@link #materialize(int)}.
+	 *
+	 * @param targetId the targetId which defines the target
+	 */
+	private void prefetch(final int targetId) {
+		if (prefetchExecutor == null || eikonalSolvers.containsKey(targetId) || pendingSolvers.containsKey(targetId) || !isStaticTarget(targetId)) {
+			return;
+		}
+
+		CompletableFuture<EikonalSolver> created = new CompletableFuture<>();
+		if (pendingSolvers.putIfAbsent(targetId, created) == null) {
+			logger.debug("compute floor field for target " + targetId + " in the background");
+			prefetchExecutor.execute(() -> computeSolver(targetId, created));
+		}
+	}
+
+	private void computeSolver(final int targetId, final CompletableFuture<EikonalSolver> future) {
+		try {
+			EikonalSolver eikonalSolver = eikonalSolvers.get(targetId);
+			if (eikonalSolver == null) {
+				addEikonalSolver(targetId, domain.getTopography().getTargetShapes().get(targetId));
+				eikonalSolver = eikonalSolvers.get(targetId);
+			}
+			future.complete(eikonalSolver);
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		} finally {
+			pendingSolvers.remove(targetId, future);
+		}
+	}
+
+	private boolean isPrefetchable() {
+		return attributes.getCreateMethod().isUsingCellGrid() && attributes.getTimeCostAttributes().getType().isStatic();
+	}
+
+	/**
+	 * Removes the least recently used floor fields if there are more than {@link AttributesFloorField#getMaxResidentFloorFields()}.
+	 * Floor fields which were used in the last step are kept. This is called between two steps, i.e. no
+	 * agent uses a floor field at the same time.
+	 */
+	private void evictFloorFields() {
+		int maxResident = attributes.getMaxResidentFloorFields();
+		if (maxResident <= 0 || eikonalSolvers.size() <= maxResident) {
+			return;
+		}
+
+		List<Integer> candidates = eikonalSolvers.keySet().stream()
+				.filter(targetId -> !pendingSolvers.containsKey(targetId))
+				.filter(targetId -> lastAccess.getOrDefault(targetId, -1L) < accessClock - 1)
+				.sorted(Comparator.comparingLong((Integer targetId) -> lastAccess.getOrDefault(targetId, -1L)).thenComparing(targetId -> targetId))
+				.collect(Collectors.toList());
+
+		for (int i = 0; i < candidates.size() && eikonalSolvers.size() > maxResident; i++) {
+			int targetId = candidates.get(i);
+			eikonalSolvers.remove(targetId);
+			lastAccess.remove(targetId);
+			logger.debug("remove floor field of target " + targetId + " (least recently used)");
 		}
 	}
 
@@ -266,7 +495,35 @@ public boolean needsUpdate() {
 
 	@Override
 	public void preLoop(final double simTimeInSec) {
-		addMissingEikonalSolvers();
+		if (!attributes.getCreateMethod().isUsingCellGrid() && removeCallerListener == null) {
+			removeCallerListener = pedestrian -> eikonalSolvers.values().forEach(solver -> solver.removeCaller(pedestrian));
+			domain.getTopography().addElementRemovedListener(Pedestrian.class, removeCallerListener);
+		}
+
+		if (!isLazy()) {
+			addMissingEikonalSolvers();
+			return;
+		}
+
+		if (isPrefetchable()) {
+			int nThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+			prefetchExecutor = Executors.newFixedThreadPool(nThreads, runnable -> {
+				Thread thread = new Thread(runnable, "floor-field-prefetch");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			// agents which are spawned by sources will request the floor field of their target soon
+			prefetchListener = pedestrian -> {
+				if (pedestrian.hasNextTarget()) {
+					prefetch(pedestrian.getNextTargetId());
+				}
+			};
+			domain.getTopography().addElementAddedListener(Pedestrian.class, prefetchListener);
+			domain.getTopography().getPedestrianDynamicElements().getElements().stream()
+					.filter(Agent::hasNextTarget)
+					.forEach(pedestrian -> prefetch(pedestrian.getNextTargetId()));
+		}
 	}
 
 	/**
@@ -276,6 +533,11 @@ public void preLoop(final double simTimeInSec) {
 	 */
 	@Override
 	public void update(final double simTimeInSec) {
+		if (isLazy()) {
+			evictFloorFields();
+			accessClock++;
+		}
+
 		if (isNeedsUpdate(simTimeInSec)) {
 			List<Target> targets = domain.getTopography().getTargets();
 			Map<Integer, List<VShape>> mergeMap = domain.getTopography().getTargetShapes();
@@ -284,6 +546,43 @@ public void update(final double simTimeInSec) {
 		}
 	}
 
+	/**
+	 * Static floor fields only depend on the topography, i.e. they are recomputed after the checkpoint is read.
+	 * Dynamic floor fields and floor fields of moving targets are not supported.
+	 */
 	@Override
-	public void postLoop(final double simTimeInSec) {}
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		checkCheckpointSupported();
+		writer.writeDouble(lastUpdateTimestamp);
+		writer.writeLong(accessClock);
+	}
+
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		checkCheckpointSupported();
+		lastUpdateTimestamp = reader.readDouble();
+		accessClock = reader.readLong();
+	}
+
+	private void checkCheckpointSupported() {
+		if (potentialFieldsNeedUpdate || domain.getTopography().containsTarget(t -> (t.isMovingTarget() || t.isTargetPedestrian()))) {
+			throw new UnsupportedOperationException("checkpoints of dynamic floor fields are not supported.");
+		}
+	}
+
+	@Override
+	public void postLoop(final double simTimeInSec) {
+		if (removeCallerListener != null) {
+			domain.getTopography().removeElementRemovedListener(Pedestrian.class, removeCallerListener);
+			removeCallerListener = null;
+		}
+		if (prefetchListener != null) {
+			domain.getTopography().removeElementAddedListener(Pedestrian.class, prefetchListener);
+			prefetchListener = null;
+		}
+		if (prefetchExecutor != null) {
+			prefetchExecutor.shutdownNow();
+			prefetchExecutor = null;
+		}
+	}
 }
@@ -27,8 +27,15 @@ public PotentialFieldTargetGrid(@NotNull final Domain domain,
         super(domain, attributesPedestrian, attributesPotential);
     }
 
+    /**
+     * If the floor fields are computed lazily, the floor fields of all targets are computed by this call.
+     */
     @Override
     public Map<Integer, CellGrid> getCellGrids() {
+        if (isLazy()) {
+            domain.getTopography().getTargets().forEach(target -> getSolver(target.getId()));
+        }
+
         Map<Integer, CellGrid> map = new HashMap<>();
 
         for (Map.Entry<Integer, EikonalSolver> entry : eikonalSolvers.entrySet()) {
@@ -28,38 +28,44 @@ public EikonalSolver provide(Domain domain, int targetId, List<VShape> targetSha
 		return eikonalSolver;
 	}
 
-	private void initSolver(EikonalSolver eikonalSolver, int targetId, List<VShape> targetShapes, AttributesAgent attributesPedestrian, AttributesFloorField attributesPotential) {
-		/*
-		   Initialize floor field. If caching is activate try to read cached version. If no
-		   cache is present or the cache loading does not work fall back to standard
-		   floor field initialization and log errors.
-		 */
-		boolean isInitialized = false;
-		logger.info("solve floor field");
-		if (attributesPotential.isUseCachedFloorField() && cache.isNotEmpty()){
+	@Override
+	protected boolean loadCachedFloorField(EikonalSolver eikonalSolver, int targetId, AttributesFloorField attributesPotential) {
+		if (attributesPotential.isUseCachedFloorField() && cache.isNotEmpty()) {
 			long ms = System.currentTimeMillis();
 			ICacheObject cacheObject = cache.getCacheForTarget(targetId);
-			if (cacheObject.readable()){
-				isInitialized = eikonalSolver.loadCachedFloorField(cacheObject);
+			if (cacheObject.readable() && eikonalSolver.loadCachedFloorField(cacheObject)) {
 				logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms] (cache load time)"));
-			} else if (cacheObject.writable()) {
-				ms = System.currentTimeMillis();
-				logger.infof("No cache found for scenario solve floor field");
-				eikonalSolver.solve();
-				isInitialized = true;
+				return true;
+			}
+		}
+		return false;
+	}
 
-				logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms]"));
-				ms = System.currentTimeMillis();
+	@Override
+	protected void saveFloorFieldToCache(EikonalSolver eikonalSolver, int targetId, AttributesFloorField attributesPotential) {
+		if (attributesPotential.isUseCachedFloorField() && cache.isNotEmpty()) {
+			ICacheObject cacheObject = cache.getCacheForTarget(targetId);
+			if (cacheObject.writable()) {
+				long ms = System.currentTimeMillis();
 				logger.info("save floor field cache:");
 				eikonalSolver.saveFloorFieldToCache(cacheObject);
 				logger.info("save floor field cache time:" + (System.currentTimeMillis() - ms + "[ms]"));
 			}
 		}
+	}
 
-		if (!isInitialized){
+	private void initSolver(EikonalSolver eikonalSolver, int targetId, List<VShape> targetShapes, AttributesAgent attributesPedestrian, AttributesFloorField attributesPotential) {
+		/*
+		   Initialize floor field. If caching is activate try to read cached version. If no
+		   cache is present or the cache loading does not work fall back to standard
+		   floor field initialization and save it to the cache (if possible).
+		 */
+		logger.info("solve floor field");
+		if (!loadCachedFloorField(eikonalSolver, targetId, attributesPotential)) {
 			long ms = System.currentTimeMillis();
 			eikonalSolver.solve();
 			logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms]"));
+			saveFloorFieldToCache(eikonalSolver, targetId, attributesPotential);
 		}
 	}
 }
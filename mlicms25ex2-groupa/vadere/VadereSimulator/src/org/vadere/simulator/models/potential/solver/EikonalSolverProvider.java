@@ -14,6 +14,9 @@
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverIFIM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverMultiTargetFSM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverParallelFSM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.MultiTargetFastSweeping;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIMLockFree;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
@@ -26,6 +29,7 @@
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Target;
 import org.vadere.state.scenario.Topography;
 import org.vadere.state.types.EikonalSolverType;
 import org.vadere.util.data.cellgrid.CellGrid;
@@ -38,12 +42,13 @@
 import org.vadere.util.math.IDistanceFunction;
 
 import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class EikonalSolverProvider  {
 	private  static Logger logger = Logger.getLogger(IPotentialField.class);
 
-
 	public abstract EikonalSolver provide(
 			final Domain domain,
 			final int targetId,
@@ -51,6 +56,85 @@ public abstract EikonalSolver provide(
 			final AttributesAgent attributesPedestrian,
 			final AttributesFloorField attributesPotential);
 
+	/**
+	 * Returns the solved {@link EikonalSolver}s of several targets, see {@link #provide}. If the floor fields are
+	 * computed by {@link EikonalSolverType#FAST_SWEEPING_METHOD_MULTI_TARGET}, the static targets which can not be
+	 * loaded from a cache are solved together (see {@link MultiTargetFastSweeping}), all other targets are provided
+	 * one after the other.
+	 *
+	 * @param domain                representation of the spatial domain containing the topography
+	 * @param targetShapes          the target shapes of each target (targetId)
+	 * @param attributesPedestrian
+	 * @param attributesPotential
+	 *
+	 * @return the solvers of the targets (targetId)
+	 */
+	public Map<Integer, EikonalSolver> provideAll(
+			final Domain domain,
+			final Map<Integer, List<VShape>> targetShapes,
+			final AttributesAgent attributesPedestrian,
+			final AttributesFloorField attributesPotential) {
+		Map<Integer, EikonalSolver> eikonalSolvers = new LinkedHashMap<>();
+		Topography topography = domain.getTopography();
+		boolean multiTarget = attributesPotential.getCreateMethod() == EikonalSolverType.FAST_SWEEPING_METHOD_MULTI_TARGET
+				&& attributesPotential.getTimeCostAttributes().getType().isStatic();
+
+		MultiTargetFastSweeping batch = null;
+		ITimeCostFunction timeCost = null;
+		Map<Integer, EikonalSolverMultiTargetFSM> batchSolvers = new LinkedHashMap<>();
+		for (Map.Entry<Integer, List<VShape>> entry : targetShapes.entrySet()) {
+			int targetId = entry.getKey();
+			Target target = topography.getTarget(targetId);
+			if (!multiTarget || target == null || target.isMovingTarget() || target.isTargetPedestrian()) {
+				eikonalSolvers.put(targetId, provide(domain, targetId, entry.getValue(), attributesPedestrian, attributesPotential));
+				continue;
+			}
+
+			CellGrid cellGrid = createCellGrid(topography, entry.getValue(), attributesPotential);
+			if (batch == null) {
+				// the time cost is static, i.e. the same for all targets
+				timeCost = TimeCostFunctionFactory.create(
+						attributesPotential.getTimeCostAttributes(),
+						attributesPedestrian,
+						topography,
+						targetId, 1.0 / cellGrid.getResolution());
+				batch = new MultiTargetFastSweeping(cellGrid, timeCost);
+			}
+			EikonalSolverMultiTargetFSM eikonalSolver = new EikonalSolverMultiTargetFSM(batch, cellGrid,
+					new DistanceFunctionTarget(cellGrid, entry.getValue()), timeCost,
+					attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+
+			// cached floor fields are not part of the batch
+			if (!loadCachedFloorField(eikonalSolver, targetId, attributesPotential)) {
+				batch.register(eikonalSolver);
+				batchSolvers.put(targetId, eikonalSolver);
+			}
+			eikonalSolvers.put(targetId, eikonalSolver);
+		}
+
+		if (!batchSolvers.isEmpty()) {
+			logger.info("solve the floor fields of " + batchSolvers.size() + " targets together");
+			// solves all targets of the batch
+			batchSolvers.values().iterator().next().solve();
+			batchSolvers.forEach((targetId, eikonalSolver) -> saveFloorFieldToCache(eikonalSolver, targetId, attributesPotential));
+		}
+		return eikonalSolvers;
+	}
+
+	/**
+	 * Initializes the floor field of a target from a cache, if a cache is available.
+	 *
+	 * @return true if the floor field was loaded from the cache, false otherwise
+	 */
+	protected boolean loadCachedFloorField(final EikonalSolver eikonalSolver, final int targetId, final AttributesFloorField attributesPotential) {
+		return false;
+	}
+
+	/**
+	 * Saves the solved floor field of a target into a cache, if a cache is available.
+	 */
+	protected void saveFloorFieldToCache(final EikonalSolver eikonalSolver, final int targetId, final AttributesFloorField attributesPotential) {}
+
 	protected EikonalSolver buildBase(final Domain domain, @NotNull final List<VShape> targetShapes) {
 		var triangulation = new IncrementalTriangulation<>(domain.getFloorFieldMesh());
 
@@ -84,7 +168,6 @@ protected EikonalSolver buildBase(
 		Topography topography = domain.getTopography();
 		EikonalSolverType createMethod = attributesPotential.getCreateMethod();
 
-		Rectangle2D.Double bounds = topography.getBounds();
 		EikonalSolver eikonalSolver;
 
 		if(createMethod == EikonalSolverType.NONE) {
@@ -95,20 +178,7 @@ protected EikonalSolver buildBase(
 		 * Use a regular grid based method.
 		 */
 		if(createMethod.isUsingCellGrid()) {
-			CellGrid cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(),
-					attributesPotential.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
-
-			if (createMethod != EikonalSolverType.NONE) {
-				for (VShape shape : targetShapes) {
-					FloorDiscretizer.setGridValuesForShape(cellGrid, shape,
-							new CellState(0.0, PathFindingTag.Target));
-				}
-
-				for (Obstacle obstacle : topography.getObstacles()) {
-					FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle.getShape(),
-							new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
-				}
-			}
+			CellGrid cellGrid = createCellGrid(topography, targetShapes, attributesPotential);
 
 			boolean isHighAccuracyFM = createMethod.isHighAccuracy();
 
@@ -137,6 +207,12 @@ protected EikonalSolver buildBase(
 				case FAST_SWEEPING_METHOD:
 					eikonalSolver = new EikonalSolverFSM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
 					break;
+				case FAST_SWEEPING_METHOD_MULTI_TARGET:
+					eikonalSolver = buildMultiTargetSolver(cellGrid, distFunc, timeCost, attributesPotential);
+					break;
+				case FAST_SWEEPING_METHOD_PARALLEL:
+					eikonalSolver = new EikonalSolverParallelFSM(cellGrid, distFunc, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+					break;
 				default:
 					eikonalSolver = new EikonalSolverFMM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
 			}
@@ -177,4 +253,48 @@ protected EikonalSolver buildBase(
 		}
 		return eikonalSolver;
 	}
+
+	/**
+	 * Returns a new grid for the floor field of a target. The target points are set to 0
+	 * and the obstacle points to {@link Double#MAX_VALUE}.
+	 */
+	protected CellGrid createCellGrid(final Topography topography, final List<VShape> targetShapes, final AttributesFloorField attributesPotential) {
+		Rectangle2D.Double bounds = topography.getBounds();
+		CellGrid cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(),
+				attributesPotential.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
+
+		for (VShape shape : targetShapes) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, shape,
+					new CellState(0.0, PathFindingTag.Target));
+		}
+
+		for (Obstacle obstacle : topography.getObstacles()) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle.getShape(),
+					new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+		return cellGrid;
+	}
+
+	/**
+	 * Returns the solver of a single target, i.e. a batch of one target (see {@link MultiTargetFastSweeping}).
+	 * Several targets are solved together by {@link #provideAll}.
+	 */
+	private EikonalSolver buildMultiTargetSolver(
+			final CellGrid cellGrid,
+			final IDistanceFunction distFunc,
+			final ITimeCostFunction timeCost,
+			final AttributesFloorField attributesPotential) {
+
+		if (!attributesPotential.getTimeCostAttributes().getType().isStatic()) {
+			logger.warn("the time cost " + attributesPotential.getTimeCostAttributes().getType()
+					+ " depends on the target or changes over time, use " + EikonalSolverType.FAST_SWEEPING_METHOD + " instead.");
+			return new EikonalSolverFSM(cellGrid, distFunc, false, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+		}
+
+		MultiTargetFastSweeping batch = new MultiTargetFastSweeping(cellGrid, timeCost);
+		EikonalSolverMultiTargetFSM eikonalSolver = new EikonalSolverMultiTargetFSM(batch, cellGrid, distFunc, timeCost,
+				attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+		batch.register(eikonalSolver);
+		return eikonalSolver;
+	}
 }
@@ -70,6 +70,30 @@ default double getPotential(final double x, final double y, Object caller) {
 		return getPotential(x, y);
 	}
 
+	/**
+	 * Evaluates the potential at the first n positions (xs[i], ys[i]) and writes the result into out.
+	 * Implementations may override this method to evaluate all positions in one pass.
+	 *
+	 * @param xs        x-coordinates of the positions
+	 * @param ys        y-coordinates of the positions
+	 * @param n         the number of positions
+	 * @param caller    the caller, see {@link #getPotential(double, double, Object)}
+	 * @param out       output: the potentials of the positions
+	 */
+	default void getPotentials(final double[] xs, final double[] ys, final int n, final Object caller, final double[] out) {
+		for (int i = 0; i < n; i++) {
+			out[i] = getPotential(xs[i], ys[i], caller);
+		}
+	}
+
+	/**
+	 * Releases the data which is kept for the caller, e.g. the face hint of an agent which left the simulation,
+	 * see {@link #getPotential(double, double, Object)}.
+	 *
+	 * @param caller the caller
+	 */
+	default void removeCaller(final Object caller) {}
+
 	default boolean isHighAccuracy() {
 		return true;
 	}
@@ -31,6 +31,11 @@ public double getPotential(final double x, final double y) {
 		return getPotential(x, y, unknownPenalty, weight);
     }
 
+	@Override
+	public void getPotentials(final double[] xs, final double[] ys, final int n, final Object caller, final double[] out) {
+		getPotentials(potentialField, xs, ys, n, unknownPenalty, weight, out);
+	}
+
 	@Override
 	public double getPotential(IPoint pos, double unknownPenalty, double weight) {
 		return getPotential(potentialField, pos, unknownPenalty, weight);
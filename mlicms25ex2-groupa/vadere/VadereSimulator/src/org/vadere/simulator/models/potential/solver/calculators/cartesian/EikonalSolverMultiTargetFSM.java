@@ -0,0 +1,122 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.awt.Point;
+
+/**
+ * The floor field of one target which is computed together with the floor fields of other targets by a
+ * {@link MultiTargetFastSweeping}. Solving one of these solvers solves all targets registered at the batch
+ * which are not solved yet. The floor field is static, i.e. {@link #update()} does nothing. Once the floor
+ * field is solved (or loaded from a cache) the solver drops its reference to the batch.
+ */
+public class EikonalSolverMultiTargetFSM extends AGridEikonalSolver {
+
+	private final CellGrid cellGrid;
+	private final ITimeCostFunction timeCostFunction;
+	private volatile MultiTargetFastSweeping batch;
+	private IDistanceFunction distFunc;
+	private volatile boolean solved;
+
+	public EikonalSolverMultiTargetFSM(
+			@NotNull final MultiTargetFastSweeping batch,
+			@NotNull final CellGrid cellGrid,
+			@NotNull final IDistanceFunction distFunc,
+			@NotNull final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight) {
+		super(cellGrid, unknownPenalty, weight);
+		this.batch = batch;
+		this.cellGrid = cellGrid;
+		this.distFunc = distFunc;
+		this.timeCostFunction = timeCostFunction;
+		this.solved = false;
+	}
+
+	@Override
+	public void solve() {
+		// the batch is dropped after the floor field is solved
+		MultiTargetFastSweeping currentBatch = batch;
+		if (!solved && currentBatch != null) {
+			currentBatch.solve();
+		}
+	}
+
+	@Override
+	public boolean loadCachedFloorField(ICacheObject cacheObject) {
+		if (super.loadCachedFloorField(cacheObject)) {
+			solved = true;
+			distFunc = null;
+			batch = null;
+		}
+		return solved;
+	}
+
+	boolean isSolved() {
+		return solved;
+	}
+
+	/**
+	 * Writes the initial travelling times of this target into the lane of the batch array: 0 for target points,
+	 * the distance to the target divided by the time cost for the neighbours of target points (like
+	 * {@link EikonalSolverFMM}) and {@link Double#MAX_VALUE} otherwise.
+	 */
+	void initialTravellingTimes(@NotNull final double[] times, final int lane, final int lanes) {
+		for (int y = 0; y < cellGrid.getNumPointsY(); y++) {
+			for (int x = 0; x < cellGrid.getNumPointsX(); x++) {
+				if (cellGrid.getValue(x, y).tag == PathFindingTag.Target) {
+					times[index(x, y) * lanes + lane] = 0.0;
+
+					for (Point neighbor : cellGrid.getLegitNeumannNeighborhood(new Point(x, y))) {
+						PathFindingTag tag = cellGrid.getValue(neighbor).tag;
+						if (tag != PathFindingTag.Target && tag != PathFindingTag.Obstacle) {
+							double distance = Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor)));
+							double potential = distance / timeCostFunction.costAt(cellGrid.pointToCoord(neighbor));
+							int neighborIndex = index(neighbor.x, neighbor.y) * lanes + lane;
+							times[neighborIndex] = Math.min(times[neighborIndex], potential);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the travelling times of the lane of the batch array into the cell grid of this target.
+	 */
+	void setTravellingTimes(@NotNull final double[] times, final int lane, final int lanes) {
+		for (int y = 0; y < cellGrid.getNumPointsY(); y++) {
+			for (int x = 0; x < cellGrid.getNumPointsX(); x++) {
+				CellState cellState = cellGrid.getValue(x, y);
+				if (cellState.tag != PathFindingTag.Target && cellState.tag != PathFindingTag.Obstacle) {
+					cellState.potential = times[index(x, y) * lanes + lane];
+					cellState.tag = cellState.potential < Double.MAX_VALUE ? PathFindingTag.Reached : PathFindingTag.Undefined;
+				}
+			}
+		}
+		// the distance function and the batch are only required for the initialization
+		solved = true;
+		distFunc = null;
+		batch = null;
+	}
+
+	private int index(final int x, final int y) {
+		return y * cellGrid.getNumPointsX() + x;
+	}
+
+	@Override
+	public ITimeCostFunction getTimeCostFunction() {
+		return timeCostFunction;
+	}
+
+	@Override
+	public boolean isHighAccuracy() {
+		return false;
+	}
+}
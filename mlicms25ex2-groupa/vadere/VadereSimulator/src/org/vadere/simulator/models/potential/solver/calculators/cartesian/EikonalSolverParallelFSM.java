@@ -0,0 +1,237 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A block parallel version of the fast sweeping method (first order Godunov scheme, see {@link EikonalSolverFSM}).
+ * The grid is divided into tiles of {@link #TILE_SIZE} x {@link #TILE_SIZE} grid points. During a sweep in the
+ * direction (dirX, dirY) a tile only depends on its upwind neighbour tiles, therefore all tiles of one anti-diagonal
+ * (with respect to the sweep direction) are independent and are swept in parallel (fork join pool), i.e. the tiles
+ * are processed in wavefronts. Each grid point sees exactly the same neighbour values as in a sequential sweep in
+ * the same direction, hence the result does not depend on the number of threads and is equal to the result of the
+ * sequential fast sweeping method.
+ *
+ * The travelling times, obstacles and time costs are stored in primitive arrays during the computation and are
+ * copied into the {@link CellGrid} afterwards. If the time cost function changes over time the floor field is
+ * recomputed by {@link #update()}.
+ */
+public class EikonalSolverParallelFSM extends AGridEikonalSolver {
+
+	private static Logger logger = Logger.getLogger(EikonalSolverParallelFSM.class);
+
+	/**
+	 * number of grid points of a tile in each direction.
+	 */
+	public static final int TILE_SIZE = 32;
+
+	/**
+	 * the solver stops if no travelling time decreases by more than this value in one iteration.
+	 */
+	private static final double EPSILON = 1.0E-9;
+
+	private final CellGrid cellGrid;
+	private final ITimeCostFunction timeCostFunction;
+	private final IDistanceFunction distFunc;
+	private final int numPointsX;
+	private final int numPointsY;
+	private final int tilesX;
+	private final int tilesY;
+
+	private boolean[] obstacle;
+
+	/**
+	 * the travelling time between two neighbouring grid points, i.e. resolution * time cost.
+	 */
+	private double[] stepCost;
+
+	/**
+	 * the travelling times, the additional grid point at the end is the neighbour of all points at the boundary.
+	 */
+	private double[] times;
+
+	public EikonalSolverParallelFSM(
+			@NotNull final CellGrid cellGrid,
+			@NotNull final IDistanceFunction distFunc,
+			@NotNull final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight) {
+		super(cellGrid, unknownPenalty, weight);
+		this.cellGrid = cellGrid;
+		this.distFunc = distFunc;
+		this.timeCostFunction = timeCostFunction;
+		this.numPointsX = cellGrid.getNumPointsX();
+		this.numPointsY = cellGrid.getNumPointsY();
+		this.tilesX = (numPointsX + TILE_SIZE - 1) / TILE_SIZE;
+		this.tilesY = (numPointsY + TILE_SIZE - 1) / TILE_SIZE;
+	}
+
+	@Override
+	public void solve() {
+		long ms = System.currentTimeMillis();
+		init();
+
+		int iterations = 0;
+		double maxChange;
+		do {
+			maxChange = 0;
+			maxChange = Math.max(maxChange, sweep(1, 1));
+			maxChange = Math.max(maxChange, sweep(-1, 1));
+			maxChange = Math.max(maxChange, sweep(-1, -1));
+			maxChange = Math.max(maxChange, sweep(1, -1));
+			iterations++;
+		} while (maxChange > EPSILON);
+
+		setTravellingTimes();
+		logger.debug("parallel fast sweeping converged after " + iterations + " iteration(s), run time = " + (System.currentTimeMillis() - ms) + "[ms]");
+	}
+
+	@Override
+	public void update() {
+		if (needsUpdate()) {
+			timeCostFunction.update();
+			solve();
+		}
+	}
+
+	@Override
+	public boolean needsUpdate() {
+		return timeCostFunction.needsUpdate();
+	}
+
+	/**
+	 * Computes the obstacles and the time costs of all grid points and the initial travelling times: 0 for target
+	 * points, the distance to the target divided by the time cost for the neighbours of target points (like
+	 * {@link EikonalSolverFMM}) and {@link Double#MAX_VALUE} otherwise.
+	 */
+	private void init() {
+		int numPoints = numPointsX * numPointsY;
+		obstacle = new boolean[numPoints];
+		stepCost = new double[numPoints];
+		times = new double[numPoints + 1];
+		Arrays.fill(times, Double.MAX_VALUE);
+
+		IntStream.range(0, numPointsY).parallel().forEach(y -> {
+			for (int x = 0; x < numPointsX; x++) {
+				int index = index(x, y);
+				obstacle[index] = cellGrid.getValue(x, y).tag == PathFindingTag.Obstacle;
+				stepCost[index] = cellGrid.getResolution() * timeCostFunction.costAt(cellGrid.pointToCoord(x, y));
+			}
+		});
+
+		for (int y = 0; y < numPointsY; y++) {
+			for (int x = 0; x < numPointsX; x++) {
+				if (cellGrid.getValue(x, y).tag == PathFindingTag.Target) {
+					times[index(x, y)] = 0.0;
+
+					for (Point neighbor : cellGrid.getLegitNeumannNeighborhood(new Point(x, y))) {
+						PathFindingTag tag = cellGrid.getValue(neighbor).tag;
+						if (tag != PathFindingTag.Target && tag != PathFindingTag.Obstacle) {
+							double distance = Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor)));
+							double potential = distance / timeCostFunction.costAt(cellGrid.pointToCoord(neighbor));
+							int neighborIndex = index(neighbor.x, neighbor.y);
+							times[neighborIndex] = Math.min(times[neighborIndex], potential);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void setTravellingTimes() {
+		IntStream.range(0, numPointsY).parallel().forEach(y -> {
+			for (int x = 0; x < numPointsX; x++) {
+				CellState cellState = cellGrid.getValue(x, y);
+				if (cellState.tag != PathFindingTag.Target && cellState.tag != PathFindingTag.Obstacle) {
+					cellState.potential = times[index(x, y)];
+					cellState.tag = cellState.potential < Double.MAX_VALUE ? PathFindingTag.Reached : PathFindingTag.Undefined;
+				}
+			}
+		});
+	}
+
+	/**
+	 * One Gauss-Seidel sweep over all grid points in the order defined by (dirX, dirY). The tiles of the k-th
+	 * anti-diagonal (counted from the upwind corner) are swept in parallel after all tiles of the (k-1)-th
+	 * anti-diagonal are finished.
+	 *
+	 * @return the maximal decrease of a travelling time
+	 */
+	private double sweep(final int dirX, final int dirY) {
+		double[] tileChange = new double[tilesX * tilesY];
+
+		for (int diagonal = 0; diagonal < tilesX + tilesY - 1; diagonal++) {
+			int d = diagonal;
+			IntStream.rangeClosed(Math.max(0, d - tilesY + 1), Math.min(d, tilesX - 1)).parallel().forEach(i -> {
+				int tileX = dirX > 0 ? i : tilesX - 1 - i;
+				int tileY = dirY > 0 ? d - i : tilesY - 1 - (d - i);
+				tileChange[tileY * tilesX + tileX] = sweepTile(tileX, tileY, dirX, dirY);
+			});
+		}
+
+		double maxChange = 0;
+		for (double change : tileChange) {
+			maxChange = Math.max(maxChange, change);
+		}
+		return maxChange;
+	}
+
+	private double sweepTile(final int tileX, final int tileY, final int dirX, final int dirY) {
+		int outside = numPointsX * numPointsY;
+		int minX = tileX * TILE_SIZE;
+		int minY = tileY * TILE_SIZE;
+		int sizeX = Math.min(TILE_SIZE, numPointsX - minX);
+		int sizeY = Math.min(TILE_SIZE, numPointsY - minY);
+		double maxChange = 0;
+
+		for (int j = 0; j < sizeY; j++) {
+			int y = dirY > 0 ? minY + j : minY + sizeY - 1 - j;
+			for (int i = 0; i < sizeX; i++) {
+				int x = dirX > 0 ? minX + i : minX + sizeX - 1 - i;
+				int index = index(x, y);
+				if (obstacle[index]) {
+					continue;
+				}
+
+				int left = x > 0 ? index - 1 : outside;
+				int right = x < numPointsX - 1 ? index + 1 : outside;
+				int bottom = y > 0 ? index - numPointsX : outside;
+				int top = y < numPointsY - 1 ? index + numPointsX : outside;
+				double h = stepCost[index];
+
+				double a = Math.min(times[left], times[right]);
+				double b = Math.min(times[bottom], times[top]);
+				double diff = a - b;
+				double t = Math.abs(diff) >= h ? Math.min(a, b) + h : 0.5 * (a + b + Math.sqrt(2.0 * h * h - diff * diff));
+				double old = times[index];
+				double updated = Math.min(t, old);
+				times[index] = updated;
+				maxChange = Math.max(maxChange, old - updated);
+			}
+		}
+		return maxChange;
+	}
+
+	private int index(final int x, final int y) {
+		return y * numPointsX + x;
+	}
+
+	@Override
+	public ITimeCostFunction getTimeCostFunction() {
+		return timeCostFunction;
+	}
+
+	@Override
+	public boolean isHighAccuracy() {
+		return false;
+	}
+}
@@ -74,6 +74,31 @@ default double getPotential(final CellGrid potentialField, final double x, final
 		return targetPotential;
 	}
 
+	/**
+	 * Batched version of {@link #getPotential(CellGrid, double, double, double, double)} which
+	 * interpolates all positions in one pass over the grid.
+	 */
+	default void getPotentials(final CellGrid potentialField, final double[] xs, final double[] ys, final int n,
+	                           final double unknownPenalty, final double weight, final double[] out) {
+		double[] weightsOfKnown = GridEikonalSolverBuffers.weightsOfKnown.get(n);
+		potentialField.getInterpolatedValuesAt(xs, ys, n, out, weightsOfKnown);
+
+		for (int i = 0; i < n; i++) {
+			double tmpPotential;
+			// see getPotential(CellGrid, double, double, double, double)
+			if (weightsOfKnown[i] > 0.00001) {
+				tmpPotential = out[i] / weightsOfKnown[i]
+						+ (1 - weightsOfKnown[i])
+						* unknownPenalty;
+			} else {
+				tmpPotential = Double.MAX_VALUE;
+			}
+
+			tmpPotential *= weight;
+			out[i] = tmpPotential < Double.MAX_VALUE ? tmpPotential : Double.MAX_VALUE;
+		}
+	}
+
 	default double getPotential(final double x, final double y, final double unknownPenalty, final double weight) {
 		return getPotential(getCellGrid(), x, y, unknownPenalty, weight);
 	}
@@ -0,0 +1,14 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.vadere.util.data.ThreadLocalDoubleArray;
+
+/**
+ * Scratch arrays of the default methods of {@link GridEikonalSolver}, which can not be fields of the interface
+ * without being public.
+ */
+class GridEikonalSolverBuffers {
+
+	static final ThreadLocalDoubleArray weightsOfKnown = new ThreadLocalDoubleArray();
+
+	private GridEikonalSolverBuffers() {}
+}
@@ -0,0 +1,175 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Solves the eikonal equation for many targets on the same {@link CellGrid} geometry in one pass using the
+ * fast sweeping method (first order Godunov scheme, see {@link EikonalSolverFSM}). The obstacles and the time
+ * cost of the grid points are computed only once and are shared by all targets, therefore the time cost has
+ * to be independent of the target (see {@link org.vadere.state.attributes.models.TimeCostFunctionType#isStatic()}).
+ *
+ * The targets are solved in groups of {@link #LANES} targets. The travelling times of a group are stored in one
+ * <tt>double[]</tt> such that the values of all targets of a grid point are next to each other (one lane per target).
+ * Hence, the innermost loop of a sweep updates all lanes of a grid point with the same neighbours and the same
+ * time cost, which can be vectorized by the JIT. Different groups are solved in parallel (fork join pool).
+ *
+ * Each target is represented by an {@link EikonalSolverMultiTargetFSM} which has to be registered, see
+ * {@link #register(EikonalSolverMultiTargetFSM)}. The first call of {@link EikonalSolverMultiTargetFSM#solve()}
+ * solves all registered targets which are not solved yet. Afterwards the batch does not reference them anymore.
+ */
+public class MultiTargetFastSweeping {
+
+	private static Logger logger = Logger.getLogger(MultiTargetFastSweeping.class);
+
+	/**
+	 * number of targets solved together in one array.
+	 */
+	public static final int LANES = 8;
+
+	/**
+	 * the solver stops if no travelling time decreases by more than this value in one iteration.
+	 */
+	private static final double EPSILON = 1.0E-9;
+
+	private final int numPointsX;
+	private final int numPointsY;
+	private final boolean[] obstacle;
+
+	/**
+	 * the travelling time between two neighbouring grid points, i.e. resolution * time cost.
+	 */
+	private final double[] stepCost;
+
+	private final List<EikonalSolverMultiTargetFSM> lanes;
+
+	/**
+	 * @param geometry          a grid of one of the targets, its obstacles are the obstacles of all targets
+	 * @param timeCostFunction  the time cost function, which has to be the same for all targets
+	 */
+	public MultiTargetFastSweeping(@NotNull final CellGrid geometry, @NotNull final ITimeCostFunction timeCostFunction) {
+		this.numPointsX = geometry.getNumPointsX();
+		this.numPointsY = geometry.getNumPointsY();
+		this.obstacle = new boolean[numPointsX * numPointsY];
+		this.stepCost = new double[numPointsX * numPointsY];
+		this.lanes = new ArrayList<>();
+
+		for (int y = 0; y < numPointsY; y++) {
+			for (int x = 0; x < numPointsX; x++) {
+				int index = index(x, y);
+				obstacle[index] = geometry.getValue(x, y).tag == PathFindingTag.Obstacle;
+				stepCost[index] = geometry.getResolution() * timeCostFunction.costAt(geometry.pointToCoord(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Adds a target which is solved by the next call of {@link #solve()}.
+	 */
+	public synchronized void register(@NotNull final EikonalSolverMultiTargetFSM lane) {
+		if (lane.getCellGrid().getNumPointsX() != numPointsX || lane.getCellGrid().getNumPointsY() != numPointsY) {
+			throw new IllegalArgumentException("the grid of the target does not match the grid of the other targets.");
+		}
+		lanes.add(lane);
+	}
+
+	/**
+	 * Solves all registered targets which are not solved yet (a target might be loaded from a cache in between)
+	 * and removes them.
+	 */
+	synchronized void solve() {
+		List<EikonalSolverMultiTargetFSM> unsolved = lanes.stream().filter(lane -> !lane.isSolved()).collect(Collectors.toList());
+		if (unsolved.isEmpty()) {
+			lanes.clear();
+			return;
+		}
+
+		long ms = System.currentTimeMillis();
+		int groups = (unsolved.size() + LANES - 1) / LANES;
+		IntStream.range(0, groups).parallel().forEach(group ->
+				solveGroup(unsolved.subList(group * LANES, Math.min(unsolved.size(), (group + 1) * LANES))));
+		lanes.clear();
+		logger.info("solved " + unsolved.size() + " floor fields in " + groups + " group(s), run time = " + (System.currentTimeMillis() - ms) + "[ms]");
+	}
+
+	private void solveGroup(@NotNull final List<EikonalSolverMultiTargetFSM> group) {
+		int numPoints = numPointsX * numPointsY;
+
+		// the additional grid point at the end is the neighbour of all points at the boundary
+		double[] times = new double[(numPoints + 1) * LANES];
+		Arrays.fill(times, Double.MAX_VALUE);
+		for (int lane = 0; lane < group.size(); lane++) {
+			group.get(lane).initialTravellingTimes(times, lane, LANES);
+		}
+
+		int iterations = 0;
+		double maxChange;
+		do {
+			maxChange = 0;
+			maxChange = Math.max(maxChange, sweep(times, 1, 1));
+			maxChange = Math.max(maxChange, sweep(times, -1, 1));
+			maxChange = Math.max(maxChange, sweep(times, -1, -1));
+			maxChange = Math.max(maxChange, sweep(times, 1, -1));
+			iterations++;
+		} while (maxChange > EPSILON);
+		logger.debug("fast sweeping of " + group.size() + " target(s) converged after " + iterations + " iteration(s)");
+
+		for (int lane = 0; lane < group.size(); lane++) {
+			group.get(lane).setTravellingTimes(times, lane, LANES);
+		}
+	}
+
+	/**
+	 * One Gauss-Seidel sweep over all grid points in the order defined by (dirX, dirY).
+	 *
+	 * @return the maximal decrease of a travelling time
+	 */
+	private double sweep(@NotNull final double[] times, final int dirX, final int dirY) {
+		int outside = numPointsX * numPointsY * LANES;
+		double maxChange = 0;
+
+		for (int j = 0; j < numPointsY; j++) {
+			int y = dirY > 0 ? j : numPointsY - 1 - j;
+			for (int i = 0; i < numPointsX; i++) {
+				int x = dirX > 0 ? i : numPointsX - 1 - i;
+				int index = index(x, y);
+				if (obstacle[index]) {
+					continue;
+				}
+
+				int base = index * LANES;
+				int left = x > 0 ? base - LANES : outside;
+				int right = x < numPointsX - 1 ? base + LANES : outside;
+				int bottom = y > 0 ? base - numPointsX * LANES : outside;
+				int top = y < numPointsY - 1 ? base + numPointsX * LANES : outside;
+				double h = stepCost[index];
+				double h2 = 2.0 * h * h;
+
+				for (int lane = 0; lane < LANES; lane++) {
+					double a = Math.min(times[left + lane], times[right + lane]);
+					double b = Math.min(times[bottom + lane], times[top + lane]);
+					double diff = a - b;
+					double t = Math.abs(diff) >= h ? Math.min(a, b) + h : 0.5 * (a + b + Math.sqrt(h2 - diff * diff));
+					double old = times[base + lane];
+					double updated = Math.min(t, old);
+					times[base + lane] = updated;
+					maxChange = Math.max(maxChange, old - updated);
+				}
+			}
+		}
+		return maxChange;
+	}
+
+	private int index(final int x, final int y) {
+		return y * numPointsX + x;
+	}
+}
@@ -19,6 +19,10 @@
 import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunctionMesh;
+import org.vadere.simulator.utils.cache.CacheException;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.IMeshPotentialCacheObject;
+import org.vadere.state.scenario.Agent;
 import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
@@ -27,6 +31,7 @@
 import org.vadere.util.math.InterpolationUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -48,6 +53,8 @@
  */
 public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge, F extends IFace> implements MeshEikonalSolver<V, E, F>, ITriEventListener<V, E, F> {
 
+	private static final ThreadLocal<IFace[][]> faceBuffers = ThreadLocal.withInitial(() -> new IFace[][] { new IFace[0] });
+
 	private ITimeCostFunctionMesh<V> meshTimeCostFunction;
 
 	@Nullable IDistanceFunction distanceFunction;
@@ -484,24 +491,94 @@ protected double getInterpolatedPotential(
 			final double y,
 			@Nullable final Object caller) {
 		Optional<F> optFace;
-		if(caller != null) {
+		int slot = toSlot(caller);
+		if(slot >= 0) {
+			optFace = triangulation.locateFace(x, y, slot);
+		} else if(caller != null) {
 			optFace = triangulation.locateFace(x, y, caller);
 		} else {
 			optFace = triangulation.locateFace(x, y);
 		}
 
+		return getInterpolatedPotential(triangulation, containerDouble, optFace.orElse(null), x, y);
+	}
+
+	/**
+	 * Evaluates the potential at all positions, the faces are located by a batch of straight walks
+	 * starting at the face hint of the agent, see {@link IIncrementalTriangulation#locateFaces}.
+	 */
+	@Override
+	public void getPotentials(final double[] xs, final double[] ys, final int n, final Object caller, final double[] out) {
+		int slot = toSlot(caller);
+		if(slot < 0) {
+			MeshEikonalSolver.super.getPotentials(xs, ys, n, caller, out);
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		F[] faces = (F[]) getFaceBuffer(n);
+		triangulation.locateFaces(xs, ys, n, slot, faces);
+		for(int i = 0; i < n; i++) {
+			out[i] = getInterpolatedPotential(triangulation, potential, faces[i], xs[i], ys[i]);
+		}
+		Arrays.fill(faces, 0, n, null);
+	}
+
+	/**
+	 * @return the face buffer of the current thread which has at least the length <tt>n</tt>, its elements are <tt>null</tt>
+	 */
+	private static IFace[] getFaceBuffer(final int n) {
+		IFace[][] holder = faceBuffers.get();
+		if(holder[0].length < n) {
+			holder[0] = new IFace[Math.max(n, 2 * holder[0].length)];
+		}
+		return holder[0];
+	}
+
+	@Override
+	public void removeCaller(final Object caller) {
+		int slot = toSlot(caller);
+		if(slot >= 0) {
+			triangulation.removeFaceHint(slot);
+		}
+	}
+
+	/**
+	 * Agents are identified by their id which is the slot of their face hint, see {@link IIncrementalTriangulation#locateFace(double, double, int)}.
+	 */
+	private static int toSlot(@Nullable final Object caller) {
+		return caller instanceof Agent ? ((Agent) caller).getId() : -1;
+	}
+
+	/**
+	 * Returns barycentric interpolated value at (x,y) inside the face based on the {@link IVertexContainerDouble} containerDouble.
+	 *
+	 * @param triangulation     the triangular mesh
+	 * @param containerDouble   some vertex container
+	 * @param face              the face containing (x,y) or <tt>null</tt>
+	 * @param x                 x-coordinate of the request point
+	 * @param y                 y-coordinate of the request point
+	 *
+	 * @return the barycentric interpolated value at (x,y) or {@link Double#MAX_VALUE} if there is no (inner) face
+	 */
+	private double getInterpolatedPotential(
+			@NotNull final IIncrementalTriangulation<V, E, F> triangulation,
+			@NotNull final IVertexContainerDouble<V, E, F> containerDouble,
+			@Nullable final F face,
+			final double x,
+			final double y) {
 		double result = Double.MAX_VALUE;
-		if(!optFace.isPresent()) {
+		if(face == null) {
 			//logger.warn("no face found for coordinates (" + x + "," + y + ")");
 		}
-		else if(optFace.isPresent() && triangulation.getMesh().isBoundary(optFace.get())) {
+		else if(triangulation.getMesh().isBoundary(face)) {
 			//	logger.warn("no triangle found for coordinates (" + x + "," + y + ")");
 		}
 		/*else if(!triangulation.contains(x, y, optFace.get())) {
 			// the face which was found does not contain the point this happens if we had to walk through an obstacle and abortAtBoundary == true!
 		}*/
 		else {
-			E edge = triangulation.getMesh().getEdge(optFace.get());
+			E edge = triangulation.getMesh().getEdge(face);
 			V v1 = triangulation.getMesh().getVertex(edge);
 			V v2 = triangulation.getMesh().getVertex(triangulation.getMesh().getNext(edge));
 			V v3 = triangulation.getMesh().getVertex(triangulation.getMesh().getPrev(edge));
@@ -561,6 +638,49 @@ protected void updatePotential(@NotNull final V vertex, final double potential)
 		setPotential(vertex, Math.min(getPotential(vertex), potential));
 	}
 
+	/**
+	 * Returns the name of the vertex container which contains the travelling times of this solver.
+	 *
+	 * @return the name of the vertex container which contains the travelling times
+	 */
+	public String getPotentialName() {
+		return identifier + "_" + namePotential;
+	}
+
+	@Override
+	public boolean loadCachedFloorField(ICacheObject cacheObject) {
+		if(!(cacheObject instanceof IMeshPotentialCacheObject)) {
+			return MeshEikonalSolver.super.loadCachedFloorField(cacheObject);
+		}
+
+		// the cache only contains the travelling times, the mesh dependent values are required for updates.
+		boolean cacheLoaded = false;
+		try {
+			((IMeshPotentialCacheObject) cacheObject).initializeObjectFromCache(this);
+			getTriangulation().enableCache();
+			prepareMesh();
+			solved = true;
+			cacheLoaded = true;
+		} catch (CacheException e) {
+			logger.errorf("Error loading cache. Initialize manually. " + e);
+		}
+		return cacheLoaded;
+	}
+
+	@Override
+	public void saveFloorFieldToCache(ICacheObject cacheObject) {
+		if(!(cacheObject instanceof IMeshPotentialCacheObject)) {
+			MeshEikonalSolver.super.saveFloorFieldToCache(cacheObject);
+			return;
+		}
+
+		try {
+			((IMeshPotentialCacheObject) cacheObject).persistObject(this);
+		} catch (CacheException e) {
+			logger.errorf("Error saving cache.", e);
+		}
+	}
+
 	protected IIncrementalTriangulation<V, E, F> getTriangulation() {
 		return triangulation;
 	}
@@ -88,7 +88,7 @@ public static ITimeCostFunction create(
 
 				loadingStrategy = IPedestrianLoadingStrategy.create(
 						loadingStrategy,
-						p -> p.getModelPedestrian(QueueingGamePedestrian.class)
+						p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT)
 								.getAttituteType() == PedestrianAttitudeType.COMPETITIVE);
 
 				IGaussianFilter filter = IGaussianFilter.create(
@@ -118,7 +118,7 @@ public static ITimeCostFunction create(
 				ITimeCostFunction timeCostObstacle = create(timeCostAttributes, topography, scale);
 				IPedestrianLoadingStrategy loadingStrategy = IPedestrianLoadingStrategy.create(
 						IPedestrianLoadingStrategy.create(),
-						p -> p.getModelPedestrian(QueueingGamePedestrian.class)
+						p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT)
 								.getAttituteType() == PedestrianAttitudeType.GENTLE);
 				IGaussianFilter filter = IGaussianFilter.create(
 						topography.getBounds(),
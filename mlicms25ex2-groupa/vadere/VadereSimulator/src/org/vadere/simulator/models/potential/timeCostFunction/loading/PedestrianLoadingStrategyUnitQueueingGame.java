@@ -13,7 +13,7 @@
 	 * @param loading
 	 */
 	PedestrianLoadingStrategyUnitQueueingGame(final double loading) {
-		super(new PedestrianLoadingStrategyUnit(loading), ped -> ped.getModelPedestrian(QueueingGamePedestrian.class)
+		super(new PedestrianLoadingStrategyUnit(loading), ped -> ped.getModelPedestrian(QueueingGamePedestrian.SLOT)
 				.getAttituteType() != PedestrianAttitudeType.COMPETITIVE);
 	}
 
@@ -129,16 +129,16 @@ private void addPedestrian(final Pedestrian ped) {
 		 */
 
 		// majority heuristics:
-		long competivePeds = pedestrians.stream().filter(p -> p.getModelPedestrian(QueueingGamePedestrian.class)
+		long competivePeds = pedestrians.stream().filter(p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT)
 				.getAttituteType() == PedestrianAttitudeType.COMPETITIVE).count();
-		long gentlePeds = pedestrians.stream().filter(p -> p.getModelPedestrian(QueueingGamePedestrian.class)
+		long gentlePeds = pedestrians.stream().filter(p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT)
 				.getAttituteType() == PedestrianAttitudeType.GENTLE).count();
 		pedestrianAttitude =
 				competivePeds > gentlePeds ? PedestrianAttitudeType.COMPETITIVE : PedestrianAttitudeType.GENTLE;
 		QueueingGamePedestrian qPedestrian = new QueueingGamePedestrian();
 		pedestrians.add(ped);
 		qPedestrian.setAttituteType(pedestrianAttitude);
-		ped.setModelPedestrian(qPedestrian);
+		ped.setModelPedestrian(QueueingGamePedestrian.SLOT, qPedestrian);
 		pedestrianAttitudeMap.put(ped, pedestrianAttitude);
 		lifeTimeMap.put(ped, 0.0);
 	}
@@ -191,6 +191,7 @@ public void preLoop(double simTimeInSec) {
 	public void postLoop(double simTimeInSec) {
 		competitiveField.postLoop(simTimeInSec);
 		gentleField.postLoop(simTimeInSec);
+		detector.destroy();
 	}
 
 	@Override
@@ -210,7 +211,7 @@ public void update(double simTimeInSec) {
 
 		// update lifetimes
 		Map<PedestrianAttitudeType, List<Pedestrian>> pedGroup = pedestrians.stream().collect(
-				Collectors.groupingBy(p -> p.getModelPedestrian(QueueingGamePedestrian.class).getAttituteType()));
+				Collectors.groupingBy(p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT).getAttituteType()));
 
 		if (pedGroup.get(PedestrianAttitudeType.GENTLE) != null) {
 			pedGroup.get(PedestrianAttitudeType.GENTLE).stream()
@@ -230,7 +231,7 @@ public void update(double simTimeInSec) {
 
 		// only for logging
 		pedGroup = pedestrians.stream().collect(
-				Collectors.groupingBy(p -> p.getModelPedestrian(QueueingGamePedestrian.class).getAttituteType()));
+				Collectors.groupingBy(p -> p.getModelPedestrian(QueueingGamePedestrian.SLOT).getAttituteType()));
 		int numberOfGentlePeds = 0;
 		if (pedGroup.get(PedestrianAttitudeType.GENTLE) != null) {
 			numberOfGentlePeds = pedGroup.get(PedestrianAttitudeType.GENTLE).size();
@@ -245,7 +246,7 @@ public void update(double simTimeInSec) {
 	}
 
 	private void changePedAttitude(Pedestrian ped, PedestrianAttitudeType attitude) {
-		ped.getModelPedestrian(QueueingGamePedestrian.class).setAttituteType(attitude);
+		ped.getModelPedestrian(QueueingGamePedestrian.SLOT).setAttituteType(attitude);
 		pedestrianAttitudeMap.remove(ped);
 		pedestrianAttitudeMap.put(ped, attitude);
 	}
@@ -261,7 +262,7 @@ public boolean changeAttitude(final Pedestrian ped, final double lifeTimeInSec,
 		 * return false;
 		 * }
 		 * 
-		 * if(ped.getModelPedestrian(QueueingGamePedestrian.class).getAttituteType() ==
+		 * if(ped.getModelPedestrian(QueueingGamePedestrian.SLOT).getAttituteType() ==
 		 * PedestrianAttitudeType.GENTLE) {
 		 * if(endDistance <= 0.0) { // no queue jet
 		 * return false;
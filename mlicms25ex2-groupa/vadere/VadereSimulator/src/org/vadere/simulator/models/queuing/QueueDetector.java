@@ -1,6 +1,9 @@
 package org.vadere.simulator.models.queuing;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.PriorityQueue;
@@ -14,11 +17,21 @@
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VPolygon;
 import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
 import org.vadere.util.data.cellgrid.PathFindingTag;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.util.math.IDistanceFunction;
 
+/**
+ * Detects queues in front of targets: grid points where the pedestrian density is low are treated as obstacles,
+ * the fast marching method starting at the targets then only advances through dense regions, i.e. queues. The
+ * accepted points close to the targets thinned out to a distance of {@link #radius} are the target points of the queue.
+ *
+ * The detector works incrementally: the density filter is created once and reused, only grid points whose
+ * density crossed {@link #QUEUE_DENSITY} are re-tagged and the floor field is only recomputed if at least one grid
+ * point changed. Thinning out the accepted points uses a bucket grid such that only nearby points are compared.
+ */
 public class QueueDetector extends EikonalSolverFMM {
 
     private AttributesAgent attributesPedestrian;
@@ -29,6 +42,31 @@ public class QueueDetector extends EikonalSolverFMM {
     private static double radius = 2.0;
     protected LinkedList<VPoint> orderedPoints;
 
+    private IGaussianFilter filter;
+
+    /**
+     * queued[index] is true if the density at the (non-target) grid point is larger than QUEUE_DENSITY.
+     */
+    private final boolean[] queued;
+
+    /**
+     * the grid points accepted by the last run of the fast marching method.
+     */
+    private final BitSet accepted;
+    private final BitSet changed;
+    private boolean solved;
+
+    /**
+     * The points inserted into the queue during the current run and their bucket lists: the points of a bucket
+     * of size radius x radius are linked by nextInBucket starting at bucketHead, removed points are unlinked.
+     */
+    private final ArrayList<VPoint> insertedPoints;
+    private final BitSet removedPoints;
+    private int[] nextInBucket;
+    private final int[] bucketHead;
+    private final int cellsPerBucket;
+    private final int bucketsX;
+
     /**
      * Initializes the FM potential calculator with a time cost function F > 0.
      *
@@ -52,6 +90,16 @@ public QueueDetector(
         this.topography = topography;
         this.targetPoints = new PriorityQueue<>();
         this.polytope = null;
+        this.queued = new boolean[cellGrid.getNumPointsX() * cellGrid.getNumPointsY()];
+        this.accepted = new BitSet();
+        this.changed = new BitSet();
+        this.solved = false;
+        this.insertedPoints = new ArrayList<>();
+        this.removedPoints = new BitSet();
+        this.nextInBucket = new int[16];
+        this.cellsPerBucket = Math.max(1, (int) Math.ceil(radius / cellGrid.getResolution()));
+        this.bucketsX = (cellGrid.getNumPointsX() + cellsPerBucket - 1) / cellsPerBucket;
+        this.bucketHead = new int[bucketsX * ((cellGrid.getNumPointsY() + cellsPerBucket - 1) / cellsPerBucket)];
     }
 
     public double getResolution() {
@@ -59,43 +107,127 @@ public double getResolution() {
     }
 
     @Override
-    public void solve() {
-        IPedestrianLoadingStrategy loadingStrategy = IPedestrianLoadingStrategy.create();
-        IGaussianFilter filter = IGaussianFilter.create(
-                topography.getBounds(),
-                topography.getElements(Pedestrian.class),
-                1.0 / cellGrid.getResolution(),
-                new AttributesTimeCost().getStandardDeviation(),
-                attributesPedestrian,
-                loadingStrategy, IGaussianFilter.Type.OpenCL);
+    public void update() {
+        if (timeCostFunction.needsUpdate()) {
+            timeCostFunction.update();
+            solved = false;
+        }
+        solve();
+    }
 
+    @Override
+    public void solve() {
+        if (filter == null) {
+            // falls back to the java implementation if OpenCL is not supported
+            filter = IGaussianFilter.create(
+                    topography.getBounds(),
+                    topography.getElements(Pedestrian.class),
+                    1.0 / cellGrid.getResolution(),
+                    new AttributesTimeCost().getStandardDeviation(),
+                    attributesPedestrian,
+                    IPedestrianLoadingStrategy.create(), IGaussianFilter.Type.OpenCL);
+        }
         filter.filterImage();
-        cellGrid.pointStream().forEach(p -> {
-            int x = p.x;
-            int y = p.y;
-
-            VPoint point = cellGrid.pointToCoord(x, y);
-            if (cellGrid.getValue(x, y).tag != PathFindingTag.Target
-                    && filter.getFilteredValue(point.x, point.y) <= QUEUE_DENSITY) {
-                cellGrid.getValue(x, y).tag = PathFindingTag.Obstacle;
-            } else if (cellGrid.getValue(x, y).tag != PathFindingTag.Target) {
-                // System.out.println("found:" + point);
-                cellGrid.getValue(x, y).tag = PathFindingTag.Undefined;
+
+        changed.clear();
+        for (int y = 0; y < cellGrid.getNumPointsY(); y++) {
+            for (int x = 0; x < cellGrid.getNumPointsX(); x++) {
+                if (cellGrid.getValue(x, y).tag != PathFindingTag.Target) {
+                    int index = index(x, y);
+                    VPoint point = cellGrid.pointToCoord(x, y);
+                    boolean isQueued = filter.getFilteredValue(point.x, point.y) > QUEUE_DENSITY;
+                    if (!solved || isQueued != queued[index]) {
+                        queued[index] = isQueued;
+                        changed.set(index);
+                    }
+                }
             }
-        });
-        orderedPoints.clear();
-        filter.destroy();
+        }
+
+        if (solved && changed.isEmpty()) {
+            // the same obstacles lead to the same floor field and the same queue
+            return;
+        }
+
+        if (solved) {
+            // only the points accepted by the last run carry a potential
+            changed.or(accepted);
+        } else {
+            resetDynamicPotentialField();
+        }
+        for (int index = changed.nextSetBit(0); index >= 0; index = changed.nextSetBit(index + 1)) {
+            CellState cellState = cellGrid.getValue(index % cellGrid.getNumPointsX(), index / cellGrid.getNumPointsX());
+            cellState.potential = Double.MAX_VALUE;
+            cellState.tag = queued[index] ? PathFindingTag.Undefined : PathFindingTag.Obstacle;
+        }
+
+        accepted.clear();
+        insertedPoints.clear();
+        removedPoints.clear();
+        Arrays.fill(bucketHead, -1);
         super.solve();
+
+        orderedPoints.clear();
+        for (int i = insertedPoints.size() - 1; i >= 0; i--) {
+            if (!removedPoints.get(i)) {
+                orderedPoints.add(insertedPoints.get(i));
+            }
+        }
+        solved = true;
     }
 
     @Override
     protected void setNeighborDistances(Point point) {
         super.setNeighborDistances(point);
+        accepted.set(index(point.x, point.y));
         VPoint worldCoord = cellGrid.pointToCoord(point);
-        orderedPoints.removeIf(p -> p.distance(worldCoord) <= radius);
+
+        // remove all points of the queue which are not further away than radius, they are in the neighbouring buckets
+        int bucketX = point.x / cellsPerBucket;
+        int bucketY = point.y / cellsPerBucket;
+        int bucketsY = bucketHead.length / bucketsX;
+        for (int by = Math.max(0, bucketY - 1); by <= Math.min(bucketsY - 1, bucketY + 1); by++) {
+            for (int bx = Math.max(0, bucketX - 1); bx <= Math.min(bucketsX - 1, bucketX + 1); bx++) {
+                int bucket = by * bucketsX + bx;
+                int previous = -1;
+                for (int i = bucketHead[bucket]; i >= 0; i = nextInBucket[i]) {
+                    if (insertedPoints.get(i).distance(worldCoord) <= radius) {
+                        removedPoints.set(i);
+                        if (previous < 0) {
+                            bucketHead[bucket] = nextInBucket[i];
+                        } else {
+                            nextInBucket[previous] = nextInBucket[i];
+                        }
+                    } else {
+                        previous = i;
+                    }
+                }
+            }
+        }
 
         if (Math.max(0, -distFunc.apply(worldCoord)) <= radius) {
-            orderedPoints.addFirst(worldCoord);
+            int i = insertedPoints.size();
+            int bucket = bucketY * bucketsX + bucketX;
+            insertedPoints.add(worldCoord);
+            if (i == nextInBucket.length) {
+                nextInBucket = Arrays.copyOf(nextInBucket, 2 * i);
+            }
+            nextInBucket[i] = bucketHead[bucket];
+            bucketHead[bucket] = i;
+        }
+    }
+
+    private int index(final int x, final int y) {
+        return y * cellGrid.getNumPointsX() + x;
+    }
+
+    /**
+     * Releases the density filter, has to be called if the detector is no longer used.
+     */
+    public void destroy() {
+        if (filter != null) {
+            filter.destroy();
+            filter = null;
         }
     }
 
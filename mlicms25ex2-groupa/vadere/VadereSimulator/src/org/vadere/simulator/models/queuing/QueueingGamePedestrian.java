@@ -1,9 +1,13 @@
 package org.vadere.simulator.models.queuing;
 
 import org.vadere.state.scenario.ModelPedestrian;
+import org.vadere.state.scenario.ModelPedestrianSlot;
 import org.vadere.state.types.PedestrianAttitudeType;
 
 public class QueueingGamePedestrian extends ModelPedestrian {
+
+	public static final ModelPedestrianSlot<QueueingGamePedestrian> SLOT = ModelPedestrianSlot.of(QueueingGamePedestrian.class);
+
 	private PedestrianAttitudeType attituteType = PedestrianAttitudeType.COMPETITIVE;
 
 	public PedestrianAttitudeType getAttituteType() {
@@ -2,26 +2,31 @@
 
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.ode.NeighbourListSupport;
+import org.vadere.simulator.models.ode.VerletNeighbourList;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.models.AttributesPotentialSFM;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.math.MathUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 
 @ModelClass
-public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
+public class PotentialFieldPedestrianSFM implements PotentialFieldAgent, NeighbourListSupport<Pedestrian> {
 
 	private AttributesPotentialSFM attributes;
+	private VerletNeighbourList<Pedestrian> neighbourList;
 
 	public PotentialFieldPedestrianSFM() {}
 
@@ -129,15 +134,31 @@ public double getAgentPotential(IPoint pos, Agent pedestrian,
 	@Override
 	public Collection<Agent> getRelevantAgents(VCircle relevantArea,
 			Agent center, Topography scenario) {
+		if (neighbourList != null) {
+			List<Agent> closePedestrians = new ArrayList<>();
+			if (neighbourList.collectNeighbours(center, relevantArea.getCenter(), getNeighbourRadius(), closePedestrians)) {
+				return closePedestrians;
+			}
+		}
+
 		List<Agent> closePedestrians = scenario.getSpatialMap(Agent.class)
-				.getObjects(relevantArea.getCenter(),
-						attributes.getPedestrianRecognitionDistance() + 3);
+				.getObjects(relevantArea.getCenter(), getNeighbourRadius());
+
+		return closePedestrians;
+	}
+
+	@Override
+	public double getNeighbourRadius() {
 		// add five meters accounting for the fact that a negative exponential is used, not a
 		// function on compact support.
 		// => exp(-x) > 0 outside of the "recognition distance" parameter.
 		// TODO [priority=medium] [task=bugfix] [Error?] dont call it recognition distance here. call it exp_sigma or sth. else. +3 = magic number?
+		return attributes.getPedestrianRecognitionDistance() + 3;
+	}
 
-		return closePedestrians;
+	@Override
+	public void setNeighbourList(VerletNeighbourList<Pedestrian> neighbourList) {
+		this.neighbourList = neighbourList;
 	}
 
 	@Override
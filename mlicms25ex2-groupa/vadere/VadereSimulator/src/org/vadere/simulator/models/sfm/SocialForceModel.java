@@ -26,7 +26,6 @@
 import org.vadere.state.types.GradientProviderType;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
-import org.vadere.util.parallel.ParallelWorkerUtil;
 
 import java.util.*;
 
@@ -130,15 +129,13 @@ public void rebuildFloorField(final double simTimeInSec) {
 	@Override
 	public void preLoop(final double state) {
 		super.preLoop(state);
-		// setup thread pool if it is not setup already
-		int WORKERS_COUNT = 16;// pedestrians.keySet().size();
-		ParallelWorkerUtil.setup(WORKERS_COUNT);
+		setupWorker(attributes.getAttributesODEIntegrator().getParallelism());
+		setupNeighbourList(attributes.getAttributesODEIntegrator().getNeighbourListSkin(), potentialFieldPedestrian);
 	}
 
 	@Override
 	public void postLoop(final double simTimeInSec) {
 		super.postLoop(simTimeInSec);
-		ParallelWorkerUtil.shutdown();
 	}
 
 	@Override
@@ -14,6 +14,7 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @author Mario Teixeira Parente
@@ -110,6 +111,20 @@ public boolean isEmpty() {
 		return processorMap.isEmpty();
 	}
 
+	/**
+	 * Returns true if any processor reads the foot steps of the agents, see {@link DataProcessor#requiresFootSteps()}.
+	 */
+	public boolean requiresFootSteps() {
+		return processorMap.values().stream().anyMatch(DataProcessor::requiresFootSteps);
+	}
+
+	/**
+	 * Returns the processors which keep state across steps, see {@link DataProcessor#keepsStateAcrossSteps()}.
+	 */
+	public List<DataProcessor<?, ?>> getProcessorsWithStateAcrossSteps() {
+		return processorMap.values().stream().filter(DataProcessor::keepsStateAcrossSteps).collect(Collectors.toList());
+	}
+
 	public void sealAllAttributes() {
 		processorMap.values().forEach(p -> p.sealAttributes());
 	}
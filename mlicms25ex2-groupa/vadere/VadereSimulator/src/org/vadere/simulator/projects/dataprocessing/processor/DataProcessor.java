@@ -156,6 +156,24 @@ public void postLoopAddResultInfo(final SimulationState state, SimulationResult
 
 	}
 
+	/**
+	 * Returns true if this processor reads the foot steps or the strides of the agents, i.e. if the main model has
+	 * to record them (see {@link MainModel#setRecordingFootSteps(boolean)}).
+	 */
+	public boolean requiresFootSteps() {
+		return false;
+	}
+
+	/**
+	 * Returns true if this processor keeps state from one step to the next which is not part of its output, e.g.
+	 * the last position of an agent. Such processors can only be continued from a checkpoint of the simulation if
+	 * they implement {@link org.vadere.simulator.utils.checkpoint.Checkpointable}. A restored processor reads its
+	 * state after {@link #init(ProcessorManager)} and before {@link #preLoop(SimulationState)}, which clears the data.
+	 */
+	public boolean keepsStateAcrossSteps() {
+		return true;
+	}
+
 	public void init(final ProcessorManager manager){
 		this.data.clear();
 		this.lastStep = 0;
@@ -52,4 +52,14 @@ public String[] toStrings(EventtimePedestrianIdKey key){
 
 		return new String[]{Integer.toString(i)};
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
+
+	@Override
+	public boolean keepsStateAcrossSteps() {
+		return false;
+	}
 }
@@ -40,4 +40,9 @@ public String[] toStrings(EventtimePedestrianIdKey key){
 
 		return new String[]{Integer.toString(i)};
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
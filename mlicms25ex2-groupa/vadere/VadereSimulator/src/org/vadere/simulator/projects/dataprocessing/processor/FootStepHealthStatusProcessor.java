@@ -50,4 +50,8 @@ public void init(final ProcessorManager manager) {
         super.init(manager);
     }
 
+    @Override
+    public boolean requiresFootSteps() {
+        return true;
+    }
 }
@@ -37,4 +37,8 @@ public void doUpdate(final SimulationState state) {
 		}
 	}
 
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
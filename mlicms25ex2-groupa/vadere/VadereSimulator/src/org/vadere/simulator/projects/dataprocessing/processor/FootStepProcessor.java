@@ -57,4 +57,14 @@ public String[] toStrings(EventtimePedestrianIdKey key) {
         // EventtimePedestrianIdKey
         return Arrays.copyOfRange(footStepLine, 1, footStepLine.length);
     }
+
+    @Override
+    public boolean requiresFootSteps() {
+        return true;
+    }
+
+    @Override
+    public boolean keepsStateAcrossSteps() {
+        return false;
+    }
 }
\ No newline at end of file
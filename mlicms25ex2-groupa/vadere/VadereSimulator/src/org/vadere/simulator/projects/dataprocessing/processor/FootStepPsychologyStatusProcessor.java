@@ -53,4 +53,8 @@ public void init(final ProcessorManager manager) {
 		super.init(manager);
 	}
 
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
\ No newline at end of file
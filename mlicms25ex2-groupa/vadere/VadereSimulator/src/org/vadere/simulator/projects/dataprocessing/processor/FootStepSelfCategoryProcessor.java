@@ -75,4 +75,9 @@ private EventtimePedestrianIdKey getKey(int pedId) {
 	public void init(final ProcessorManager manager) {
 		super.init(manager);
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
@@ -28,4 +28,14 @@ protected void doUpdate(SimulationState state) {
 			this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), p.getId()), !p.hasNextTarget() ? -1 : p.getNextTargetId());
 		}));
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
+
+	@Override
+	public boolean keepsStateAcrossSteps() {
+		return false;
+	}
 }
\ No newline at end of file
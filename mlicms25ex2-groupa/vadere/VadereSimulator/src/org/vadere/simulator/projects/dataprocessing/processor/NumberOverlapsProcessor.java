@@ -1,12 +1,18 @@
 package org.vadere.simulator.projects.dataprocessing.processor;
 
+import org.jetbrains.annotations.NotNull;
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.NoDataKey;
+import org.vadere.simulator.utils.checkpoint.CheckpointReader;
+import org.vadere.simulator.utils.checkpoint.CheckpointWriter;
+import org.vadere.simulator.utils.checkpoint.Checkpointable;
 import org.vadere.state.attributes.processor.AttributesNumberOverlapsProcessor;
 import org.vadere.state.attributes.processor.AttributesProcessor;
 
+import java.io.IOException;
+
 /**
  * This processor counts the number of overlaps during a simulation run.
  * The is commented code that can be used to show a info box if overlaps occured.
@@ -16,8 +22,10 @@
 
 
 @DataProcessorClass()
-public class NumberOverlapsProcessor extends NoDataKeyProcessor<Long> {
+public class NumberOverlapsProcessor extends NoDataKeyProcessor<Long> implements Checkpointable {
 	private PedestrianOverlapProcessor pedOverlapProc;
+	// overlaps of the steps before the restored checkpoint, which are not in the data of pedOverlapProc
+	private long numberOverlapsBeforeCheckpoint;
 
 
 	public NumberOverlapsProcessor() {
@@ -35,7 +43,7 @@ protected void doUpdate(final SimulationState state) {
 	public void postLoop(final SimulationState state) {
 		this.pedOverlapProc.postLoop(state);
 
-		long numberOverlaps = this.pedOverlapProc.getData().size();
+		long numberOverlaps = numberOverlapsBeforeCheckpoint + this.pedOverlapProc.getData().size();
 		this.putValue(NoDataKey.key(), numberOverlaps);
 	}
 
@@ -44,6 +52,7 @@ public void init(final ProcessorManager manager) {
 		super.init(manager);
 		AttributesNumberOverlapsProcessor att = (AttributesNumberOverlapsProcessor) this.getAttributes();
 		this.pedOverlapProc = (PedestrianOverlapProcessor) manager.getProcessor(att.getPedestrianOverlapProcessorId());
+		this.numberOverlapsBeforeCheckpoint = 0;
 	}
 
 
@@ -56,5 +65,13 @@ public AttributesProcessor getAttributes() {
 		return super.getAttributes();
 	}
 
+	@Override
+	public void writeCheckpoint(@NotNull final CheckpointWriter writer) throws IOException {
+		writer.writeLong(numberOverlapsBeforeCheckpoint + this.pedOverlapProc.getData().size());
+	}
 
+	@Override
+	public void readCheckpoint(@NotNull final CheckpointReader reader) throws IOException {
+		numberOverlapsBeforeCheckpoint = reader.readLong();
+	}
 }
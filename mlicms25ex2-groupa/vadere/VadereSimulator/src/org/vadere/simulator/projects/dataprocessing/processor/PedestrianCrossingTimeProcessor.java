@@ -103,4 +103,9 @@ public int[] getReferencedMeasurementAreaId() {
 		AttributesCrossingTimeProcessor att = (AttributesCrossingTimeProcessor) this.getAttributes();
 		return new int[]{att.getWaitingAreaId(), att.getMeasurementAreaId()};
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
@@ -62,4 +62,9 @@ public AttributesProcessor getAttributes() {
 		}
 		return super.getAttributes();
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
@@ -53,4 +53,9 @@ public void init(final ProcessorManager manager) {
 		if (model instanceof OptimalStepsModel)
 			this.osm = (OptimalStepsModel) model;
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
@@ -72,4 +72,8 @@ private List<DynamicElement> getDynElementsAtPosition(final Topography topograph
 		return dynElements.getObjects(sourcePosition, radius);
 	}
 
+	@Override
+	public boolean keepsStateAcrossSteps() {
+		return false;
+	}
 }
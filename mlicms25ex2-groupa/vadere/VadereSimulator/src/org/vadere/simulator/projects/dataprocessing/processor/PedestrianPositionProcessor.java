@@ -69,4 +69,9 @@ public AttributesPedestrianPositionProcessor getAttributes() {
 		}
 		return (AttributesPedestrianPositionProcessor)super.getAttributes();
 	}
+
+	@Override
+	public boolean keepsStateAcrossSteps() {
+		return false;
+	}
 }
@@ -27,4 +27,8 @@ public void doUpdate(final SimulationState state) {
 						p.getNextTargetId()));
 	}
 
+	@Override
+	public boolean keepsStateAcrossSteps() {
+		return false;
+	}
 }
@@ -48,4 +48,9 @@ public VTrajectory getValue(PedestrianIdKey key) {
 	public String[] toStrings(PedestrianIdKey key) {
 		return new String[]{"[" + StateJsonConverter.serializeObject(getValue(key)) + "]"};
 	}
+
+	@Override
+	public boolean requiresFootSteps() {
+		return true;
+	}
 }
@@ -1,7 +1,5 @@
 package org.vadere.simulator.utils.cache;
 
-import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
-
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellGridReadWriter;
 import org.vadere.util.logging.Logger;
@@ -23,7 +21,7 @@ public CellGridTxtCacheObject(String cacheIdentifier, File cacheLocation, InputS
 	@Override
 	public void initializeObjectFromCache(CellGrid object) throws CacheException {
 		try {
-			CellGridReadWriter.read(object).fromTextFile(new FastBufferedInputStream(inputStream));
+			CellGridReadWriter.read(object).fromTextFile(inputStream);
 		} catch (Exception e) {
 			throw new CacheException("Cannot load cache from TXT InputStream", e);
 		}
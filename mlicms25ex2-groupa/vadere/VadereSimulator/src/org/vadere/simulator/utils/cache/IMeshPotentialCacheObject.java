@@ -0,0 +1,6 @@
+package org.vadere.simulator.utils.cache;
+
+import org.vadere.simulator.models.potential.solver.calculators.mesh.AMeshEikonalSolver;
+
+public interface IMeshPotentialCacheObject extends ICacheObject<AMeshEikonalSolver<?, ?, ?>> {
+}
@@ -0,0 +1,74 @@
+package org.vadere.simulator.utils.cache;
+
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinaryReadWriter;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.AMeshEikonalSolver;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Caches the travelling times of a mesh based floor field together with the arrays of the mesh
+ * (see {@link AMeshBinaryReadWriter}). A cache file is memory-mapped and the travelling times are copied
+ * into the mesh of the solver, if the mesh is equal to the cached one.
+ */
+public class MeshBinaryCacheObject extends AbstractCacheObject implements IMeshPotentialCacheObject {
+
+	private  static Logger logger = Logger.getLogger(MeshBinaryCacheObject.class);
+
+	public MeshBinaryCacheObject(String cacheIdentifier, File cacheLocation){
+		super(cacheIdentifier, cacheLocation);
+	}
+
+	public MeshBinaryCacheObject(String cacheIdentifier, File cacheLocation, InputStream inputStream) {
+		super(cacheIdentifier, cacheLocation, inputStream);
+	}
+
+	@Override
+	public void initializeObjectFromCache(AMeshEikonalSolver<?, ?, ?> solver) throws CacheException {
+		try {
+			logger.infof("read cache: %s", getCacheLocation());
+			if (cacheLocation != null) {
+				inputStream.close();
+				AMeshBinaryReadWriter.readVertexData(getMesh(solver), getVertexData(solver), cacheLocation);
+			} else {
+				AMeshBinaryReadWriter.readVertexData(getMesh(solver), getVertexData(solver), inputStream);
+			}
+		} catch (Exception e) {
+			throw new CacheException("Cannot load cache from BIN InputStream", e);
+		}
+	}
+
+	@Override
+	public void persistObject(AMeshEikonalSolver<?, ?, ?> solver) throws CacheException {
+		try {
+			AMeshBinaryReadWriter.write(getMesh(solver), getVertexData(solver), cacheLocation);
+		} catch (IOException e) {
+			logger.errorf("cannot save cache %s", cacheLocation.getAbsolutePath());
+		}
+	}
+
+	@Override
+	public String getCacheLocation() {
+
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+
+	private AMesh getMesh(AMeshEikonalSolver<?, ?, ?> solver) {
+		if (!(solver.getMesh() instanceof AMesh)) {
+			throw new CacheException("binary mesh cache requires an AMesh but got " + solver.getMesh().getClass().getSimpleName());
+		}
+		return (AMesh) solver.getMesh();
+	}
+
+	private Map<String, String> getVertexData(AMeshEikonalSolver<?, ?, ?> solver) {
+		return Map.of(AMeshEikonalSolver.namePotential, solver.getPotentialName());
+	}
+}
@@ -2,11 +2,11 @@
 
 import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.vadere.simulator.projects.Scenario;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.scenario.Topography;
 import org.vadere.state.types.CacheType;
-import org.vadere.state.types.EikonalSolverType;
 import org.vadere.state.util.StateJsonConverter;
 import org.vadere.util.config.VadereConfig;
 import org.vadere.util.logging.Logger;
@@ -14,9 +14,16 @@
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ScenarioCache {
 
@@ -27,13 +34,15 @@ public class ScenarioCache {
 	private static final String Distance_FF = "_distanceFF_";
 	private static final String txt_sufix = ".txt";
 	private static final String bin_sufix = ".ffcache";
+	private static final String mesh_sufix = ".amesh";
 
 	private boolean empty;
 	final private Scenario scenario;
 	private Path cachePath;
 	private AttributesFloorField attFF;
 
-	private HashMap<String, ICacheObject> cacheMap = new HashMap<>();
+	private Map<String, ICacheObject> cacheMap = new ConcurrentHashMap<>();
+	private Set<Integer> targetIds = new HashSet<>();
 	private String hash;
 
 	public static ScenarioCache empty(){
@@ -112,32 +121,34 @@ private ScenarioCache(Scenario scenario, Path cacheParentDir){
 	}
 
 	private void findCacheOnFileSystem(){
-		// add target cache
-		scenario.getTopography().getTargets().forEach(target -> {
-			String cacheIdentifier = targetToIdentifier(target.getId());
-			addCacheByType(attFF.getCreateMethod(), attFF.getCacheType(), cacheIdentifier);
-		});
+		// target caches are added on demand (see getCacheForTarget), since the floor fields of
+		// targets might be computed lazily, i.e. only for some targets.
+		scenario.getTopography().getTargets().forEach(target -> targetIds.add(target.getId()));
 
 		// add BruteForce DistFunction //todo should be configured in scenario
+		// the distance functions are always computed on a CellGrid
 		String cacheIdentifier = distToIdentifier("BruteForce");
-		addCacheByType(attFF.getCreateMethod(), attFF.getCacheType(), cacheIdentifier);
+		cacheMap.put(cacheIdentifier, createCacheByType(true, attFF.getCacheType(), cacheIdentifier));
 	}
 
-	private void addCacheByType(EikonalSolverType eikType, CacheType cacheType, String cacheIdentifier){
+	private ICacheObject createCacheByType(boolean usingCellGrid, CacheType cacheType, String cacheIdentifier){
 
 		File file;
-		if (eikType.isUsingCellGrid()){
+		if (usingCellGrid){
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
-				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, file));
+				return new CellGridTxtCacheObject(cacheIdentifier, file);
 			} else {
 				file = buildBinCachePath(cacheIdentifier).toFile();
-				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, file));
+				return new CellGridBinaryCacheObject(cacheIdentifier, file);
 			}
 		} else {
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
-				cacheMap.put(cacheIdentifier, new MeshTxtCacheObject(cacheIdentifier, file));
+				return new MeshTxtCacheObject(cacheIdentifier, file);
+			} else {
+				file = buildBinCachePath(cacheIdentifier).toFile();
+				return new MeshBinaryCacheObject(cacheIdentifier, file);
 			}
 		}
 	}
@@ -164,6 +175,11 @@ public ScenarioCache addReadOnlyCache(String cacheIdentifier, ByteArrayInputStre
 			throw new IllegalStateException("Empty cache object.");
 		switch (attFF.getCacheType()) {
 			case BIN_CACHE:
+				if (!attFF.getCreateMethod().isUsingCellGrid() && cacheIdentifier.startsWith(TARGET_FF)) {
+					cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, null, stream));
+					logger.infof("binary mesh cache loaded for identifier: %s", cacheIdentifier);
+					break;
+				}
 				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream))));
 				logger.infof("binary cache loaded for identifier: %s", cacheIdentifier);
 				break;
@@ -191,7 +207,12 @@ public ICacheObject getCache(String cacheIdentifier){
 	public ICacheObject getCacheForTarget(int targetId){
 		if (empty)
 			throw new IllegalStateException("Empty cache object.");
-		return getCache(targetToIdentifier(targetId));
+		String cacheIdentifier = targetToIdentifier(targetId);
+		if (targetIds.contains(targetId)) {
+			return cacheMap.computeIfAbsent(cacheIdentifier,
+					identifier -> createCacheByType(attFF.getCreateMethod().isUsingCellGrid(), attFF.getCacheType(), identifier));
+		}
+		return getCache(cacheIdentifier);
 	}
 
 	public ICacheObject getCacheForDistFunction(String distFunction){
@@ -202,6 +223,22 @@ public ICacheObject getCacheForDistFunction(String distFunction){
 
 
 
+	/**
+	 * Returns the location of the binary copy of a mesh of the scenario (see
+	 * {@link org.vadere.meshing.mesh.gen.AMeshBinaryReadWriter}), if the binary cache is active. Like the floor
+	 * field caches the location contains the hash of the content of the poly file, i.e. a changed poly file never
+	 * loads the binary copy of its old version (independent of the modification times of the files).
+	 *
+	 * @param meshFile the poly file of the mesh
+	 */
+	public Optional<Path> getMeshCachePath(Path meshFile) throws IOException {
+		if (empty || attFF.getCacheType() != CacheType.BIN_CACHE)
+			return Optional.empty();
+		try (InputStream in = Files.newInputStream(meshFile)) {
+			return Optional.of(cachePath.resolve(DigestUtils.sha1Hex(in) + "_" + meshFile.getFileName() + mesh_sufix));
+		}
+	}
+
 	public boolean isEmpty() {
 		return empty;
 	}
@@ -0,0 +1,130 @@
+package org.vadere.simulator.utils.checkpoint;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.random.CheckpointableRandom;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the binary representation of a checkpoint written by {@link CheckpointWriter}.
+ */
+public class CheckpointReader implements Closeable {
+
+	private final DataInputStream in;
+
+	public CheckpointReader(@NotNull final InputStream in) {
+		this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+	}
+
+	/**
+	 * Reads a section tag and verifies that it is the expected one.
+	 *
+	 * @throws IOException if the checkpoint contains a different section at this position
+	 */
+	public void readSection(@NotNull final String name) throws IOException {
+		String section = readString();
+		if (!section.equals(name)) {
+			throw new IOException("corrupt or incompatible checkpoint: expected section \"" + name + "\" but found \"" + section + "\"");
+		}
+	}
+
+	public int readInt() throws IOException {
+		return in.readInt();
+	}
+
+	public long readLong() throws IOException {
+		return in.readLong();
+	}
+
+	public double readDouble() throws IOException {
+		return in.readDouble();
+	}
+
+	public boolean readBoolean() throws IOException {
+		return in.readBoolean();
+	}
+
+	public String readString() throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("corrupt checkpoint: negative string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public VPoint readPoint() throws IOException {
+		double x = in.readDouble();
+		double y = in.readDouble();
+		return new VPoint(x, y);
+	}
+
+	@Nullable
+	public VPoint readNullablePoint() throws IOException {
+		return in.readBoolean() ? readPoint() : null;
+	}
+
+	public int[] readInts() throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	public LinkedList<Integer> readIntegers() throws IOException {
+		int size = in.readInt();
+		LinkedList<Integer> values = new LinkedList<>();
+		for (int i = 0; i < size; i++) {
+			values.add(in.readInt());
+		}
+		return values;
+	}
+
+	/**
+	 * Replaces the entries of the map by the entries written by {@link CheckpointWriter#writeIntDoubleMap(Map)},
+	 * the entries are put in the order in which they were written.
+	 */
+	public void readIntDoubleMap(@NotNull final Map<Integer, Double> map) throws IOException {
+		map.clear();
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			int key = in.readInt();
+			map.put(key, in.readDouble());
+		}
+	}
+
+	public List<FootStep> readFootSteps() throws IOException {
+		int size = in.readInt();
+		List<FootStep> footSteps = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			VPoint start = readPoint();
+			VPoint end = readPoint();
+			double startTime = in.readDouble();
+			footSteps.add(new FootStep(start, end, startTime, in.readDouble()));
+		}
+		return footSteps;
+	}
+
+	public void readRandom(@NotNull final CheckpointableRandom random) throws IOException {
+		random.readState(in);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
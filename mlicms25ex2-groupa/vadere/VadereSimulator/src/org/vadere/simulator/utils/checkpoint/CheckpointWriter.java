@@ -0,0 +1,115 @@
+package org.vadere.simulator.utils.checkpoint;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.random.CheckpointableRandom;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Writes the binary representation of a checkpoint, see {@link CheckpointReader} for the counterpart. Each part
+ * of the checkpoint starts with a section tag, which is verified while reading, i.e. a checkpoint of a different
+ * configuration fails early instead of reading garbage.
+ */
+public class CheckpointWriter implements Closeable {
+
+	private final DataOutputStream out;
+
+	public CheckpointWriter(@NotNull final OutputStream out) {
+		this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+	}
+
+	public void writeSection(@NotNull final String name) throws IOException {
+		writeString(name);
+	}
+
+	public void writeInt(final int value) throws IOException {
+		out.writeInt(value);
+	}
+
+	public void writeLong(final long value) throws IOException {
+		out.writeLong(value);
+	}
+
+	public void writeDouble(final double value) throws IOException {
+		out.writeDouble(value);
+	}
+
+	public void writeBoolean(final boolean value) throws IOException {
+		out.writeBoolean(value);
+	}
+
+	/**
+	 * Writes a string of any length (in contrast to {@link DataOutputStream#writeUTF(String)}).
+	 */
+	public void writeString(@NotNull final String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	public void writePoint(@NotNull final VPoint point) throws IOException {
+		out.writeDouble(point.x);
+		out.writeDouble(point.y);
+	}
+
+	public void writeNullablePoint(@Nullable final VPoint point) throws IOException {
+		out.writeBoolean(point != null);
+		if (point != null) {
+			writePoint(point);
+		}
+	}
+
+	public void writeInts(@NotNull final int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	public void writeIntegers(@NotNull final Collection<Integer> values) throws IOException {
+		out.writeInt(values.size());
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	/**
+	 * Writes the entries of the map in its iteration order.
+	 */
+	public void writeIntDoubleMap(@NotNull final Map<Integer, Double> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<Integer, Double> entry : map.entrySet()) {
+			out.writeInt(entry.getKey());
+			out.writeDouble(entry.getValue());
+		}
+	}
+
+	public void writeFootSteps(@NotNull final Collection<FootStep> footSteps) throws IOException {
+		out.writeInt(footSteps.size());
+		for (FootStep footStep : footSteps) {
+			writePoint(footStep.getStart());
+			writePoint(footStep.getEnd());
+			out.writeDouble(footStep.getStartTime());
+			out.writeDouble(footStep.getEndTime());
+		}
+	}
+
+	public void writeRandom(@NotNull final CheckpointableRandom random) throws IOException {
+		random.writeState(out);
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,19 @@
+package org.vadere.simulator.utils.checkpoint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * A part of a simulation (a model, a controller or an agent) whose state between two time steps is written to a
+ * checkpoint of the simulation and read from it to continue the simulation, see
+ * {@link org.vadere.simulator.control.simulation.SimulationCheckpoint}. Only the state which can not be derived
+ * from the scenario and the (restored) agents has to be written. {@link #readCheckpoint(CheckpointReader)} has
+ * to read exactly what {@link #writeCheckpoint(CheckpointWriter)} wrote.
+ */
+public interface Checkpointable {
+
+	void writeCheckpoint(@NotNull CheckpointWriter writer) throws IOException;
+
+	void readCheckpoint(@NotNull CheckpointReader reader) throws IOException;
+}
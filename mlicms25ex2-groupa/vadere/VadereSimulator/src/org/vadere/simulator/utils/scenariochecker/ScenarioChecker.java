@@ -12,7 +12,10 @@
 import org.vadere.simulator.utils.scenariochecker.checks.topography.*;
 import org.vadere.state.scenario.Topography;
 
+import java.util.List;
 import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class ScenarioChecker {
 	public static final String CHECKER_ON = "on";
@@ -21,6 +24,7 @@ public class ScenarioChecker {
 
 	private final Topography topography;
 	private final Scenario scenario;
+	private ScenarioElementIndex elementIndex;
 
 	public ScenarioChecker(@NotNull final Topography topography) {
 		Scenario s = new Scenario("");
@@ -44,11 +48,21 @@ public Scenario getScenario() {
 
 
 	public PriorityQueue<ScenarioCheckerMessage> checkOverlap() {
-		return runCheck(new TopographyOverlapCheck());
+		return new TopographyOverlapCheck().runScenarioCheckerTest(getElementIndex());
 	}
 
 	public PriorityQueue<ScenarioCheckerMessage> checkObstacleRepulsion() {
-		return runCheck(new ObstacleRepulsionCheck());
+		return new ObstacleRepulsionCheck().runScenarioCheckerTest(topography, getElementIndex());
+	}
+
+	/**
+	 * The bounding box index of the scenario elements is shared by the pairwise topography checks.
+	 */
+	private synchronized ScenarioElementIndex getElementIndex() {
+		if (elementIndex == null) {
+			elementIndex = ScenarioElementIndex.of(topography);
+		}
+		return elementIndex;
 	}
 
 
@@ -58,27 +72,39 @@ private PriorityQueue<ScenarioCheckerMessage> runCheck(ScenarioCheckerTest check
 		return checkerTest.runScenarioCheckerTest(scenario);
 	}
 
+	/**
+	 * Runs all checks of the building step. The checks are independent of each other and only read
+	 * the scenario, therefore they run in parallel. The messages are added in a fixed order such that
+	 * the result is the same as for a sequential run.
+	 */
 	public PriorityQueue<ScenarioCheckerMessage> checkBuildingStep() {
+		List<Supplier<PriorityQueue<ScenarioCheckerMessage>>> checks = List.of(
+				this::checkValidTargetsInSource,
+				this::checkUniqueSourceId,
+				this::checkUnusedTargets,
+				this::checkStairTreadSanity,
+				this::checkPedestrianSpeedSetup,
+				this::checkOverlap,
+				this::checkObstacleRepulsion,
+				this::checkSimulationAttribues,
+				this::checkSourceSpawnSetting,
+				this::checkMinSourceRadius,
+				this::checkObstacleArea,
+				this::checkTargetNoAbsorber,
+				this::checkTargetAbsorberNotLast,
+				() -> runCheck(new TopographyOffsetCheck()),
+				() -> runCheck(new DataProcessorsLinkedToMeasurementArea()),
+				() -> runCheck(new CheckAreasInAreaDensityVoronoiProcessor()),
+				() -> runCheck(new GroupSetupCheck()),
+				() -> runCheck(new CellularAutomatonSetupCheck()),
+				() -> runCheck(new StimulusCheck()));
+
+		List<PriorityQueue<ScenarioCheckerMessage>> results = checks.parallelStream()
+				.map(Supplier::get)
+				.collect(Collectors.toList());
+
 		PriorityQueue<ScenarioCheckerMessage> ret = new PriorityQueue<>();
-		ret.addAll(checkValidTargetsInSource());
-		ret.addAll(checkUniqueSourceId());
-		ret.addAll(checkUnusedTargets());
-		ret.addAll(checkStairTreadSanity());
-		ret.addAll(checkPedestrianSpeedSetup());
-		ret.addAll(checkOverlap());
-		ret.addAll(checkObstacleRepulsion());
-		ret.addAll(checkSimulationAttribues());
-		ret.addAll(checkSourceSpawnSetting());
-		ret.addAll(checkMinSourceRadius());
-		ret.addAll(checkObstacleArea());
-		ret.addAll(checkTargetNoAbsorber());
-		ret.addAll(checkTargetAbsorberNotLast());
-		ret.addAll(runCheck(new TopographyOffsetCheck()));
-		ret.addAll(runCheck(new DataProcessorsLinkedToMeasurementArea()));
-		ret.addAll(runCheck(new CheckAreasInAreaDensityVoronoiProcessor()));
-		ret.addAll(runCheck(new GroupSetupCheck()));
-		ret.addAll(runCheck(new CellularAutomatonSetupCheck()));
-		ret.addAll(runCheck(new StimulusCheck()));
+		results.forEach(ret::addAll);
 		return ret;
 	}
 
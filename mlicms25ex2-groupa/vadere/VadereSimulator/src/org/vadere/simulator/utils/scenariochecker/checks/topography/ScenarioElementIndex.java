@@ -0,0 +1,114 @@
+package org.vadere.simulator.utils.scenariochecker.checks.topography;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.ScenarioElement;
+import org.vadere.state.scenario.Topography;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A sweep and prune index over the bounding boxes of the scenario elements of a topography. The pairwise
+ * topography checks only have to test pairs of elements whose bounding boxes (enlarged by some margin)
+ * intersect, instead of all n*(n-1)/2 pairs. The index is immutable and can be shared by multiple checks,
+ * i.e. {@link org.vadere.simulator.utils.scenariochecker.ScenarioChecker} builds it only once.
+ */
+public class ScenarioElementIndex {
+
+	private final List<ScenarioElement> elements;
+	private final double[] minX;
+	private final double[] minY;
+	private final double[] maxX;
+	private final double[] maxY;
+
+	/**
+	 * indices of the elements sorted by the minimal x-coordinate of their bounding box.
+	 */
+	private final int[] sweepOrder;
+
+	public ScenarioElementIndex(@NotNull final List<? extends ScenarioElement> elements) {
+		this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+		int n = this.elements.size();
+		this.minX = new double[n];
+		this.minY = new double[n];
+		this.maxX = new double[n];
+		this.maxY = new double[n];
+
+		for (int i = 0; i < n; i++) {
+			Rectangle2D bound = this.elements.get(i).getShape().getBounds2D();
+			minX[i] = bound.getMinX();
+			minY[i] = bound.getMinY();
+			maxX[i] = bound.getMaxX();
+			maxY[i] = bound.getMaxY();
+		}
+
+		this.sweepOrder = IntStream.range(0, n)
+				.boxed()
+				.sorted(Comparator.comparingDouble(i -> minX[i]))
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	public static ScenarioElementIndex of(@NotNull final Topography topography) {
+		return new ScenarioElementIndex(topography.getAllScenarioElements());
+	}
+
+	/**
+	 * @return the indexed elements in the order of {@link Topography#getAllScenarioElements()}
+	 */
+	public List<ScenarioElement> getElements() {
+		return elements;
+	}
+
+	/**
+	 * Calls the consumer for each pair (a, b) of elements accepted by the filter whose bounding boxes
+	 * have a distance of at most <tt>margin</tt> in both directions. The pairs are reported in the same
+	 * order as a double loop over {@link #getElements()} would report them (a is before b), therefore the
+	 * result of a check does not depend on the index.
+	 *
+	 * @param margin    the maximal distance of the bounding boxes, 0 means the boxes have to intersect
+	 * @param filter    only elements accepted by this filter are considered
+	 * @param consumer  the consumer of the candidate pairs
+	 */
+	public void forEachCandidatePair(final double margin,
+	                                 @NotNull final Predicate<ScenarioElement> filter,
+	                                 @NotNull final BiConsumer<ScenarioElement, ScenarioElement> consumer) {
+		int n = elements.size();
+		boolean[] accepted = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			accepted[i] = filter.test(elements.get(i));
+		}
+
+		long[] pairs = new long[16];
+		int size = 0;
+		for (int k = 0; k < n; k++) {
+			int a = sweepOrder[k];
+			if (!accepted[a]) {
+				continue;
+			}
+
+			double sweepEnd = maxX[a] + margin;
+			for (int l = k + 1; l < n && minX[sweepOrder[l]] <= sweepEnd; l++) {
+				int b = sweepOrder[l];
+				if (accepted[b] && minY[b] <= maxY[a] + margin && minY[a] <= maxY[b] + margin) {
+					if (size == pairs.length) {
+						pairs = Arrays.copyOf(pairs, 2 * size);
+					}
+					pairs[size++] = (long) Math.min(a, b) * n + Math.max(a, b);
+				}
+			}
+		}
+
+		Arrays.sort(pairs, 0, size);
+		for (int i = 0; i < size; i++) {
+			consumer.accept(elements.get((int) (pairs[i] / n)), elements.get((int) (pairs[i] % n)));
+		}
+	}
+}
@@ -12,13 +12,17 @@
 import org.vadere.state.scenario.Topography;
 import org.vadere.state.types.ScenarioElementType;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 public class TopographyOverlapCheck extends AbstractScenarioCheck implements TopographyCheckerTest {
 
 
+	private static final Set<ScenarioElementType> CHECKED_TYPES = EnumSet.of(ScenarioElementType.OBSTACLE,
+			ScenarioElementType.SOURCE, ScenarioElementType.TARGET, ScenarioElementType.STAIRS);
+
 	private BiFunction<ScenarioElementType, ScenarioElementType, Boolean> useTest;
 
 	public TopographyOverlapCheck(){
@@ -27,70 +31,73 @@ public TopographyOverlapCheck(){
 
 	@Override
 	public PriorityQueue<ScenarioCheckerMessage> runScenarioCheckerTest(Topography topography) {
-		PriorityQueue<ScenarioCheckerMessage> ret = new PriorityQueue<>();
-
-		ArrayList<ScenarioElement> all = topography.getAllScenarioElements();
-		for (int i = 0; i < all.size(); i++) {
-			for (int j = i + 1; j < all.size(); j++) {
-				ScenarioElement elementA = all.get(i);
-				ScenarioElement elementB = all.get(j);
+		return runScenarioCheckerTest(ScenarioElementIndex.of(topography));
+	}
 
-				// same Type complete overlap
-				if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.OBSTACLE, ScenarioElementType.OBSTACLE)) {
+	/**
+	 * Only elements with intersecting bounding boxes can overlap, therefore only the candidate pairs
+	 * of the index are tested.
+	 */
+	public PriorityQueue<ScenarioCheckerMessage> runScenarioCheckerTest(ScenarioElementIndex index) {
+		PriorityQueue<ScenarioCheckerMessage> ret = new PriorityQueue<>();
+		index.forEachCandidatePair(0.0, element -> CHECKED_TYPES.contains(element.getType()),
+				(elementA, elementB) -> checkPair(elementA, elementB, ret));
+		return ret;
+	}
 
-					handelObstacleObstacleOverlap(elementA, elementB, ret);
+	private void checkPair(ScenarioElement elementA, ScenarioElement elementB, PriorityQueue<ScenarioCheckerMessage> ret) {
+		// same Type complete overlap
+		if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.OBSTACLE, ScenarioElementType.OBSTACLE)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.OBSTACLE, ScenarioElementType.SOURCE)) {
-					handelObstacleSourceOverlap(elementA, elementB, ret);
+			handelObstacleObstacleOverlap(elementA, elementB, ret);
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.OBSTACLE, ScenarioElementType.TARGET)) {
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.OBSTACLE, ScenarioElementType.SOURCE)) {
+			handelObstacleSourceOverlap(elementA, elementB, ret);
 
-					handelObstacleTargetOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.OBSTACLE, ScenarioElementType.TARGET)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.OBSTACLE, ScenarioElementType.STAIRS)) {
+			handelObstacleTargetOverlap(elementA, elementB, ret);
 
-					handelObstacleStairsOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.OBSTACLE, ScenarioElementType.STAIRS)) {
 
+			handelObstacleStairsOverlap(elementA, elementB, ret);
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.SOURCE, ScenarioElementType.SOURCE)) {
 
-					handelSourceSourceOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.SOURCE, ScenarioElementType.SOURCE)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.SOURCE, ScenarioElementType.TARGET)) {
+			handelSourceSourceOverlap(elementA, elementB, ret);
 
-					handelSourceTargetOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.SOURCE, ScenarioElementType.TARGET)) {
 
+			handelSourceTargetOverlap(elementA, elementB, ret);
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.SOURCE, ScenarioElementType.STAIRS)) {
 
-					handelSourceStairsOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.SOURCE, ScenarioElementType.STAIRS)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.TARGET, ScenarioElementType.TARGET)) {
+			handelSourceStairsOverlap(elementA, elementB, ret);
 
-					handelTargetTargetOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.TARGET, ScenarioElementType.TARGET)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.TARGET, ScenarioElementType.STAIRS)) {
+			handelTargetTargetOverlap(elementA, elementB, ret);
 
-					handelTargetStairsOverlap(elementA, elementB, ret);
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.TARGET, ScenarioElementType.STAIRS)) {
 
-				} else if (isTestActive(useTest, elementA, elementB,
-						ScenarioElementType.STAIRS, ScenarioElementType.STAIRS)) {
+			handelTargetStairsOverlap(elementA, elementB, ret);
 
-					handelStairStairOverlap(elementA, elementB, ret);
-				}
+		} else if (isTestActive(useTest, elementA, elementB,
+				ScenarioElementType.STAIRS, ScenarioElementType.STAIRS)) {
 
-			}
+			handelStairStairOverlap(elementA, elementB, ret);
 		}
-		return ret;
 	}
 
 
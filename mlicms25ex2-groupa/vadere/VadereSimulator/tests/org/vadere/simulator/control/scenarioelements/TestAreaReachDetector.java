@@ -0,0 +1,213 @@
+package org.vadere.simulator.control.scenarioelements;
+
+import org.junit.jupiter.api.Test;
+import org.vadere.state.attributes.AttributesAbsorber;
+import org.vadere.state.attributes.scenario.AttributesAbsorbingArea;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTargetChanger;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.scenario.AbsorbingArea;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.ScenarioElement;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.TargetChanger;
+import org.vadere.state.scenario.TargetPedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the {@link AreaReachDetector} with the per area test of the controllers: an agent has reached an area
+ * if the area contains its position or if its distance to the area is smaller than the reach (deletion) distance.
+ */
+public class TestAreaReachDetector {
+
+	private static final double SIZE = 30;
+
+	@Test
+	public void testMatchesThePerAreaTest() {
+		Random random = new Random(1);
+		Topography topography = createTopography(random);
+		List<ScenarioElement> areas = new ArrayList<>();
+		areas.addAll(topography.getTargets());
+		areas.addAll(topography.getTargetChangers());
+		areas.addAll(topography.getAbsorbingAreas());
+
+		// random positions and positions on the boundaries of the shapes and of their reach
+		List<VPoint> positions = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			positions.add(new VPoint(SIZE * random.nextDouble(), SIZE * random.nextDouble()));
+		}
+		for (ScenarioElement area : areas) {
+			Rectangle2D bounds = area.getShape().getBounds2D();
+			double reach = Math.max(0, reachDistance(area));
+			for (double offset : new double[]{0, reach}) {
+				positions.add(new VPoint(bounds.getMinX() - offset, bounds.getMinY() - offset));
+				positions.add(new VPoint(bounds.getMaxX() + offset, bounds.getMaxY() + offset));
+				positions.add(new VPoint(bounds.getMinX() - offset, bounds.getCenterY()));
+				positions.add(new VPoint(bounds.getCenterX(), bounds.getMaxY() + offset));
+			}
+			positions.add(new VPoint(bounds.getCenterX(), bounds.getCenterY()));
+		}
+		for (VPoint position : positions) {
+			addPedestrian(topography, position, random);
+		}
+
+		AreaReachDetector detector = new AreaReachDetector();
+		detector.detect(topography);
+
+		int reached = 0;
+		for (ScenarioElement area : areas) {
+			if (area instanceof TargetPedestrian) {
+				assertNull(detector.getAgentsWithinReach(area));
+				continue;
+			}
+			TreeSet<Integer> expected = new TreeSet<>();
+			for (Pedestrian pedestrian : topography.getElements(Pedestrian.class)) {
+				if (hasReached(area, pedestrian.getPosition())) {
+					expected.add(pedestrian.getId());
+				}
+			}
+			assertEquals(expected, new TreeSet<>(detector.getAgentsWithinReach(area)), "area " + area.getId());
+			reached += expected.size();
+		}
+		assertTrue(reached > 0);
+
+		// an area added after the detection is not part of it
+		AbsorbingArea added = new AbsorbingArea(new AttributesAbsorbingArea(new VRectangle(1, 1, 1, 1), 99));
+		topography.addAbsorbingArea(added);
+		assertNull(detector.getAgentsWithinReach(added));
+	}
+
+	@Test
+	public void testAbsorbingAreasRemoveTheSameAgents() {
+		Random random = new Random(1);
+		Topography expected = createTopography(random);
+		random = new Random(1);
+		Topography actual = createTopography(random);
+		List<Integer> expectedRemoved = new ArrayList<>();
+		List<Integer> actualRemoved = new ArrayList<>();
+		expected.addElementRemovedListener(Pedestrian.class, pedestrian -> expectedRemoved.add(pedestrian.getId()));
+		actual.addElementRemovedListener(Pedestrian.class, pedestrian -> actualRemoved.add(pedestrian.getId()));
+
+		Random positions = new Random(2);
+		for (int i = 0; i < 2000; i++) {
+			VPoint position = new VPoint(SIZE * positions.nextDouble(), SIZE * positions.nextDouble());
+			addPedestrian(expected, position, random);
+			addPedestrian(actual, position, random);
+		}
+
+		List<AbsorbingAreaController> expectedControllers = new ArrayList<>();
+		for (AbsorbingArea absorbingArea : expected.getAbsorbingAreas()) {
+			expectedControllers.add(new AbsorbingAreaController(expected, absorbingArea));
+		}
+		List<AbsorbingAreaController> actualControllers = new ArrayList<>();
+		for (AbsorbingArea absorbingArea : actual.getAbsorbingAreas()) {
+			actualControllers.add(new AbsorbingAreaController(actual, absorbingArea));
+		}
+		AreaReachDetector detector = new AreaReachDetector();
+
+		Random steps = new Random(3);
+		for (int step = 0; step < 20; step++) {
+			double dx = steps.nextDouble() - 0.5;
+			double dy = steps.nextDouble() - 0.5;
+			move(expected, dx, dy);
+			move(actual, dx, dy);
+
+			for (AbsorbingAreaController controller : expectedControllers) {
+				controller.update(step);
+			}
+			detector.detect(actual);
+			for (AbsorbingAreaController controller : actualControllers) {
+				controller.update(step, detector);
+			}
+			assertEquals(expectedRemoved, actualRemoved, "step " + step);
+		}
+		assertTrue(expectedRemoved.size() > 0);
+	}
+
+	private static Topography createTopography(final Random random) {
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, SIZE, SIZE));
+		Topography topography = new Topography(attributesTopography, new AttributesAgent());
+
+		int id = 1;
+		for (int i = 0; i < 15; i++) {
+			AttributesTarget attributesTarget = new AttributesTarget(randomShape(random, i), id++, true);
+			// negative and zero distances only count positions inside of the shape
+			attributesTarget.setAbsorberAttributes(new AttributesAbsorber(true, i == 0 ? -0.5 : i == 1 ? 0 : 1.5 * random.nextDouble()));
+			topography.addTarget(new Target(attributesTarget));
+		}
+		for (int i = 0; i < 6; i++) {
+			AttributesTargetChanger attributesTargetChanger = new AttributesTargetChanger(randomShape(random, i), id++);
+			attributesTargetChanger.setReachDistance(random.nextDouble());
+			topography.addTargetChanger(new TargetChanger(attributesTargetChanger));
+		}
+		for (int i = 0; i < 6; i++) {
+			topography.addAbsorbingArea(new AbsorbingArea(new AttributesAbsorbingArea(randomShape(random, i), id++, random.nextDouble())));
+		}
+
+		Pedestrian followed = new Pedestrian(new AttributesAgent(1000000), random);
+		followed.setPosition(new VPoint(SIZE / 2, SIZE / 2));
+		topography.addTarget(new TargetPedestrian(followed));
+		return topography;
+	}
+
+	private static VShape randomShape(final Random random, final int i) {
+		double x = 1 + (SIZE - 6) * random.nextDouble();
+		double y = 1 + (SIZE - 6) * random.nextDouble();
+		double size = 0.2 + 3 * random.nextDouble();
+		switch (i % 3) {
+			case 0:
+				return new VRectangle(x, y, size, 0.5 * size + 0.1);
+			case 1:
+				return new VCircle(x, y, size / 2);
+			default:
+				return GeometryUtils.polygonFromPoints2D(new VPoint(x, y), new VPoint(x + size, y + 0.3 * size), new VPoint(x + 0.2 * size, y + size));
+		}
+	}
+
+	private static double reachDistance(final ScenarioElement area) {
+		if (area instanceof Target) {
+			return ((Target) area).getAttributes().getAbsorberAttributes().getDeletionDistance();
+		} else if (area instanceof TargetChanger) {
+			return ((TargetChanger) area).getAttributes().getReachDistance();
+		}
+		return ((AbsorbingArea) area).getAttributes().getDeletionDistance();
+	}
+
+	private static boolean hasReached(final ScenarioElement area, final VPoint position) {
+		VShape shape = area.getShape();
+		return shape.contains(position) || shape.distance(position) < reachDistance(area);
+	}
+
+	private static void addPedestrian(final Topography topography, final VPoint position, final Random random) {
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(topography.getNextDynamicElementId()), random);
+		pedestrian.setPosition(position);
+		topography.addElement(pedestrian);
+	}
+
+	private static void move(final Topography topography, final double dx, final double dy) {
+		for (Pedestrian pedestrian : new ArrayList<>(topography.getElements(Pedestrian.class))) {
+			VPoint oldPosition = pedestrian.getPosition();
+			pedestrian.setPosition(new VPoint(
+					Math.max(0, Math.min(SIZE, oldPosition.x + dx)),
+					Math.max(0, Math.min(SIZE, oldPosition.y + dy))));
+			topography.moveElement(pedestrian, oldPosition);
+		}
+	}
+}
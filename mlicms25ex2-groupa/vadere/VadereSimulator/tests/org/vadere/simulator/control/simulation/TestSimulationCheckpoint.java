@@ -0,0 +1,88 @@
+package org.vadere.simulator.control.simulation;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Round trip of a {@link SimulationCheckpoint}: the supermarket scenario (optimal steps model, sources, number of
+ * overlaps) writes a checkpoint after 24 s, a second run continues from the checkpoint. The continuation has to
+ * produce the same trajectories, overlaps and number of overlaps as the run which wrote the checkpoint, and writing
+ * the checkpoint must not change the run.
+ */
+public class TestSimulationCheckpoint {
+
+	private static final double CHECKPOINT_TIME = 24.0;
+	private static final double STEP_LENGTH = 0.4;
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testContinuationIsIdentical() throws Exception {
+		Path checkpoint = new File(directory, "supermarket.ckpt").toPath();
+		Path plain = run("plain", null, null);
+		Path written = run("write", checkpoint, null);
+		Path restored = run("restore", null, checkpoint);
+
+		assertEquals(readLines(plain, "postvis.traj"), readLines(written, "postvis.traj"));
+		assertEquals(readLines(plain, "overlapCount.txt"), readLines(written, "overlapCount.txt"));
+
+		// the trajectories of the steps after the checkpoint, i.e. the footsteps which start after it
+		List<String> expected = rowsAfter(readLines(written, "postvis.traj"), 1, CHECKPOINT_TIME);
+		List<String> actual = rowsAfter(readLines(restored, "postvis.traj"), 1, CHECKPOINT_TIME);
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, actual);
+
+		double checkpointStep = Math.round(CHECKPOINT_TIME / STEP_LENGTH);
+		assertEquals(rowsAfter(readLines(written, "overlaps.csv"), 0, checkpointStep),
+				rowsAfter(readLines(restored, "overlaps.csv"), 0, checkpointStep));
+		// the restored processor continues counting from the checkpoint
+		assertEquals(readLines(written, "overlapCount.txt"), readLines(restored, "overlapCount.txt"));
+	}
+
+	private Path run(final String name, @Nullable final Path checkpoint, @Nullable final Path restoreCheckpoint) throws IOException, URISyntaxException {
+		Path scenarioFile = Paths.get(getClass().getResource("/checkpoint/supermarket.scenario").toURI());
+		Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+		Path outputDir = new File(directory, name).toPath();
+		ScenarioRun scenarioRun = new ScenarioRun(scenario, outputDir.toString(), true, null, scenarioFile, ScenarioCache.empty());
+		if (checkpoint != null) {
+			scenarioRun.setCheckpoint(CHECKPOINT_TIME, checkpoint);
+		}
+		if (restoreCheckpoint != null) {
+			scenarioRun.setRestoreCheckpoint(restoreCheckpoint);
+		}
+		scenarioRun.run();
+		return outputDir;
+	}
+
+	private static List<String> readLines(final Path outputDir, final String fileName) throws IOException {
+		return Files.readAllLines(outputDir.resolve(fileName));
+	}
+
+	/**
+	 * @return the rows (without the header) whose value in the column is larger than the given value, sorted
+	 */
+	private static List<String> rowsAfter(final List<String> lines, final int column, final double value) {
+		return lines.stream()
+				.skip(1)
+				.filter(line -> Double.parseDouble(line.split(" ")[column]) > value)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,223 @@
+package org.vadere.simulator.models.groups.cgm;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.models.AttributesCGM;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.PedestrianPair;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VLine;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the cached geometry of a {@link CentroidGroup} with the values computed from scratch, as the group
+ * computed them before it cached them, while members move, join, leave, get lost and the potential field changes.
+ */
+public class TestCentroidGroup {
+
+	private Random random;
+	private Topography topography;
+	private CentroidGroupModel model;
+
+	/**
+	 * the potential is the distance to this point.
+	 */
+	private VPoint destination;
+	private AtomicInteger evaluations;
+
+	@BeforeEach
+	public void setUp() {
+		random = new Random(1);
+		topography = new Topography();
+		topography.addObstacle(new Obstacle(new AttributesObstacle(1, new VRectangle(4, 4, 0.5, 2))));
+
+		destination = new VPoint(9, 5);
+		evaluations = new AtomicInteger();
+		model = new CentroidGroupModel();
+		model.initialize(List.of(new AttributesCGM()), new Domain(topography), new AttributesAgent(), random);
+		model.setPotentialFieldTarget(createPotentialField());
+	}
+
+	@Test
+	public void testCacheMatchesRecomputedValues() {
+		CentroidGroup group = new CentroidGroup(0, 5, model);
+		List<Pedestrian> outside = new ArrayList<>();
+		int id = 1;
+		for (; id <= 3; id++) {
+			group.addMember(createPedestrian(id));
+		}
+		assertSameGeometry(group, outside);
+
+		for (int i = 0; i < 200; i++) {
+			List<Pedestrian> members = group.getMembers();
+			Pedestrian member = members.get(random.nextInt(members.size()));
+			switch (random.nextInt(6)) {
+				case 0:
+					if (!group.isFull()) {
+						group.addMember(createPedestrian(id++));
+					}
+					break;
+				case 1:
+					if (members.size() > 1) {
+						group.removeMember(member);
+						outside.add(member);
+					}
+					break;
+				case 2:
+					if (group.isLostMember(member)) {
+						group.wakeFromLostMember(member);
+					} else {
+						group.setLostMember(member);
+					}
+					break;
+				case 3:
+					// the potential field changes between two steps, the model invalidates the cache
+					destination = new VPoint(8 + 2 * random.nextDouble(), 2 + 6 * random.nextDouble());
+					group.invalidateGeometry();
+					break;
+				case 4:
+					group.setPotentialFieldTarget(createPotentialField());
+					break;
+				default:
+					member.setPosition(randomPosition());
+			}
+			assertSameGeometry(group, outside);
+		}
+	}
+
+	@Test
+	public void testUnchangedGroupDoesNotEvaluateThePotentialAgain() {
+		CentroidGroup group = new CentroidGroup(0, 3, model);
+		for (int id = 1; id <= 3; id++) {
+			group.addMember(createPedestrian(id));
+		}
+		assertSameGeometry(group, List.of());
+		int count = evaluations.get();
+
+		for (Pedestrian member : group.getMembers()) {
+			group.getPacemaker(member);
+			group.getRelativeDistanceCentroid(member);
+			group.getMemberPotential(member);
+		}
+		group.getPotentialDist();
+		assertEquals(count, evaluations.get());
+
+		group.getMembers().get(1).setPosition(randomPosition());
+		group.getPotentialDist();
+		assertEquals(count + 3, evaluations.get());
+	}
+
+	private IPotentialFieldTarget createPotentialField() {
+		IPotentialFieldTarget potentialField = mock(IPotentialFieldTarget.class);
+		when(potentialField.getPotential(any(IPoint.class), any(Agent.class))).thenAnswer(invocation -> {
+			evaluations.incrementAndGet();
+			return destination.distance(invocation.<IPoint>getArgument(0));
+		});
+		return potentialField;
+	}
+
+	private double potential(final Pedestrian pedestrian) {
+		return destination.distance(pedestrian.getPosition());
+	}
+
+	private Pedestrian createPedestrian(final int id) {
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(id), random);
+		pedestrian.setPosition(randomPosition());
+		return pedestrian;
+	}
+
+	private VPoint randomPosition() {
+		return new VPoint(2 + 5 * random.nextDouble(), 2 + 6 * random.nextDouble());
+	}
+
+	/**
+	 * Compares the cached values with the values computed from scratch, for all members and for pedestrians
+	 * which are not (no longer) members of the group.
+	 */
+	private void assertSameGeometry(final CentroidGroup group, final List<Pedestrian> outside) {
+		List<Pedestrian> members = group.getMembers();
+		List<Pedestrian> pedestrians = new ArrayList<>(members);
+		pedestrians.addAll(outside);
+		for (Pedestrian pedestrian : pedestrians) {
+			assertSame(expectedPacemaker(group, pedestrian), group.getPacemaker(pedestrian));
+			assertEquals(expectedRelativeDistanceCentroid(group, pedestrian), group.getRelativeDistanceCentroid(pedestrian));
+			assertEquals(potential(pedestrian), group.getMemberPotential(pedestrian));
+		}
+
+		List<PedestrianPair> pairs = group.getMemberPairs();
+		List<Pair<PedestrianPair, Double>> euclidDist = group.getEuclidDist();
+		List<Pair<PedestrianPair, Double>> potentialDist = group.getPotentialDist();
+		List<Pair<PedestrianPair, Boolean>> intersectObstacle = group.getPairIntersectObstacle();
+		assertEquals(members.size() * (members.size() - 1) / 2, pairs.size());
+		for (int i = 0, k = 0; i < members.size(); i++) {
+			for (int j = i + 1; j < members.size(); j++, k++) {
+				Pedestrian left = members.get(i);
+				Pedestrian right = members.get(j);
+				assertSame(left, pairs.get(k).getLeft());
+				assertSame(right, pairs.get(k).getRight());
+				assertSame(pairs.get(k), euclidDist.get(k).getKey());
+				assertEquals(left.getPosition().distance(right.getPosition()), euclidDist.get(k).getValue());
+				assertEquals(Math.abs(potential(left) - potential(right)), potentialDist.get(k).getValue());
+				VLine line = new VLine(left.getPosition(), right.getPosition());
+				boolean intersects = topography.getObstacles().stream().anyMatch(o -> o.getShape().intersects(line));
+				assertEquals(intersects, intersectObstacle.get(k).getValue());
+			}
+		}
+	}
+
+	private Pedestrian expectedPacemaker(final CentroidGroup group, final Pedestrian ped) {
+		Pedestrian pacemaker = group.getMembers().get(0);
+		double smallestDistance = potential(pacemaker);
+		for (Pedestrian p : group.getMembers()) {
+			double pedDistance = potential(p);
+			if (pedDistance < smallestDistance) {
+				pacemaker = p;
+				smallestDistance = pedDistance;
+			}
+		}
+		if (ped.getId() == pacemaker.getId() || group.isLostMember(ped)) {
+			return null;
+		}
+		return pacemaker;
+	}
+
+	private double expectedRelativeDistanceCentroid(final CentroidGroup group, final Pedestrian ped) {
+		double potentialSum = 0.0;
+		int size = 0;
+		for (Pedestrian p : group.getMembers()) {
+			if (!ped.equals(p) && !group.isLostMember(p)) {
+				potentialSum += potential(p);
+				size++;
+			}
+		}
+
+		double result = 0.0;
+		if (size != 0) {
+			result = (potentialSum / size) - potential(ped);
+			if (result > CentroidGroup.POTENTIAL_DISTANCE_THRESHOLD) {
+				result = 0;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,120 @@
+package org.vadere.simulator.models.ode;
+
+import org.junit.jupiter.api.Test;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the neighbour queries of the {@link VerletNeighbourList} with the spatial map
+ * ({@link LinkedCellsGrid#getObjects}) in a corridor: 2000 pedestrians in a 50 m x 20 m corridor
+ * (2 pedestrians per square meter) walk with 1.3 m/s, the integrator evaluates 7 stages per step of 0.4 s.
+ * The query times are logged.
+ */
+public class TestVerletNeighbourList {
+
+	private static final Logger logger = Logger.getLogger(TestVerletNeighbourList.class);
+
+	private static final int PEDESTRIANS = 2000;
+	private static final double WIDTH = 50;
+	private static final double HEIGHT = 20;
+	private static final int STEPS = 10;
+	private static final int STAGES = 7;
+	private static final double STAGE_DISTANCE = 1.3 * 0.4 / STAGES;
+
+	@Test
+	public void testSocialForceRadius() {
+		testCorridor(3.3, 1.0);
+	}
+
+	@Test
+	public void testGradientNavigationRadius() {
+		testCorridor(0.8, 1.0);
+	}
+
+	@Test
+	public void testQueriesTheListCanNotAnswer() {
+		Random random = new Random(1);
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(1), random);
+		pedestrian.setPosition(new VPoint(1, 1));
+		Pedestrian other = new Pedestrian(new AttributesAgent(2), random);
+		other.setPosition(new VPoint(1.5, 1));
+
+		VerletNeighbourList<Pedestrian> neighbourList = new VerletNeighbourList<>(1.0, 0.4);
+		neighbourList.update(List.of(pedestrian));
+		List<Pedestrian> neighbours = new ArrayList<>();
+
+		assertFalse(neighbourList.collectNeighbours(pedestrian, pedestrian.getPosition(), 1.1, neighbours));
+		assertFalse(neighbourList.collectNeighbours(other, other.getPosition(), 1.0, neighbours));
+		assertFalse(neighbourList.collectNeighbours(pedestrian, new VPoint(1.3, 1), 1.0, neighbours));
+		assertTrue(neighbours.isEmpty());
+
+		assertTrue(neighbourList.collectNeighbours(pedestrian, new VPoint(1.1, 1), 1.0, neighbours));
+		assertEquals(List.of(pedestrian), neighbours);
+	}
+
+	private void testCorridor(final double radius, final double skin) {
+		Random random = new Random(1);
+		List<Pedestrian> pedestrians = new ArrayList<>(PEDESTRIANS);
+		LinkedCellsGrid<Pedestrian> grid = new LinkedCellsGrid<>(0, 0, WIDTH + 1, HEIGHT + 1, 1.0);
+		for (int i = 0; i < PEDESTRIANS; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(i + 1), random);
+			pedestrian.setPosition(new VPoint(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT));
+			pedestrians.add(pedestrian);
+			grid.addObject(pedestrian);
+		}
+
+		VerletNeighbourList<Pedestrian> neighbourList = new VerletNeighbourList<>(radius, skin);
+		long gridTime = 0;
+		long listTime = 0;
+		long mismatches = 0;
+
+		for (int step = 0; step < STEPS; step++) {
+			for (int stage = 0; stage < STAGES; stage++) {
+				for (Pedestrian pedestrian : pedestrians) {
+					VPoint old = pedestrian.getPosition();
+					pedestrian.setPosition(new VPoint(Math.min(WIDTH, old.x + STAGE_DISTANCE), old.y));
+					grid.moveObject(pedestrian, old);
+				}
+
+				long start = System.nanoTime();
+				List<List<Pedestrian>> expected = new ArrayList<>(PEDESTRIANS);
+				for (Pedestrian pedestrian : pedestrians) {
+					expected.add(grid.getObjects(pedestrian.getPosition(), radius));
+				}
+				long middle = System.nanoTime();
+				neighbourList.update(pedestrians);
+				List<List<Pedestrian>> actual = new ArrayList<>(PEDESTRIANS);
+				for (Pedestrian pedestrian : pedestrians) {
+					List<Pedestrian> neighbours = new ArrayList<>();
+					actual.add(neighbourList.collectNeighbours(pedestrian, pedestrian.getPosition(), radius, neighbours) ? neighbours : null);
+				}
+				long end = System.nanoTime();
+
+				for (int i = 0; i < PEDESTRIANS; i++) {
+					if (actual.get(i) == null || !new HashSet<>(actual.get(i)).equals(new HashSet<>(expected.get(i)))) {
+						mismatches++;
+					}
+				}
+				gridTime += middle - start;
+				listTime += end - middle;
+			}
+		}
+
+		logger.info(String.format("radius %.1f m, skin %.1f m: spatial map %d ms, neighbour list %d ms (%d builds)",
+				radius, skin, gridTime / 1000000, listTime / 1000000, neighbourList.getBuilds()));
+		assertEquals(0, mismatches);
+		assertTrue(neighbourList.getBuilds() < STEPS * STAGES);
+	}
+}
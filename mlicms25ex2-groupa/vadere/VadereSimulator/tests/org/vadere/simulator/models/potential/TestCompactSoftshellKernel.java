@@ -0,0 +1,90 @@
+package org.vadere.simulator.models.potential;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCompactSoftshellKernel {
+
+	// (c, power) of the kernels of PotentialFieldPedestrianCompactSoftshell and PotentialFieldObstacleCompactSoftshell
+	private static final double[][] KERNELS = { { 4, 2 }, { 4, 4 }, { 4, 6 }, { 1, 4 }, { 2, 2 }, { 1, 2 } };
+	private static final int[] TABLE_SIZES = { 16, 256, 4096 };
+
+	@Test
+	public void testTableIsWithinErrorBoundOverDomain() {
+		Random random = new Random(0);
+		for (double[] kernel : KERNELS) {
+			for (int tableSize : TABLE_SIZES) {
+				CompactSoftshellKernel table = new CompactSoftshellKernel(kernel[0], (int) kernel[1], tableSize);
+				double bound = CompactSoftshellKernel.MAX_RELATIVE_ERROR * table.analytic(0);
+				String name = "c = " + kernel[0] + ", power = " + kernel[1] + ", size = " + tableSize;
+
+				assertTrue(table.isTabulated(), name);
+				assertTrue(table.getMaxError() <= bound, name);
+
+				// the table points, a regular grid which does not align with the table and random points
+				double maxError = 0;
+				for (int i = 0; i < table.getTableSize(); i++) {
+					double s = (double) i / table.getTableSize();
+					maxError = Math.max(maxError, Math.abs(table.value(s) - table.analytic(s)));
+				}
+				int samples = 1_000_003;
+				for (int i = 0; i < samples; i++) {
+					double s = (double) i / samples;
+					maxError = Math.max(maxError, Math.abs(table.value(s) - table.analytic(s)));
+				}
+				for (int i = 0; i < 100_000; i++) {
+					double s = random.nextDouble();
+					maxError = Math.max(maxError, Math.abs(table.value(s) - table.analytic(s)));
+				}
+
+				assertTrue(maxError <= bound, name + ": max error " + maxError + " exceeds the bound " + bound);
+			}
+		}
+	}
+
+	@Test
+	public void testKernelVanishesOutsideOfTheRange() {
+		for (double[] kernel : KERNELS) {
+			CompactSoftshellKernel table = new CompactSoftshellKernel(kernel[0], (int) kernel[1], 256);
+			assertEquals(0.0, table.value(1.0));
+			assertEquals(0.0, table.value(Math.nextDown(1.0)), CompactSoftshellKernel.MAX_RELATIVE_ERROR * table.analytic(0));
+		}
+	}
+
+	@Test
+	public void testNegativeDistanceIsEvaluatedAnalytically() {
+		CompactSoftshellKernel table = new CompactSoftshellKernel(2, 2, 256);
+		assertEquals(table.analytic(-0.5), table.value(-0.5));
+	}
+
+	@Test
+	public void testTableSizeZeroIsAnalytic() {
+		for (double[] kernel : KERNELS) {
+			CompactSoftshellKernel analytic = new CompactSoftshellKernel(kernel[0], (int) kernel[1], 0);
+			assertFalse(analytic.isTabulated());
+			assertEquals(0.0, analytic.getMaxError());
+			for (int i = 0; i < 1000; i++) {
+				double s = i / 1000.0;
+				assertEquals(Math.exp(kernel[0] / (Math.pow(s, kernel[1]) - 1)), analytic.value(s));
+			}
+		}
+	}
+
+	@Test
+	public void testCoarseTableIsRefined() {
+		CompactSoftshellKernel table = new CompactSoftshellKernel(4, 2, 1);
+		assertTrue(table.getTableSize() > 1);
+		assertTrue(table.getMaxError() <= CompactSoftshellKernel.MAX_RELATIVE_ERROR * table.analytic(0));
+	}
+
+	@Test
+	public void testNegativeTableSizeIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new CompactSoftshellKernel(4, 2, -1));
+	}
+}
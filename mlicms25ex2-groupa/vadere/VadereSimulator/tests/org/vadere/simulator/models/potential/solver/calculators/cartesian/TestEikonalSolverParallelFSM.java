@@ -0,0 +1,103 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.junit.jupiter.api.Test;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.DistanceFunctionTarget;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the floor field of the tile parallel {@link EikonalSolverParallelFSM} with the first order
+ * {@link EikonalSolverFMM} and with the sequential sweeps of {@link MultiTargetFastSweeping}. The grid consists
+ * of several tiles in each direction.
+ */
+public class TestEikonalSolverParallelFSM {
+
+	private static final double WIDTH = 20;
+	private static final double HEIGHT = 12;
+	private static final double RESOLUTION = 0.1;
+	private static final double TOLERANCE = 1e-8;
+
+	private final ITimeCostFunction timeCost = new UnitTimeCostFunction();
+
+	private final VShape target = new VRectangle(17, 9, 1, 1.5);
+
+	private final List<VShape> obstacles = List.of(
+			new VRectangle(5, 0, 1, 8),
+			new VRectangle(11, 4, 1, 8),
+			new VRectangle(14, 2, 4, 1));
+
+	@Test
+	public void testMatchesFastMarching() throws ExecutionException, InterruptedException {
+		CellGrid expected = createCellGrid();
+		new EikonalSolverFMM(expected, new DistanceFunctionTarget(expected, List.of(target)), false, timeCost, 0, 1).solve();
+
+		CellGrid actual = solveParallel(ForkJoinPool.commonPool());
+		assertSameFloorField(expected, actual, TOLERANCE);
+	}
+
+	@Test
+	public void testMatchesTheSequentialSweeps() throws ExecutionException, InterruptedException {
+		CellGrid expected = createCellGrid();
+		MultiTargetFastSweeping batch = new MultiTargetFastSweeping(expected, timeCost);
+		EikonalSolverMultiTargetFSM sequential = new EikonalSolverMultiTargetFSM(batch, expected,
+				new DistanceFunctionTarget(expected, List.of(target)), timeCost, 0, 1);
+		batch.register(sequential);
+		sequential.solve();
+
+		CellGrid actual = solveParallel(ForkJoinPool.commonPool());
+		assertSameFloorField(expected, actual, 0);
+	}
+
+	@Test
+	public void testDoesNotDependOnTheNumberOfThreads() throws ExecutionException, InterruptedException {
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool many = new ForkJoinPool(4);
+		try {
+			assertSameFloorField(solveParallel(single), solveParallel(many), 0);
+		} finally {
+			single.shutdown();
+			many.shutdown();
+		}
+	}
+
+	private CellGrid solveParallel(final ForkJoinPool pool) throws ExecutionException, InterruptedException {
+		CellGrid cellGrid = createCellGrid();
+		EikonalSolverParallelFSM solver = new EikonalSolverParallelFSM(cellGrid,
+				new DistanceFunctionTarget(cellGrid, List.of(target)), timeCost, 0, 1);
+		// the parallel streams of the solver run in the pool of the task
+		pool.submit(solver::solve).get();
+		return cellGrid;
+	}
+
+	private CellGrid createCellGrid() {
+		CellGrid cellGrid = new CellGrid(WIDTH, HEIGHT, RESOLUTION, new CellState(), 0, 0);
+		FloorDiscretizer.setGridValuesForShape(cellGrid, target, new CellState(0.0, PathFindingTag.Target));
+		for (VShape obstacle : obstacles) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+		return cellGrid;
+	}
+
+	private static void assertSameFloorField(final CellGrid expected, final CellGrid actual, final double tolerance) {
+		for (int y = 0; y < expected.getNumPointsY(); y++) {
+			for (int x = 0; x < expected.getNumPointsX(); x++) {
+				CellState expectedState = expected.getValue(x, y);
+				if (expectedState.tag != PathFindingTag.Obstacle) {
+					assertEquals(expectedState.potential, actual.getValue(x, y).potential, tolerance, "grid point (" + x + ", " + y + ")");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.junit.jupiter.api.Test;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.DistanceFunctionTarget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the floor fields of {@link MultiTargetFastSweeping} with the first order {@link EikonalSolverFMM}
+ * which solves each target on its own.
+ */
+public class TestMultiTargetFastSweeping {
+
+	private static final double WIDTH = 20;
+	private static final double HEIGHT = 12;
+	private static final double RESOLUTION = 0.2;
+	private static final double TOLERANCE = 1e-8;
+
+	private final ITimeCostFunction timeCost = new UnitTimeCostFunction();
+
+	private final List<VShape> obstacles = List.of(
+			new VRectangle(5, 0, 1, 8),
+			new VRectangle(11, 4, 1, 8),
+			new VRectangle(14, 2, 4, 1));
+
+	@Test
+	public void testBatchMatchesFastMarchingPerTarget() {
+		// more targets than lanes, i.e. two groups
+		List<VShape> targets = new ArrayList<>();
+		for (int i = 0; i < MultiTargetFastSweeping.LANES + 3; i++) {
+			targets.add(new VRectangle(0.5 + (i % 6) * 3.2, i < 6 ? 10.5 : 0.5, 0.8, 0.8));
+		}
+
+		MultiTargetFastSweeping batch = null;
+		List<EikonalSolverMultiTargetFSM> solvers = new ArrayList<>();
+		for (VShape target : targets) {
+			CellGrid cellGrid = createCellGrid(target);
+			if (batch == null) {
+				batch = new MultiTargetFastSweeping(cellGrid, timeCost);
+			}
+			EikonalSolverMultiTargetFSM solver = new EikonalSolverMultiTargetFSM(batch, cellGrid,
+					new DistanceFunctionTarget(cellGrid, List.of(target)), timeCost, 0, 1);
+			batch.register(solver);
+			solvers.add(solver);
+		}
+
+		// solving one target solves the whole batch
+		solvers.get(0).solve();
+		for (EikonalSolverMultiTargetFSM solver : solvers) {
+			assertTrue(solver.isSolved());
+		}
+
+		for (int i = 0; i < targets.size(); i++) {
+			CellGrid expected = createCellGrid(targets.get(i));
+			new EikonalSolverFMM(expected, new DistanceFunctionTarget(expected, List.of(targets.get(i))), false, timeCost, 0, 1).solve();
+			assertSameFloorField(expected, solvers.get(i).getCellGrid());
+		}
+	}
+
+	@Test
+	public void testUnreachablePointsStayUndefined() {
+		// the target is enclosed by obstacles
+		VShape target = new VRectangle(1, 1, 0.6, 0.6);
+		CellGrid cellGrid = createCellGrid(target);
+		for (VShape wall : List.of(new VRectangle(0, 2.2, 3, 0.4), new VRectangle(2.2, 0, 0.4, 3))) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, wall, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+
+		MultiTargetFastSweeping batch = new MultiTargetFastSweeping(cellGrid, timeCost);
+		EikonalSolverMultiTargetFSM solver = new EikonalSolverMultiTargetFSM(batch, cellGrid,
+				new DistanceFunctionTarget(cellGrid, List.of(target)), timeCost, 0, 1);
+		batch.register(solver);
+		solver.solve();
+
+		CellState outside = cellGrid.getValue(cellGrid.getNearestPoint(10, 10));
+		assertEquals(PathFindingTag.Undefined, outside.tag);
+		assertEquals(Double.MAX_VALUE, outside.potential);
+		CellState inside = cellGrid.getValue(cellGrid.getNearestPoint(1.8, 1.8));
+		assertEquals(PathFindingTag.Reached, inside.tag);
+		assertTrue(inside.potential < 2);
+	}
+
+	@Test
+	public void testRejectsGridsOfAnotherSize() {
+		VShape target = new VRectangle(1, 1, 1, 1);
+		MultiTargetFastSweeping batch = new MultiTargetFastSweeping(createCellGrid(target), timeCost);
+		CellGrid other = new CellGrid(WIDTH / 2, HEIGHT, RESOLUTION, new CellState(), 0, 0);
+		EikonalSolverMultiTargetFSM solver = new EikonalSolverMultiTargetFSM(batch, other,
+				new DistanceFunctionTarget(other, List.of(target)), timeCost, 0, 1);
+		assertThrows(IllegalArgumentException.class, () -> batch.register(solver));
+	}
+
+	private CellGrid createCellGrid(final VShape target) {
+		CellGrid cellGrid = new CellGrid(WIDTH, HEIGHT, RESOLUTION, new CellState(), 0, 0);
+		FloorDiscretizer.setGridValuesForShape(cellGrid, target, new CellState(0.0, PathFindingTag.Target));
+		for (VShape obstacle : obstacles) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+		return cellGrid;
+	}
+
+	private static void assertSameFloorField(final CellGrid expected, final CellGrid actual) {
+		for (int y = 0; y < expected.getNumPointsY(); y++) {
+			for (int x = 0; x < expected.getNumPointsX(); x++) {
+				CellState expectedState = expected.getValue(x, y);
+				CellState actualState = actual.getValue(x, y);
+				if (expectedState.tag != PathFindingTag.Obstacle) {
+					assertEquals(expectedState.potential, actualState.potential, TOLERANCE, "grid point (" + x + ", " + y + ")");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package org.vadere.simulator.models.queuing;
+
+import org.junit.jupiter.api.Test;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.DistanceFunctionTarget;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the incremental {@link QueueDetector} with the {@link ReferenceQueueDetector} which recomputes
+ * everything in each update. The floor fields (potentials and tags) and the queue points have to be identical
+ * after each step.
+ */
+public class TestQueueDetector {
+
+	private static final int STEPS = 40;
+
+	/**
+	 * Pedestrians queue in front of a target while others walk around, the head of the queue leaves from time
+	 * to time and new pedestrians join at its end.
+	 */
+	@Test
+	public void testQueueInFrontOfATarget() {
+		Random random = new Random(1);
+		VShape targetShape = new VRectangle(8.5, 4.5, 1, 1);
+		Topography topography = new Topography();
+		topography.addTarget(new Target(new AttributesTarget(1, targetShape)));
+
+		LinkedList<Pedestrian> queue = new LinkedList<>();
+		for (int i = 0; i < 8; i++) {
+			queue.add(addPedestrian(topography, new VPoint(8.2 - 0.45 * i, 5), random));
+		}
+		List<Pedestrian> walkers = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			walkers.add(addPedestrian(topography, new VPoint(0.5 + 9 * random.nextDouble(), 0.5 + 2 * random.nextDouble()), random));
+		}
+
+		assertSameDetection(topography, targetShape, step -> {
+			if (step % 5 == 4) {
+				topography.removeElement(queue.removeFirst());
+			}
+			if (step % 4 == 2) {
+				VPoint back = queue.getLast().getPosition();
+				queue.add(addPedestrian(topography, new VPoint(back.x - 0.45, back.y), random));
+			}
+			VPoint previous = null;
+			for (Pedestrian pedestrian : queue) {
+				double x = previous == null ? 8.2 : previous.x - 0.45;
+				move(topography, pedestrian, new VPoint(Math.min(x, pedestrian.getPosition().x + 0.15), pedestrian.getPosition().y));
+				previous = pedestrian.getPosition();
+			}
+			walk(topography, walkers, new VRectangle(0.5, 0.5, 9, 2), random);
+		});
+	}
+
+	/**
+	 * All grid points are closer to the target than the radius of the queue points, i.e. every accepted point
+	 * is a candidate and thinning out decides which points remain.
+	 */
+	@Test
+	public void testQueuePointsCloseToATarget() {
+		Random random = new Random(1);
+		VShape targetShape = new VRectangle(1.9, 0.5, 0.3, 1.6);
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, 2.2, 2.6));
+		Topography topography = new Topography(attributesTopography, new AttributesAgent());
+		topography.addTarget(new Target(new AttributesTarget(1, targetShape)));
+
+		List<Pedestrian> walkers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			walkers.add(addPedestrian(topography, new VPoint(0.3 + 1.4 * random.nextDouble(), 0.3 + 2 * random.nextDouble()), random));
+		}
+
+		int detected = assertSameDetection(topography, targetShape,
+				step -> walk(topography, walkers, new VRectangle(0.3, 0.3, 1.4, 2), random));
+		assertTrue(detected > STEPS / 2, "queue points in " + detected + " steps");
+	}
+
+	/**
+	 * Moves the pedestrians (some steps leave them unchanged) and updates both detectors.
+	 *
+	 * @return the number of steps in which queue points were detected
+	 */
+	private static int assertSameDetection(final Topography topography, final VShape targetShape, final IntConsumer move) {
+		CellGrid expected = createCellGrid(topography, targetShape);
+		CellGrid actual = createCellGrid(topography, targetShape);
+		AttributesFloorField attributesFloorField = new AttributesFloorField();
+		ReferenceQueueDetector reference = new ReferenceQueueDetector(expected, new DistanceFunctionTarget(expected, List.of(targetShape)),
+				true, new UnitTimeCostFunction(), new AttributesAgent(), topography,
+				attributesFloorField.getTargetAttractionStrength(), attributesFloorField.getObstacleGridPenalty());
+		QueueDetector detector = new QueueDetector(actual, new DistanceFunctionTarget(actual, List.of(targetShape)),
+				true, new UnitTimeCostFunction(), new AttributesAgent(), topography,
+				attributesFloorField.getTargetAttractionStrength(), attributesFloorField.getObstacleGridPenalty());
+
+		int detected = 0;
+		try {
+			for (int step = 0; step < STEPS; step++) {
+				if (step % 7 != 3) {
+					move.accept(step);
+				}
+				reference.update();
+				detector.update();
+
+				assertEquals(reference.getTargetPoints(), detector.getTargetPoints(), "step " + step);
+				assertSameCellGrid(expected, actual, step);
+				if (!detector.getTargetPoints().isEmpty()) {
+					detected++;
+				}
+			}
+		} finally {
+			detector.destroy();
+		}
+		return detected;
+	}
+
+	private static Pedestrian addPedestrian(final Topography topography, final VPoint position, final Random random) {
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(topography.getNextDynamicElementId()), random);
+		pedestrian.setPosition(position);
+		topography.addElement(pedestrian);
+		return pedestrian;
+	}
+
+	private static void walk(final Topography topography, final List<Pedestrian> pedestrians, final VRectangle area, final Random random) {
+		for (Pedestrian pedestrian : pedestrians) {
+			VPoint position = pedestrian.getPosition();
+			move(topography, pedestrian, new VPoint(
+					Math.max(area.getMinX(), Math.min(area.getMaxX(), position.x + 0.6 * (random.nextDouble() - 0.5))),
+					Math.max(area.getMinY(), Math.min(area.getMaxY(), position.y + 0.6 * (random.nextDouble() - 0.5)))));
+		}
+	}
+
+	private static void move(final Topography topography, final Pedestrian pedestrian, final VPoint position) {
+		VPoint oldPosition = pedestrian.getPosition();
+		pedestrian.setPosition(position);
+		topography.moveElement(pedestrian, oldPosition);
+	}
+
+	private static CellGrid createCellGrid(final Topography topography, final VShape targetShape) {
+		Rectangle2D bounds = topography.getBounds();
+		CellGrid cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(), 0.1, new CellState(), bounds.getMinX(), bounds.getMinY());
+		FloorDiscretizer.setGridValuesForShapeCentered(cellGrid, targetShape, new CellState(0.0, PathFindingTag.Target));
+		return cellGrid;
+	}
+
+	private static void assertSameCellGrid(final CellGrid expected, final CellGrid actual, final int step) {
+		for (int y = 0; y < expected.getNumPointsY(); y++) {
+			for (int x = 0; x < expected.getNumPointsX(); x++) {
+				assertEquals(expected.getValue(x, y), actual.getValue(x, y), "step " + step + ", grid point (" + x + ", " + y + ")");
+			}
+		}
+	}
+}
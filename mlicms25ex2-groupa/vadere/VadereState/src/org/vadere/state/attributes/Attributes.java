@@ -2,6 +2,7 @@
 
 
 import org.vadere.annotation.helptext.HelpIgnore;
+import org.vadere.annotation.registry.TypeIndex;
 import org.vadere.util.reflection.VadereAttribute;
 
 import java.io.IOException;
@@ -26,8 +27,11 @@
  * objects, it must implement a copy constructor and override {@link #clone()}
  * to make a deep copy.
  * 
+ * The generated {@link StateTypes} lists all public types of the state module, e.g. to find the
+ * subtypes of an attributes class without scanning the classpath.
  */
 @VadereAttribute
+@TypeIndex(className = "StateTypes", packages = "org.vadere.state")
 public abstract class Attributes extends DefaultSealable implements Cloneable {
 	@VadereAttribute(exclude = true)
 	@HelpIgnore
@@ -76,6 +76,25 @@ public class AttributesFloorField extends Attributes {
 	@JsonView(Views.CacheViewExclude.class)
 	private String cacheDir = "";
 
+	/**
+	 * If true, the floor field of a target is computed when it is requested for the first time instead
+	 * of computing the floor fields of all targets before the simulation starts. Static floor fields on a
+	 * cell grid are computed in the background as soon as an agent heading to the target is spawned.
+	 * This does not change the floor fields, therefore it is not part of the cache hash. Only cell grid
+	 * based floor fields ({@link EikonalSolverType#isUsingCellGrid()}) are supported, since mesh based
+	 * floor fields share the mesh of the domain.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private boolean lazyFloorFields = false;
+
+	/**
+	 * If {@link #lazyFloorFields} is true, at most this number of target floor fields are kept in memory.
+	 * The least recently used floor fields are removed between two simulation steps and computed again
+	 * if they are requested later on. The default 0 keeps all floor fields.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private int maxResidentFloorFields = 0;
+
 	private AttributesTimeCost timeCostAttributes;
 
 	public AttributesFloorField() {
@@ -111,6 +130,14 @@ public String getCacheDir() {
 		return cacheDir;
 	}
 
+	public boolean isLazyFloorFields() {
+		return lazyFloorFields;
+	}
+
+	public int getMaxResidentFloorFields() {
+		return maxResidentFloorFields;
+	}
+
 	public void setCreateMethod(EikonalSolverType createMethod) {
 		checkSealed();
 		this.createMethod = createMethod;
@@ -149,4 +176,14 @@ public void setCacheDir(String cacheDir) {
 		checkSealed();
 		this.cacheDir = cacheDir;
 	}
+
+	public void setLazyFloorFields(boolean lazyFloorFields) {
+		checkSealed();
+		this.lazyFloorFields = lazyFloorFields;
+	}
+
+	public void setMaxResidentFloorFields(int maxResidentFloorFields) {
+		checkSealed();
+		this.maxResidentFloorFields = maxResidentFloorFields;
+	}
 }
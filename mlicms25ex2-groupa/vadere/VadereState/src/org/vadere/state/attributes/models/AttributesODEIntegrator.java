@@ -8,7 +8,10 @@
  * Provides attributes for ODE integrators:<br>
  * IntegratorType, minStepSize, maxStepSize, absoluteTolerance,
  * relativeTolerance. For methods without step size control, minStepSize and
- * maxStepSize should be equal.
+ * maxStepSize should be equal. The right hand side of the equations is evaluated
+ * by parallelism threads (0 means the number of available processors). The pedestrian
+ * potentials query their neighbours from a Verlet neighbour list with the given skin
+ * (default 0, a value smaller or equal to 0 disables the list and the neighbours are taken from the spatial map).
  * 
  * 
  */
@@ -19,6 +22,8 @@ public class AttributesODEIntegrator extends Attributes {
 	private double stepSizeMax = 1.0;
 	private double toleranceAbsolute = 1e-5;
 	private double toleranceRelative = 1e-4;
+	private int parallelism = 0;
+	private double neighbourListSkin = 0.0;
 
 	// Getters...
 	public IntegratorType getSolverType() {
@@ -40,4 +45,12 @@ public double getToleranceAbsolute() {
 	public double getToleranceRelative() {
 		return toleranceRelative;
 	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public double getNeighbourListSkin() {
+		return neighbourListSkin;
+	}
 }
@@ -14,6 +14,11 @@ public class AttributesPotentialCompactSoftshell extends Attributes {
 	private double intimateSpaceFactor = 1.2;
 	private int personalSpacePower = 1;
 	private int intimateSpacePower = 1;
+	/**
+	 * Number of intervals of the lookup tables of the exponential kernels. The default 0 evaluates
+	 * the kernels analytically, a value like 4096 replaces the exp / pow calls by a table lookup.
+	 */
+	private int kernelTableSize = 0;
 
 	public int getIntimateSpacePower() {
 		return intimateSpacePower;
@@ -47,4 +52,8 @@ public int getPersonalSpacePower() {
 		return personalSpacePower;
 	}
 
+	public int getKernelTableSize() {
+		return kernelTableSize;
+	}
+
 }
@@ -28,5 +28,13 @@ public enum TimeCostFunctionType {
 	 */
 	OBSTACLES,
 
-	DISTANCE_TO_OBSTACLES
+	DISTANCE_TO_OBSTACLES;
+
+	/**
+	 * Returns true if the time cost neither depends on the agents nor on the target, i.e. the
+	 * time cost of all targets is the same and does not change during the simulation.
+	 */
+	public boolean isStatic() {
+		return this == UNIT || this == OBSTACLES || this == DISTANCE_TO_OBSTACLES;
+	}
 }
\ No newline at end of file
@@ -13,6 +13,9 @@
 
 	private final Map<Integer, T> elementMap;
 
+	/** the largest number of elements contained at once, it determines the iteration order of the element map */
+	private int peakSize;
+
 	private final List<T> initialElements;
 
 	/**
@@ -60,6 +63,7 @@ public List<T> getInitialElements() {
 	public synchronized void addElement(T element) {
 		this.elementMap.put(element.getId(), element);
 		this.cellsElements.addObject(element);
+		this.peakSize = Math.max(peakSize, elementMap.size());
 
 		assert (elementMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
@@ -70,6 +74,70 @@ public synchronized void addElement(T element) {
 		}
 	}
 
+	/**
+	 * Replaces the elements of an empty container such that the container is in the same state as the container
+	 * the elements were taken from, i.e. {@link #getElements()} and the cells of {@link #getCellsElements()} iterate
+	 * the elements in the same order. The element map is refilled, i.e. views returned by {@link #getElements()}
+	 * stay valid. The add listeners are notified in the order of the elements.
+	 *
+	 * @param elements      the elements in the order of {@link #getElements()} of the original container
+	 * @param cellsOrder    the indices of the elements in the order of the linked cells grid of the original container
+	 * @param peakSize      the peak size of the original container, see {@link #getPeakSize()}
+	 */
+	public synchronized void restoreElements(List<T> elements, int[] cellsOrder, int peakSize) {
+		if (!elementMap.isEmpty()) {
+			throw new IllegalStateException("elements can only be restored into an empty container.");
+		}
+		// the iteration order of a hash map depends on its capacity, which only grows with the number of elements
+		if (hashMapCapacity(this.peakSize) > hashMapCapacity(peakSize)) {
+			throw new IllegalStateException("elements can only be restored into a container which never contained more than "
+					+ peakSize + " elements.");
+		}
+
+		// grow the map in the same way as the map of the original container
+		for (int i = 0; i < peakSize; i++) {
+			this.elementMap.put(i, null);
+		}
+		this.elementMap.clear();
+		this.peakSize = peakSize;
+		for (T element : elements) {
+			this.elementMap.put(element.getId(), element);
+		}
+		this.cellsElements.clear();
+		for (int index : cellsOrder) {
+			this.cellsElements.addObject(elements.get(index));
+		}
+
+		assert (elementMap.size() == cellsElements.size())
+				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
+				" in topography";
+
+		for (T element : elements) {
+			for (DynamicElementAddListener<T> listener : addListener) {
+				listener.elementAdded(element);
+			}
+		}
+	}
+
+	/**
+	 * Returns the capacity of a {@link HashMap} (with the default capacity and load factor) after adding the given
+	 * number of elements.
+	 */
+	private static int hashMapCapacity(final int size) {
+		int capacity = 16;
+		while (size > (int) (capacity * 0.75f)) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	/**
+	 * @return the largest number of elements this container contained at once
+	 */
+	public int getPeakSize() {
+		return peakSize;
+	}
+
 	public synchronized void moveElement(T element, VPoint oldPosition) {
 		this.cellsElements.moveObject(element, oldPosition);
 
@@ -102,6 +170,14 @@ public synchronized void addElementAddedListener(DynamicElementAddListener<T> li
 		this.addListener.add(listener);
 	}
 
+	public synchronized void removeElementRemovedListener(DynamicElementRemoveListener<T> listener) {
+		this.removeListener.remove(listener);
+	}
+
+	public synchronized void removeElementAddedListener(DynamicElementAddListener<T> listener) {
+		this.addListener.remove(listener);
+	}
+
 	public List<DynamicElementAddListener<T>> getElementAddedListener() {
 		return this.addListener;
 	}
@@ -0,0 +1,60 @@
+package org.vadere.state.scenario;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The dense index of a {@link ModelPedestrian} type. Each type gets its slot once, usually when the model which
+ * uses the type is initialized, and each {@link Pedestrian} stores its model pedestrians in an array indexed by
+ * the slot. Hence, {@link Pedestrian#getModelPedestrian(ModelPedestrianSlot)} is an array access instead of a
+ * hash map lookup.
+ *
+ * @param <T> the type of the model pedestrian
+ */
+public final class ModelPedestrianSlot<T extends ModelPedestrian> {
+
+	private static final Map<Class<? extends ModelPedestrian>, ModelPedestrianSlot<?>> slots = new HashMap<>();
+
+	private final Class<T> type;
+	private final int index;
+
+	private ModelPedestrianSlot(@NotNull final Class<T> type, final int index) {
+		this.type = type;
+		this.index = index;
+	}
+
+	/**
+	 * Returns the slot of the model pedestrian type, the slot is assigned by the first call for a type.
+	 *
+	 * @param type the type of the model pedestrian
+	 * @param <T>  the type of the model pedestrian
+	 *
+	 * @return the slot of the type
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized <T extends ModelPedestrian> ModelPedestrianSlot<T> of(@NotNull final Class<T> type) {
+		return (ModelPedestrianSlot<T>) slots.computeIfAbsent(type, t -> new ModelPedestrianSlot<>(type, slots.size()));
+	}
+
+	/**
+	 * @return the number of slots assigned so far
+	 */
+	static synchronized int count() {
+		return slots.size();
+	}
+
+	public Class<T> getType() {
+		return type;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return "slot " + index + " (" + type.getSimpleName() + ")";
+	}
+}
@@ -15,8 +15,12 @@
 import org.vadere.state.types.ScenarioElementType;
 import org.vadere.util.geometry.shapes.VPoint;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import java.util.*;
 
+// older versions wrote the model pedestrians as "modelPedestrianMap"
+@JsonIgnoreProperties(value = {"modelPedestrianMap"})
 public class Pedestrian extends Agent {
 
     // Constants
@@ -36,8 +40,8 @@ public class Pedestrian extends Agent {
     private ExposureModelHealthStatus healthStatus;
     private DoseResponseModelInfectionStatus infectionStatus;
 
-	private LinkedList<Integer> groupIds; // TODO should actually be an attribute or a member of a subclass
-	private LinkedList<Integer> groupSizes;
+	private int[] groupIds; // TODO should actually be an attribute or a member of a subclass
+	private int[] groupSizes;
 
     private LinkedList<Pedestrian> agentsInGroup = new LinkedList<>();
 
@@ -55,7 +59,10 @@ public class Pedestrian extends Agent {
      */
     private transient FootstepHistory footstepHistory;
 
-    private Map<Class<? extends ModelPedestrian>, ModelPedestrian> modelPedestrianMap;
+    /**
+     * the model pedestrians indexed by {@link ModelPedestrianSlot#getIndex()}.
+     */
+    private transient ModelPedestrian[] modelPedestrians;
     private ScenarioElementType type = ScenarioElementType.PEDESTRIAN; // TODO used at all? For JSON de-/serialization? Car does NOT have this field. remove if unused!
 
     // Constructors
@@ -77,9 +84,9 @@ public Pedestrian(AttributesAgent attributesAgent, Random random) {
 		psychologyStatus = new PsychologyStatus(null, new ThreatMemory(), SelfCategory.TARGET_ORIENTED, GroupMembership.OUT_GROUP, new KnowledgeBase());
         healthStatus = null;
         infectionStatus = null;
-		groupIds = new LinkedList<>();
-		groupSizes = new LinkedList<>();
-		modelPedestrianMap = new HashMap<>();
+		groupIds = new int[0];
+		groupSizes = new int[0];
+		modelPedestrians = new ModelPedestrian[0];
 		trajectory = new VTrajectory();
 		footstepHistory = new FootstepHistory(attributesAgent.getFootstepHistorySize());
 	}
@@ -106,13 +113,15 @@ protected Pedestrian(Pedestrian other) {
         }
 
         if (other.groupIds != null) {
-            groupIds = new LinkedList<>(other.groupIds);
-            groupSizes = new LinkedList<>(other.groupSizes);
+            groupIds = other.groupIds.clone();
+            groupSizes = other.groupSizes.clone();
         } else {
-            groupIds = new LinkedList<>();
-            groupSizes = new LinkedList<>();
+            groupIds = new int[0];
+            groupSizes = new int[0];
         }
 
+        modelPedestrians = other.modelPedestrians != null ? other.modelPedestrians.clone() : new ModelPedestrian[0];
+
         trajectory = new VTrajectory();
         trajectory = other.trajectory;
         footstepHistory = other.footstepHistory;
@@ -158,16 +167,30 @@ public KnowledgeBase getKnowledgeBase() {
         return psychologyStatus.getKnowledgeBase();
     }
 
-    public LinkedList<Integer> getGroupIds() {
+    /**
+     * @return the ids of the groups of this pedestrian, the array must not be modified
+     */
+    public int[] getGroupIds() {
         return groupIds;
     }
 
-    public LinkedList<Integer> getGroupSizes() {
+    /**
+     * @return the sizes of the groups of this pedestrian, the array must not be modified
+     */
+    public int[] getGroupSizes() {
         return groupSizes;
     }
 
     public <T extends ModelPedestrian> T getModelPedestrian(Class<? extends T> modelType) {
-        return (T) modelPedestrianMap.get(modelType);
+        return getModelPedestrian(ModelPedestrianSlot.of(modelType));
+    }
+
+    /**
+     * Returns the model pedestrian of the slot or <tt>null</tt> if there is none.
+     */
+    public <T extends ModelPedestrian> T getModelPedestrian(ModelPedestrianSlot<T> slot) {
+        int index = slot.getIndex();
+        return index < modelPedestrians.length ? (T) modelPedestrians[index] : null;
     }
 
     @Override
@@ -259,16 +282,29 @@ public void setGroupMembership(GroupMembership groupMembership) {
         psychologyStatus.setGroupMembership(groupMembership);
     }
 
-    public void setGroupIds(LinkedList<Integer> groupIds) {
+    public void setGroupIds(int[] groupIds) {
         this.groupIds = groupIds;
     }
 
-    public void setGroupSizes(LinkedList<Integer> groupSizes) {
+    public void setGroupSizes(int[] groupSizes) {
         this.groupSizes = groupSizes;
     }
 
     public <T extends ModelPedestrian> ModelPedestrian setModelPedestrian(T modelPedestrian) {
-        return modelPedestrianMap.put(modelPedestrian.getClass(), modelPedestrian);
+        return setModelPedestrian(ModelPedestrianSlot.of(modelPedestrian.getClass()).getIndex(), modelPedestrian);
+    }
+
+    public <T extends ModelPedestrian> ModelPedestrian setModelPedestrian(ModelPedestrianSlot<T> slot, T modelPedestrian) {
+        return setModelPedestrian(slot.getIndex(), modelPedestrian);
+    }
+
+    private ModelPedestrian setModelPedestrian(int index, ModelPedestrian modelPedestrian) {
+        if (index >= modelPedestrians.length) {
+            modelPedestrians = Arrays.copyOf(modelPedestrians, Math.max(index + 1, ModelPedestrianSlot.count()));
+        }
+        ModelPedestrian previous = modelPedestrians[index];
+        modelPedestrians[index] = modelPedestrian;
+        return previous;
     }
 
     public void setHealthStatus(ExposureModelHealthStatus healthStatus) {
@@ -305,8 +341,15 @@ public boolean isTarget() {
     }
 
     public void addGroupId(int groupId, int size) {
-        groupIds.add(groupId);
-        groupSizes.add(size);
+        groupIds = Arrays.copyOf(groupIds, groupIds.length + 1);
+        groupIds[groupIds.length - 1] = groupId;
+        groupSizes = Arrays.copyOf(groupSizes, groupSizes.length + 1);
+        groupSizes[groupSizes.length - 1] = size;
+    }
+
+    public void clearGroupIds() {
+        groupIds = new int[0];
+        groupSizes = new int[0];
     }
 
     public void addFootStepToTrajectory(FootStep footStep) {
@@ -343,11 +386,11 @@ public void setAgentsInGroup(final LinkedList<Pedestrian> agentsInGroup) {
     public void setTargets(LinkedList<Integer> target) {
 
         if (getGroupIds() != null) {
-            if (getGroupIds().size() == 1) {
+            if (getGroupIds().length == 1) {
                 Collection<Pedestrian> peds = getPedGroupMembers();
                 setGroupTarget(peds, target);
             }
-            else if (getGroupIds().size() > 1) {
+            else if (getGroupIds().length > 1) {
                 try {
                     throw new Exception("More than 1 groupIds assigned to pedestrian.");
                 } catch (Exception e) {
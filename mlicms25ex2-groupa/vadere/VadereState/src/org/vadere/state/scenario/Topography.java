@@ -414,6 +414,20 @@ public void initializePedestrianCount() {
 		logger.info(String.format("Set PedestrianIdCount to start value: %d", this.dynamicElementIdCounter.get()));
 	}
 
+	/**
+	 * @return the next id {@link #getNextDynamicElementId()} issues
+	 */
+	public int getDynamicElementIdCounter() {
+		return dynamicElementIdCounter.get();
+	}
+
+	/**
+	 * Sets the next id {@link #getNextDynamicElementId()} issues, e.g. to continue a simulation.
+	 */
+	public void setDynamicElementIdCounter(int nextId) {
+		dynamicElementIdCounter.set(nextId);
+	}
+
 	public boolean isRecomputeCells() {
 		return recomputeCells;
 	}
@@ -547,6 +561,16 @@ public <T extends DynamicElement> void addElementAddedListener(Class<T> elementT
 		getContainer(elementType).addElementAddedListener(addListener);
 	}
 
+	public <T extends DynamicElement> void removeElementRemovedListener(Class<T> elementType,
+			DynamicElementRemoveListener<T> listener) {
+		getContainer(elementType).removeElementRemovedListener(listener);
+	}
+
+	public <T extends DynamicElement> void removeElementAddedListener(Class<T> elementType,
+			DynamicElementAddListener<T> addListener) {
+		getContainer(elementType).removeElementAddedListener(addListener);
+	}
+
 	/**
 	 * Adds a given obstacle to the list of obstacles as well as the list of boundary obstacles.
 	 * This way, the boundary can both be treated like normal obstacles, but can also be removed for
@@ -1,6 +1,6 @@
 package org.vadere.state.scenario.distribution.registry;
 
-import org.reflections.Reflections;
+import org.vadere.annotation.registry.TypeIndex;
 import org.vadere.state.attributes.distributions.AttributesDistribution;
 import org.vadere.state.scenario.distribution.VDistribution;
 
@@ -9,8 +9,13 @@
 import java.util.Set;
 
 /**
+ * Registry of all distributions annotated with {@link RegisterDistribution}. The candidates are
+ * the types of the distribution implementation package which are listed at compile time in the
+ * generated {@link DistributionTypes}, i.e. the classpath is not scanned at runtime.
+ *
  * @author Aleksandar Ivanov(ivanov0@hm.edu)
  */
+@TypeIndex(className = "DistributionTypes", packages = "org.vadere.state.scenario.distribution.impl")
 public class DistributionRegistry {
 
 	private static final HashMap<String, RegisteredDistribution> REGISTRY = findDistributions();
@@ -43,11 +48,9 @@ public static Set<String> getRegisteredNames() {
 	}
 
 	private static HashMap<String, RegisteredDistribution> findDistributions() {
-		Reflections reflections = new Reflections("org.vadere.state.scenario.distribution.impl");
-		Set<Class<?>> distributions = reflections.getTypesAnnotatedWith(RegisterDistribution.class);
 		HashMap<String, RegisteredDistribution> registry = new HashMap<String, RegisteredDistribution>();
 
-		distributions.forEach(clazz -> {
+		DistributionTypes.TYPES.stream().filter(clazz -> clazz.isAnnotationPresent(RegisterDistribution.class)).forEach(clazz -> {
 			RegisterDistribution annotation = clazz.getAnnotation(RegisterDistribution.class);
 
 			if (VDistribution.class.isAssignableFrom(clazz)) {
@@ -2,7 +2,6 @@
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.vadere.state.attributes.spawner.AttributesSpawner;
 import org.vadere.state.scenario.AttributesAttached;
 import org.vadere.state.scenario.distribution.DistributionFactory;
@@ -11,6 +10,7 @@
 import org.vadere.state.scenario.spawner.impl.MixedSpawner;
 import org.vadere.state.scenario.spawner.impl.RegularSpawner;
 import org.vadere.state.scenario.spawner.impl.TimeSeriesSpawner;
+import org.vadere.util.random.CheckpointableRandom;
 
 import java.util.Random;
 import java.util.function.Supplier;
@@ -28,11 +28,13 @@
 public abstract class VSpawner<T extends AttributesSpawner>  extends AttributesAttached<T> {
     protected int dynamicElementsCreatedTotal = 0;
     private final VDistribution distribution;
+    private final CheckpointableRandom randomGenerator;
 
     public VSpawner(T attributes, Random random) {
         this.attributes= attributes;
+        this.randomGenerator = new CheckpointableRandom(random.nextInt());
         try {
-            this.distribution = DistributionFactory.create(attributes.getDistributionAttributes(), new JDKRandomGenerator(random.nextInt()));
+            this.distribution = DistributionFactory.create(attributes.getDistributionAttributes(), randomGenerator);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -92,7 +94,18 @@ public void incrementElementsCreatedTotal(int count) {
         dynamicElementsCreatedTotal += count;
     }
 
+    public void setDynamicElementsCreatedTotal(int dynamicElementsCreatedTotal) {
+        this.dynamicElementsCreatedTotal = dynamicElementsCreatedTotal;
+    }
+
     public VDistribution getDistribution() {
         return distribution;
     }
+
+    /**
+     * @return the random generator of the distribution
+     */
+    public CheckpointableRandom getRandomGenerator() {
+        return randomGenerator;
+    }
 }
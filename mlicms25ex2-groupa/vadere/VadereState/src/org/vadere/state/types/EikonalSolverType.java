@@ -14,6 +14,14 @@ public enum EikonalSolverType {
 	FAST_ITERATIVE_METHOD,
 	INFORMED_FAST_ITERATIVE_METHOD,
 	FAST_SWEEPING_METHOD,
+	/**
+	 * fast sweeping method which solves the floor fields of all static targets together
+	 */
+	FAST_SWEEPING_METHOD_MULTI_TARGET,
+	/**
+	 * fast sweeping method which sweeps the tiles of the grid in parallel
+	 */
+	FAST_SWEEPING_METHOD_PARALLEL,
 
 	/**
 	 * Solvers on an triangle mesh
@@ -45,6 +53,8 @@ public boolean isUsingCellGrid() {
 				this == HIGH_ACCURACY_FAST_MARCHING_DENSITY ||
 				this == FAST_ITERATIVE_METHOD ||
 				this == INFORMED_FAST_ITERATIVE_METHOD ||
-				this == FAST_SWEEPING_METHOD;
+				this == FAST_SWEEPING_METHOD ||
+				this == FAST_SWEEPING_METHOD_MULTI_TARGET ||
+				this == FAST_SWEEPING_METHOD_PARALLEL;
 	}
 }
@@ -273,6 +273,8 @@ private static Map<String, String> getDefaultConfig() {
 		defaultConfig.put("SettingsDialog.outputDirectory.path", ".");
 		defaultConfig.put("SettingsDialog.snapshotDirectory.path", ".");
 		defaultConfig.put("SettingsDialog.showLogo", "false");
+		defaultConfig.put("Simulation.profiling.enabled", "false");
+		defaultConfig.put("Simulation.psychology.parallel", "false");
 		defaultConfig.put("Testing.stepCircleOptimization.compareBruteForceSolution", "false");
 		defaultConfig.put("TopographyCreator.dotRadius", "0.5");
 		defaultConfig.put("Vadere.cache.useGlobalCacheBaseDir", "false");
@@ -1,7 +1,14 @@
 package org.vadere.util.data;
 
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.io.CsvReader;
 import org.vadere.util.logging.Logger;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -17,23 +24,31 @@
  * fixed column names).
  * Null entries are not allowed. If you try to get an value from an entry outside the range this may
  * result
- * in an {@link IllegalArgumentException}. Column names are unique. It is possible to merge a table
+ * in an {@link IndexOutOfBoundsException}. Column names are unique. It is possible to merge a table
  * in an
  * existing table, if they both has the same number of rows. One can only insert values at the end
  * of the table.
  * You have to complete a whole row before you can insert another one. The only possibility to
  * delete manipulate
- * existing rows is to use the iterators {@link RowIterator} or {@link RowArrayIterator}. The reason
- * is that it
- * is inefficient to reference via index since the implementation is based on {@link LinkedList}.
- * 
+ * existing rows is to use the iterators {@link RowIterator} or {@link RowArrayIterator}.
+ *
+ * The columns are stored column by column in growable primitive arrays: a column which contains only
+ * {@link Integer} values is stored as <tt>int[]</tt>, a column which contains only {@link Double} values
+ * as <tt>double[]</tt> and all other columns as <tt>Object[]</tt>. Adding a {@link Double} to an int column
+ * widens it to a double column and adding an {@link Integer} to a double column stores it as double. In both
+ * cases the column remembers which rows hold an {@link Integer}, i.e. {@link #getEntry(String, int)} still
+ * returns the boxed type which was added. Adding a value of any other type to a primitive column converts it
+ * into an object column. Therefore, an entry can be accessed by its index
+ * in O(1) and {@link #getDouble(String, int)}, {@link #getInt(String, int)} and
+ * {@link #addColumnEntry(String, double)} do not box the values.
+ *
  * Note: The column size difference is maximal +-1, if the row is not complete. This implementation
  * is not synchronized.
- * 
+ *
  *
  */
 public class Table implements Iterable<Row> {
-	private Map<String, LinkedList<Object>> table;
+	private Map<String, Column> table;
 	private String[] columnNames;
 	private Set<String> columnNamesSet;
 	private int size;
@@ -42,7 +57,7 @@ public class Table implements Iterable<Row> {
 
 	/**
 	 * Construct a new fixed column sized {@link org.vadere.util.data.Table}.
-	 * 
+	 *
 	 * @param columnNames immutable columnNames
 	 */
 	public Table(final String... columnNames) {
@@ -73,7 +88,7 @@ public Table(final String[] columnNames, final Object[] values, final int size)
 
 	/**
 	 * Returns the a copy of all column names of this table.
-	 * 
+	 *
 	 * @return a copy of all column names of this table
 	 */
 	public String[] getColumnNames() {
@@ -88,7 +103,7 @@ public void clear() {
 		table = new HashMap<>();
 
 		for (String fieldName : getColumnNames()) {
-			table.put(fieldName, new LinkedList<>());
+			table.put(fieldName, new Column());
 		}
 
 	}
@@ -102,7 +117,7 @@ public void clear(final String... columnNames) {
 			if (!this.columnNamesSet.add(columnName)) {
 				throw new IllegalArgumentException("duplicated column names " + columnName + ".");
 			}
-			this.table.put(columnName, new LinkedList<>());
+			this.table.put(columnName, new Column());
 		}
 
 		this.columnNames = columnNames.clone();
@@ -115,26 +130,28 @@ public void clear(final String... columnNames) {
 	 * will be thrown. If one try to add an entry to a full column an
 	 * {@link IndexOutOfBoundsException}
 	 * will be thrown.
-	 * 
+	 *
 	 * @param columnName name of the column
 	 * @param value the value that will be inserted
 	 * @throws IllegalArgumentException if the column does not exist
 	 * @throws IndexOutOfBoundsException if the column is full before the call is happened
 	 */
 	public void addColumnEntry(final String columnName, final Object value) {
-		LinkedList<Object> column = table.get(columnName);
-		if (column == null) {
-			column = new LinkedList<>();
-			table.put(columnName, column);
-			throw new IllegalArgumentException("column " + columnName + " does not exist.");
-		}
+		getAppendableColumn(columnName).add(value);
+	}
 
-		if (column.size() != size - 1) {
-			throw new IndexOutOfBoundsException(column.size() + " != " + (size - 1));
-		} else {
-			// this is cheap!
-			column.add(value);
-		}
+	/**
+	 * Adds a double value without boxing, see {@link #addColumnEntry(String, Object)}.
+	 */
+	public void addColumnEntry(final String columnName, final double value) {
+		getAppendableColumn(columnName).addDouble(value);
+	}
+
+	/**
+	 * Adds an int value without boxing, see {@link #addColumnEntry(String, Object)}.
+	 */
+	public void addColumnEntry(final String columnName, final int value) {
+		getAppendableColumn(columnName).addInt(value);
 	}
 
 	public void addColumnEntries(final Row row) {
@@ -168,7 +185,7 @@ public void addRow(final Row row) {
 	 * tables has to be of the same size. If there a duplicated column names
 	 * this table will stay with its column. Futhermore the columns of the other table
 	 * will be added behind the this table.
-	 * 
+	 *
 	 * @param table the table that will be merged into this table
 	 */
 	public void merge(final Table table) {
@@ -178,8 +195,8 @@ public void merge(final Table table) {
 		// merge content
 		for (String columnName : table.columnNames) {
 			if (!this.columnNamesSet.contains(columnName) || this.table.get(columnName) == null
-					|| this.table.get(columnName).isEmpty()) {
-				this.table.put(columnName, table.getColumn(columnName));
+					|| this.table.get(columnName).size == 0) {
+				this.table.put(columnName, table.table.get(columnName).copy());
 				this.columnNamesSet.add(columnName);
 			}
 		}
@@ -207,34 +224,76 @@ public void merge(final Table table) {
 	}
 
 	/**
-	 * Returns a single value of this table. This is a expensive call
-	 * since the data structure use LinkedLists. You should use the iterator.
-	 * 
+	 * Returns a single value of this table.
+	 *
 	 * @param columnName the column of the entry
 	 * @param row the row of the entry
 	 * @return a single value of this table
 	 */
 	public Object getEntry(final String columnName, final int row) {
-		if (getColumn(columnName).size() == 0) {
+		Column column = table.get(columnName);
+		if (column.size == 0) {
 			return null;
 		}
-		return getColumn(columnName).get(row);
+		return column.get(row);
+	}
+
+	/**
+	 * Returns a single numeric value of this table without boxing it, if the column is a primitive column.
+	 *
+	 * @param columnName the column of the entry
+	 * @param row the row of the entry
+	 * @return a single value of this table
+	 * @throws ClassCastException if the entry is not a {@link Number}
+	 */
+	public double getDouble(final String columnName, final int row) {
+		return table.get(columnName).getDouble(row);
+	}
+
+	/**
+	 * Returns a single numeric value of this table without boxing it, see {@link #getDouble(String, int)}.
+	 */
+	public int getInt(final String columnName, final int row) {
+		return table.get(columnName).getInt(row);
 	}
 
 	/**
 	 * Returns a whole column if it exist, otherwise it will return null.
-	 * 
+	 *
 	 * @param columnName the name of the column
 	 * @return a whole column if it exist, null otherwise
 	 */
-	@SuppressWarnings("unchecked")
 	public LinkedList<Object> getColumn(final String columnName) {
-		return (LinkedList<Object>) table.get(columnName).clone();
+		Column column = table.get(columnName);
+		LinkedList<Object> list = new LinkedList<>();
+		for (int row = 0; row < column.size; row++) {
+			list.add(column.get(row));
+		}
+		return list;
+	}
+
+	/**
+	 * Returns a copy of a numeric column as array.
+	 *
+	 * @param columnName the name of the column
+	 * @return a copy of the column
+	 * @throws ClassCastException if an entry of the column is not a {@link Number}
+	 */
+	public double[] getDoubleColumn(final String columnName) {
+		Column column = table.get(columnName);
+		if (column.type == Column.DOUBLE) {
+			return Arrays.copyOf(column.doubles, column.size);
+		}
+		double[] values = new double[column.size];
+		for (int row = 0; row < column.size; row++) {
+			values[row] = column.getDouble(row);
+		}
+		return values;
 	}
 
 	/**
 	 * Returns the number of filled rows in this table.
-	 * 
+	 *
 	 * @return the number of filled rows in this table
 	 */
 	public int size() {
@@ -243,7 +302,7 @@ public int size() {
 
 	/**
 	 * Returns the column capacity of this table.
-	 * 
+	 *
 	 * @return the column capacity of this table
 	 */
 	public int columns() {
@@ -252,7 +311,7 @@ public int columns() {
 
 	/**
 	 * Returns true if this table triangleContains no elements.
-	 * 
+	 *
 	 * @return true if this table triangleContains no elements
 	 */
 	public boolean isEmpty() {
@@ -276,66 +335,379 @@ public ListIterator<Object[]> listArrayIterator(final String... columnNames) {
 		return new RowArrayIterator(columnNames);
 	}
 
-	/*
-	 * Too expensive!
-	 * 
-	 * @Override
-	 * public boolean equals(final Object obj) {
-	 * if(obj == null || !getClass().equals(obj.getClass())) {
-	 * return false;
-	 * }
-	 * 
-	 * Table other = (Table)obj;
-	 * 
-	 * if(size() != other.size() || columnNames.length != other.columnNames.length ||
-	 * !columnNamesSet.equals(other.columnNamesSet)) {
-	 * return false;
-	 * }
-	 * 
-	 * for(int i = 0; i < columnNames.length; i++) {
-	 * if(!columnNames[i].equals(other.columnNames[i])) {
-	 * return false;
-	 * }
-	 * }
-	 * 
-	 * for(Map.Entry<String, LinkedList<Object>> entry : table.entrySet()) {
-	 * LinkedList<Object> otherList = other.table.get(entry.getKey());
-	 * if(otherList == null) {
-	 * return false;
-	 * }
-	 * else {
-	 * 
-	 * }
-	 * }
-	 * 
-	 * 
-	 * return super.equals(obj);
-	 * }
+	/**
+	 * Reads a table from delimiter separated values. The first (non-empty) line contains the column
+	 * names. The type of each entry is inferred from its content (int, double or {@link String}),
+	 * numbers are parsed directly from the read buffer, see {@link CsvReader}.
+	 *
+	 * @param reader    the source, it will not be closed
+	 * @param separator the column separator, e.g. ' ' or ','
+	 * @return the table
+	 * @throws IOException if the reader fails or if a line does not have as many fields as the header
 	 */
+	public static Table readCsv(@NotNull final Reader reader, final char separator) throws IOException {
+		CsvReader csvReader = new CsvReader(reader, separator);
+		if (!csvReader.nextRecord()) {
+			return new Table();
+		}
+
+		List<String> columnNames = new ArrayList<>();
+		while (csvReader.hasNextField()) {
+			columnNames.add(csvReader.nextString());
+		}
+
+		Table table = new Table(columnNames);
+		Column[] columns = new Column[columnNames.size()];
+		for (int col = 0; col < columns.length; col++) {
+			columns[col] = table.table.get(columnNames.get(col));
+		}
+
+		while (csvReader.nextRecord()) {
+			table.addRow();
+			int col = 0;
+			for (; col < columns.length && csvReader.hasNextField(); col++) {
+				switch (csvReader.peekType()) {
+					case INT: columns[col].addInt(csvReader.nextInt()); break;
+					case DOUBLE: columns[col].addDouble(csvReader.nextDouble()); break;
+					default: columns[col].add(csvReader.nextString());
+				}
+			}
+			if (col < columns.length || csvReader.hasNextField()) {
+				throw new IOException("line " + csvReader.getLineNumber() + ": expected " + columns.length
+						+ " fields as in the header but found " + (csvReader.hasNextField() ? "more" : col) + ".");
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Writes the table including a header line as delimiter separated values. Missing entries of an
+	 * incomplete last row are skipped.
+	 *
+	 * @param writer    the target, it will be flushed but not closed
+	 * @param separator the column separator, e.g. ' ' or ','
+	 * @throws IOException if the writer fails
+	 */
+	public void writeCsv(@NotNull final Writer writer, final char separator) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int col = 0; col < columnNames.length; col++) {
+			if (col > 0) {
+				builder.append(separator);
+			}
+			builder.append(columnNames[col]);
+		}
+		builder.append('\n');
+		writer.write(builder.toString());
+
+		Column[] columns = new Column[columnNames.length];
+		for (int col = 0; col < columns.length; col++) {
+			columns[col] = table.get(columnNames[col]);
+		}
+
+		for (int row = 0; row < size; row++) {
+			builder.setLength(0);
+			for (int col = 0; col < columns.length; col++) {
+				if (row < columns[col].size) {
+					if (col > 0) {
+						builder.append(separator);
+					}
+					columns[col].appendTo(builder, row);
+				}
+			}
+			builder.append('\n');
+			writer.write(builder.toString());
+		}
+		writer.flush();
+	}
+
+	private Column getAppendableColumn(final String columnName) {
+		Column column = table.get(columnName);
+		if (column == null) {
+			throw new IllegalArgumentException("column " + columnName + " does not exist.");
+		}
+
+		if (column.size != size - 1) {
+			throw new IndexOutOfBoundsException(column.size + " != " + (size - 1));
+		}
+		return column;
+	}
+
+	/**
+	 * A growable column of int, double or object values. Mixed int and double values are stored as double
+	 * column which marks the rows holding an {@link Integer} such that {@link #get(int)} returns the same
+	 * (boxed) type which was added. Values of any other type convert a primitive column into an object column.
+	 */
+	private static class Column {
+		private static final byte EMPTY = 0;
+		private static final byte INT = 1;
+		private static final byte DOUBLE = 2;
+		private static final byte OBJECT = 3;
+		private static final int INITIAL_CAPACITY = 16;
+
+		private byte type = EMPTY;
+		private int size;
+		private int[] ints;
+		private double[] doubles;
+		/** rows of a double column which hold an {@link Integer} (null or as long as doubles) */
+		private boolean[] intRows;
+		private Object[] objects;
+
+		private void add(final Object value) {
+			insert(size, value);
+		}
+
+		private void addInt(final int value) {
+			if (type == EMPTY) {
+				type = INT;
+				ints = new int[INITIAL_CAPACITY];
+			}
+			if (type == INT) {
+				ints = ensureCapacity(ints);
+				ints[size++] = value;
+			} else if (type == DOUBLE) {
+				ensureDoubleCapacity();
+				doubles[size] = value;
+				markInt(size++, true);
+			} else {
+				add(value);
+			}
+		}
+
+		private void addDouble(final double value) {
+			if (type == EMPTY) {
+				type = DOUBLE;
+				doubles = new double[INITIAL_CAPACITY];
+			} else if (type == INT) {
+				toDoubles();
+			}
+			if (type == DOUBLE) {
+				ensureDoubleCapacity();
+				doubles[size] = value;
+				markInt(size++, false);
+			} else {
+				add(value);
+			}
+		}
+
+		private Object get(final int row) {
+			checkIndex(row);
+			switch (type) {
+				case INT: return ints[row];
+				case DOUBLE:
+					if (isInt(row)) {
+						return (int) doubles[row];
+					}
+					return doubles[row];
+				default: return objects[row];
+			}
+		}
+
+		private double getDouble(final int row) {
+			checkIndex(row);
+			switch (type) {
+				case INT: return ints[row];
+				case DOUBLE: return doubles[row];
+				default: return ((Number) objects[row]).doubleValue();
+			}
+		}
+
+		private int getInt(final int row) {
+			checkIndex(row);
+			switch (type) {
+				case INT: return ints[row];
+				case DOUBLE: return (int) doubles[row];
+				default: return ((Number) objects[row]).intValue();
+			}
+		}
+
+		private void set(final int row, final Object value) {
+			checkIndex(row);
+			if (type == INT && value instanceof Double) {
+				toDoubles();
+			}
+			if (type == INT && value instanceof Integer) {
+				ints[row] = (Integer) value;
+			} else if (type == DOUBLE && (value instanceof Double || value instanceof Integer)) {
+				doubles[row] = ((Number) value).doubleValue();
+				markInt(row, value instanceof Integer);
+			} else {
+				toObjects();
+				objects[row] = value;
+			}
+		}
+
+		private void insert(final int row, final Object value) {
+			if (row < 0 || row > size) {
+				throw new IndexOutOfBoundsException(row + " > " + size);
+			}
+			if (type == EMPTY && value instanceof Integer) {
+				type = INT;
+				ints = new int[INITIAL_CAPACITY];
+			} else if (type == EMPTY && value instanceof Double) {
+				type = DOUBLE;
+				doubles = new double[INITIAL_CAPACITY];
+			} else if (type == INT && value instanceof Double) {
+				toDoubles();
+			}
+
+			if (type == INT && value instanceof Integer) {
+				ints = ensureCapacity(ints);
+				System.arraycopy(ints, row, ints, row + 1, size - row);
+				ints[row] = (Integer) value;
+			} else if (type == DOUBLE && (value instanceof Double || value instanceof Integer)) {
+				ensureDoubleCapacity();
+				System.arraycopy(doubles, row, doubles, row + 1, size - row);
+				doubles[row] = ((Number) value).doubleValue();
+				if (intRows != null) {
+					System.arraycopy(intRows, row, intRows, row + 1, size - row);
+				}
+				markInt(row, value instanceof Integer);
+			} else {
+				toObjects();
+				objects = ensureCapacity(objects);
+				System.arraycopy(objects, row, objects, row + 1, size - row);
+				objects[row] = value;
+			}
+			size++;
+		}
+
+		private void remove(final int row) {
+			checkIndex(row);
+			switch (type) {
+				case INT: System.arraycopy(ints, row + 1, ints, row, size - row - 1); break;
+				case DOUBLE:
+					System.arraycopy(doubles, row + 1, doubles, row, size - row - 1);
+					if (intRows != null) {
+						System.arraycopy(intRows, row + 1, intRows, row, size - row - 1);
+						intRows[size - 1] = false;
+					}
+					break;
+				default:
+					System.arraycopy(objects, row + 1, objects, row, size - row - 1);
+					objects[size - 1] = null;
+			}
+			size--;
+		}
+
+		private void appendTo(final StringBuilder builder, final int row) {
+			switch (type) {
+				case INT: builder.append(ints[row]); break;
+				case DOUBLE:
+					if (isInt(row)) {
+						builder.append((int) doubles[row]);
+					} else {
+						builder.append(doubles[row]);
+					}
+					break;
+				default: builder.append(objects[row]);
+			}
+		}
+
+		private boolean isInt(final int row) {
+			return intRows != null && intRows[row];
+		}
+
+		private void markInt(final int row, final boolean isInt) {
+			if (isInt) {
+				if (intRows == null) {
+					intRows = new boolean[doubles.length];
+				}
+				intRows[row] = true;
+			} else if (intRows != null) {
+				intRows[row] = false;
+			}
+		}
+
+		private Column copy() {
+			Column copy = new Column();
+			copy.type = type;
+			copy.size = size;
+			copy.ints = ints == null ? null : ints.clone();
+			copy.doubles = doubles == null ? null : doubles.clone();
+			copy.intRows = intRows == null ? null : intRows.clone();
+			copy.objects = objects == null ? null : objects.clone();
+			return copy;
+		}
+
+		private void toDoubles() {
+			double[] values = new double[Math.max(INITIAL_CAPACITY, ints.length)];
+			for (int row = 0; row < size; row++) {
+				values[row] = ints[row];
+			}
+			intRows = new boolean[values.length];
+			Arrays.fill(intRows, 0, size, true);
+			doubles = values;
+			ints = null;
+			type = DOUBLE;
+		}
+
+		private void toObjects() {
+			if (type == OBJECT) {
+				return;
+			}
+			Object[] values = new Object[Math.max(INITIAL_CAPACITY, size)];
+			for (int row = 0; row < size; row++) {
+				values[row] = get(row);
+			}
+			objects = values;
+			ints = null;
+			doubles = null;
+			intRows = null;
+			type = OBJECT;
+		}
+
+		private void checkIndex(final int row) {
+			if (row < 0 || row >= size) {
+				throw new IndexOutOfBoundsException("row " + row + " of " + size);
+			}
+		}
+
+		private int[] ensureCapacity(final int[] values) {
+			return size < values.length ? values : Arrays.copyOf(values, grow(values.length));
+		}
+
+		private void ensureDoubleCapacity() {
+			if (size == doubles.length) {
+				doubles = Arrays.copyOf(doubles, grow(doubles.length));
+				if (intRows != null) {
+					intRows = Arrays.copyOf(intRows, doubles.length);
+				}
+			}
+		}
+
+		private Object[] ensureCapacity(final Object[] values) {
+			return size < values.length ? values : Arrays.copyOf(values, grow(values.length));
+		}
+
+		private static int grow(final int capacity) {
+			return capacity + (capacity >> 1) + 1;
+		}
+	}
 
 	/**
 	 * A {@link ListIterator} for manipulate the Table (remove, and update rows).
-	 * 
+	 *
 	 *
 	 */
 	private class RowIterator implements ListIterator<Row> {
 
-		private int row;
-		private Map<String, ListIterator<Object>> iteratorList;
-		private String[] columnNames;
+		private int cursor;
+		private int lastReturned = -1;
+		private final String[] columnNames;
+		private final Column[] columns;
 
 		private RowIterator(final String... columnNames) {
 			this.columnNames = columnNames;
-			this.iteratorList = new HashMap<>();
-			for (String columnName : columnNames) {
-				iteratorList.put(columnName, table.get(columnName).listIterator());
+			this.columns = new Column[columnNames.length];
+			for (int col = 0; col < columnNames.length; col++) {
+				columns[col] = table.get(columnNames[col]);
 			}
 		}
 
 		@Override
 		public boolean hasNext() {
-			for (ListIterator<Object> iterator : iteratorList.values()) {
-				if (iterator.hasNext()) {
+			for (Column column : columns) {
+				if (cursor < column.size) {
 					return true;
 				}
 			}
@@ -344,153 +716,110 @@ public boolean hasNext() {
 
 		@Override
 		public Row next() {
-			Row resultMap = new Row();
-
-			for (String columnName : columnNames) {
-				if (iteratorList.get(columnName).hasNext()) {
-					resultMap.setEntry(columnName, iteratorList.get(columnName).next());
-				}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
 			}
-
-			row++;
-			return resultMap;
+			lastReturned = cursor++;
+			return getRow(lastReturned);
 		}
 
 		@Override
 		public boolean hasPrevious() {
-			for (ListIterator<Object> iterator : iteratorList.values()) {
-				if (!iterator.hasPrevious()) {
-					return false;
-				}
-			}
-			return true;
+			return cursor > 0;
 		}
 
 		@Override
 		public Row previous() {
-			Row resultMap = new Row();
-
-			for (String columnName : columnNames) {
-				if (iteratorList.get(columnName).hasPrevious()) {
-					resultMap.setEntry(columnName, iteratorList.get(columnName).previous());
-				}
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
 			}
-
-			row--;
-			return resultMap;
+			lastReturned = --cursor;
+			return getRow(lastReturned);
 		}
 
 		@Override
 		public int nextIndex() {
-			return (row + 1);
+			return cursor;
 		}
 
 		@Override
 		public int previousIndex() {
-			return (row - 1);
+			return cursor - 1;
 		}
 
 		@Override
 		public void remove() {
-			for (String columnName : columnNames) {
-				iteratorList.get(columnName).remove();
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
 			}
+			for (Column column : columns) {
+				if (lastReturned < column.size) {
+					column.remove(lastReturned);
+				}
+			}
+			if (lastReturned < cursor) {
+				cursor--;
+			}
+			lastReturned = -1;
 			size--;
 		}
 
 		@Override
-		public void set(Row e) {
-			for (String columnName : columnNames) {
-				iteratorList.get(columnName).set(e);
+		public void set(final Row e) {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			for (int col = 0; col < columns.length; col++) {
+				columns[col].set(lastReturned, e.getEntry(columnNames[col]));
 			}
 		}
 
 		@Override
-		public void add(Row e) {
-			for (String columnName : columnNames) {
-				iteratorList.get(columnName).add(e);
+		public void add(final Row e) {
+			for (int col = 0; col < columns.length; col++) {
+				columns[col].insert(cursor, e.getEntry(columnNames[col]));
 			}
+			cursor++;
+			lastReturned = -1;
 			size++;
 		}
 
+		private Row getRow(final int row) {
+			Row resultMap = new Row();
+			for (int col = 0; col < columns.length; col++) {
+				if (row < columns[col].size) {
+					resultMap.setEntry(columnNames[col], columns[col].get(row));
+				}
+			}
+			return resultMap;
+		}
 	}
 
 	/**
 	 * A {@link ListIterator} for manipulate the Table (remove, and update rows).
-	 * 
+	 *
 	 *
 	 */
 	private class RowArrayIterator implements ListIterator<Object[]> {
 
-		private int row;
-		private List<ListIterator<Object>> iteratorList;
+		private int cursor;
+		private int lastReturned = -1;
+		private final Column[] columns;
 
 		private RowArrayIterator(final String... columnNames) {
-			this.iteratorList = new LinkedList<>();
-			for (String columnName : columnNames) {
-				try {
-					iteratorList.add(table.get(columnName).listIterator());
-				} catch (NullPointerException e) {
-					// throw new NullPointerException(columnName + " is not in the table.");
-					logger.error(columnName + " is not in the table. Creating NaN-column.");
-					final int fakeIteratorLength = table.size();
-					iteratorList.add(new ListIterator<Object>() {
-						int index = 0;
-
-						@Override
-						public void set(Object e) {}
-
-						@Override
-						public void remove() {}
-
-						@Override
-						public int previousIndex() {
-							return index - 1;
-						}
-
-						@Override
-						public Object previous() {
-							if (!hasPrevious())
-								throw new NoSuchElementException();
-							index--;
-							return "<NaN>";
-						}
-
-						@Override
-						public int nextIndex() {
-							return index + 1;
-						}
-
-						@Override
-						public Object next() {
-							if (!hasNext())
-								throw new NoSuchElementException();
-							index++;
-							return "<NaN>";
-						}
-
-						@Override
-						public boolean hasPrevious() {
-							return index >= 0;
-						}
-
-						@Override
-						public boolean hasNext() {
-							return index < fakeIteratorLength;
-						}
-
-						@Override
-						public void add(Object e) {}
-					});
+			this.columns = new Column[columnNames.length];
+			for (int col = 0; col < columnNames.length; col++) {
+				columns[col] = table.get(columnNames[col]);
+				if (columns[col] == null) {
+					logger.error(columnNames[col] + " is not in the table. Creating NaN-column.");
 				}
-
 			}
 		}
 
 		@Override
 		public boolean hasNext() {
-			for (ListIterator<Object> iterator : iteratorList) {
-				if (iterator.hasNext()) {
+			for (Column column : columns) {
+				if (cursor < length(column)) {
 					return true;
 				}
 			}
@@ -499,79 +828,92 @@ public boolean hasNext() {
 
 		@Override
 		public Object[] next() {
-			Object[] result = new Object[iteratorList.size()];
-			int col = 0;
-			for (ListIterator<Object> iterator : iteratorList) {
-				if (iterator.hasNext()) {
-					result[col] = iterator.next();
-				} else {
-					result[col] = null;
-				}
-				col++;
+			if (!hasNext()) {
+				throw new NoSuchElementException();
 			}
-			row++;
-			return result;
+			lastReturned = cursor++;
+			return getRow(lastReturned);
 		}
 
 		@Override
 		public boolean hasPrevious() {
-			for (ListIterator<Object> iterator : iteratorList) {
-				if (iterator.hasPrevious()) {
-					return true;
-				}
-			}
-			return false;
+			return cursor > 0;
 		}
 
 		@Override
 		public Object[] previous() {
-			Object[] result = new Object[iteratorList.size()];
-			int col = 0;
-			for (ListIterator<Object> iterator : iteratorList) {
-
-				if (iterator.hasPrevious()) {
-					result[col] = iterator.previous();
-				} else {
-					result[col] = null;
-				}
-				col++;
-
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
 			}
-			row--;
-			return result;
+			lastReturned = --cursor;
+			return getRow(lastReturned);
 		}
 
 		@Override
 		public int nextIndex() {
-			return (row + 1);
+			return cursor;
 		}
 
 		@Override
 		public int previousIndex() {
-			return (row - 1);
+			return cursor - 1;
 		}
 
 		@Override
 		public void remove() {
-			for (ListIterator<Object> iterator : iteratorList) {
-				iterator.remove();;
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			for (Column column : columns) {
+				if (column != null && lastReturned < column.size) {
+					column.remove(lastReturned);
+				}
+			}
+			if (lastReturned < cursor) {
+				cursor--;
 			}
+			lastReturned = -1;
 			size--;
 		}
 
 		@Override
 		public void set(final Object[] e) {
-			for (ListIterator<Object> iterator : iteratorList) {
-				iterator.set(e);
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			for (int col = 0; col < columns.length; col++) {
+				if (columns[col] != null) {
+					columns[col].set(lastReturned, e[col]);
+				}
 			}
 		}
 
 		@Override
 		public void add(final Object[] e) {
-			for (ListIterator<Object> iterator : iteratorList) {
-				iterator.add(e);
+			for (int col = 0; col < columns.length; col++) {
+				if (columns[col] != null) {
+					columns[col].insert(cursor, e[col]);
+				}
 			}
+			cursor++;
+			lastReturned = -1;
 			size++;
 		}
+
+		private Object[] getRow(final int row) {
+			Object[] result = new Object[columns.length];
+			for (int col = 0; col < columns.length; col++) {
+				if (columns[col] == null) {
+					result[col] = "<NaN>";
+				} else if (row < columns[col].size) {
+					result[col] = columns[col].get(row);
+				}
+			}
+			return result;
+		}
+
+		private int length(final Column column) {
+			return column == null ? size : column.size;
+		}
 	}
 }
@@ -0,0 +1,23 @@
+package org.vadere.util.data;
+
+/**
+ * A scratch array per thread for batched computations which should not allocate on every call. The array only
+ * grows, its content is undefined when it is returned by {@link #get(int)}. Each instance owns its own arrays,
+ * i.e. nested computations have to use different instances.
+ */
+public class ThreadLocalDoubleArray {
+
+	private final ThreadLocal<double[][]> arrays = ThreadLocal.withInitial(() -> new double[][] { new double[0] });
+
+	/**
+	 * @param minLength the required length
+	 * @return the array of the current thread, which has at least the required length
+	 */
+	public double[] get(final int minLength) {
+		double[][] holder = arrays.get();
+		if (holder[0].length < minLength) {
+			holder[0] = new double[Math.max(minLength, 2 * holder[0].length)];
+		}
+		return holder[0];
+	}
+}
@@ -416,4 +416,66 @@ public Pair<Double, Double> getInterpolatedValueAt(final double x, final double
 	public Pair<Double, Double> getInterpolatedValueAt(@NotNull final IPoint pos) {
 		return getInterpolatedValueAt(pos.getX(), pos.getY());
 	}
+
+	/**
+	 * Batched version of {@link #getInterpolatedValueAt(double, double)} which interpolates the
+	 * first n positions (xs[i], ys[i]) without creating intermediate objects. The results are
+	 * identical to the single point version.
+	 *
+	 * @param xs                x-coordinates of the positions
+	 * @param ys                y-coordinates of the positions
+	 * @param n                 the number of positions which will be interpolated
+	 * @param interpolated      output: the bilinear interpolated known values
+	 * @param weightsOfKnown    output: the accumulated weights of the known values
+	 */
+	public void getInterpolatedValuesAt(@NotNull final double[] xs, @NotNull final double[] ys, final int n,
+	                                    @NotNull final double[] interpolated, @NotNull final double[] weightsOfKnown) {
+		for (int i = 0; i < n; i++) {
+			double x = xs[i];
+			double y = ys[i];
+
+			// see getNearestPoint
+			double cx = Math.min(Math.max(x, xMin), getWidth() + xMin);
+			double cy = Math.min(Math.max(y, yMin), getHeight() + yMin);
+			int px = (int) ((cx - xMin) / resolution + 0.5);
+			int py = (int) ((cy - yMin) / resolution + 0.5);
+			int incX = px + 1 >= numPointsX ? 0 : 1;
+			int incY = py + 1 >= numPointsY ? 0 : 1;
+
+			double dx = (x - (xMin + px * resolution)) / getResolution();
+			double dy = (y - (yMin + py * resolution)) / getResolution();
+
+			// see InterpolationUtil.bilinearInterpolationWithUnkown
+			double z0 = values[px][py].potential;
+			double z1 = values[px + incX][py].potential;
+			double z2 = values[px + incX][py + incY].potential;
+			double z3 = values[px][py + incY].potential;
+			double w0 = (1 - dx) * (1 - dy);
+			double w1 = dx * (1 - dy);
+			double w2 = dx * dy;
+			double w3 = (1 - dx) * dy;
+
+			double result = 0;
+			double knownWeights = 0;
+			if (z0 != Double.MAX_VALUE) {
+				result += w0 * z0;
+				knownWeights += w0;
+			}
+			if (z1 != Double.MAX_VALUE) {
+				result += w1 * z1;
+				knownWeights += w1;
+			}
+			if (z2 != Double.MAX_VALUE) {
+				result += w2 * z2;
+				knownWeights += w2;
+			}
+			if (z3 != Double.MAX_VALUE) {
+				result += w3 * z3;
+				knownWeights += w3;
+			}
+
+			interpolated[i] = result;
+			weightsOfKnown[i] = knownWeights;
+		}
+	}
 }
@@ -3,10 +3,12 @@
 import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
 import it.unimi.dsi.fastutil.io.FastBufferedOutputStream;
 
+import org.vadere.util.io.CsvReader;
 import org.vadere.util.io.IDataReader;
 import org.vadere.util.io.IDataWriter;
 import org.vadere.util.logging.Logger;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -15,15 +17,33 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintWriter;
-
-import tech.tablesaw.api.Row;
-import tech.tablesaw.api.Table;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 public class CellGridReadWriter implements IDataWriter, IDataReader<CellGrid> {
 
 	private static Logger logger = Logger.getLogger(CellGridReadWriter.class);
 
+	/**
+	 * the size of the text chunks which are parsed or formatted in parallel.
+	 */
+	static final int CHUNK_SIZE = 1 << 22;
+
+	// the meaning of the columns of a text cache
+	private static final int SKIP = 0;
+	private static final int X = 1;
+	private static final int Y = 2;
+	private static final int VALUE = 3;
+	private static final int TAG = 4;
+
 	private CellGrid cellGrid;
 
 	public static IDataWriter write(CellGrid cellGrid){
@@ -45,59 +65,243 @@ private CellGridReadWriter(CellGrid cellGrid) {
 
 	@Override
 	public CellGrid fromTextFile(File file) throws IOException {
-		return readCsv(Table.read().csv(file));
+		try (InputStream inputStream = new FileInputStream(file)) {
+			return fromTextFile(inputStream);
+		}
 	}
 
+	/**
+	 * Reads a text cache with the header <tt>x,y,value,tag</tt> (the order of the columns is arbitrary and
+	 * additional columns are ignored). The stream is read in chunks of {@link #CHUNK_SIZE} bytes which end
+	 * at a line break. The chunks are parsed in parallel by a {@link CsvReader} directly into the
+	 * {@link CellGrid}, i.e. the file is never completely held in memory. The stream is not closed.
+	 */
 	@Override
 	public CellGrid fromTextFile(InputStream inputStream) throws IOException {
-		return readCsv(Table.read().csv(inputStream));
+		byte[] chunk = new byte[CHUNK_SIZE];
+		int length = readChunk(inputStream, chunk, 0);
+		int headerEnd = indexOfLineBreak(chunk, 0, length);
+		int[] columns = readHeader(new String(chunk, 0, headerEnd < 0 ? length : headerEnd, StandardCharsets.US_ASCII));
+		int start = headerEnd < 0 ? length : headerEnd + 1;
+
+		Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+		while (length > start) {
+			int end = lastIndexOfLineBreak(chunk, start, length) + 1;
+			byte[] next;
+			int nextLength;
+			if (length < chunk.length) {
+				// end of the stream, the last line may have no line break
+				end = length;
+				next = null;
+				nextLength = 0;
+			} else if (end <= start) {
+				// a line longer than the chunk
+				chunk = Arrays.copyOf(chunk, 2 * chunk.length);
+				length = readChunk(inputStream, chunk, length);
+				continue;
+			} else {
+				// the incomplete last line is the beginning of the next chunk
+				next = new byte[CHUNK_SIZE];
+				nextLength = length - end;
+				System.arraycopy(chunk, end, next, 0, nextLength);
+			}
+
+			byte[] bytes = chunk;
+			int from = start;
+			int to = end;
+			pending.add(CompletableFuture.runAsync(() -> parseChunk(bytes, from, to, columns)));
+			if (pending.size() > ForkJoinPool.getCommonPoolParallelism()) {
+				join(pending.poll(), pending);
+			}
+
+			if (next == null) {
+				break;
+			}
+			chunk = next;
+			length = readChunk(inputStream, chunk, nextLength);
+			start = 0;
+		}
+
+		while (!pending.isEmpty()) {
+			join(pending.poll(), pending);
+		}
+		return cellGrid;
 	}
 
-	private CellGrid readCsv(Table table) {
-		int xDim;
-		int yDim;
-		try {
-			xDim = (int) table.intColumn("x").max() + 1;
-			yDim = (int) table.intColumn("y").max() + 1;
-		} catch (IllegalArgumentException e) {
-			throw new IllegalArgumentException("Cannot read from txt file. Expected column 'x' or 'y' does not exist", e);
+	private int[] readHeader(String header) {
+		String[] names = header.trim().split(",");
+		int[] columns = new int[names.length];
+		Arrays.fill(columns, SKIP);
+		boolean x = false;
+		boolean y = false;
+		for (int i = 0; i < names.length; i++) {
+			switch (names[i].trim()) {
+				case "x":
+					columns[i] = X;
+					x = true;
+					break;
+				case "y":
+					columns[i] = Y;
+					y = true;
+					break;
+				case "value":
+					columns[i] = VALUE;
+					break;
+				case "tag":
+					columns[i] = TAG;
+					break;
+			}
 		}
 
-		assert xDim == cellGrid.getNumPointsX();
-		assert yDim == cellGrid.getNumPointsY();
+		if (!x || !y) {
+			throw new IllegalArgumentException("Cannot read from txt file. Expected column 'x' or 'y' does not exist");
+		}
+		return columns;
+	}
+
+	private void parseChunk(byte[] bytes, int from, int to, int[] columns) {
 		CellState[][] values = cellGrid.values;
-		for (Row r : table){
-			values[r.getInt("x")][r.getInt("y")].potential = r.getDouble("value");
-			values[r.getInt("x")][r.getInt("y")].tag =
-					PathFindingTag.valueOf(r.getString("tag"));
+		try (CsvReader reader = new CsvReader(new InputStreamReader(new ByteArrayInputStream(bytes, from, to - from), StandardCharsets.US_ASCII), ',')) {
+			while (reader.nextRecord()) {
+				int x = -1;
+				int y = -1;
+				Double potential = null;
+				PathFindingTag tag = null;
+				for (int column : columns) {
+					switch (column) {
+						case X:
+							x = reader.nextInt();
+							break;
+						case Y:
+							y = reader.nextInt();
+							break;
+						case VALUE:
+							potential = reader.nextDouble();
+							break;
+						case TAG:
+							tag = PathFindingTag.valueOf(reader.nextString());
+							break;
+						default:
+							reader.skip();
+					}
+				}
+
+				if (x < 0 || y < 0 || x >= cellGrid.getNumPointsX() || y >= cellGrid.getNumPointsY()) {
+					throw new IllegalArgumentException("Cannot read from txt file. The point (" + x + "," + y + ") is not part of the "
+							+ cellGrid.getNumPointsX() + "x" + cellGrid.getNumPointsY() + " grid.");
+				}
+				if (potential != null) {
+					values[x][y].potential = potential;
+				}
+				if (tag != null) {
+					values[x][y].tag = tag;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
+	}
 
-		return cellGrid;
+	/**
+	 * Reads bytes into the chunk (starting at <tt>offset</tt>) until the chunk is full or the stream ends.
+	 *
+	 * @return the number of valid bytes of the chunk
+	 */
+	private static int readChunk(InputStream inputStream, byte[] chunk, int offset) throws IOException {
+		int length = offset;
+		int read;
+		while (length < chunk.length && (read = inputStream.read(chunk, length, chunk.length - length)) > 0) {
+			length += read;
+		}
+		return length;
+	}
+
+	private static int indexOfLineBreak(byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (bytes[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
 	}
 
+	private static int lastIndexOfLineBreak(byte[] bytes, int from, int to) {
+		for (int i = to - 1; i >= from; i--) {
+			if (bytes[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
 
+	/**
+	 * Waits for the future. If it failed, all other pending futures are awaited before its exception is
+	 * rethrown, such that no chunk writes into the grid after this method returned.
+	 */
+	private static void join(CompletableFuture<?> future, Deque<? extends CompletableFuture<?>> pending) throws IOException {
+		try {
+			future.join();
+		} catch (CompletionException e) {
+			// cancelling a running chunk would not stop it
+			for (CompletableFuture<?> other : pending) {
+				try {
+					other.join();
+				} catch (CompletionException ignored) {
+					// the first failure is reported
+				}
+			}
+			pending.clear();
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			} else if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
 
+	/**
+	 * Writes the text cache with the header <tt>x,y,value,tag</tt>. Blocks of rows are formatted in
+	 * parallel and written in order.
+	 */
 	@Override
 	public void toTextFile(File file) throws IOException {
 		file.getAbsoluteFile().getParentFile().mkdirs();
-		CellState[][] values = cellGrid.values;
+		int rowsPerBlock = Math.max(1, (CHUNK_SIZE / 32) / Math.max(1, cellGrid.getNumPointsX()));
 
-		PrintWriter stream = new PrintWriter(
-				new FastBufferedOutputStream(new FileOutputStream(file)));
-		stream.write("x,y,value,tag\n");
-		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+		try (OutputStream stream = new FileOutputStream(file)) {
+			stream.write("x,y,value,tag\n".getBytes(StandardCharsets.US_ASCII));
+			Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+			for (int row = 0; row < cellGrid.getNumPointsY(); row += rowsPerBlock) {
+				int from = row;
+				int to = Math.min(cellGrid.getNumPointsY(), row + rowsPerBlock);
+				pending.add(CompletableFuture.supplyAsync(() -> formatRows(from, to)));
+				if (pending.size() > ForkJoinPool.getCommonPoolParallelism()) {
+					stream.write(pending.poll().join());
+				}
+			}
+			while (!pending.isEmpty()) {
+				stream.write(pending.poll().join());
+			}
+		}
+	}
+
+	private byte[] formatRows(int from, int to) {
+		CellState[][] values = cellGrid.values;
+		StringBuilder builder = new StringBuilder((to - from) * cellGrid.getNumPointsX() * 32);
+		for (int row = from; row < to; row++) {
 			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
-				stream.write(Integer.toString(col));
-				stream.write(",");
-				stream.write(Integer.toString(row));
-				stream.write(",");
-				stream.write(values[col][row].potential.toString());
-				stream.write(",");
-				stream.write(values[col][row].tag.name());
-				stream.write("\n");
+				builder.append(col)
+						.append(',')
+						.append(row)
+						.append(',')
+						.append(values[col][row].potential.doubleValue())
+						.append(',')
+						.append(values[col][row].tag.name())
+						.append('\n');
 			}
 		}
-		stream.flush();
+		return builder.toString().getBytes(StandardCharsets.US_ASCII);
 	}
 
 	@Override
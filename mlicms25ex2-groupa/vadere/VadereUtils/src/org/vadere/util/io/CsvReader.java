@@ -0,0 +1,390 @@
+package org.vadere.util.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A streaming reader of delimiter separated values (e.g. csv files). The reader reads one record (line)
+ * after the other into a reused character buffer and parses the fields directly from this buffer, i.e.
+ * there is no intermediate {@link String} or <tt>String[]</tt> per line. Numbers with at most 15
+ * significant digits and a small exponent are parsed exactly without any allocation, all other numbers
+ * fall back to {@link Double#parseDouble(String)}.
+ *
+ * Empty lines are skipped, fields are trimmed and if the separator is a white space, a sequence of
+ * separators is treated as one separator. Quoting is not supported.
+ *
+ * <pre>
+ * try (CsvReader reader = new CsvReader(new FileReader(file), ' ')) {
+ *     while (reader.nextRecord()) {
+ *         double x = reader.nextDouble();
+ *         int tag = reader.nextInt();
+ *     }
+ * }
+ * </pre>
+ */
+public class CsvReader implements Closeable {
+
+	/**
+	 * The type of a field which can be used to infer the type of a column.
+	 */
+	public enum FieldType {
+		INT, DOUBLE, STRING
+	}
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_FAST_DIGITS = 15;
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private final Reader reader;
+	private final char separator;
+	private final boolean collapseSeparators;
+
+	private final char[] buffer;
+	private int bufferPos;
+	private int bufferEnd;
+
+	private char[] line;
+	private int lineEnd;
+	private int pos;
+	private long lineNumber;
+
+	public CsvReader(@NotNull final Reader reader, final char separator) {
+		this.reader = reader;
+		this.separator = separator;
+		this.collapseSeparators = Character.isWhitespace(separator);
+		this.buffer = new char[BUFFER_SIZE];
+		this.line = new char[256];
+	}
+
+	/**
+	 * Moves to the next non-empty record.
+	 *
+	 * @return false if there is no further record
+	 * @throws IOException if the underlying reader fails
+	 */
+	public boolean nextRecord() throws IOException {
+		while (readLine()) {
+			lineNumber++;
+			pos = 0;
+			skipWhitespace();
+			if (pos < lineEnd) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of the current line (starting at 1), including skipped empty lines.
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	public boolean hasNextField() {
+		return pos < lineEnd;
+	}
+
+	/**
+	 * Returns the type of the next field without consuming it. A field is a number if it matches
+	 * <tt>[+-]digits[.digits][(e|E)[+-]digits]</tt> (with at least one digit before the exponent),
+	 * <tt>NaN</tt> or <tt>Infinity</tt>, otherwise (e.g. <tt>1.2.3</tt>) it is a {@link FieldType#STRING}.
+	 */
+	public FieldType peekType() {
+		int end = fieldEnd();
+		int i = pos;
+		if (i < end && (line[i] == '-' || line[i] == '+')) {
+			i++;
+		}
+
+		int digits = 0;
+		for (; i < end && isDigit(line[i]); i++) {
+			digits++;
+		}
+		boolean integral = true;
+		if (i < end && line[i] == '.') {
+			integral = false;
+			for (i++; i < end && isDigit(line[i]); i++) {
+				digits++;
+			}
+		}
+		if (digits > 0 && i < end && (line[i] == 'e' || line[i] == 'E')) {
+			integral = false;
+			i++;
+			if (i < end && (line[i] == '-' || line[i] == '+')) {
+				i++;
+			}
+			int exponentDigits = 0;
+			for (; i < end && isDigit(line[i]); i++) {
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return FieldType.STRING;
+			}
+		}
+
+		if (digits == 0 || i < end) {
+			return pos < end && isSpecialDouble(pos, end) ? FieldType.DOUBLE : FieldType.STRING;
+		}
+		// integers which do not fit into an int are read as doubles
+		return integral && (end - pos) < 10 ? FieldType.INT : FieldType.DOUBLE;
+	}
+
+	public String nextString() {
+		int start = pos;
+		int end = fieldEnd();
+		String value = new String(line, start, end - start);
+		skipField(end);
+		return value;
+	}
+
+	public void skip() {
+		skipField(fieldEnd());
+	}
+
+	public int nextInt() {
+		int start = pos;
+		int end = fieldEnd();
+		int i = start;
+		boolean negative = false;
+		if (i < end && (line[i] == '-' || line[i] == '+')) {
+			negative = line[i] == '-';
+			i++;
+		}
+
+		// at most 9 digits can not overflow
+		if (i == end || end - i > 9) {
+			return parseIntSlow(start, end);
+		}
+
+		int value = 0;
+		for (; i < end; i++) {
+			char c = line[i];
+			if (c < '0' || c > '9') {
+				return parseIntSlow(start, end);
+			}
+			value = value * 10 + (c - '0');
+		}
+		skipField(end);
+		return negative ? -value : value;
+	}
+
+	public double nextDouble() {
+		int start = pos;
+		int end = fieldEnd();
+		int i = start;
+		boolean negative = false;
+		if (i < end && (line[i] == '-' || line[i] == '+')) {
+			negative = line[i] == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		boolean anyDigit = false;
+		boolean dot = false;
+
+		for (; i < end; i++) {
+			char c = line[i];
+			if (c >= '0' && c <= '9') {
+				anyDigit = true;
+				if (mantissa == 0 && c == '0') {
+					// leading zeros are not significant
+					if (dot) {
+						exponent--;
+					}
+					continue;
+				}
+				if (++significantDigits > MAX_FAST_DIGITS) {
+					return parseDoubleSlow(start, end);
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				if (dot) {
+					exponent--;
+				}
+			} else if (c == '.' && !dot) {
+				dot = true;
+			} else if ((c == 'e' || c == 'E') && anyDigit) {
+				i++;
+				boolean negativeExponent = false;
+				if (i < end && (line[i] == '-' || line[i] == '+')) {
+					negativeExponent = line[i] == '-';
+					i++;
+				}
+				if (i == end || end - i > 3) {
+					return parseDoubleSlow(start, end);
+				}
+				int e = 0;
+				for (; i < end; i++) {
+					char d = line[i];
+					if (d < '0' || d > '9') {
+						return parseDoubleSlow(start, end);
+					}
+					e = e * 10 + (d - '0');
+				}
+				exponent += negativeExponent ? -e : e;
+				break;
+			} else {
+				return parseDoubleSlow(start, end);
+			}
+		}
+
+		if (!anyDigit) {
+			return parseDoubleSlow(start, end);
+		}
+
+		double value;
+		if (mantissa == 0) {
+			value = 0.0;
+		} else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+			// both operands are exact, therefore the result is correctly rounded
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return parseDoubleSlow(start, end);
+		}
+
+		skipField(end);
+		return negative ? -value : value;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private int parseIntSlow(final int start, final int end) {
+		String value = new String(line, start, end - start);
+		skipField(end);
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new NumberFormatException("line " + lineNumber + ": " + e.getMessage());
+		}
+	}
+
+	private double parseDoubleSlow(final int start, final int end) {
+		String value = new String(line, start, end - start);
+		skipField(end);
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new NumberFormatException("line " + lineNumber + ": " + e.getMessage());
+		}
+	}
+
+	private boolean isSpecialDouble(final int start, final int end) {
+		int i = start;
+		if (line[i] == '-' || line[i] == '+') {
+			i++;
+		}
+		return equals(i, end, "NaN") || equals(i, end, "Infinity");
+	}
+
+	private boolean equals(final int start, final int end, final String value) {
+		if (end - start != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (line[start + i] != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Returns the (exclusive) end of the current field without trailing white spaces.
+	 */
+	private int fieldEnd() {
+		if (pos >= lineEnd) {
+			throw new IllegalStateException("line " + lineNumber + ": no further field.");
+		}
+		int end = pos;
+		while (end < lineEnd && line[end] != separator) {
+			end++;
+		}
+		while (end > pos && Character.isWhitespace(line[end - 1])) {
+			end--;
+		}
+		return end;
+	}
+
+	private void skipField(final int end) {
+		pos = end;
+		while (pos < lineEnd && line[pos] != separator) {
+			pos++;
+		}
+		if (pos < lineEnd) {
+			pos++;
+			if (collapseSeparators) {
+				while (pos < lineEnd && line[pos] == separator) {
+					pos++;
+				}
+			}
+		}
+		skipWhitespace();
+	}
+
+	private void skipWhitespace() {
+		while (pos < lineEnd && line[pos] != separator && Character.isWhitespace(line[pos])) {
+			pos++;
+		}
+	}
+
+	/**
+	 * Reads the next line into the line buffer (without the line terminator).
+	 */
+	private boolean readLine() throws IOException {
+		lineEnd = 0;
+		boolean read = false;
+		while (true) {
+			if (bufferPos >= bufferEnd) {
+				bufferEnd = reader.read(buffer, 0, buffer.length);
+				bufferPos = 0;
+				if (bufferEnd <= 0) {
+					bufferEnd = 0;
+					return read;
+				}
+			}
+			read = true;
+
+			int start = bufferPos;
+			while (bufferPos < bufferEnd && buffer[bufferPos] != '\n') {
+				bufferPos++;
+			}
+			append(start, bufferPos);
+
+			if (bufferPos < bufferEnd) {
+				// skip '\n'
+				bufferPos++;
+				if (lineEnd > 0 && line[lineEnd - 1] == '\r') {
+					lineEnd--;
+				}
+				return true;
+			}
+		}
+	}
+
+	private void append(final int start, final int end) {
+		int length = end - start;
+		if (lineEnd + length > line.length) {
+			line = Arrays.copyOf(line, Math.max(lineEnd + length, 2 * line.length));
+		}
+		System.arraycopy(buffer, start, line, lineEnd, length);
+		lineEnd += length;
+	}
+}
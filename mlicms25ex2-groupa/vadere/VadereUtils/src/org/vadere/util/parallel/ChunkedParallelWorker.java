@@ -0,0 +1,115 @@
+package org.vadere.util.parallel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes work on an index range [0, size) in parallel by splitting the range into at most
+ * {@link #getParallelism()} contiguous chunks. In contrast to {@link CountableParallelWorker}, which submits
+ * one task per element to the static thread pool of {@link ParallelWorkerUtil}, this worker submits one task
+ * per chunk to its own thread pool. The calling thread computes the first chunk itself. Hence, the work of
+ * one chunk is done by one thread and may use thread local scratch buffers.
+ */
+public class ChunkedParallelWorker implements AutoCloseable {
+
+	/**
+	 * The work on a range of indices.
+	 */
+	@FunctionalInterface
+	public interface RangeWork {
+		/**
+		 * @param from  the first index (inclusive)
+		 * @param to    the last index (exclusive)
+		 */
+		void compute(int from, int to) throws Exception;
+	}
+
+	/**
+	 * chunks are not smaller than this number of indices, since smaller chunks do not pay off.
+	 */
+	private static final int MIN_CHUNK_SIZE = 8;
+
+	private final int parallelism;
+	private final ExecutorService executorService;
+
+	/**
+	 * @param parallelism the maximal number of threads (including the calling thread), values smaller
+	 *                    than 1 use the number of available processors
+	 */
+	public ChunkedParallelWorker(final int parallelism) {
+		this.parallelism = parallelism < 1 ? Runtime.getRuntime().availableProcessors() : parallelism;
+		this.executorService = this.parallelism > 1 ? Executors.newFixedThreadPool(this.parallelism - 1, runnable -> {
+			Thread thread = new Thread(runnable, "chunked-parallel-worker");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Computes the work for all indices in [0, size) and waits until all chunks are finished.
+	 *
+	 * @throws ExecutionException if the work of a chunk throws an exception (the first one)
+	 */
+	public void forEachRange(final int size, @NotNull final RangeWork work) throws InterruptedException, ExecutionException {
+		int chunks = Math.min(parallelism, (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+		if (chunks <= 1 || executorService == null) {
+			compute(work, 0, size);
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<>(chunks - 1);
+		for (int chunk = 1; chunk < chunks; chunk++) {
+			int from = (int) ((long) size * chunk / chunks);
+			int to = (int) ((long) size * (chunk + 1) / chunks);
+			futures.add(executorService.submit(() -> {
+				work.compute(from, to);
+				return null;
+			}));
+		}
+
+		// all chunks are awaited before a failure is thrown, such that no chunk is running afterwards
+		ExecutionException failure = null;
+		try {
+			compute(work, 0, size / chunks);
+		} catch (ExecutionException e) {
+			failure = e;
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static void compute(@NotNull final RangeWork work, final int from, final int to) throws ExecutionException {
+		try {
+			work.compute(from, to);
+		} catch (Exception e) {
+			throw new ExecutionException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (executorService != null) {
+			executorService.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.vadere.util.random;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link java.util.Random} (and {@link org.apache.commons.math3.random.RandomGenerator}) whose state can be
+ * written and read, e.g. to restore a simulation from a checkpoint. The state of {@link java.util.Random} is
+ * private, therefore this class implements the same linear congruential generator (see the documentation of
+ * {@link java.util.Random#next(int)} and {@link java.util.Random#nextGaussian()}) on its own state, i.e. it
+ * generates exactly the same numbers as <tt>new Random(seed)</tt> and <tt>new JDKRandomGenerator(seed)</tt>.
+ */
+public class CheckpointableRandom extends JDKRandomGenerator {
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// the fields have no initializers since they are set by setSeed which is called by the constructor of Random
+	private AtomicLong seed;
+	private boolean haveNextNextGaussian;
+	private double nextNextGaussian;
+
+	public CheckpointableRandom() {
+		super();
+	}
+
+	public CheckpointableRandom(final long seed) {
+		super();
+		setSeed(seed);
+	}
+
+	@Override
+	public synchronized void setSeed(final long seed) {
+		if (this.seed == null) {
+			this.seed = new AtomicLong();
+		}
+		this.seed.set((seed ^ MULTIPLIER) & MASK);
+		haveNextNextGaussian = false;
+	}
+
+	@Override
+	protected int next(final int bits) {
+		long oldSeed;
+		long nextSeed;
+		do {
+			oldSeed = seed.get();
+			nextSeed = (oldSeed * MULTIPLIER + ADDEND) & MASK;
+		} while (!seed.compareAndSet(oldSeed, nextSeed));
+		return (int) (nextSeed >>> (48 - bits));
+	}
+
+	@Override
+	public synchronized double nextGaussian() {
+		if (haveNextNextGaussian) {
+			haveNextNextGaussian = false;
+			return nextNextGaussian;
+		}
+
+		double v1;
+		double v2;
+		double s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+		nextNextGaussian = v2 * multiplier;
+		haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+
+	/**
+	 * Writes the state of the generator, i.e. the generator continues with the same numbers after
+	 * {@link #readState(DataInput)}.
+	 */
+	public synchronized void writeState(@NotNull final DataOutput out) throws IOException {
+		out.writeLong(seed.get());
+		out.writeBoolean(haveNextNextGaussian);
+		out.writeDouble(nextNextGaussian);
+	}
+
+	/**
+	 * Reads a state written by {@link #writeState(DataOutput)}.
+	 */
+	public synchronized void readState(@NotNull final DataInput in) throws IOException {
+		seed.set(in.readLong() & MASK);
+		haveNextNextGaussian = in.readBoolean();
+		nextNextGaussian = in.readDouble();
+	}
+}
@@ -0,0 +1,97 @@
+package org.vadere.util.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ListIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTable {
+
+	@Test
+	public void testWideningKeepsTheBoxedTypes() {
+		Table table = new Table("a");
+		table.addRow();
+		table.addColumnEntry("a", 1);
+		table.addRow();
+		table.addColumnEntry("a", 2.5);
+		table.addRow();
+		table.addColumnEntry("a", (Object) 3);
+
+		assertEquals(Integer.valueOf(1), table.getEntry("a", 0));
+		assertEquals(Double.valueOf(2.5), table.getEntry("a", 1));
+		assertEquals(Integer.valueOf(3), table.getEntry("a", 2));
+		assertArrayEquals(new double[]{1, 2.5, 3}, table.getDoubleColumn("a"));
+	}
+
+	@Test
+	public void testIteratorsKeepTheBoxedTypes() {
+		Table table = new Table("a");
+		for (int i = 0; i < 40; i++) {
+			table.addRow();
+			if (i % 3 == 0) {
+				table.addColumnEntry("a", 0.5 + i);
+			} else {
+				table.addColumnEntry("a", i);
+			}
+		}
+
+		ListIterator<Object[]> iterator = table.listArrayIterator();
+		iterator.next();
+		iterator.remove();
+		iterator.add(new Object[]{-1});
+		iterator.next();
+		iterator.set(new Object[]{7.0});
+
+		assertEquals(Integer.valueOf(-1), table.getEntry("a", 0));
+		assertEquals(Double.valueOf(7.0), table.getEntry("a", 1));
+		for (int i = 2; i < 40; i++) {
+			Object expected = i % 3 == 0 ? (Object) (0.5 + i) : (Object) i;
+			assertEquals(expected, table.getEntry("a", i));
+		}
+
+		table.addRow();
+		table.addColumnEntry("a", "x");
+		assertEquals(Integer.valueOf(2), table.getEntry("a", 2));
+		assertEquals(Double.valueOf(3.5), table.getEntry("a", 3));
+		assertEquals("x", table.getEntry("a", 40));
+	}
+
+	@Test
+	public void testCsvRoundTrip() throws IOException {
+		String csv = "id x name\r\n1 0.5 a\r\n\r\n2 3 b\r\n3 1e-3 1.2.3";
+		Table table = Table.readCsv(new StringReader(csv), ' ');
+
+		assertEquals(3, table.size());
+		assertArrayEquals(new String[]{"id", "x", "name"}, table.getColumnNames());
+		assertEquals(Integer.valueOf(2), table.getEntry("id", 1));
+		assertEquals(Double.valueOf(0.5), table.getEntry("x", 0));
+		assertEquals(Integer.valueOf(3), table.getEntry("x", 1));
+		assertEquals(Double.valueOf(1e-3), table.getEntry("x", 2));
+		assertEquals("1.2.3", table.getEntry("name", 2));
+
+		StringWriter writer = new StringWriter();
+		table.writeCsv(writer, ' ');
+		assertEquals("id x name\n1 0.5 a\n2 3 b\n3 0.001 1.2.3\n", writer.toString());
+
+		Table copy = Table.readCsv(new StringReader(writer.toString()), ' ');
+		for (String columnName : table.getColumnNames()) {
+			assertEquals(table.getColumn(columnName), copy.getColumn(columnName));
+		}
+	}
+
+	@Test
+	public void testCsvChecksTheNumberOfFields() {
+		IOException missing = assertThrows(IOException.class,
+				() -> Table.readCsv(new StringReader("a,b\n1,2\n3\n"), ','));
+		assertTrue(missing.getMessage().startsWith("line 3"), missing.getMessage());
+
+		assertThrows(IOException.class, () -> Table.readCsv(new StringReader("a,b\r\n1,2,3\r\n"), ','));
+	}
+}
@@ -0,0 +1,103 @@
+package org.vadere.util.data.cellgrid;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips of the text cache of {@link CellGridReadWriter}. The grid is large enough that the text
+ * consists of several chunks of {@link CellGridReadWriter#CHUNK_SIZE} bytes.
+ */
+public class TestCellGridReadWriter {
+
+	private static final double WIDTH = 59.9;
+	private static final double HEIGHT = 44.9;
+	private static final double RESOLUTION = 0.1;
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testTextRoundTrip() throws Exception {
+		CellGrid cellGrid = createRandomCellGrid();
+		File file = new File(directory, "floorfield.txt");
+		CellGridReadWriter.write(cellGrid).toTextFile(file);
+		assertTrue(file.length() > 2 * CellGridReadWriter.CHUNK_SIZE, "the text has to span several chunks");
+
+		CellGrid copy = CellGridReadWriter.read(WIDTH, HEIGHT, RESOLUTION, 0, 0).fromTextFile(file);
+		assertSameCellGrid(cellGrid, copy);
+	}
+
+	@Test
+	public void testCrlfLinesAtChunkBoundaries() throws Exception {
+		CellGrid cellGrid = createRandomCellGrid();
+		File file = new File(directory, "floorfield.txt");
+		CellGridReadWriter.write(cellGrid).toTextFile(file);
+		String text = Files.readString(file.toPath(), StandardCharsets.US_ASCII);
+		String body = text.substring(text.indexOf('\n') + 1).replace("\n", "\r\n");
+		// the last line has no line break
+		body = body.substring(0, body.length() - 2);
+		String header = "x,y,value,tag";
+
+		// the last '\n' within the first chunk if the header is not padded
+		int lineEnd = (header + "\r\n" + body).lastIndexOf('\n', CellGridReadWriter.CHUNK_SIZE - 1);
+		// pad the header such that the first chunk ends with a complete line and such that it ends between '\r' and '\n'
+		for (int padding : new int[]{CellGridReadWriter.CHUNK_SIZE - 1 - lineEnd, CellGridReadWriter.CHUNK_SIZE - lineEnd}) {
+			byte[] bytes = (header + " ".repeat(padding) + "\r\n" + body).getBytes(StandardCharsets.US_ASCII);
+			assertEquals(padding == CellGridReadWriter.CHUNK_SIZE - lineEnd ? '\r' : '\n', bytes[CellGridReadWriter.CHUNK_SIZE - 1]);
+
+			CellGrid copy = CellGridReadWriter.read(WIDTH, HEIGHT, RESOLUTION, 0, 0).fromTextFile(new ByteArrayInputStream(bytes));
+			assertSameCellGrid(cellGrid, copy);
+		}
+	}
+
+	@Test
+	public void testColumnsAreReadByName() throws Exception {
+		String text = "tag,id,y,x,value\r\nTarget,7,1,2,0.0\r\nObstacle,8,0,0,1.5E308\r\n";
+		CellGrid copy = CellGridReadWriter.read(2, 1, 1, 0, 0).fromTextFile(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+
+		assertEquals(PathFindingTag.Target, copy.getValue(2, 1).tag);
+		assertEquals(0.0, copy.getValue(2, 1).potential);
+		assertEquals(PathFindingTag.Obstacle, copy.getValue(0, 0).tag);
+		assertEquals(1.5E308, copy.getValue(0, 0).potential);
+		assertEquals(new CellState(), copy.getValue(1, 0));
+	}
+
+	@Test
+	public void testRejectsPointsOutsideOfTheGrid() {
+		String text = "x,y,value,tag\n0,0,1.0,Reached\n3,0,1.0,Reached\n";
+		assertThrows(IllegalArgumentException.class, () -> CellGridReadWriter.read(2, 1, 1, 0, 0)
+				.fromTextFile(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))));
+	}
+
+	private static CellGrid createRandomCellGrid() {
+		Random random = new Random(1);
+		PathFindingTag[] tags = PathFindingTag.values();
+		CellGrid cellGrid = new CellGrid(WIDTH, HEIGHT, RESOLUTION, new CellState(), 0, 0);
+		for (int y = 0; y < cellGrid.getNumPointsY(); y++) {
+			for (int x = 0; x < cellGrid.getNumPointsX(); x++) {
+				// short and long numbers, such that the lines are of different length
+				double potential = random.nextInt(4) == 0 ? Double.MAX_VALUE : random.nextDouble() * Math.pow(10, random.nextInt(6));
+				cellGrid.setValue(x, y, new CellState(potential, tags[random.nextInt(tags.length)]));
+			}
+		}
+		return cellGrid;
+	}
+
+	private static void assertSameCellGrid(final CellGrid expected, final CellGrid actual) {
+		for (int y = 0; y < expected.getNumPointsY(); y++) {
+			for (int x = 0; x < expected.getNumPointsX(); x++) {
+				assertEquals(expected.getValue(x, y), actual.getValue(x, y), "grid point (" + x + ", " + y + ")");
+			}
+		}
+	}
+}